@@ -21,6 +21,8 @@ import io.jmix.authserver.AuthServerProperties;
 import io.jmix.authserver.authentication.OAuth2ResourceOwnerPasswordTokenEndpointConfigurer;
 import io.jmix.authserver.filter.AsResourceServerEventSecurityFilter;
 import io.jmix.authserver.introspection.AuthorizationServiceOpaqueTokenIntrospector;
+import io.jmix.authserver.introspection.IntrospectedPrincipalCache;
+import io.jmix.authserver.introspection.IntrospectedPrincipalCacheRevocationHandler;
 import io.jmix.authserver.introspection.TokenIntrospectorRolesHelper;
 import io.jmix.authserver.principal.AuthServerAuthenticationPrincipalResolver;
 import io.jmix.authserver.roleassignment.InMemoryRegisteredClientRoleAssignmentRepository;
@@ -45,6 +47,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configurers.OAuth2AuthorizationServerConfigurer;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
 import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
 import org.springframework.security.web.SecurityFilterChain;
@@ -128,9 +131,15 @@ public class AuthServerAutoConfiguration {
 
         @Bean("authsr_AuthorizationServerSecurityFilterChain")
         @Order(JmixSecurityFilterChainOrder.AUTHSERVER_AUTHORIZATION_SERVER)
-        public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity http)
+        public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity http,
+                                                                          IntrospectedPrincipalCache principalCache,
+                                                                          OAuth2AuthorizationService authorizationService)
                 throws Exception {
             OAuth2AuthorizationServerConfiguration.applyDefaultSecurity(http);
+            http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
+                    .tokenRevocationEndpoint(revocationEndpoint -> revocationEndpoint
+                            .revocationResponseHandler(
+                                    new IntrospectedPrincipalCacheRevocationHandler(principalCache, authorizationService)));
             http
                     // Redirect to the login page when not authenticated from the
                     // authorization endpoint
@@ -210,8 +219,10 @@ public class AuthServerAutoConfiguration {
         @ConditionalOnMissingBean
         @Bean("authsr_OpaqueTokenIntrospector")
         public OpaqueTokenIntrospector opaqueTokenIntrospector(OAuth2AuthorizationService authorizationService,
-                                                               TokenIntrospectorRolesHelper tokenIntrospectorRolesHelper) {
-            return new AuthorizationServiceOpaqueTokenIntrospector(authorizationService, tokenIntrospectorRolesHelper);
+                                                               TokenIntrospectorRolesHelper tokenIntrospectorRolesHelper,
+                                                               IntrospectedPrincipalCache introspectedPrincipalCache) {
+            return new AuthorizationServiceOpaqueTokenIntrospector(authorizationService, tokenIntrospectorRolesHelper,
+                    introspectedPrincipalCache);
         }
     }
 }
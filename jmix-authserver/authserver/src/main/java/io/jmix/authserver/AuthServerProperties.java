@@ -45,16 +45,39 @@ public class AuthServerProperties {
      */
     String loginPageViewName;
 
+    /**
+     * Whether principals obtained by opaque token introspection are cached
+     */
+    boolean introspectionCacheEnabled;
+
+    /**
+     * Max time in seconds a cached principal is used, it is also limited by the access token expiration time.
+     * Tokens removed from the authorization service other than by the revocation endpoint are accepted until
+     * this time passes.
+     */
+    int introspectionCacheTimeToLiveSec;
+
+    /**
+     * Max number of cached principals
+     */
+    int introspectionCacheMaxSize;
+
     public AuthServerProperties(
             @DefaultValue("true") boolean useDefaultConfiguration,
             @DefaultValue Map<String, JmixClient> client,
             @DefaultValue("/as-login") String loginPageUrl,
-            @DefaultValue("as-login.html") String loginPageViewName
+            @DefaultValue("as-login.html") String loginPageViewName,
+            @DefaultValue("true") boolean introspectionCacheEnabled,
+            @DefaultValue("60") int introspectionCacheTimeToLiveSec,
+            @DefaultValue("10000") int introspectionCacheMaxSize
             ) {
         this.useDefaultConfiguration = useDefaultConfiguration;
         this.client = client;
         this.loginPageUrl = loginPageUrl;
         this.loginPageViewName = loginPageViewName;
+        this.introspectionCacheEnabled = introspectionCacheEnabled;
+        this.introspectionCacheTimeToLiveSec = introspectionCacheTimeToLiveSec;
+        this.introspectionCacheMaxSize = introspectionCacheMaxSize;
     }
 
     public boolean isUseDefaultConfiguration() {
@@ -73,6 +96,18 @@ public class AuthServerProperties {
         return loginPageViewName;
     }
 
+    public boolean isIntrospectionCacheEnabled() {
+        return introspectionCacheEnabled;
+    }
+
+    public int getIntrospectionCacheTimeToLiveSec() {
+        return introspectionCacheTimeToLiveSec;
+    }
+
+    public int getIntrospectionCacheMaxSize() {
+        return introspectionCacheMaxSize;
+    }
+
     /**
      * Class stores Jmix-specific settings of Authorization Server client.
      */
@@ -16,6 +16,7 @@
 
 package io.jmix.authserver.introspection;
 
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -40,7 +41,9 @@ import java.util.Collection;
  *     <li>For PASSWORD grant type, roles of authenticated user are used</li>
  * </ul>
  *
- *
+ * If an {@link IntrospectedPrincipalCache} is provided, the principals are cached until the token expires, is revoked
+ * or the cache entry times out. A cached principal is returned without querying the authorization service, so
+ * the token activity is not checked again until the cache entry is removed.
  */
 public class AuthorizationServiceOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
 
@@ -48,13 +51,29 @@ public class AuthorizationServiceOpaqueTokenIntrospector implements OpaqueTokenI
 
     private TokenIntrospectorRolesHelper introspectorRolesHelper;
 
+    private IntrospectedPrincipalCache principalCache;
+
     public AuthorizationServiceOpaqueTokenIntrospector(OAuth2AuthorizationService authorizationService, TokenIntrospectorRolesHelper introspectorRolesHelper) {
+        this(authorizationService, introspectorRolesHelper, null);
+    }
+
+    public AuthorizationServiceOpaqueTokenIntrospector(OAuth2AuthorizationService authorizationService,
+                                                       TokenIntrospectorRolesHelper introspectorRolesHelper,
+                                                       @Nullable IntrospectedPrincipalCache principalCache) {
         this.authorizationService = authorizationService;
         this.introspectorRolesHelper = introspectorRolesHelper;
+        this.principalCache = principalCache;
     }
 
     @Override
     public OAuth2AuthenticatedPrincipal introspect(String token) {
+        if (principalCache != null) {
+            OAuth2AuthenticatedPrincipal cachedPrincipal = principalCache.get(token);
+            if (cachedPrincipal != null) {
+                return cachedPrincipal;
+            }
+        }
+
         OAuth2Authorization authorization = authorizationService.findByToken(token, OAuth2TokenType.ACCESS_TOKEN);
         if (authorization == null) {
             throw new BadOpaqueTokenException("Authorization for provided access token not found");
@@ -85,6 +104,11 @@ public class AuthorizationServiceOpaqueTokenIntrospector implements OpaqueTokenI
                 authorities.addAll(((Authentication) principal).getAuthorities());
             }
         }
-        return new UserDetailsOAuth2AuthenticatedPrincipal(principalName, authorization.getAttributes(), authorities);
+        OAuth2AuthenticatedPrincipal authenticatedPrincipal =
+                new UserDetailsOAuth2AuthenticatedPrincipal(principalName, authorization.getAttributes(), authorities);
+        if (principalCache != null) {
+            principalCache.put(token, authenticatedPrincipal, accessToken.getToken().getExpiresAt());
+        }
+        return authenticatedPrincipal;
     }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2022 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.authserver.introspection;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.jmix.authserver.AuthServerProperties;
+import io.jmix.authserver.roleassignment.RegisteredClientRoleAssignmentModifiedEvent;
+import io.jmix.core.cluster.ClusterApplicationEvent;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.security.impl.role.event.RoleAssignmentModifiedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of principals obtained by {@link AuthorizationServiceOpaqueTokenIntrospector}, so that the authorization
+ * service is not queried on every request with the same access token.
+ * <p>
+ * Entries are keyed by the hash of the token and expire after the configured time to live or when the token
+ * expires, whichever comes first. Invalidation is propagated to all application instances of a cluster.
+ * Principals are invalidated when their tokens are revoked and when role assignments of users
+ * ({@link RoleAssignmentModifiedEvent}) or clients ({@link RegisteredClientRoleAssignmentModifiedEvent}) change.
+ * <p>
+ * A cached principal is returned without checking that the token is still active in the authorization service.
+ * Tokens revoked using the revocation endpoint are removed from the cache, while tokens removed from the
+ * authorization service in other ways remain valid until the cache entry times out.
+ *
+ * @see AuthServerProperties#getIntrospectionCacheTimeToLiveSec()
+ */
+@Component("authsr_IntrospectedPrincipalCache")
+public class IntrospectedPrincipalCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IntrospectedPrincipalCache.class);
+
+    public static final String REQUESTS_METRIC = "jmix.authserver.introspectionCache.requests";
+    public static final String INVALIDATIONS_METRIC = "jmix.authserver.introspectionCache.invalidations";
+
+    protected final AuthServerProperties authServerProperties;
+    protected final ClusterApplicationEventPublisher clusterEventPublisher;
+    protected final MeterRegistry meterRegistry;
+
+    protected final Cache<String, CachedPrincipal> cache;
+
+    public IntrospectedPrincipalCache(AuthServerProperties authServerProperties,
+                                      ClusterApplicationEventPublisher clusterEventPublisher,
+                                      MeterRegistry meterRegistry) {
+        this.authServerProperties = authServerProperties;
+        this.clusterEventPublisher = clusterEventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(authServerProperties.getIntrospectionCacheMaxSize())
+                .expireAfterWrite(authServerProperties.getIntrospectionCacheTimeToLiveSec(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return authServerProperties.isIntrospectionCacheEnabled();
+    }
+
+    /**
+     * @param token access token value
+     * @return cached principal or null if the token is not cached or expired
+     */
+    @Nullable
+    public OAuth2AuthenticatedPrincipal get(String token) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = hash(token);
+        CachedPrincipal cachedPrincipal = cache.getIfPresent(key);
+        if (cachedPrincipal != null && cachedPrincipal.isExpired(Instant.now())) {
+            cache.invalidate(key);
+            cachedPrincipal = null;
+        }
+        meterRegistry.counter(REQUESTS_METRIC, "result", cachedPrincipal != null ? "hit" : "miss").increment();
+        return cachedPrincipal != null ? cachedPrincipal.principal : null;
+    }
+
+    /**
+     * @param token     access token value
+     * @param principal principal obtained for the token
+     * @param expiresAt expiration time of the token
+     */
+    public void put(String token, OAuth2AuthenticatedPrincipal principal, @Nullable Instant expiresAt) {
+        if (!isEnabled()) {
+            return;
+        }
+        cache.put(hash(token), new CachedPrincipal(principal, expiresAt));
+    }
+
+    /**
+     * Removes the principal of the token on all application instances.
+     *
+     * @param token access token value
+     */
+    public void invalidate(String token) {
+        String key = hash(token);
+        cache.invalidate(key);
+        clusterEventPublisher.publish(new InvalidatedEvent(this, key));
+    }
+
+    /**
+     * Removes all principals on all application instances. Should be called when authorities of clients or users
+     * change in a way not reported by {@link RoleAssignmentModifiedEvent} or
+     * {@link RegisteredClientRoleAssignmentModifiedEvent}.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        clusterEventPublisher.publish(new InvalidatedEvent(this, null));
+    }
+
+    @EventListener
+    public void onInvalidated(InvalidatedEvent event) {
+        log.debug("Invalidating introspected principals: {}", event);
+        if (event.getTokenHash() != null) {
+            cache.invalidate(event.getTokenHash());
+        } else {
+            cache.invalidateAll();
+        }
+        meterRegistry.counter(INVALIDATIONS_METRIC).increment();
+    }
+
+    @EventListener
+    public void onRoleAssignmentModified(RoleAssignmentModifiedEvent event) {
+        // the event is delivered to all application instances, so only the local principals are removed
+        log.debug("Invalidating introspected principals: {}", event);
+        String username = event.getUsername();
+        if (username != null) {
+            cache.asMap().values().removeIf(cachedPrincipal -> username.equals(cachedPrincipal.principal.getName()));
+        } else {
+            cache.invalidateAll();
+        }
+        meterRegistry.counter(INVALIDATIONS_METRIC).increment();
+    }
+
+    @EventListener
+    public void onClientRoleAssignmentModified(RegisteredClientRoleAssignmentModifiedEvent event) {
+        // client role assignments may be stored locally, so principals are removed on all application instances
+        log.debug("Invalidating introspected principals: {}", event);
+        invalidateAll();
+    }
+
+    protected String hash(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
+
+    protected static class CachedPrincipal {
+
+        protected final OAuth2AuthenticatedPrincipal principal;
+        protected final Instant expiresAt;
+
+        public CachedPrincipal(OAuth2AuthenticatedPrincipal principal, @Nullable Instant expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isExpired(Instant now) {
+            return expiresAt != null && !now.isBefore(expiresAt);
+        }
+    }
+
+    /**
+     * Event published to all application instances of a cluster when cached principals are invalidated.
+     */
+    public static class InvalidatedEvent extends ClusterApplicationEvent {
+
+        protected String tokenHash;
+
+        public InvalidatedEvent(Object source, @Nullable String tokenHash) {
+            super(source);
+            this.tokenHash = tokenHash;
+        }
+
+        /**
+         * @return hash of the invalidated token or null if all principals are invalidated
+         */
+        @Nullable
+        public String getTokenHash() {
+            return tokenHash;
+        }
+
+        @Override
+        public String toString() {
+            return "InvalidatedEvent{" +
+                    "tokenHash=" + tokenHash +
+                    '}';
+        }
+    }
+}
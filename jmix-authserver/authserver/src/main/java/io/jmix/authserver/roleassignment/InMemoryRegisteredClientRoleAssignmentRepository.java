@@ -18,6 +18,8 @@ package io.jmix.authserver.roleassignment;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -25,12 +27,15 @@ import java.util.Collection;
 /**
  * In-memory implementation of {@link RegisteredClientRoleAssignmentRepository}.
  */
-public class InMemoryRegisteredClientRoleAssignmentRepository implements RegisteredClientRoleAssignmentRepository {
+public class InMemoryRegisteredClientRoleAssignmentRepository implements RegisteredClientRoleAssignmentRepository,
+        ApplicationEventPublisherAware {
 
     protected Multimap<String, RegisteredClientRoleAssignment> registrationToRoleAssignmentsMap = HashMultimap.create();
 
     protected Multimap<String, RegisteredClientRoleAssignment> clientToRoleAssignmentsMap = HashMultimap.create();
 
+    protected ApplicationEventPublisher applicationEventPublisher;
+
     public InMemoryRegisteredClientRoleAssignmentRepository(RegisteredClientRoleAssignment... roleAssignments) {
         this(Arrays.asList((roleAssignments)));
     }
@@ -46,6 +51,16 @@ public class InMemoryRegisteredClientRoleAssignmentRepository implements Registe
     public void save(RegisteredClientRoleAssignment roleAssignment) {
         registrationToRoleAssignmentsMap.put(roleAssignment.registrationId(), roleAssignment);
         clientToRoleAssignmentsMap.put(roleAssignment.clientId(), roleAssignment);
+
+        if (applicationEventPublisher != null) {
+            applicationEventPublisher.publishEvent(
+                    new RegisteredClientRoleAssignmentModifiedEvent(this, roleAssignment.clientId()));
+        }
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.authserver.roleassignment;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published by {@link RegisteredClientRoleAssignmentRepository} implementations when role assignments of
+ * a client are saved.
+ */
+public class RegisteredClientRoleAssignmentModifiedEvent extends ApplicationEvent {
+
+    protected String clientId;
+
+    public RegisteredClientRoleAssignmentModifiedEvent(Object source, String clientId) {
+        super(source);
+        this.clientId = clientId;
+    }
+
+    /**
+     * @return id of the client whose role assignments are modified
+     */
+    public String getClientId() {
+        return clientId;
+    }
+
+    @Override
+    public String toString() {
+        return "RegisteredClientRoleAssignmentModifiedEvent{" +
+                "clientId=" + clientId +
+                '}';
+    }
+}
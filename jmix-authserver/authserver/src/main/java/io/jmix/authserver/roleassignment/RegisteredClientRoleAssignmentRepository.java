@@ -20,6 +20,9 @@ import java.util.Collection;
 
 /**
  * Repository for storing and retrieving {@link RegisteredClientRoleAssignment}
+ * <p>
+ * Implementations should publish {@link RegisteredClientRoleAssignmentModifiedEvent} when role assignments are
+ * saved, so that principals cached with the previous authorities are invalidated.
  */
 public interface RegisteredClientRoleAssignmentRepository {
 
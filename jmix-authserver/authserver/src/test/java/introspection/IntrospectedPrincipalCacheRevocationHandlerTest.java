@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package introspection;
+
+import io.jmix.authserver.AuthServerProperties;
+import io.jmix.authserver.introspection.IntrospectedPrincipalCache;
+import io.jmix.authserver.introspection.IntrospectedPrincipalCacheRevocationHandler;
+import io.jmix.authserver.introspection.UserDetailsOAuth2AuthenticatedPrincipal;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2TokenRevocationAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class IntrospectedPrincipalCacheRevocationHandlerTest {
+
+    IntrospectedPrincipalCache cache;
+    InMemoryOAuth2AuthorizationService authorizationService;
+    IntrospectedPrincipalCacheRevocationHandler handler;
+
+    @BeforeEach
+    protected void setup() {
+        AuthServerProperties properties = new AuthServerProperties(true, Collections.emptyMap(), "/as-login",
+                "as-login.html", true, 60, 100);
+        cache = new IntrospectedPrincipalCache(properties, mock(ClusterApplicationEventPublisher.class),
+                new SimpleMeterRegistry());
+        authorizationService = new InMemoryOAuth2AuthorizationService();
+        handler = new IntrospectedPrincipalCacheRevocationHandler(cache, authorizationService);
+
+        authorizationService.save(createAuthorization("access1", "refresh1"));
+        authorizationService.save(createAuthorization("access2", "refresh2"));
+        cache.put("access1", createPrincipal(), null);
+        cache.put("access2", createPrincipal(), null);
+    }
+
+    @Test
+    public void revokedAccessTokenIsRemoved() {
+        MockHttpServletResponse response = revoke("access1");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(cache.get("access1"));
+        assertNotNull(cache.get("access2"));
+    }
+
+    @Test
+    public void accessTokenIsRemovedWhenRefreshTokenIsRevoked() {
+        MockHttpServletResponse response = revoke("refresh1");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(cache.get("access1"));
+        assertNotNull(cache.get("access2"));
+    }
+
+    @Test
+    public void unknownTokenIsRevoked() {
+        MockHttpServletResponse response = revoke("unknown");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNotNull(cache.get("access1"));
+        assertNotNull(cache.get("access2"));
+    }
+
+    protected MockHttpServletResponse revoke(String token) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.onAuthenticationSuccess(new MockHttpServletRequest(), response,
+                new OAuth2TokenRevocationAuthenticationToken(token, new TestingAuthenticationToken("client", null),
+                        null));
+        return response;
+    }
+
+    protected OAuth2Authorization createAuthorization(String accessToken, String refreshToken) {
+        RegisteredClient registeredClient = RegisteredClient.withId("client")
+                .clientId("client")
+                .authorizationGrantType(AuthorizationGrantType.REFRESH_TOKEN)
+                .build();
+        Instant issuedAt = Instant.now();
+        return OAuth2Authorization.withRegisteredClient(registeredClient)
+                .id(accessToken)
+                .principalName("user")
+                .authorizationGrantType(AuthorizationGrantType.PASSWORD)
+                .accessToken(new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, accessToken,
+                        issuedAt, issuedAt.plusSeconds(300)))
+                .refreshToken(new OAuth2RefreshToken(refreshToken, issuedAt))
+                .build();
+    }
+
+    protected UserDetailsOAuth2AuthenticatedPrincipal createPrincipal() {
+        return new UserDetailsOAuth2AuthenticatedPrincipal("user", Collections.emptyMap(), Collections.emptyList());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package introspection;
+
+import io.jmix.authserver.AuthServerProperties;
+import io.jmix.authserver.introspection.IntrospectedPrincipalCache;
+import io.jmix.authserver.introspection.UserDetailsOAuth2AuthenticatedPrincipal;
+import io.jmix.authserver.roleassignment.RegisteredClientRoleAssignmentModifiedEvent;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.security.impl.role.event.RoleAssignmentModifiedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class IntrospectedPrincipalCacheTest {
+
+    ClusterApplicationEventPublisher clusterEventPublisher;
+    SimpleMeterRegistry meterRegistry;
+    IntrospectedPrincipalCache cache;
+
+    @BeforeEach
+    protected void setup() {
+        clusterEventPublisher = mock(ClusterApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = createCache(true);
+    }
+
+    @Test
+    public void cachedPrincipalIsReturnedUntilTokenExpires() {
+        OAuth2AuthenticatedPrincipal principal = createPrincipal("user");
+        cache.put("token", principal, Instant.now().plusSeconds(60));
+        cache.put("expired", createPrincipal("user"), Instant.now().minusSeconds(1));
+
+        assertSame(principal, cache.get("token"));
+        assertNull(cache.get("expired"));
+        assertNull(cache.get("unknown"));
+        assertEquals(1, meterRegistry.counter(IntrospectedPrincipalCache.REQUESTS_METRIC, "result", "hit").count());
+        assertEquals(2, meterRegistry.counter(IntrospectedPrincipalCache.REQUESTS_METRIC, "result", "miss").count());
+    }
+
+    @Test
+    public void principalsAreNotCachedIfCacheIsDisabled() {
+        cache = createCache(false);
+        cache.put("token", createPrincipal("user"), null);
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void invalidatedTokenIsRemovedOnAllInstances() {
+        cache.put("token", createPrincipal("user"), null);
+        cache.put("other", createPrincipal("user"), null);
+
+        cache.invalidate("token");
+
+        assertNull(cache.get("token"));
+        assertNotNull(cache.get("other"));
+
+        ArgumentCaptor<IntrospectedPrincipalCache.InvalidatedEvent> eventCaptor =
+                ArgumentCaptor.forClass(IntrospectedPrincipalCache.InvalidatedEvent.class);
+        verify(clusterEventPublisher).publish(eventCaptor.capture());
+        assertNotNull(eventCaptor.getValue().getTokenHash());
+        assertNotEquals("token", eventCaptor.getValue().getTokenHash());
+
+        cache.put("token", createPrincipal("user"), null);
+        cache.onInvalidated(eventCaptor.getValue());
+
+        assertNull(cache.get("token"));
+        assertNotNull(cache.get("other"));
+    }
+
+    @Test
+    public void principalsOfUserAreRemovedWhenRoleAssignmentsChange() {
+        cache.put("token1", createPrincipal("user1"), null);
+        cache.put("token2", createPrincipal("user2"), null);
+
+        cache.onRoleAssignmentModified(new RoleAssignmentModifiedEvent(this, "user1"));
+
+        assertNull(cache.get("token1"));
+        assertNotNull(cache.get("token2"));
+
+        cache.onRoleAssignmentModified(new RoleAssignmentModifiedEvent(this, null));
+
+        assertNull(cache.get("token2"));
+    }
+
+    @Test
+    public void allPrincipalsAreRemovedWhenClientRoleAssignmentsChange() {
+        cache.put("token1", createPrincipal("client"), null);
+        cache.put("token2", createPrincipal("user"), null);
+
+        cache.onClientRoleAssignmentModified(new RegisteredClientRoleAssignmentModifiedEvent(this, "client"));
+
+        assertNull(cache.get("token1"));
+        assertNull(cache.get("token2"));
+
+        ArgumentCaptor<IntrospectedPrincipalCache.InvalidatedEvent> eventCaptor =
+                ArgumentCaptor.forClass(IntrospectedPrincipalCache.InvalidatedEvent.class);
+        verify(clusterEventPublisher).publish(eventCaptor.capture());
+        assertNull(eventCaptor.getValue().getTokenHash());
+    }
+
+    protected IntrospectedPrincipalCache createCache(boolean enabled) {
+        AuthServerProperties properties = new AuthServerProperties(true, Collections.emptyMap(), "/as-login",
+                "as-login.html", enabled, 60, 100);
+        return new IntrospectedPrincipalCache(properties, clusterEventPublisher, meterRegistry);
+    }
+
+    protected OAuth2AuthenticatedPrincipal createPrincipal(String name) {
+        return new UserDetailsOAuth2AuthenticatedPrincipal(name, Map.of("name", name), Collections.emptyList());
+    }
+}
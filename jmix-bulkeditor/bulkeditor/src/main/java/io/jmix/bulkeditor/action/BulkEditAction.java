@@ -61,6 +61,8 @@ public class BulkEditAction<E> extends SecuredListDataComponentAction<BulkEditAc
     protected Function<List<MetaProperty>, Map<MetaProperty, Integer>> fieldSorter;
     protected List<String> includeProperties;
     protected boolean useConfirmDialog = true;
+    protected int chunkSize;
+    protected boolean setBasedUpdateAllowed;
 
     protected boolean visibleBySpecificUiPermission = true;
 
@@ -135,6 +137,38 @@ public class BulkEditAction<E> extends SecuredListDataComponentAction<BulkEditAc
         this.useConfirmDialog = useConfirmDialog;
     }
 
+    /**
+     * @return number of items saved in one transaction, or 0 if all items are saved at once
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @param chunkSize number of items saved in one transaction by a background task.
+     *                  The default value is 0, meaning that all items are saved at once
+     * @see BulkEditorBuilder#withChunkSize(int)
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return whether the items may be updated without loading
+     */
+    public boolean isSetBasedUpdateAllowed() {
+        return setBasedUpdateAllowed;
+    }
+
+    /**
+     * @param setBasedUpdateAllowed whether changes may be saved by an update statement without loading the items.
+     *                              The default value is false
+     * @see BulkEditorBuilder#withSetBasedUpdateAllowed(boolean)
+     */
+    public void setSetBasedUpdateAllowed(boolean setBasedUpdateAllowed) {
+        this.setBasedUpdateAllowed = setBasedUpdateAllowed;
+    }
+
     @Autowired
     protected void setMessages(Messages messages) {
         this.text = messages.getMessage("actions.BulkEdit");
@@ -225,7 +259,9 @@ public class BulkEditAction<E> extends SecuredListDataComponentAction<BulkEditAc
             builder = builder.withIncludeProperties(includeProperties);
         }
 
-        builder = builder.withUseConfirmDialog(useConfirmDialog);
+        builder = builder.withUseConfirmDialog(useConfirmDialog)
+                .withChunkSize(chunkSize)
+                .withSetBasedUpdateAllowed(setBasedUpdateAllowed);
         builder.open();
     }
 
@@ -260,4 +296,20 @@ public class BulkEditAction<E> extends SecuredListDataComponentAction<BulkEditAc
         setUseConfirmDialog(useConfirmDialog);
         return this;
     }
+
+    /**
+     * @see #setChunkSize(int)
+     */
+    public BulkEditAction<E> withChunkSize(int chunkSize) {
+        setChunkSize(chunkSize);
+        return this;
+    }
+
+    /**
+     * @see #setSetBasedUpdateAllowed(boolean)
+     */
+    public BulkEditAction<E> withSetBasedUpdateAllowed(boolean setBasedUpdateAllowed) {
+        setSetBasedUpdateAllowed(setBasedUpdateAllowed);
+        return this;
+    }
 }
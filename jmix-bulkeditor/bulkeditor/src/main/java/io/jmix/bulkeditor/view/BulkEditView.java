@@ -16,6 +16,7 @@
 
 package io.jmix.bulkeditor.view;
 
+import com.google.common.collect.Lists;
 import com.vaadin.flow.component.AbstractField;
 import com.vaadin.flow.component.ClickEvent;
 import com.vaadin.flow.component.Component;
@@ -34,6 +35,7 @@ import com.vaadin.flow.component.shared.Tooltip;
 import com.vaadin.flow.dom.Style;
 import com.vaadin.flow.router.Route;
 import io.jmix.bulkeditor.view.BulkEditViewDataLoadSupport.LoadDescriptor;
+import io.jmix.bulkeditor.view.BulkEditViewSaveSupport.ChunkResult;
 import io.jmix.core.DataManager;
 import io.jmix.core.EntitySet;
 import io.jmix.core.FetchPlan;
@@ -54,6 +56,8 @@ import io.jmix.flowui.Notifications;
 import io.jmix.flowui.UiComponents;
 import io.jmix.flowui.action.DialogAction;
 import io.jmix.flowui.action.DialogAction.Type;
+import io.jmix.flowui.backgroundtask.BackgroundTask;
+import io.jmix.flowui.backgroundtask.TaskLifeCycle;
 import io.jmix.flowui.component.ComponentGenerationContext;
 import io.jmix.flowui.component.SupportsTypedValue;
 import io.jmix.flowui.component.SupportsValidation;
@@ -95,6 +99,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -104,7 +110,11 @@ import java.util.stream.Collectors;
 @DialogMode(resizable = true, width = "64em", height = "48em", minWidth = "18em")
 public class BulkEditView<E> extends StandardView {
 
+    private static final Logger log = LoggerFactory.getLogger(BulkEditView.class);
+
     protected static final String FIELD_MIN_WIDTH = "10em";
+    protected static final int CHUNKED_SAVE_TIMEOUT_MINUTES = 60;
+    protected static final int MAX_REPORTED_ERRORS = 20;
 
     @ViewComponent
     protected JmixButton applyBtn;
@@ -118,6 +128,8 @@ public class BulkEditView<E> extends StandardView {
     @Autowired
     protected BulkEditViewDataLoadSupport dataLoadSupport;
     @Autowired
+    protected BulkEditViewSaveSupport saveSupport;
+    @Autowired
     protected DataManager dataManager;
     @Autowired
     protected Dialogs dialogs;
@@ -239,6 +251,10 @@ public class BulkEditView<E> extends StandardView {
     }
 
     protected void loadItems() {
+        if (isChunkedSave()) {
+            // items are loaded chunk by chunk when the changes are saved
+            return;
+        }
         LoadDescriptor<E> ld = new LoadDescriptor<>(context.getSelectedItems(), context.getMetaClass(), fetchPlan);
         items = dataLoadSupport.reload(ld);
     }
@@ -431,7 +447,7 @@ public class BulkEditView<E> extends StandardView {
 
     public void closeWithCommit() {
         ValidationErrors validationErrors = validateUiComponents();
-        if (validationErrors.isEmpty()) {
+        if (validationErrors.isEmpty() && !isChunkedSave()) {
             updateItemValues();
             applyModelValidators(validationErrors);
         }
@@ -477,26 +493,42 @@ public class BulkEditView<E> extends StandardView {
     }
 
     protected void updateItemValues() {
+        Map<String, Object> changedValues = getChangedValues();
+        for (E item : items) {
+            applyChangedValues(item, changedValues);
+        }
+    }
+
+    /**
+     * @return new values by property paths, null for the attributes to be cleared
+     */
+    protected Map<String, Object> getChangedValues() {
+        Map<String, Object> changedValues = new LinkedHashMap<>();
         for (Map.Entry<String, AbstractField<?, ?>> fieldEntry : dataFields.entrySet()) {
             AbstractField<?, ?> field = fieldEntry.getValue();
 
             if (!field.isEnabled() || isFieldChanged(field)) {
-                for (E item : items) {
-                    ensureEmbeddedPropertyCreated(item, fieldEntry.getKey());
-                    Object value;
-                    if (!field.isEnabled()) {
-                        value = null;
+                Object value;
+                if (!field.isEnabled()) {
+                    value = null;
+                } else {
+                    if (field instanceof SupportsTypedValue<?, ?, ?, ?> supportsTypedValue) {
+                        value = supportsTypedValue.getTypedValue();
                     } else {
-                        if (field instanceof SupportsTypedValue<?, ?, ?, ?> supportsTypedValue) {
-                            value = supportsTypedValue.getTypedValue();
-                        } else {
-                            value = field.getValue();
-                        }
+                        value = field.getValue();
                     }
-                    EntityValues.setValueEx(item, fieldEntry.getKey(), value);
                 }
+                changedValues.put(fieldEntry.getKey(), value);
             }
         }
+        return changedValues;
+    }
+
+    protected void applyChangedValues(E item, Map<String, Object> changedValues) {
+        for (Map.Entry<String, Object> valueEntry : changedValues.entrySet()) {
+            ensureEmbeddedPropertyCreated(item, valueEntry.getKey());
+            EntityValues.setValueEx(item, valueEntry.getKey(), valueEntry.getValue());
+        }
     }
 
     protected void ensureEmbeddedPropertyCreated(E item, String propertyPath) {
@@ -530,7 +562,7 @@ public class BulkEditView<E> extends StandardView {
             dialogs.createOptionDialog()
                     .withHeader(messageBundle.getMessage("bulk.confirmation"))
                     .withText(messageBundle.formatMessage("bulk.applyConfirmation",
-                            items.size(), StringUtils.join(fields, "\n")))
+                            getItemsCount(), StringUtils.join(fields, "\n")))
                     .withActions(new DialogAction(Type.OK)
                                     .withText(messages.getMessage("actions.Apply"))
                                     .withVariant(ActionVariant.PRIMARY)
@@ -553,10 +585,14 @@ public class BulkEditView<E> extends StandardView {
             }
         }
 
+        if (isChunkedSave()) {
+            commitBulkChangesInChunks(fields);
+            return;
+        }
+
         EntitySet saved = dataManager.save(new SaveContext().saving(items));
 
-        Logger logger = LoggerFactory.getLogger(BulkEditView.class);
-        logger.info("Applied bulk editing for {} entries of {}. Changed properties: {}",
+        log.info("Applied bulk editing for {} entries of {}. Changed properties: {}",
                 saved.size(), context.getMetaClass(), StringUtils.join(fields, ", "));
 
         notifications.create(messageBundle.formatMessage("bulk.successMessage", saved.size()))
@@ -566,4 +602,161 @@ public class BulkEditView<E> extends StandardView {
 
         close(StandardOutcome.SAVE);
     }
+
+    protected boolean isChunkedSave() {
+        return context.getChunkSize() > 0;
+    }
+
+    protected int getItemsCount() {
+        return items != null ? items.size() : context.getSelectedItems().size();
+    }
+
+    /**
+     * Saves the changes in a background task, each chunk of items in its own transaction.
+     *
+     * @param fields changed properties
+     */
+    protected void commitBulkChangesInChunks(List<String> fields) {
+        Map<String, Object> changedValues = getChangedValues();
+        boolean setBasedUpdate = isSetBasedUpdateApplicable(changedValues);
+
+        dialogs.createBackgroundTaskDialog(new ChunkedSaveTask(changedValues, setBasedUpdate, fields))
+                .withHeader(messageBundle.getMessage("bulk.progressHeader"))
+                .withText(messageBundle.formatMessage("bulk.progressText", getItemsCount()))
+                .withTotal(getItemsCount())
+                .withShowProgressInPercentage(true)
+                .withCancelAllowed(true)
+                .open();
+    }
+
+    /**
+     * Checks whether the changes can be saved by update statements without loading the items. It requires
+     * the permission of the caller, no model validators, no bean validation constraints of the entity or of
+     * the changed attributes, and only local attributes or references to be changed.
+     *
+     * @param changedValues new values by property paths
+     * @return true if the items can be updated without loading
+     */
+    protected boolean isSetBasedUpdateApplicable(Map<String, Object> changedValues) {
+        if (!context.isSetBasedUpdateAllowed() || !context.getModelValidators().isEmpty()) {
+            return false;
+        }
+        // update statements are not validated, so class-level constraints must not depend on the changes
+        if (validator.getConstraintsForClass(context.getMetaClass().getJavaClass()).hasConstraints()) {
+            return false;
+        }
+        for (String propertyPath : changedValues.keySet()) {
+            MetaProperty metaProperty = context.getMetaClass().findProperty(propertyPath);
+            if (metaProperty == null
+                    || metadataTools.isEmbedded(metaProperty)
+                    || metaProperty.getType() == MetaProperty.Type.COMPOSITION
+                    || metaProperty.getRange().getCardinality().isMany()
+                    || hasBeanValidationConstraints(metaProperty)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean hasBeanValidationConstraints(MetaProperty metaProperty) {
+        BeanDescriptor beanDescriptor = validator.getConstraintsForClass(metaProperty.getDomain().getJavaClass());
+        return beanDescriptor.getConstraintsForProperty(metaProperty.getName()) != null;
+    }
+
+    protected void onChunkedSaveFinished(ChunkedSaveTask task, boolean canceled) {
+        log.info("Applied bulk editing for {} entries of {} in chunks, {} entries failed{}. Changed properties: {}",
+                task.savedCount, context.getMetaClass(), task.failedCount, canceled ? ", canceled" : "",
+                StringUtils.join(task.fields, ", "));
+
+        if (task.failedCount == 0 && !canceled) {
+            notifications.create(messageBundle.formatMessage("bulk.successMessage", task.savedCount))
+                    .withType(Notifications.Type.SUCCESS)
+                    .withPosition(Notification.Position.TOP_END)
+                    .show();
+        } else {
+            List<String> errors = task.errors.size() > MAX_REPORTED_ERRORS
+                    ? task.errors.subList(0, MAX_REPORTED_ERRORS)
+                    : task.errors;
+            dialogs.createMessageDialog()
+                    .withHeader(messageBundle.getMessage(canceled
+                            ? "bulk.canceledHeader"
+                            : "bulk.partialFailureHeader"))
+                    .withText(messageBundle.formatMessage("bulk.partialFailureMessage",
+                            task.savedCount, task.failedCount, StringUtils.join(errors, "\n")))
+                    .open();
+        }
+
+        if (task.savedCount > 0) {
+            close(StandardOutcome.SAVE);
+        }
+    }
+
+    /**
+     * Loads, changes and saves the selected items chunk by chunk and publishes the number of processed items.
+     */
+    protected class ChunkedSaveTask extends BackgroundTask<Integer, Void> {
+
+        protected final Map<String, Object> changedValues;
+        protected final boolean setBasedUpdate;
+        protected final List<String> fields;
+
+        protected volatile int savedCount;
+        protected volatile int failedCount;
+        protected final List<String> errors = new CopyOnWriteArrayList<>();
+
+        public ChunkedSaveTask(Map<String, Object> changedValues, boolean setBasedUpdate, List<String> fields) {
+            super(CHUNKED_SAVE_TIMEOUT_MINUTES, TimeUnit.MINUTES, BulkEditView.this);
+            this.changedValues = changedValues;
+            this.setBasedUpdate = setBasedUpdate;
+            this.fields = fields;
+        }
+
+        @Override
+        public Void run(TaskLifeCycle<Integer> taskLifeCycle) throws Exception {
+            List<E> selectedItems = new ArrayList<>(context.getSelectedItems());
+            int processedCount = 0;
+            for (List<E> chunk : Lists.partition(selectedItems, context.getChunkSize())) {
+                if (taskLifeCycle.isCancelled() || taskLifeCycle.isInterrupted()) {
+                    break;
+                }
+                try {
+                    ChunkResult result = saveChunk(chunk);
+                    savedCount += result.getSavedCount();
+                    failedCount += result.getFailedCount();
+                    errors.addAll(result.getErrors());
+                } catch (RuntimeException e) {
+                    log.warn("Unable to apply bulk editing to entries {}-{} of {}",
+                            processedCount + 1, processedCount + chunk.size(), context.getMetaClass(), e);
+                    failedCount += chunk.size();
+                    errors.add(messageBundle.formatMessage("bulk.chunkError",
+                            processedCount + 1, processedCount + chunk.size(), e.getMessage()));
+                }
+                processedCount += chunk.size();
+                taskLifeCycle.publish(processedCount);
+            }
+            return null;
+        }
+
+        protected ChunkResult saveChunk(List<E> chunk) {
+            if (setBasedUpdate) {
+                List<Object> ids = chunk.stream()
+                        .map(EntityValues::getId)
+                        .collect(Collectors.toList());
+                return saveSupport.updateChunk(context.getMetaClass(), ids, changedValues);
+            }
+            LoadDescriptor<E> ld = new LoadDescriptor<>(chunk, context.getMetaClass(), fetchPlan);
+            return saveSupport.saveChunk(ld, item -> applyChangedValues(item, changedValues),
+                    context.getModelValidators());
+        }
+
+        @Override
+        public void done(Void result) {
+            onChunkedSaveFinished(this, false);
+        }
+
+        @Override
+        public void canceled() {
+            onChunkedSaveFinished(this, true);
+        }
+    }
 }
@@ -40,6 +40,8 @@ public class BulkEditViewContext<V> {
     protected List<Validator<V>> modelValidators;
     protected boolean useConfirmDialog;
     protected Function<List<MetaProperty>, Map<MetaProperty, Integer>> fieldSorter;
+    protected int chunkSize;
+    protected boolean setBasedUpdateAllowed;
 
     public BulkEditViewContext(MetaClass metaClass, Collection<V> selectedItems) {
         checkNotNullArgument(metaClass);
@@ -112,4 +114,27 @@ public class BulkEditViewContext<V> {
     public void setFieldSorter(@Nullable Function<List<MetaProperty>, Map<MetaProperty, Integer>> fieldSorter) {
         this.fieldSorter = fieldSorter;
     }
+
+    /**
+     * @return number of items saved in one transaction by a background task, or 0 if all items are saved at once
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return whether changes of local attributes and references may be saved by an update statement without
+     * loading the items, if no model validators are set
+     */
+    public boolean isSetBasedUpdateAllowed() {
+        return setBasedUpdateAllowed;
+    }
+
+    public void setSetBasedUpdateAllowed(boolean setBasedUpdateAllowed) {
+        this.setBasedUpdateAllowed = setBasedUpdateAllowed;
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.bulkeditor.view;
+
+import io.jmix.bulkeditor.view.BulkEditViewDataLoadSupport.LoadDescriptor;
+import io.jmix.core.DataManager;
+import io.jmix.core.FluentBulkUpdate;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.SaveContext;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.flowui.component.validation.Validator;
+import io.jmix.flowui.exception.ValidationException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Applies bulk editing changes to a chunk of selected items. Each call runs in its own transaction, so a failed
+ * chunk doesn't roll back the chunks saved before it.
+ */
+@Component("bulked_BulkEditViewSaveSupport")
+public class BulkEditViewSaveSupport {
+
+    protected final DataManager dataManager;
+    protected final MetadataTools metadataTools;
+    protected final BulkEditViewDataLoadSupport dataLoadSupport;
+
+    public BulkEditViewSaveSupport(DataManager dataManager,
+                                   MetadataTools metadataTools,
+                                   BulkEditViewDataLoadSupport dataLoadSupport) {
+        this.dataManager = dataManager;
+        this.metadataTools = metadataTools;
+        this.dataLoadSupport = dataLoadSupport;
+    }
+
+    /**
+     * Reloads the chunk of selected items, applies the changes and saves the items that pass the model validators.
+     *
+     * @param loadDescriptor  chunk of selected items to reload
+     * @param itemUpdater     applies the changes to a reloaded item
+     * @param modelValidators validators of the changed items
+     * @return numbers of saved and rejected items and validation errors of the rejected ones
+     */
+    public <E> ChunkResult saveChunk(LoadDescriptor<E> loadDescriptor,
+                                     Consumer<E> itemUpdater,
+                                     List<Validator<E>> modelValidators) {
+        List<E> items = dataLoadSupport.reload(loadDescriptor);
+
+        List<E> validItems = new ArrayList<>(items.size());
+        List<String> errors = new ArrayList<>();
+        for (E item : items) {
+            itemUpdater.accept(item);
+            String error = validate(item, modelValidators);
+            if (error == null) {
+                validItems.add(item);
+            } else {
+                errors.add(error);
+            }
+        }
+
+        if (!validItems.isEmpty()) {
+            dataManager.save(new SaveContext().saving(validItems));
+        }
+        return new ChunkResult(validItems.size(), loadDescriptor.getSelectedItems().size() - validItems.size(),
+                errors);
+    }
+
+    /**
+     * Updates the chunk of items with a single statement, without loading them. Entity listeners and model
+     * validators are not invoked, {@code EntityChangedEvent}s are published with changed attribute names only.
+     *
+     * @param metaClass metaclass of the items
+     * @param ids       ids of the items to update
+     * @param values    new values of local attributes and references by property names
+     * @return numbers of updated and skipped items
+     */
+    public ChunkResult updateChunk(MetaClass metaClass, Collection<Object> ids, Map<String, Object> values) {
+        String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+        if (primaryKeyName == null) {
+            throw new IllegalStateException("Cannot update " + metaClass.getName() + " in bulk: no primary key");
+        }
+
+        FluentBulkUpdate<?> update = dataManager.bulkUpdate(metaClass.getJavaClass())
+                .condition(PropertyCondition.inList(primaryKeyName, ids))
+                .publishEntityChangedEvents(true)
+                .chunkSize(ids.size());
+        values.forEach(update::set);
+
+        int updated = (int) update.execute();
+        return new ChunkResult(updated, ids.size() - updated, Collections.emptyList());
+    }
+
+    @Nullable
+    protected <E> String validate(E item, List<Validator<E>> modelValidators) {
+        for (Validator<E> validator : modelValidators) {
+            try {
+                validator.accept(item);
+            } catch (ValidationException e) {
+                return e.getDetailsMessage();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Outcome of applying the changes to a chunk of items.
+     */
+    public static class ChunkResult {
+
+        protected final int savedCount;
+        protected final int failedCount;
+        protected final List<String> errors;
+
+        public ChunkResult(int savedCount, int failedCount, List<String> errors) {
+            this.savedCount = savedCount;
+            this.failedCount = failedCount;
+            this.errors = errors;
+        }
+
+        public int getSavedCount() {
+            return savedCount;
+        }
+
+        public int getFailedCount() {
+            return failedCount;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
@@ -51,6 +51,8 @@ public class BulkEditorBuilder<E> {
     protected boolean useConfirmDialog = true;
     protected Function<List<MetaProperty>, Map<MetaProperty, Integer>> fieldSorter;
     protected View<?> origin;
+    protected int chunkSize;
+    protected boolean setBasedUpdateAllowed;
 
     public BulkEditorBuilder(BulkEditorBuilder<E> builder) {
         this.metaClass = builder.metaClass;
@@ -66,6 +68,8 @@ public class BulkEditorBuilder<E> {
         this.useConfirmDialog = builder.useConfirmDialog;
         this.fieldSorter = builder.fieldSorter;
         this.origin = builder.origin;
+        this.chunkSize = builder.chunkSize;
+        this.setBasedUpdateAllowed = builder.setBasedUpdateAllowed;
     }
 
     public BulkEditorBuilder(MetaClass metaClass,
@@ -158,6 +162,36 @@ public class BulkEditorBuilder<E> {
         return this;
     }
 
+    /**
+     * Sets the number of items saved in one transaction. If greater than zero, the items are loaded, changed,
+     * validated and saved chunk by chunk in a background task displaying the progress, and the items
+     * that fail validation or saving are reported without rolling back the other chunks. By default, all items
+     * are saved in a single transaction.
+     *
+     * @param chunkSize number of items saved in one transaction
+     * @return this builder
+     */
+    public BulkEditorBuilder<E> withChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets whether changes of local attributes and references may be saved by an update statement per chunk
+     * without loading the items. Applicable only if {@link #withChunkSize(int) chunkSize} is set, no model
+     * validators are set, and neither the entity nor the changed attributes have bean validation constraints.
+     * <p>
+     * An update statement skips entity saving events, entity listeners and bean validation of the items. Enable
+     * it only if the application doesn't rely on them for the changed attributes. The default value is false.
+     *
+     * @param setBasedUpdateAllowed whether the items may be updated without loading
+     * @return this builder
+     */
+    public BulkEditorBuilder<E> withSetBasedUpdateAllowed(boolean setBasedUpdateAllowed) {
+        this.setBasedUpdateAllowed = setBasedUpdateAllowed;
+        return this;
+    }
+
     /**
      * @return a {@link MetaClass} of items
      */
@@ -228,6 +262,20 @@ public class BulkEditorBuilder<E> {
         return fieldSorter;
     }
 
+    /**
+     * @return number of items saved in one transaction, or 0 if all items are saved at once
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return whether the items may be updated without loading
+     */
+    public boolean isSetBasedUpdateAllowed() {
+        return setBasedUpdateAllowed;
+    }
+
     /**
      * @return origin view
      */
@@ -124,6 +124,8 @@ public class BulkEditors {
         context.setModelValidators(builder.getModelValidators());
         context.setUseConfirmDialog(builder.isUseConfirmDialog());
         context.setFieldSorter(builder.getFieldSorter());
+        context.setChunkSize(builder.getChunkSize());
+        context.setSetBasedUpdateAllowed(builder.isSetBasedUpdateAllowed());
 
         return context;
     }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.querycondition.Condition;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+abstract class AbstractFluentBulkOperation<T extends AbstractFluentBulkOperation<T>> {
+
+    protected final UnconstrainedDataManager dataManager;
+    protected final BulkOperationContext context;
+
+    AbstractFluentBulkOperation(BulkOperationContext.Type type, MetaClass metaClass,
+                                UnconstrainedDataManager dataManager) {
+        this.context = new BulkOperationContext(type, metaClass);
+        this.dataManager = dataManager;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T self() {
+        return (T) this;
+    }
+
+    /**
+     * Sets condition restricting the affected instances. If not set, all instances are affected.
+     */
+    public T condition(Condition condition) {
+        context.setCondition(condition);
+        return self();
+    }
+
+    /**
+     * Sets custom hint that should be used by the query.
+     */
+    public T hint(String hintName, Serializable value) {
+        context.setHint(hintName, value);
+        return self();
+    }
+
+    /**
+     * Sets custom hints that should be used by the query.
+     */
+    public T hints(Map<String, Serializable> hints) {
+        hints.forEach(context::setHint);
+        return self();
+    }
+
+    /**
+     * Sets access constraints.
+     */
+    public T accessConstraints(Collection<AccessConstraint<?>> accessConstraints) {
+        context.setAccessConstraints(List.copyOf(accessConstraints));
+        return self();
+    }
+
+    /**
+     * Sets whether to join existing transaction or always start a new one.
+     */
+    public T joinTransaction(boolean join) {
+        context.setJoinTransaction(join);
+        return self();
+    }
+
+    /**
+     * Sets whether {@code EntityChangedEvent}s should be published for the affected instances.
+     *
+     * @see BulkOperationContext#setPublishEntityChangedEvents(boolean)
+     */
+    public T publishEntityChangedEvents(boolean publish) {
+        context.setPublishEntityChangedEvents(publish);
+        return self();
+    }
+
+    /**
+     * Sets maximum number of instances affected by a single statement.
+     */
+    public T chunkSize(int chunkSize) {
+        context.setChunkSize(chunkSize);
+        return self();
+    }
+
+    /**
+     * @return the context of this operation
+     */
+    public BulkOperationContext getContext() {
+        return context;
+    }
+
+    /**
+     * Executes the operation.
+     *
+     * @return number of affected instances
+     */
+    public long execute() {
+        return dataManager.executeBulk(context);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.querycondition.Condition;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Defines a bulk update or delete operation executed by a data store without loading entity instances.
+ * <p>
+ * The operation affects all instances of the entity matching the {@link #getCondition() condition} and the
+ * row-level constraints. Use {@link UnconstrainedDataManager#bulkUpdate(Class)} and
+ * {@link UnconstrainedDataManager#bulkDelete(Class)} to build and execute the operation.
+ */
+public class BulkOperationContext implements Serializable {
+
+    private static final long serialVersionUID = -3315129861722893408L;
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * Type of the bulk operation.
+     */
+    public enum Type {
+        UPDATE,
+        DELETE
+    }
+
+    protected Type type;
+    protected MetaClass entityMetaClass;
+    protected Map<String, Object> values = new LinkedHashMap<>();
+    protected Condition condition;
+    protected Map<String, Serializable> hints;
+    protected List<AccessConstraint<?>> accessConstraints;
+    protected boolean joinTransaction = true;
+    protected boolean publishEntityChangedEvents;
+    protected int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * @param type            operation type
+     * @param entityMetaClass metaclass of the affected entity
+     */
+    public BulkOperationContext(Type type, MetaClass entityMetaClass) {
+        Preconditions.checkNotNullArgument(type, "type is null");
+        Preconditions.checkNotNullArgument(entityMetaClass, "entityMetaClass is null");
+        this.type = type;
+        this.entityMetaClass = entityMetaClass;
+    }
+
+    /**
+     * @return operation type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return metaclass of the affected entity
+     */
+    public MetaClass getEntityMetaClass() {
+        return entityMetaClass;
+    }
+
+    /**
+     * @return new values of local attributes and references by property names, applicable to update operations
+     */
+    public Map<String, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Sets a new value of a local attribute or a reference for update operations.
+     */
+    public BulkOperationContext setValue(String property, @Nullable Object value) {
+        values.put(property, value);
+        return this;
+    }
+
+    /**
+     * @return condition restricting the affected instances, or null if all instances are affected
+     */
+    @Nullable
+    public Condition getCondition() {
+        return condition;
+    }
+
+    /**
+     * Sets condition restricting the affected instances.
+     */
+    public BulkOperationContext setCondition(@Nullable Condition condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * @return custom hints which are used by the query
+     */
+    public Map<String, Serializable> getHints() {
+        return hints == null ? Collections.emptyMap() : Collections.unmodifiableMap(hints);
+    }
+
+    /**
+     * Sets custom hint that should be used by the query.
+     */
+    public BulkOperationContext setHint(String hintName, Serializable value) {
+        if (hints == null) {
+            hints = new HashMap<>();
+        }
+        hints.put(hintName, value);
+        return this;
+    }
+
+    /**
+     * Sets custom hints that should be used by the query.
+     */
+    public BulkOperationContext setHints(@Nullable Map<String, Serializable> hints) {
+        this.hints = hints;
+        return this;
+    }
+
+    /**
+     * Returns the list of access constraints.
+     */
+    public List<AccessConstraint<?>> getAccessConstraints() {
+        return this.accessConstraints == null ? Collections.emptyList() : this.accessConstraints;
+    }
+
+    /**
+     * Sets the list of access constraints.
+     */
+    public BulkOperationContext setAccessConstraints(@Nullable List<AccessConstraint<?>> accessConstraints) {
+        this.accessConstraints = accessConstraints;
+        return this;
+    }
+
+    /**
+     * @return whether to join existing transaction or always start a new one
+     */
+    public boolean isJoinTransaction() {
+        return joinTransaction;
+    }
+
+    /**
+     * Sets whether to join existing transaction or always start a new one.
+     */
+    public BulkOperationContext setJoinTransaction(boolean joinTransaction) {
+        this.joinTransaction = joinTransaction;
+        return this;
+    }
+
+    /**
+     * @return whether {@code EntityChangedEvent}s are published for the affected instances
+     */
+    public boolean isPublishEntityChangedEvents() {
+        return publishEntityChangedEvents;
+    }
+
+    /**
+     * Sets whether {@code EntityChangedEvent}s should be published for the affected instances. The events contain
+     * only the names of changed attributes, old values are not available. False by default.
+     */
+    public BulkOperationContext setPublishEntityChangedEvents(boolean publishEntityChangedEvents) {
+        this.publishEntityChangedEvents = publishEntityChangedEvents;
+        return this;
+    }
+
+    /**
+     * @return maximum number of instances affected by a single statement
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets maximum number of instances affected by a single statement.
+     */
+    public BulkOperationContext setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationContext{" +
+                "type=" + type +
+                ", entity=" + entityMetaClass.getName() +
+                ", values=" + values.keySet() +
+                ", condition=" + condition +
+                '}';
+    }
+}
@@ -84,4 +84,15 @@ public interface DataStore {
      * @return number of key-value pairs in the data store
      */
     long getCount(ValueLoadContext context);
+
+    /**
+     * Executes a bulk update or delete operation without loading entity instances.
+     *
+     * @param context defines the operation
+     * @return number of affected instances
+     * @throws UnsupportedOperationException if the data store does not support bulk operations
+     */
+    default long executeBulk(BulkOperationContext context) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getName() + " data store");
+    }
 }
@@ -60,6 +60,9 @@ public class FetchPlan implements Serializable {
 
     protected boolean loadPartialEntities;
 
+    // structural hash code, computed on first use as fetch plans are immutable
+    private transient int hash;
+
     protected FetchPlan(Class<?> entityClass, String name) {
         this.entityClass = entityClass;
         this.name = name != null ? name : "";
@@ -102,6 +105,9 @@ public class FetchPlan implements Serializable {
 
         FetchPlan fetchPlan = (FetchPlan) o;
 
+        if (hashCode() != fetchPlan.hashCode())
+            return false;
+
         if (!(entityClass.equals(fetchPlan.entityClass) && name.equals(fetchPlan.name)
                 && loadPartialEntities == fetchPlan.loadPartialEntities))
             return false;
@@ -132,8 +138,14 @@ public class FetchPlan implements Serializable {
 
     @Override
     public int hashCode() {
-        int result = entityClass.hashCode();
-        result = 31 * result + name.hashCode();
+        int result = hash;
+        if (result == 0) {
+            result = entityClass.hashCode();
+            result = 31 * result + name.hashCode();
+            result = 31 * result + Boolean.hashCode(loadPartialEntities);
+            result = 31 * result + properties.hashCode();
+            hash = result;
+        }
         return result;
     }
 
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import io.jmix.core.metamodel.model.MetaClass;
+
+/**
+ * Class that provides fluent interface for deleting entity instances in bulk.
+ * <p>
+ * Obtain an instance of this class via {@code dataManager.bulkDelete(entityClass)}, for example:
+ * <pre>
+ * long deleted = dataManager.bulkDelete(Order.class)
+ *         .condition(PropertyCondition.less("date", date))
+ *         .execute();
+ * </pre>
+ * Soft-deletable entities are marked as deleted unless soft deletion is turned off by the
+ * {@code jmix.softDeletion} hint.
+ *
+ * @param <E> entity type
+ */
+public class FluentBulkDelete<E> extends AbstractFluentBulkOperation<FluentBulkDelete<E>> {
+
+    public FluentBulkDelete(MetaClass metaClass, UnconstrainedDataManager dataManager) {
+        super(BulkOperationContext.Type.DELETE, metaClass, dataManager);
+    }
+}
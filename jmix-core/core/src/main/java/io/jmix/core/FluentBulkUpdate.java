@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import io.jmix.core.metamodel.model.MetaClass;
+import org.springframework.lang.Nullable;
+
+/**
+ * Class that provides fluent interface for updating entity instances in bulk.
+ * <p>
+ * Obtain an instance of this class via {@code dataManager.bulkUpdate(entityClass)}, for example:
+ * <pre>
+ * long updated = dataManager.bulkUpdate(Customer.class)
+ *         .set("status", CustomerStatus.INACTIVE)
+ *         .condition(PropertyCondition.less("lastOrderDate", date))
+ *         .execute();
+ * </pre>
+ *
+ * @param <E> entity type
+ */
+public class FluentBulkUpdate<E> extends AbstractFluentBulkOperation<FluentBulkUpdate<E>> {
+
+    public FluentBulkUpdate(MetaClass metaClass, UnconstrainedDataManager dataManager) {
+        super(BulkOperationContext.Type.UPDATE, metaClass, dataManager);
+    }
+
+    /**
+     * Sets a new value of a local attribute or a reference.
+     */
+    public FluentBulkUpdate<E> set(String property, @Nullable Object value) {
+        context.setValue(property, value);
+        return this;
+    }
+}
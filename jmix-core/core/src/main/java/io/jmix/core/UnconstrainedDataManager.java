@@ -201,6 +201,43 @@ public interface UnconstrainedDataManager {
      */
     <T> T create(Class<T> entityClass);
 
+    /**
+     * Executes a bulk update or delete operation without loading entity instances.
+     *
+     * @param context defines the operation
+     * @return number of affected instances
+     */
+    long executeBulk(BulkOperationContext context);
+
+    /**
+     * Entry point to the fluent API for updating entity instances in bulk.
+     * <p>
+     * Usage example:
+     * <pre>
+     * long updated = dataManager.bulkUpdate(Customer.class)
+     *         .set("status", CustomerStatus.INACTIVE)
+     *         .condition(PropertyCondition.less("lastOrderDate", date))
+     *         .execute();
+     * </pre>
+     *
+     * @param entityClass class of updated instances
+     */
+    <E> FluentBulkUpdate<E> bulkUpdate(Class<E> entityClass);
+
+    /**
+     * Entry point to the fluent API for deleting entity instances in bulk.
+     * <p>
+     * Usage example:
+     * <pre>
+     * long deleted = dataManager.bulkDelete(Order.class)
+     *         .condition(PropertyCondition.less("date", date))
+     *         .execute();
+     * </pre>
+     *
+     * @param entityClass class of deleted instances
+     */
+    <E> FluentBulkDelete<E> bulkDelete(Class<E> entityClass);
+
     /**
      * Returns an entity instance which can be used as a reference to an object which exists in the data store.
      * <p>
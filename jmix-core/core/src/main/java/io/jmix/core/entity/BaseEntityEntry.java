@@ -32,6 +32,7 @@ import org.springframework.lang.Nullable;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Id;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -60,6 +61,22 @@ public abstract class BaseEntityEntry implements EntityEntry, Cloneable {
     protected static final int PROPERTY_CHANGE_LISTENERS_INITIAL_CAPACITY = 1;
     protected static final int WEAK_PROPERTY_CHANGE_LISTENERS_INITIAL_CAPACITY = 4;
 
+    /**
+     * Simple name of the nested entity entry class generated by the enhancer.
+     */
+    public static final String GENERATED_ENTRY_CLASS_NAME = "JmixEntityEntry";
+
+    /**
+     * Name of the static field of the generated entity entry class that contains names of the properties
+     * having generated indexed accessors. The index of a name in the array is the ordinal of the property.
+     */
+    public static final String INDEXED_PROPERTIES_FIELD_NAME = "_jmixIndexedProperties";
+
+    /**
+     * Returned by {@link #getIndexedValue(int)} if there is no generated accessor for the given ordinal.
+     */
+    protected static final Object NO_INDEXED_VALUE = new Object();
+
     public BaseEntityEntry(Entity source) {
         this.source = source;
     }
@@ -88,6 +105,108 @@ public abstract class BaseEntityEntry implements EntityEntry, Cloneable {
         return (T) MethodsCache.getOrCreate(getSource().getClass()).getGetter(name).apply(getSource());
     }
 
+    /**
+     * Returns an attribute value using the accessor generated by the enhancer for the given ordinal.
+     * Falls back to {@link #getAttributeValue(String)} if the ordinal doesn't correspond to the attribute name.
+     *
+     * @param ordinal ordinal of the property, see {@code MetaPropertyImpl#getOrdinal()}
+     * @param name    attribute name
+     * @return attribute value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getAttributeValue(int ordinal, String name) {
+        if (entityValuesProviders == null && isIndexedProperty(ordinal, name)) {
+            Object value = getIndexedValue(ordinal);
+            if (value != NO_INDEXED_VALUE) {
+                return (T) value;
+            }
+        }
+        return getAttributeValue(name);
+    }
+
+    /**
+     * Sets an attribute value using the accessor generated by the enhancer for the given ordinal.
+     * Falls back to {@link #setAttributeValue(String, Object, boolean)} if the ordinal doesn't correspond
+     * to the attribute name.
+     *
+     * @param ordinal     ordinal of the property, see {@code MetaPropertyImpl#getOrdinal()}
+     * @param name        attribute name
+     * @param value       attribute value
+     * @param checkEquals if true and the current value equals to the new one, the setter is not invoked
+     */
+    public void setAttributeValue(int ordinal, String name, Object value, boolean checkEquals) {
+        if (entityValuesProviders == null && isIndexedProperty(ordinal, name)) {
+            if (checkEquals && EntityValues.propertyValueEquals(getAttributeValue(ordinal, name), value)) {
+                return;
+            }
+            if (!setIndexedValue(ordinal, value)) {
+                setAttributeValue(name, value, false);
+            }
+            return;
+        }
+        setAttributeValue(name, value, checkEquals);
+    }
+
+    protected boolean isIndexedProperty(int ordinal, String name) {
+        String[] indexedProperties = getIndexedProperties();
+        return indexedProperties != null
+                && ordinal >= 0
+                && ordinal < indexedProperties.length
+                && indexedProperties[ordinal].equals(name);
+    }
+
+    /**
+     * Overridden by the enhancer to return the value of {@link #INDEXED_PROPERTIES_FIELD_NAME} field.
+     */
+    @Nullable
+    protected String[] getIndexedProperties() {
+        return null;
+    }
+
+    /**
+     * Overridden by the enhancer to invoke the getter of the property with the given ordinal.
+     *
+     * @return property value or {@link #NO_INDEXED_VALUE} if there is no getter for the ordinal
+     */
+    @Nullable
+    protected Object getIndexedValue(int ordinal) {
+        return NO_INDEXED_VALUE;
+    }
+
+    /**
+     * Overridden by the enhancer to invoke the setter of the property with the given ordinal.
+     *
+     * @return false if there is no setter for the ordinal
+     */
+    protected boolean setIndexedValue(int ordinal, @Nullable Object value) {
+        return false;
+    }
+
+    /**
+     * Returns names of the properties having indexed accessors generated by the enhancer for the given entity class.
+     *
+     * @param entityClass entity class
+     * @return array of property names, the index of a name is the ordinal of the property,
+     * or null if the class has no generated entity entry
+     */
+    @Nullable
+    public static String[] getIndexedProperties(Class<?> entityClass) {
+        String entryClassName = entityClass.getName() + "$" + GENERATED_ENTRY_CLASS_NAME;
+        try {
+            Class<?> entryClass = Class.forName(entryClassName, false, entityClass.getClassLoader());
+            if (!BaseEntityEntry.class.isAssignableFrom(entryClass)) {
+                return null;
+            }
+            Field field = entryClass.getDeclaredField(INDEXED_PROPERTIES_FIELD_NAME);
+            field.setAccessible(true);
+            return (String[]) field.get(null);
+        } catch (ClassNotFoundException | NoSuchFieldException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to read indexed properties of " + entryClassName, e);
+        }
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public void setAttributeValue(@NonNull String name, Object value, boolean checkEquals) {
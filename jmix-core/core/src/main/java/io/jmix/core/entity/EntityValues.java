@@ -17,8 +17,11 @@
 package io.jmix.core.entity;
 
 import io.jmix.core.Entity;
+import io.jmix.core.EntityEntry;
 import io.jmix.core.annotation.Internal;
+import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.PropertyPath;
+import io.jmix.core.metamodel.model.impl.MetaPropertyImpl;
 import org.apache.commons.lang3.ArrayUtils;
 
 import org.springframework.lang.Nullable;
@@ -100,6 +103,49 @@ public class EntityValues {
         return getEntityEntry(entity).getAttributeValue(name);
     }
 
+    /**
+     * Get an attribute value using the accessor generated by the enhancer for the property if it is available.
+     *
+     * @param property meta-property of the entity class
+     * @return attribute value
+     */
+    @Nullable
+    public static <T> T getValue(Object entity, MetaProperty property) {
+        EntityEntry entry = getEntityEntry(entity);
+        if (entry instanceof BaseEntityEntry baseEntry && property instanceof MetaPropertyImpl propertyImpl) {
+            return baseEntry.getAttributeValue(propertyImpl.getOrdinal(), property.getName());
+        }
+        return entry.getAttributeValue(property.getName());
+    }
+
+    /**
+     * Set an attribute value using the accessor generated by the enhancer for the property if it is available.
+     * The setter is invoked only if the new value differs from the current one.
+     *
+     * @param property meta-property of the entity class
+     * @param value    attribute value
+     */
+    public static void setValue(Object entity, MetaProperty property, Object value) {
+        setValue(entity, property, value, true);
+    }
+
+    /**
+     * Set an attribute value using the accessor generated by the enhancer for the property if it is available.
+     *
+     * @param property    meta-property of the entity class
+     * @param value       attribute value
+     * @param checkEquals check equals for previous and new value.
+     *                    If flag is true and objects equals, then setter will not be invoked
+     */
+    public static void setValue(Object entity, MetaProperty property, Object value, boolean checkEquals) {
+        EntityEntry entry = getEntityEntry(entity);
+        if (entry instanceof BaseEntityEntry baseEntry && property instanceof MetaPropertyImpl propertyImpl) {
+            baseEntry.setAttributeValue(propertyImpl.getOrdinal(), property.getName(), value, checkEquals);
+        } else {
+            entry.setAttributeValue(property.getName(), value, checkEquals);
+        }
+    }
+
     /**
      * Get an attribute value. Locates the attribute by the given path in object graph starting from this instance.
      * <br>
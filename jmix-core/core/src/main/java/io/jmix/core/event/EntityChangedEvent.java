@@ -100,6 +100,14 @@ public class EntityChangedEvent<E> extends ApplicationEvent implements Resolvabl
         return changes;
     }
 
+    /**
+     * INTERNAL.
+     */
+    @Internal
+    public MetaClass getOriginalMetaClass() {
+        return originalMetaClass;
+    }
+
     /**
      * INTERNAL.
      */
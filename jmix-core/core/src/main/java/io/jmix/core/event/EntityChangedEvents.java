@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.event;
+
+import io.jmix.core.Id;
+import io.jmix.core.annotation.Internal;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A Spring application event that is sent after {@link EntityChangedEvent}s of the same entity type published
+ * together, e.g. by saving a {@code SaveContext} or by a bulk operation. It contains all these events, so a listener
+ * can process the changed entities with set-based operations instead of handling each entity separately.
+ * <p>
+ * Individual {@link EntityChangedEvent}s are still published, so listeners of both events coexist. As for
+ * {@link EntityChangedEvent}, use {@code @EventListener} to handle the event inside the transaction and
+ * {@code @TransactionalEventListener} to handle it in a transaction phase:
+ * <pre>
+ * {@literal @}Component("test_OrderLinesChangedListener")
+ * public class OrderLinesChangedListener {
+ *
+ *     {@literal @}TransactionalEventListener
+ *     protected void orderLinesChanged(EntityChangedEvents&lt;OrderLine&gt; event) {
+ *         List&lt;Id&lt;OrderLine&gt;&gt; ids = event.getEntityIds();
+ *         //...
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <E> entity type
+ */
+public class EntityChangedEvents<E> extends ApplicationEvent implements ResolvableTypeProvider {
+
+    private List<EntityChangedEvent<E>> events;
+    private MetaClass originalMetaClass;
+
+    /**
+     * INTERNAL.
+     */
+    @Internal
+    public EntityChangedEvents(Object source, List<EntityChangedEvent<E>> events, MetaClass originalMetaClass) {
+        super(source);
+        this.events = Collections.unmodifiableList(events);
+        this.originalMetaClass = originalMetaClass;
+    }
+
+    /**
+     * Returns the events of individual entities in the order they are published.
+     */
+    public List<EntityChangedEvent<E>> getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns ids of all changed entities.
+     */
+    public List<Id<E>> getEntityIds() {
+        return events.stream()
+                .map(EntityChangedEvent::getEntityId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns ids of the entities changed in the given way.
+     */
+    public List<Id<E>> getEntityIds(EntityChangedEvent.Type type) {
+        return events.stream()
+                .filter(event -> event.getType() == type)
+                .map(EntityChangedEvent::getEntityId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * INTERNAL.
+     */
+    @Internal
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(),
+                ResolvableType.forClass(originalMetaClass.getJavaClass()));
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangedEvents{" +
+                "entityName=" + originalMetaClass.getName() +
+                ", size=" + events.size() +
+                '}';
+    }
+}
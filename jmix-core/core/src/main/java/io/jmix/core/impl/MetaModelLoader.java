@@ -27,6 +27,7 @@ import io.jmix.core.annotation.DeletedBy;
 import io.jmix.core.annotation.DeletedDate;
 import io.jmix.core.annotation.TenantId;
 import io.jmix.core.common.util.ReflectionHelper;
+import io.jmix.core.entity.BaseEntityEntry;
 import io.jmix.core.entity.annotation.JmixEmbedded;
 import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.entity.annotation.JmixId;
@@ -153,6 +154,7 @@ public class MetaModelLoader {
 
         for (MetaClass metaClass : session.getClasses()) {
             initInheritedProperties(metaClass);
+            initPropertyOrdinals(metaClass);
         }
     }
 
@@ -210,6 +212,19 @@ public class MetaModelLoader {
         }
     }
 
+    protected void initPropertyOrdinals(MetaClass metaClass) {
+        String[] indexedProperties = BaseEntityEntry.getIndexedProperties(metaClass.getJavaClass());
+        if (indexedProperties == null) {
+            return;
+        }
+        for (int i = 0; i < indexedProperties.length; i++) {
+            MetaProperty property = metaClass.findProperty(indexedProperties[i]);
+            if (property instanceof MetaPropertyImpl) {
+                ((MetaPropertyImpl) property).setOrdinal(i);
+            }
+        }
+    }
+
     @Nullable
     protected MetaClassImpl createClass(Session session, Class<?> javaClass) {
         if (!Entity.class.isAssignableFrom(javaClass)) {
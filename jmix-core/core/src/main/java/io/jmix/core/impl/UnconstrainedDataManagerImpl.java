@@ -310,6 +310,24 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return fluentValueLoader;
     }
 
+    @Override
+    public long executeBulk(BulkOperationContext context) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        DataStore store = dataStoreFactory.get(getStoreName(metaClass));
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+        return store.executeBulk(context);
+    }
+
+    @Override
+    public <E> FluentBulkUpdate<E> bulkUpdate(Class<E> entityClass) {
+        return new FluentBulkUpdate<>(metadata.getClass(entityClass), this);
+    }
+
+    @Override
+    public <E> FluentBulkDelete<E> bulkDelete(Class<E> entityClass) {
+        return new FluentBulkDelete<>(metadata.getClass(entityClass), this);
+    }
+
     protected SaveContext createSaveContext(SaveContext context) {
         SaveContext newCtx = new SaveContext();
         newCtx.setHints(context.getHints());
@@ -40,6 +40,8 @@ public class MetaPropertyImpl extends MetadataObjectImpl implements MetaProperty
     private Class<?> javaType;
     private Class<?> declaringClass;
 
+    private int ordinal = -1;
+
     public MetaPropertyImpl(MetaClass domain, String name) {
         this.domain = domain;
         this.session = domain.getSession();
@@ -202,6 +204,21 @@ public class MetaPropertyImpl extends MetadataObjectImpl implements MetaProperty
         }
     }
 
+    /**
+     * Returns the index of the property in the accessors generated by the enhancer for the Java class
+     * of the property domain, or -1 if the property has no generated accessors.
+     * <p>
+     * The ordinal is not copied to the clones of the property in descendant classes, because each class
+     * has its own generated accessors.
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
     @Override
     public String toString() {
         return domain.getName() + "." + name;
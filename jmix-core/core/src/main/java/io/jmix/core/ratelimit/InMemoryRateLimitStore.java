@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.ratelimit;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RateLimitStore} keeping counters in memory of the current application instance.
+ * <p>
+ * Each key is represented by a single "theoretical arrival time" updated with compare-and-set, which is
+ * equivalent to a token bucket refilled continuously (generic cell rate algorithm). No locks are taken on
+ * the request path.
+ * <p>
+ * The number of keys is bounded: counters not accessed during the expiration period are evicted, as well as
+ * the least recently used counters when the maximum number of keys is reached. An evicted key starts with
+ * all permits available, so the expiration period should not be shorter than the periods of the limits.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    protected static final int DEFAULT_MAX_KEYS = 100_000;
+    protected static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+
+    protected final Cache<String, AtomicLong> arrivalTimes;
+
+    public InMemoryRateLimitStore() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * @param maxKeys maximum number of keys which counters are kept
+     */
+    public InMemoryRateLimitStore(int maxKeys) {
+        this(maxKeys, DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    /**
+     * @param maxKeys           maximum number of keys which counters are kept
+     * @param expireAfterAccess period after the last access of a key when its counter is evicted
+     */
+    public InMemoryRateLimitStore(int maxKeys, Duration expireAfterAccess) {
+        this.arrivalTimes = CacheBuilder.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(expireAfterAccess)
+                .ticker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return currentTimeNanos();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, RateLimit limit) {
+        long interval = limit.getEmissionIntervalNanos();
+        long tolerance = limit.period().toNanos() - interval;
+
+        AtomicLong arrivalTime = arrivalTimes.asMap().computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = currentTimeNanos();
+            long current = arrivalTime.get();
+            long theoretical = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            if (theoretical - now > tolerance) {
+                return false;
+            }
+            if (arrivalTime.compareAndSet(current, theoretical + interval)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int getAvailablePermits(String key, RateLimit limit) {
+        AtomicLong arrivalTime = arrivalTimes.getIfPresent(key);
+        if (arrivalTime == null) {
+            return limit.permits();
+        }
+        long now = currentTimeNanos();
+        long current = arrivalTime.get();
+        if (current == Long.MIN_VALUE || current - now <= 0) {
+            return limit.permits();
+        }
+        long used = (current - now + limit.getEmissionIntervalNanos() - 1) / limit.getEmissionIntervalNanos();
+        return (int) Math.max(0, limit.permits() - used);
+    }
+
+    protected long currentTimeNanos() {
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.ratelimit;
+
+import io.jmix.core.common.util.Preconditions;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Defines the number of permits available within a period. Permits are restored continuously, so at most
+ * {@code permits} operations are allowed within any sliding window of the {@code period} length.
+ *
+ * @param permits maximum number of permits within the period, must be positive
+ * @param period  length of the period, must be positive
+ */
+public record RateLimit(int permits, Duration period) implements Serializable {
+
+    public RateLimit {
+        Preconditions.checkNotNullArgument(period, "period is null");
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be positive: " + permits);
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive: " + period);
+        }
+    }
+
+    /**
+     * Creates a limit of the given number of permits per minute.
+     */
+    public static RateLimit perMinute(int permits) {
+        return new RateLimit(permits, Duration.ofMinutes(1));
+    }
+
+    /**
+     * @return interval in nanoseconds after which a single permit is restored
+     */
+    public long getEmissionIntervalNanos() {
+        return Math.max(1, period.toNanos() / permits);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.ratelimit;
+
+/**
+ * Parts of a request which a rate limit key can be composed of.
+ */
+public enum RateLimitKeyType {
+
+    /**
+     * Remote IP address of the client.
+     */
+    IP,
+
+    /**
+     * Username of the current user.
+     */
+    USER,
+
+    /**
+     * Name of the invoked operation, for example a GraphQL operation or a REST endpoint.
+     */
+    OPERATION
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.ratelimit;
+
+/**
+ * Storage of rate limit counters. The default {@link InMemoryRateLimitStore} keeps counters of the current
+ * application instance. Register a bean implementing this interface to share counters between cluster nodes,
+ * for example in a distributed cache.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Tries to take a permit for the given key.
+     *
+     * @param key   rate limit key
+     * @param limit rate limit
+     * @return true if the permit is taken, false if the limit is exceeded
+     */
+    boolean tryAcquire(String key, RateLimit limit);
+
+    /**
+     * Returns the number of permits currently available for the given key without taking them.
+     *
+     * @param key   rate limit key
+     * @param limit rate limit
+     * @return number of available permits from 0 to {@link RateLimit#permits()}
+     */
+    int getAvailablePermits(String key, RateLimit limit);
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Limits the rate of operations by keys.
+ * <p>
+ * Counters are kept in the {@link RateLimitStore} bean if it is defined, otherwise in the
+ * {@link InMemoryRateLimitStore} of the current application instance. Rejections are counted by the
+ * {@value #REJECTED_METER_NAME} meter tagged with the scope.
+ */
+@Component("core_RateLimiter")
+public class RateLimiter {
+
+    public static final String REJECTED_METER_NAME = "jmix.rateLimit.rejected";
+
+    protected static final String UNKNOWN_KEY_PART = "?";
+
+    protected final RateLimitStore store;
+    protected final MeterRegistry meterRegistry;
+
+    public RateLimiter(ObjectProvider<RateLimitStore> storeProvider, MeterRegistry meterRegistry) {
+        this.store = storeProvider.getIfAvailable(InMemoryRateLimitStore::new);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Tries to take a permit for the given key.
+     *
+     * @param scope name of the rate-limited subsystem, for example {@code graphql}
+     * @param key   rate limit key within the scope
+     * @param limit rate limit
+     * @return true if the operation is permitted, false if the limit is exceeded
+     */
+    public boolean tryAcquire(String scope, String key, RateLimit limit) {
+        boolean acquired = store.tryAcquire(scope + ":" + key, limit);
+        if (!acquired) {
+            meterRegistry.counter(REJECTED_METER_NAME, "scope", scope).increment();
+        }
+        return acquired;
+    }
+
+    /**
+     * @return true if no permits are currently available for the given key
+     */
+    public boolean isLimited(String scope, String key, RateLimit limit) {
+        return store.getAvailablePermits(scope + ":" + key, limit) == 0;
+    }
+
+    /**
+     * Composes a rate limit key from the values of the given key types.
+     *
+     * @param keyTypes key types in the order they should appear in the key
+     * @param resolver returns a value of the key type or null if it is unknown
+     */
+    public String createKey(Collection<RateLimitKeyType> keyTypes, Function<RateLimitKeyType, String> resolver) {
+        StringJoiner joiner = new StringJoiner("|");
+        for (RateLimitKeyType keyType : keyTypes) {
+            String value = resolver.apply(keyType);
+            joiner.add(value == null ? UNKNOWN_KEY_PART : value);
+        }
+        return joiner.toString();
+    }
+}
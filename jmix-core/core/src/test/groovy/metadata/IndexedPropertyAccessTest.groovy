@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package metadata
+
+import io.jmix.core.CoreConfiguration
+import io.jmix.core.Metadata
+import io.jmix.core.entity.EntityPropertyChangeListener
+import io.jmix.core.entity.EntitySystemAccess
+import io.jmix.core.entity.EntityValues
+import io.jmix.core.metamodel.model.impl.MetaPropertyImpl
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import test_support.addon1.TestAddon1Configuration
+import test_support.app.TestAppConfiguration
+import test_support.app.entity.Owner
+import test_support.app.entity.Pet
+
+@ContextConfiguration(classes = [CoreConfiguration, TestAddon1Configuration, TestAppConfiguration])
+class IndexedPropertyAccessTest extends Specification {
+
+    @Autowired
+    Metadata metadata
+
+    def "field-based properties have ordinals, method-based ones don't"() {
+        def petClass = metadata.getClass(Pet)
+
+        expect:
+        (petClass.getProperty('name') as MetaPropertyImpl).ordinal >= 0
+        (petClass.getProperty('owner') as MetaPropertyImpl).ordinal >= 0
+        (petClass.getProperty('description') as MetaPropertyImpl).ordinal == -1
+    }
+
+    def "inherited properties have the same ordinals in subclasses"() {
+        def petClass = metadata.getClass(Pet)
+        def ownerClass = metadata.getClass(Owner)
+
+        expect:
+        (petClass.getProperty('version') as MetaPropertyImpl).ordinal ==
+                (ownerClass.getProperty('version') as MetaPropertyImpl).ordinal
+    }
+
+    def "values are accessed by meta-property"() {
+        def petClass = metadata.getClass(Pet)
+        def nameProperty = petClass.getProperty('name')
+        def descriptionProperty = petClass.getProperty('description')
+
+        def pet = metadata.create(Pet)
+        def changes = []
+        EntitySystemAccess.getEntityEntry(pet).addPropertyChangeListener({ e -> changes << e.property } as EntityPropertyChangeListener, false)
+
+        when:
+        EntityValues.setValue(pet, nameProperty, 'Rex')
+
+        then:
+        pet.name == 'Rex'
+        EntityValues.getValue(pet, nameProperty) == 'Rex'
+        EntityValues.getValue(pet, descriptionProperty) == 'Name: Rex, nick: null'
+        changes == ['name']
+
+        when:
+        EntityValues.setValue(pet, nameProperty, 'Rex')
+
+        then:
+        changes == ['name']
+    }
+
+    def "mismatching meta-property falls back to name-based access"() {
+        def ownerNameProperty = metadata.getClass(Owner).getProperty('name')
+
+        def pet = metadata.create(Pet)
+        pet.name = 'Rex'
+
+        expect:
+        EntityValues.getValue(pet, ownerNameProperty) == 'Rex'
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rate_limit
+
+import io.jmix.core.ratelimit.InMemoryRateLimitStore
+import io.jmix.core.ratelimit.RateLimit
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class InMemoryRateLimitStoreTest extends Specification {
+
+    static class TestStore extends InMemoryRateLimitStore {
+        long now = 1_000_000_000L
+
+        TestStore(int maxKeys) {
+            super(maxKeys)
+        }
+
+        TestStore(int maxKeys, Duration expireAfterAccess) {
+            super(maxKeys, expireAfterAccess)
+        }
+
+        @Override
+        protected long currentTimeNanos() {
+            return now
+        }
+    }
+
+    def "permits are restored continuously within the period"() {
+        def store = new TestStore(100)
+        def limit = new RateLimit(3, Duration.ofSeconds(3))
+
+        expect:
+        (1..3).every { store.tryAcquire('k', limit) }
+        !store.tryAcquire('k', limit)
+        store.getAvailablePermits('k', limit) == 0
+        store.getAvailablePermits('other', limit) == 3
+
+        when: "one emission interval passed"
+        store.now += Duration.ofSeconds(1).toNanos()
+
+        then:
+        store.getAvailablePermits('k', limit) == 1
+        store.tryAcquire('k', limit)
+        !store.tryAcquire('k', limit)
+
+        when: "the whole period passed"
+        store.now += Duration.ofSeconds(3).toNanos()
+
+        then:
+        store.getAvailablePermits('k', limit) == 3
+    }
+
+    def "concurrent acquisitions do not exceed the limit"() {
+        def store = new InMemoryRateLimitStore()
+        def limit = RateLimit.perMinute(100)
+        def acquired = new AtomicInteger()
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def tasks = (1..1000).collect {
+            ({ if (store.tryAcquire('k', limit)) acquired.incrementAndGet() } as Callable<Object>)
+        }
+        executor.invokeAll(tasks)
+
+        then:
+        acquired.get() == 100
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "idle keys are evicted after the expiration period"() {
+        def store = new TestStore(100, Duration.ofSeconds(10))
+        def limit = new RateLimit(1, Duration.ofSeconds(1))
+
+        when:
+        store.tryAcquire('a', limit)
+        store.now += Duration.ofSeconds(5).toNanos()
+        store.tryAcquire('b', limit)
+        store.now += Duration.ofSeconds(6).toNanos()
+        store.arrivalTimes.cleanUp()
+
+        then:
+        store.arrivalTimes.asMap().keySet() == ['b'] as Set
+    }
+
+    def "number of keys is bounded"() {
+        def store = new TestStore(10, Duration.ofHours(1))
+        def limit = new RateLimit(1, Duration.ofMinutes(1))
+
+        when: "all keys are active"
+        (1..100).each { store.tryAcquire("key-$it", limit) }
+
+        then:
+        store.arrivalTimes.size() <= 10
+    }
+}
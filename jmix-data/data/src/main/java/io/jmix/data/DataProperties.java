@@ -33,17 +33,27 @@ public class DataProperties {
     String uniqueConstraintViolationPattern;
     boolean useUserLocaleForRelativeDateTimeMoments;
 
+    /**
+     * Maximum number of previous query results identifiers which are kept in memory and passed to the
+     * "query within results" restriction as a parameter. If the DBMS can't pass the identifiers in a single array
+     * parameter (e.g. PostgreSQL can), the actual limit is also bounded by the maximum number of query parameters of
+     * the DBMS. Querying within a larger number of results fails with an exception.
+     */
+    int queryResultsInMemoryMaxSize;
+
     public DataProperties(
             @DefaultValue("true") boolean useReadOnlyTransactionForLoad,
             @DefaultValue("100") int numberIdCacheSize,
             boolean useEntityDataStoreForIdSequence,
             @Nullable String uniqueConstraintViolationPattern,
-            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments) {
+            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments,
+            @DefaultValue("20000") int queryResultsInMemoryMaxSize) {
         this.useReadOnlyTransactionForLoad = useReadOnlyTransactionForLoad;
         this.numberIdCacheSize = numberIdCacheSize;
         this.useEntityDataStoreForIdSequence = useEntityDataStoreForIdSequence;
         this.uniqueConstraintViolationPattern = uniqueConstraintViolationPattern;
         this.useUserLocaleForRelativeDateTimeMoments = useUserLocaleForRelativeDateTimeMoments;
+        this.queryResultsInMemoryMaxSize = queryResultsInMemoryMaxSize;
     }
 
     public boolean isUseReadOnlyTransactionForLoad() {
@@ -69,4 +79,11 @@ public class DataProperties {
     public boolean isUseUserLocaleForRelativeDateTimeMoments() {
         return useUserLocaleForRelativeDateTimeMoments;
     }
+
+    /**
+     * @see #queryResultsInMemoryMaxSize
+     */
+    public int getQueryResultsInMemoryMaxSize() {
+        return queryResultsInMemoryMaxSize;
+    }
 }
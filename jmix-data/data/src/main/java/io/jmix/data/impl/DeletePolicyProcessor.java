@@ -15,6 +15,7 @@
  */
 package io.jmix.data.impl;
 
+import com.google.common.collect.Lists;
 import io.jmix.core.*;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.entity.annotation.OnDelete;
@@ -46,6 +47,11 @@ public class DeletePolicyProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(DeletePolicyProcessor.class);
 
+    /**
+     * Maximum number of ids passed to a single {@code IN} condition when processing several entities.
+     */
+    protected static final int IN_CONDITION_SIZE = 500;
+
     protected Object entity;
     protected MetaClass metaClass;
     protected String primaryKeyName;
@@ -99,6 +105,46 @@ public class DeletePolicyProcessor {
             processOnDelete(properties);
     }
 
+    /**
+     * Processes delete policies of several removed entities. Entities of the same class are processed together:
+     * inverse references are checked, loaded and unlinked by queries with {@code IN} conditions instead of
+     * separate queries for each entity.
+     *
+     * @param entities removed entities
+     */
+    public void process(Collection<?> entities) {
+        Map<MetaClass, List<Object>> entitiesByClass = new LinkedHashMap<>();
+        for (Object removedEntity : entities) {
+            entitiesByClass.computeIfAbsent(metadata.getClass(removedEntity), key -> new ArrayList<>())
+                    .add(removedEntity);
+        }
+
+        for (Map.Entry<MetaClass, List<Object>> entry : entitiesByClass.entrySet()) {
+            List<Object> classEntities = entry.getValue();
+            if (classEntities.size() == 1 || metadataTools.hasCompositePrimaryKey(entry.getKey())) {
+                for (Object removedEntity : classEntities) {
+                    setEntity(removedEntity);
+                    process();
+                }
+            } else {
+                setEntity(classEntities.get(0));
+                processBatch(classEntities);
+            }
+        }
+    }
+
+    protected void processBatch(List<Object> entities) {
+        List<MetaProperty> properties = new ArrayList<>();
+
+        fillProperties(properties, OnDeleteInverse.class.getName());
+        if (!properties.isEmpty())
+            processOnDeleteInverse(properties, entities);
+
+        fillProperties(properties, OnDelete.class.getName());
+        if (!properties.isEmpty())
+            processOnDelete(properties, entities);
+    }
+
     protected void fillProperties(List<MetaProperty> properties, String annotationName) {
         properties.clear();
         MetaProperty[] metaProperties = (MetaProperty[]) metaClass.getAnnotations().get(annotationName);
@@ -143,6 +189,63 @@ public class DeletePolicyProcessor {
         }
     }
 
+    protected void processOnDeleteInverse(List<MetaProperty> properties, List<Object> entities) {
+        List<Object> ids = getIds(entities);
+        for (MetaProperty property : properties) {
+            MetaClass metaClass = property.getDomain();
+
+            List<MetaClass> persistentEntities = new ArrayList<>();
+            if (isPersistent(metaClass))
+                persistentEntities.add(metaClass);
+            for (MetaClass descendant : metaClass.getDescendants()) {
+                if (isPersistent(descendant))
+                    persistentEntities.add(descendant);
+            }
+
+            for (MetaClass persistentEntity : persistentEntities) {
+                OnDeleteInverse annotation = property.getAnnotatedElement().getAnnotation(OnDeleteInverse.class);
+                DeletePolicy deletePolicy = annotation.value();
+                switch (deletePolicy) {
+                    case DENY:
+                        if (referenceExists(persistentEntity.getName(), property, ids))
+                            throw new DeletePolicyException(this.metaClass.getName(), persistentEntity.getName());
+                        break;
+                    case CASCADE:
+                        cascade(persistentEntity.getName(), property, ids);
+                        break;
+                    case UNLINK:
+                        unlink(persistentEntity.getName(), property, entities);
+                        break;
+                }
+            }
+        }
+    }
+
+    protected void processOnDelete(List<MetaProperty> properties, List<Object> entities) {
+        for (MetaProperty property : properties) {
+            OnDelete annotation = property.getAnnotatedElement().getAnnotation(OnDelete.class);
+            DeletePolicy deletePolicy = annotation.value();
+            boolean inverseCollection = property.getRange().getCardinality().isMany() && property.getInverse() != null;
+
+            if (inverseCollection && deletePolicy == DeletePolicy.DENY) {
+                if (!isCollectionsEmpty(property, getIds(entities)))
+                    throw new DeletePolicyException(this.metaClass.getName(), property.getRange().asClass().getName());
+            } else if (inverseCollection && deletePolicy == DeletePolicy.CASCADE) {
+                for (Object e : getCollections(property, entities)) {
+                    entityManager.remove(e);
+                }
+            } else if (inverseCollection && deletePolicy == DeletePolicy.UNLINK && !metadataTools.isOwningSide(property)) {
+                setReferencesNull(getCollections(property, entities), property.getInverse());
+            } else {
+                // references are processed in memory if loaded, so process them for each entity
+                for (Object removedEntity : entities) {
+                    setEntity(removedEntity);
+                    processOnDelete(Collections.singletonList(property));
+                }
+            }
+        }
+    }
+
     protected void processOnDelete(List<MetaProperty> properties) {
         for (MetaProperty property : properties) {
             MetaClass metaClass = property.getRange().asClass();
@@ -254,21 +357,74 @@ public class DeletePolicyProcessor {
         }
     }
 
-    protected void hardSetReferenceNull(Object entity, MetaProperty property) {
+    protected void setReferencesNull(Collection<Object> entities, MetaProperty property) {
+        Range range = property.getRange();
+        if (!metadataTools.isOwningSide(property) || range.getCardinality().isMany()) {
+            return;
+        }
+
+        List<Object> notLoaded = new ArrayList<>();
+        for (Object e : entities) {
+            if (entityStates.isLoaded(e, property.getName())) {
+                EntityValues.setValue(e, property.getName(), null);
+            } else {
+                notLoaded.add(e);
+            }
+        }
+        if (!notLoaded.isEmpty()) {
+            hardSetReferencesNull(notLoaded, property);
+        }
+    }
+
+    protected void hardSetReferencesNull(List<Object> entities, MetaProperty property) {
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void beforeCompletion() {
-                MetaClass entityMetaClass = metadata.getClass(entity);
-                while (!entityMetaClass.equals(property.getDomain())) {
-                    MetaClass ancestor = entityMetaClass.getAncestor();
-                    if (ancestor == null)
-                        throw new IllegalStateException("Cannot determine a persistent entity for property " + property);
-                    if (metadataTools.isJpaEntity(ancestor)) {
-                        entityMetaClass = ancestor;
-                    } else {
-                        break;
+                Map<MetaClass, List<Object>> idsByMetaClass = new LinkedHashMap<>();
+                for (Object e : entities) {
+                    idsByMetaClass.computeIfAbsent(getPropertyOwnerMetaClass(metadata.getClass(e), property),
+                                    key -> new ArrayList<>())
+                            .add(dbmsSpecifics.getDbTypeConverter().getSqlObject(EntityValues.getId(e)));
+                }
+
+                for (Map.Entry<MetaClass, List<Object>> entry : idsByMetaClass.entrySet()) {
+                    for (List<Object> ids : partition(entry.getValue())) {
+                        String sql = String.format("update %s set %s = null where %s in (%s)",
+                                metadataTools.getDatabaseTable(entry.getKey()),
+                                metadataTools.getDatabaseColumn(property),
+                                metadataTools.getPrimaryKeyName(entry.getKey()),
+                                String.join(", ", Collections.nCopies(ids.size(), "?")));
+                        try {
+                            log.debug("Set references to null: {}, bind: {}", sql, ids);
+                            getJdbcTemplate().update(sql, ids.toArray());
+                        } catch (DataAccessException e) {
+                            throw new RuntimeException("Error processing deletion of " + entities, e);
+                        }
                     }
                 }
+            }
+        });
+    }
+
+    protected MetaClass getPropertyOwnerMetaClass(MetaClass entityMetaClass, MetaProperty property) {
+        while (!entityMetaClass.equals(property.getDomain())) {
+            MetaClass ancestor = entityMetaClass.getAncestor();
+            if (ancestor == null)
+                throw new IllegalStateException("Cannot determine a persistent entity for property " + property);
+            if (metadataTools.isJpaEntity(ancestor)) {
+                entityMetaClass = ancestor;
+            } else {
+                break;
+            }
+        }
+        return entityMetaClass;
+    }
+
+    protected void hardSetReferenceNull(Object entity, MetaProperty property) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCompletion() {
+                MetaClass entityMetaClass = getPropertyOwnerMetaClass(metadata.getClass(entity), property);
                 String sql = String.format("update %s set %s = null where %s = ?",
                         metadataTools.getDatabaseTable(entityMetaClass),
                         metadataTools.getDatabaseColumn(property),
@@ -363,6 +519,60 @@ public class DeletePolicyProcessor {
         return result;
     }
 
+    protected boolean isCollectionsEmpty(MetaProperty property, List<Object> ids) {
+        MetaProperty inverseProperty = Objects.requireNonNull(property.getInverse());
+        String collectionPkName = metadataTools.getPrimaryKeyName(property.getRange().asClass());
+
+        String qlStr = "select e." + collectionPkName + " from " + property.getRange().asClass().getName() +
+                " e where e." + inverseProperty.getName() + "." + primaryKeyName + " in :ids";
+
+        for (List<Object> chunk : partition(ids)) {
+            Query query = entityManager.createQuery(qlStr);
+            query.setParameter("ids", chunk);
+            query.setMaxResults(1);
+            if (!query.getResultList().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns items of the collection property of all given entities, see {@link #getCollection(MetaProperty)}.
+     */
+    protected Collection<Object> getCollections(MetaProperty property, List<Object> entities) {
+        MetaProperty inverseProperty = Objects.requireNonNull(property.getInverse());
+        String invPropName = inverseProperty.getName();
+
+        Map<Object, Object> entitiesById = new HashMap<>();
+        for (Object e : entities) {
+            entitiesById.put(EntityValues.getId(e), e);
+        }
+
+        String qlStr = "select e, e." + invPropName + "." + primaryKeyName + " from "
+                + property.getRange().asClass().getName() + " e where e." + invPropName + "." + primaryKeyName + " in :ids";
+
+        Set<Object> result = new LinkedHashSet<>();
+        for (List<Object> chunk : partition(new ArrayList<>(entitiesById.keySet()))) {
+            Query query = entityManager.createQuery(qlStr);
+            query.setParameter("ids", chunk);
+            @SuppressWarnings("unchecked")
+            List<Object[]> list = query.getResultList();
+
+            for (Object[] row : list) {
+                Object item = row[0];
+                Object master = entitiesById.get(row[1]);
+                // If the property is not loaded, it means it was not modified and further check is not needed,
+                // otherwise check whether the item still belongs to the master entity
+                if (master != null && (!entityStates.isLoaded(master, property.getName())
+                        || master.equals(EntityValues.getValue(item, invPropName)))) {
+                    result.add(item);
+                }
+            }
+        }
+        return result;
+    }
+
     protected boolean referenceExists(String entityName, MetaProperty property) {
         String template = property.getRange().getCardinality().isMany() ?
                 "select count(e) from %s e join e.%s c where c." + primaryKeyName + "= ?1" :
@@ -393,6 +603,81 @@ public class DeletePolicyProcessor {
         }
     }
 
+    protected boolean referenceExists(String entityName, MetaProperty property, List<Object> ids) {
+        String template = property.getRange().getCardinality().isMany() ?
+                "select count(e) from %s e join e.%s c where c." + primaryKeyName + " in :ids" :
+                "select count(e) from %s e where e.%s." + primaryKeyName + " in :ids";
+        String qstr = String.format(template, entityName, property.getName());
+        for (List<Object> chunk : partition(ids)) {
+            Query query = entityManager.createQuery(qstr);
+            query.setParameter("ids", chunk);
+            query.setMaxResults(1);
+            Long count = (Long) query.getSingleResult();
+            if (count > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void cascade(String entityName, MetaProperty property, List<Object> ids) {
+        for (Object e : getReferringEntities(entityName, property, ids)) {
+            entityManager.remove(e);
+        }
+    }
+
+    protected void unlink(String entityName, MetaProperty property, List<Object> entities) {
+        if (metadataTools.isOwningSide(property)) {
+            Set<Object> removedEntities = new HashSet<>(entities);
+            Collection<Object> referringEntities = getReferringEntities(entityName, property, getIds(entities));
+            if (property.getRange().getCardinality().isMany()) {
+                for (Object e : referringEntities) {
+                    Collection<?> collection = EntityValues.getValue(e, property.getName());
+                    if (collection != null) {
+                        collection.removeIf(removedEntities::contains);
+                    }
+                }
+            } else {
+                setReferencesNull(referringEntities, property);
+            }
+        } else {
+            MetaProperty inverseProp = property.getInverse();
+            if (inverseProp != null && inverseProp.getDomain().equals(metaClass)) {
+                setReferencesNull(entities, inverseProp);
+            }
+        }
+    }
+
+    protected Collection<Object> getReferringEntities(String entityName, MetaProperty property, List<Object> ids) {
+        String template = property.getRange().getCardinality().isMany() ?
+                "select e from %s e join e.%s c where c." + primaryKeyName + " in :ids" :
+                "select e from %s e where e.%s." + primaryKeyName + " in :ids";
+        String qstr = String.format(template, entityName, property.getName());
+
+        // an entity can refer to several removed entities
+        Set<Object> result = new LinkedHashSet<>();
+        for (List<Object> chunk : partition(ids)) {
+            Query query = entityManager.createQuery(qstr);
+            query.setParameter("ids", chunk);
+            @SuppressWarnings("unchecked")
+            List<Object> list = query.getResultList();
+            result.addAll(list);
+        }
+        return result;
+    }
+
+    protected List<Object> getIds(List<Object> entities) {
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (Object e : entities) {
+            ids.add(Objects.requireNonNull(EntityValues.getId(e)));
+        }
+        return ids;
+    }
+
+    protected List<List<Object>> partition(List<Object> ids) {
+        return Lists.partition(ids, IN_CONDITION_SIZE);
+    }
+
     protected void unlink(String entityName, MetaProperty property) {
         if (metadataTools.isOwningSide(property)) {
             String template = property.getRange().getCardinality().isMany() ?
@@ -18,6 +18,7 @@ package io.jmix.data.impl;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import io.jmix.core.*;
 import io.jmix.core.common.util.StringHelper;
@@ -35,6 +36,7 @@ import io.jmix.data.impl.jpql.generator.ConditionGenerationContext;
 import io.jmix.data.impl.jpql.generator.ConditionJpqlGenerator;
 import io.jmix.data.impl.jpql.generator.ParameterJpqlGenerator;
 import io.jmix.data.impl.jpql.generator.SortJpqlGenerator;
+import io.jmix.data.persistence.DbmsFeatures;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.Query;
@@ -68,6 +70,8 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
     protected boolean previousResults;
     protected UUID sessionId;
     protected int queryKey;
+    protected List<?> previousResultIds;
+    protected DbmsFeatures dbmsFeatures;
 
     protected boolean countQuery;
     protected LockModeType lockMode;
@@ -151,6 +155,21 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
         return this;
     }
 
+    /**
+     * Restricts the query by identifiers of previous query results kept in memory. The identifiers are passed in
+     * a single array parameter if {@link DbmsFeatures#supportsArrayParameter(Class)}, otherwise in "IN" operators
+     * of at most {@link DbmsFeatures#getMaxIdsBatchSize()} values.
+     *
+     * @param ids          identifiers of previous query results
+     * @param dbmsFeatures features of the DBMS of the entity data store
+     */
+    public JpqlQueryBuilder setPreviousResultIds(List<?> ids, DbmsFeatures dbmsFeatures) {
+        this.previousResults = true;
+        this.previousResultIds = ids;
+        this.dbmsFeatures = dbmsFeatures;
+        return this;
+    }
+
     public JpqlQueryBuilder setCountQuery() {
         this.countQuery = true;
         return this;
@@ -343,7 +362,9 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
     }
 
     protected void restrictByPreviousResults() {
-        if (previousResults) {
+        if (previousResults && previousResultIds != null) {
+            restrictByPreviousResultIds();
+        } else if (previousResults) {
             Class type = getPrimaryKeyProperty().getJavaType();
             String entityIdField;
             if (UUID.class.equals(type)) {
@@ -367,10 +388,41 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
             );
 
             this.resultQuery = transformer.getResult();
+            this.resultParameters = new HashMap<>(resultParameters);
             this.resultParameters.put("_qr_sessionId", sessionId);
         }
     }
 
+    protected void restrictByPreviousResultIds() {
+        String primaryKeyName = getPrimaryKeyProperty().getName();
+        Map<String, Object> parameters = new HashMap<>(resultParameters);
+        StringJoiner where = new StringJoiner(" or ", "(", ")");
+
+        if (previousResultIds.isEmpty()) {
+            // primary key is never null, so nothing is selected
+            where.add(String.format("{E}.%s is null", primaryKeyName));
+        } else if (dbmsFeatures.supportsArrayParameter(previousResultIds.get(0).getClass())) {
+            Class<?> idClass = previousResultIds.get(0).getClass();
+            where.add(dbmsFeatures.getInArrayCondition("{E}." + primaryKeyName, "_qr_ids"));
+            parameters.put("_qr_ids", dbmsFeatures.getArrayParameterValue(previousResultIds, idClass));
+        } else {
+            Integer maxIdsBatchSize = dbmsFeatures.getMaxIdsBatchSize();
+            List<? extends List<?>> partitions = Lists.partition(previousResultIds,
+                    maxIdsBatchSize == null ? Integer.MAX_VALUE : maxIdsBatchSize);
+            for (int i = 0; i < partitions.size(); i++) {
+                String paramName = "_qr_ids" + i;
+                where.add(String.format("{E}.%s in :%s", primaryKeyName, paramName));
+                parameters.put(paramName, partitions.get(i));
+            }
+        }
+
+        QueryTransformer transformer = queryTransformerFactory.transformer(resultQuery);
+        transformer.addWhere(where.toString());
+
+        this.resultQuery = transformer.getResult();
+        this.resultParameters = parameters;
+    }
+
     protected void replaceParamsInMacros(Q query) {
         Collection<QueryMacroHandler> handlers = beanFactory.getBeanProvider(QueryMacroHandler.class).stream()
                 .collect(Collectors.toList());
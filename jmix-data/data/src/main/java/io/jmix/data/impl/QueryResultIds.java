@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.data.impl;
+
+import java.util.*;
+
+/**
+ * Compact immutable set of primary key values of previous query results kept in memory. Numeric and UUID identifiers
+ * are stored in primitive arrays to avoid boxing overhead.
+ */
+public class QueryResultIds {
+
+    protected final Class<?> idClass;
+    protected final int size;
+
+    protected long[] longs;
+    protected long[] leastSignificantBits;
+    protected Object[] objects;
+
+    protected QueryResultIds(List<?> ids, Class<?> idClass) {
+        this.idClass = idClass;
+        this.size = ids.size();
+        if (Long.class.equals(idClass) || Integer.class.equals(idClass)) {
+            longs = new long[size];
+            for (int i = 0; i < size; i++) {
+                longs[i] = ((Number) ids.get(i)).longValue();
+            }
+        } else if (UUID.class.equals(idClass)) {
+            longs = new long[size];
+            leastSignificantBits = new long[size];
+            for (int i = 0; i < size; i++) {
+                UUID uuid = (UUID) ids.get(i);
+                longs[i] = uuid.getMostSignificantBits();
+                leastSignificantBits[i] = uuid.getLeastSignificantBits();
+            }
+        } else {
+            objects = ids.toArray();
+        }
+    }
+
+    /**
+     * Creates a compact copy of the given identifiers.
+     *
+     * @param ids non-null identifiers of the same type
+     */
+    public static QueryResultIds of(List<?> ids) {
+        Class<?> idClass = ids.isEmpty() ? Object.class : ids.get(0).getClass();
+        return new QueryResultIds(ids, idClass);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Class<?> getIdClass() {
+        return idClass;
+    }
+
+    /**
+     * @return identifiers as a list which can be passed as a query parameter
+     */
+    public List<Object> toList() {
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    protected Object get(int index) {
+        if (Long.class.equals(idClass)) {
+            return longs[index];
+        } else if (Integer.class.equals(idClass)) {
+            return (int) longs[index];
+        } else if (UUID.class.equals(idClass)) {
+            return new UUID(longs[index], leastSignificantBits[index]);
+        }
+        return objects[index];
+    }
+}
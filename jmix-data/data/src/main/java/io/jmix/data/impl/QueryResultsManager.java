@@ -17,6 +17,7 @@
 package io.jmix.data.impl;
 
 import io.jmix.core.LoadContext;
+import org.springframework.lang.Nullable;
 
 import java.util.List;
 
@@ -28,6 +29,15 @@ public interface QueryResultsManager {
 
     void savePreviousQueryResults(LoadContext loadContext);
 
+    /**
+     * Returns identifiers of previous query results if they are kept in memory for the current user.
+     *
+     * @param queryKey key of the sequential query
+     * @return identifiers or null if the results are not kept in memory, e.g. because they have expired
+     */
+    @Nullable
+    QueryResultIds getResultIds(int queryKey);
+
     void insert(int queryKey, List idList);
 
     void delete(int queryKey);
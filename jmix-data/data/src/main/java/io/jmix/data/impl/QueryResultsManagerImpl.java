@@ -16,10 +16,13 @@
 
 package io.jmix.data.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jmix.core.*;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.data.*;
 import io.jmix.data.persistence.DbTypeConverter;
+import io.jmix.data.persistence.DbmsFeatures;
 import io.jmix.data.persistence.DbmsSpecifics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +30,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -38,6 +42,7 @@ import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import javax.sql.DataSource;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -66,6 +71,9 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
     @Autowired
     protected QueryTransformerFactory queryTransformerFactory;
 
+    @Autowired
+    protected DataProperties dataProperties;
+
     @Autowired
     protected ObjectProvider<JpqlQueryBuilder> jpqlQueryBuilderProvider;
 
@@ -79,6 +87,18 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
 
     protected static final int INACTIVE_DELETION_MAX = 100000;
 
+    protected static final int IN_MEMORY_RESULTS_MAX_ENTRIES = 1000;
+
+    protected static final long IN_MEMORY_RESULTS_EXPIRATION_MINUTES = 30;
+
+    /**
+     * Previous query results kept in memory, by user and query key.
+     */
+    protected Cache<InMemoryResultsKey, QueryResultIds> inMemoryResults = CacheBuilder.newBuilder()
+            .maximumSize(IN_MEMORY_RESULTS_MAX_ENTRIES)
+            .expireAfterAccess(IN_MEMORY_RESULTS_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+            .build();
+
     @Autowired
     protected void setDataSource(DataSource dataSource) {
         jdbcTemplate = new JdbcTemplate(dataSource);
@@ -147,7 +167,40 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
         assert idList != null;
 
         delete(queryKey);
-        insert(queryKey, idList);
+        if (!canKeepInMemory(loadContext.getEntityMetaClass().getStore().getName(), idList)) {
+            throw new IllegalStateException(String.format(
+                    "Cannot query within %d previous results of %s: the number of results exceeds the limit of " +
+                            "previous query results kept in memory, see jmix.data.query-results-in-memory-max-size",
+                    idList.size(), entityName));
+        }
+        log.debug("Keep {} query results in memory for query key {}", idList.size(), queryKey);
+        inMemoryResults.put(new InMemoryResultsKey(getCurrentUserKey(), queryKey), QueryResultIds.of(idList));
+    }
+
+    @Nullable
+    @Override
+    public QueryResultIds getResultIds(int queryKey) {
+        return inMemoryResults.getIfPresent(new InMemoryResultsKey(getCurrentUserKey(), queryKey));
+    }
+
+    /**
+     * Whether the identifiers can be passed to the query restriction. If the DBMS doesn't support passing them in
+     * a single array parameter, their number is also limited by the maximum number of query parameters.
+     */
+    protected boolean canKeepInMemory(String storeName, List<?> idList) {
+        int maxSize = dataProperties.getQueryResultsInMemoryMaxSize();
+        DbmsFeatures dbmsFeatures = dbmsSpecifics.getDbmsFeatures(storeName);
+        Integer maxQueryParameters = dbmsFeatures.getMaxQueryParameters();
+        if (maxQueryParameters != null
+                && (idList.isEmpty() || !dbmsFeatures.supportsArrayParameter(idList.get(0).getClass()))) {
+            // leave room for the parameters of the query itself
+            maxSize = Math.min(maxSize, maxQueryParameters / 2);
+        }
+        return idList.size() <= maxSize;
+    }
+
+    protected String getCurrentUserKey() {
+        return currentAuthentication.isSet() ? currentAuthentication.getUser().getUsername() : "";
     }
 
     protected boolean resultsAlreadySaved(Integer queryKey, LoadContext.Query query) {
@@ -233,6 +286,8 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
         String logMsg = "Delete query results for " + userSessionId + " / " + queryKey;
         log.debug(logMsg);
 
+        inMemoryResults.invalidate(new InMemoryResultsKey(getCurrentUserKey(), queryKey));
+
         String sql = "delete from SYS_QUERY_RESULT where SESSION_ID = '"
                 + userSessionIdStr + "' and QUERY_KEY = " + queryKey;
 
@@ -248,6 +303,8 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
 //        UUID userSessionId = userSessionSource.getUserSession().getId();
         UUID userSessionId = UUID.randomUUID();
         String userSessionIdStr = converter.getSqlObject(userSessionId).toString();
+        String userKey = getCurrentUserKey();
+        inMemoryResults.asMap().keySet().removeIf(key -> key.userKey().equals(userKey));
         jdbcTemplate.update("delete from SYS_QUERY_RESULT where SESSION_ID = '"
                 + userSessionIdStr + "'");
     }
@@ -301,4 +358,7 @@ public class QueryResultsManagerImpl implements QueryResultsManager {
             throw new RuntimeException("Error deleting query result records", e);
         }
     }
+
+    protected record InMemoryResultsKey(String userKey, int queryKey) {
+    }
 }
@@ -17,6 +17,9 @@
 package io.jmix.data.persistence;
 
 import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -82,6 +85,49 @@ public interface DbmsFeatures {
     }
 
 
+    /**
+     * @return maximum number of bind parameters in a single statement.
+     * {@code null} is returned if there is no any limit
+     */
+    @Nullable
+    default Integer getMaxQueryParameters() {
+        return null;
+    }
+
+    /**
+     * @param valueClass class of the compared values, e.g. the primary key class
+     * @return true if the DBMS supports passing a list of values in a single array parameter, so the number of
+     * values is not limited by {@link #getMaxQueryParameters()}
+     * @see #getInArrayCondition(String, String)
+     */
+    default boolean supportsArrayParameter(Class<?> valueClass) {
+        return false;
+    }
+
+    /**
+     * Returns a JPQL condition checking that the attribute value is contained in the array passed as a single
+     * parameter. Invoked only if {@link #supportsArrayParameter(Class)} returns true.
+     *
+     * @param path          path to the attribute, e.g. {@code {E}.id}
+     * @param parameterName name of the parameter containing the value returned by
+     *                      {@link #getArrayParameterValue(List, Class)}
+     * @return JPQL condition
+     */
+    default String getInArrayCondition(String path, String parameterName) {
+        throw new UnsupportedOperationException("Array parameters are not supported by " + getTypeAndVersion());
+    }
+
+    /**
+     * Converts the values to the parameter of the condition returned by {@link #getInArrayCondition(String, String)}.
+     *
+     * @param values     non-null values
+     * @param valueClass class of the values
+     * @return parameter value
+     */
+    default Object getArrayParameterValue(List<?> values, Class<?> valueClass) {
+        return values.toArray((Object[]) Array.newInstance(valueClass, values.size()));
+    }
+
     /**
      * Provides information about {@code jmix.data.dbmsType} and {@code jmix.data.dbmsVersion} this bean designed for. Version can be empty.
      */
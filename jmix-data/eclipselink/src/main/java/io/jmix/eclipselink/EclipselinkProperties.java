@@ -23,11 +23,54 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public class EclipselinkProperties {
     boolean queryCacheEnabled;
 
-    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled) {
+    /**
+     * Whether the first lazy access to a reference or collection attribute loads the attribute for all entities
+     * loaded together with the accessed one.
+     */
+    boolean lazyLoadingBatchEnabled;
+
+    /**
+     * Maximum number of entities which lazy loaded attribute is loaded by a single query.
+     */
+    int lazyLoadingBatchSize;
+
+    /**
+     * Maximum number of fetch group descriptions cached by query string and fetch plan. 0 disables caching.
+     */
+    int fetchGroupCacheSize;
+
+    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled,
+                                 @DefaultValue("true") boolean lazyLoadingBatchEnabled,
+                                 @DefaultValue("100") int lazyLoadingBatchSize,
+                                 @DefaultValue("1000") int fetchGroupCacheSize) {
         this.queryCacheEnabled = queryCacheEnabled;
+        this.lazyLoadingBatchEnabled = lazyLoadingBatchEnabled;
+        this.lazyLoadingBatchSize = lazyLoadingBatchSize;
+        this.fetchGroupCacheSize = fetchGroupCacheSize;
     }
 
     public boolean isQueryCacheEnabled() {
         return queryCacheEnabled;
     }
+
+    /**
+     * @see #lazyLoadingBatchEnabled
+     */
+    public boolean isLazyLoadingBatchEnabled() {
+        return lazyLoadingBatchEnabled;
+    }
+
+    /**
+     * @see #lazyLoadingBatchSize
+     */
+    public int getLazyLoadingBatchSize() {
+        return lazyLoadingBatchSize;
+    }
+
+    /**
+     * @see #fetchGroupCacheSize
+     */
+    public int getFetchGroupCacheSize() {
+        return fetchGroupCacheSize;
+    }
 }
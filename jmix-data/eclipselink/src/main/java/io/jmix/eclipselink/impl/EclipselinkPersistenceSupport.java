@@ -292,6 +292,8 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
             }
             possiblyChanged = result || possiblyChanged;
         }
+        visitor.afterVisit();
+
         if (!possiblyChanged)
             return;
 
@@ -375,6 +377,12 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
 
     public interface EntityVisitor {
         boolean visit(Object entity);
+
+        /**
+         * Invoked after all entities of a traversal round are visited.
+         */
+        default void afterVisit() {
+        }
     }
 
     public static class ContainerResourceHolder extends ResourceHolderSupport {
@@ -642,6 +650,9 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
 
         private String transactionManagerKey;
 
+        // soft deleted entities, their delete policies are processed together after visiting
+        private List<Object> deletedEntities = new ArrayList<>();
+
         public OnSaveEntityVisitor(String transactionManagerKey) {
             this.transactionManagerKey = transactionManagerKey;
         }
@@ -673,7 +684,7 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
                 fireEntityChange(entity, EntityOp.DELETE, null);
 
                 if (EntityValues.isSoftDeletionSupported(entity))
-                    processDeletePolicy(entity);
+                    deletedEntities.add(entity);
 
                 jpaCacheSupport.evictMasterEntity(entity, null);
                 return true;
@@ -703,10 +714,28 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
             return false;
         }
 
+        @Override
+        public void afterVisit() {
+            if (!deletedEntities.isEmpty()) {
+                List<Object> entities = new ArrayList<>(deletedEntities);
+                deletedEntities.clear();
+                if (entities.size() == 1) {
+                    processDeletePolicy(entities.get(0));
+                } else {
+                    processDeletePolicy(entities);
+                }
+            }
+        }
+
         protected void processDeletePolicy(Object entity) {
             DeletePolicyProcessor processor = deletePolicyProcessorProvider.getObject(); // prototype
             processor.setEntity(entity);
             processor.process();
         }
+
+        protected void processDeletePolicy(Collection<Object> entities) {
+            DeletePolicyProcessor processor = deletePolicyProcessorProvider.getObject(); // prototype
+            processor.process(entities);
+        }
     }
 }
@@ -24,6 +24,7 @@ import io.jmix.core.entity.EntitySystemAccess;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.event.AttributeChanges;
 import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.event.EntityChangedEvents;
 import io.jmix.core.metamodel.datatype.EnumClass;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
@@ -166,10 +167,20 @@ public class EntityChangedEventManager {
         return list;
     }
 
+    /**
+     * Publishes each event and then an {@link EntityChangedEvents} for each entity type with all events of the type.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
     public void publish(Collection<EntityChangedEvent> events) {
         log.trace("publish {}", events);
+        Map<MetaClass, List<EntityChangedEvent>> eventsByMetaClass = new LinkedHashMap<>();
         for (EntityChangedEvent event : events) {
             eventPublisher.publishEvent(event);
+            eventsByMetaClass.computeIfAbsent(event.getOriginalMetaClass(), metaClass -> new ArrayList<>())
+                    .add(event);
+        }
+        for (Map.Entry<MetaClass, List<EntityChangedEvent>> entry : eventsByMetaClass.entrySet()) {
+            eventPublisher.publishEvent(new EntityChangedEvents(this, entry.getValue(), entry.getKey()));
         }
     }
 
@@ -25,20 +25,24 @@ public class FetchGroupDescription {
     protected Set<String> fetchGroupAttributes = new TreeSet<>();
     protected Map<String, String> fetchHints = new TreeMap<>(); //sort hints by attribute path
     protected boolean batches;
+    protected boolean readOnly;
 
     public Set<String> getAttributes() {
         return Collections.unmodifiableSet(fetchGroupAttributes);
     }
 
     public void addAttribute(String attributePath) {
+        checkNotReadOnly();
         fetchGroupAttributes.add(attributePath);
     }
 
     public void addAttributes(List<String> attributePaths) {
+        checkNotReadOnly();
         fetchGroupAttributes.addAll(attributePaths);
     }
 
     public void removeAttributeIf(Predicate<String> filter) {
+        checkNotReadOnly();
         fetchGroupAttributes.removeIf(filter);
     }
 
@@ -47,6 +51,7 @@ public class FetchGroupDescription {
     }
 
     public void addHint(String attributePath, String hint) {
+        checkNotReadOnly();
         fetchHints.put(attributePath, hint);
         if (QueryHints.BATCH.equals(hint)) {
             batches = true;
@@ -56,4 +61,22 @@ public class FetchGroupDescription {
     public boolean hasBatches() {
         return batches;
     }
+
+    /**
+     * Prevents further modifications, so the description can be shared between queries.
+     */
+    public FetchGroupDescription setReadOnly() {
+        readOnly = true;
+        return this;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    protected void checkNotReadOnly() {
+        if (readOnly) {
+            throw new IllegalStateException("Fetch group description is read-only");
+        }
+    }
 }
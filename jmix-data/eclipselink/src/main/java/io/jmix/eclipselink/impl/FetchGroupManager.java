@@ -16,6 +16,9 @@
 
 package io.jmix.eclipselink.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -24,6 +27,10 @@ import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.QueryParser;
 import io.jmix.data.QueryTransformerFactory;
+import io.jmix.eclipselink.EclipselinkProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.jpa.JpaQuery;
@@ -44,6 +51,8 @@ import java.util.stream.Collectors;
 @Component("eclipselink_FetchGroupManager")
 public class FetchGroupManager {
 
+    public static final String FETCH_GROUP_CACHE_NAME = "jmix.eclipselink.fetchGroupCache";
+
     private final Logger log = LoggerFactory.getLogger(FetchGroupManager.class);
 
     @Autowired
@@ -64,6 +73,25 @@ public class FetchGroupManager {
     @Autowired
     private FetchPlans fetchPlans;
 
+    @Autowired
+    private EclipselinkProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<FetchGroupKey, FetchGroupDescription> fetchGroupCache;
+
+    @PostConstruct
+    protected void init() {
+        if (properties.getFetchGroupCacheSize() > 0) {
+            fetchGroupCache = CacheBuilder.newBuilder()
+                    .maximumSize(properties.getFetchGroupCacheSize())
+                    .recordStats()
+                    .build();
+            GuavaCacheMetrics.monitor(meterRegistry, fetchGroupCache, FETCH_GROUP_CACHE_NAME);
+        }
+    }
+
     public void setFetchPlan(JpaQuery query, String queryString, @Nullable FetchPlan fetchPlan, boolean singleResultExpected) {
         Preconditions.checkNotNullArgument(query, "query is null");
         if (fetchPlan != null) {
@@ -133,10 +161,46 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Returns attributes and fetch hints for the query and fetch plan. Descriptions are cached by the query string
+     * and the structure of the fetch plan, so the returned description is read-only.
+     */
     public FetchGroupDescription calculateFetchGroup(String queryString,
                                                      FetchPlan fetchPlan,
                                                      boolean singleResultExpected,
                                                      boolean useFetchGroup) {
+        if (fetchGroupCache == null) {
+            return createFetchGroupDescription(queryString, fetchPlan, singleResultExpected, useFetchGroup)
+                    .setReadOnly();
+        }
+
+        FetchGroupKey key = new FetchGroupKey(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        FetchGroupDescription description = fetchGroupCache.getIfPresent(key);
+        if (description == null) {
+            description = createFetchGroupDescription(queryString, fetchPlan, singleResultExpected, useFetchGroup)
+                    .setReadOnly();
+            fetchGroupCache.put(key, description);
+        }
+        return description;
+    }
+
+    /**
+     * @return statistics of the fetch group cache, empty if the cache is disabled
+     */
+    public CacheStats getFetchGroupCacheStats() {
+        return fetchGroupCache != null ? fetchGroupCache.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    public void invalidateFetchGroupCache() {
+        if (fetchGroupCache != null) {
+            fetchGroupCache.invalidateAll();
+        }
+    }
+
+    protected FetchGroupDescription createFetchGroupDescription(String queryString,
+                                                                FetchPlan fetchPlan,
+                                                                boolean singleResultExpected,
+                                                                boolean useFetchGroup) {
         Set<FetchGroupField> fetchGroupFields = new LinkedHashSet<>();
 
         fetchPlan = completeFetchPlan(fetchPlan);
@@ -678,4 +742,7 @@ public class FetchGroupManager {
 
     }
 
+    private record FetchGroupKey(String queryString, FetchPlan fetchPlan,
+                                 boolean singleResultExpected, boolean useFetchGroup) {
+    }
 }
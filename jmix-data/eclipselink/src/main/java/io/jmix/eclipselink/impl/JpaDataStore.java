@@ -20,11 +20,17 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.jmix.core.Id;
 import io.jmix.core.*;
+import io.jmix.core.accesscontext.CrudEntityContext;
 import io.jmix.core.datastore.AbstractDataStore;
+import io.jmix.core.datastore.DataStoreBeforeValueLoadEvent;
+import io.jmix.core.datastore.EventSharedState;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.AttributeChanges;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.AccessDeniedException;
+import io.jmix.data.AuditInfoProvider;
 import io.jmix.data.DataProperties;
 import io.jmix.data.PersistenceHints;
 import io.jmix.data.QueryTransformerFactory;
@@ -34,7 +40,9 @@ import io.jmix.data.exception.UniqueConstraintViolationException;
 import io.jmix.data.impl.EntityChangedEventInfo;
 import io.jmix.data.impl.EntityEventManager;
 import io.jmix.data.impl.JpqlQueryBuilder;
+import io.jmix.data.impl.QueryResultIds;
 import io.jmix.data.impl.QueryResultsManager;
+import io.jmix.data.impl.converters.AuditConversionService;
 import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.eclipselink.impl.lazyloading.LazyLoadingContext;
 import jakarta.persistence.NoResultException;
@@ -44,6 +52,8 @@ import org.eclipse.persistence.exceptions.QueryException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.ApplicationContext;
@@ -55,6 +65,7 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
+import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
@@ -120,6 +131,15 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @Autowired
     protected FetchPlanRepository fetchPlanRepository;
 
+    @Autowired
+    protected TimeSource timeSource;
+
+    @Autowired
+    protected AuditInfoProvider auditInfoProvider;
+
+    @Autowired
+    protected AuditConversionService auditConversionService;
+
     protected String storeName;
 
     protected static final AtomicLong txCount = new AtomicLong();
@@ -137,6 +157,8 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @Nullable
     @Override
     protected Object loadOne(LoadContext<?> context) {
+        queryResultsManager.savePreviousQueryResults(context);
+
         EntityManager em = storeAwareLocator.getEntityManager(storeName);
 
         em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
@@ -481,6 +503,230 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         super.beforeSaveTransactionRollback(context);
     }
 
+    /**
+     * Executes a bulk operation in two steps: selects identifiers of the affected instances using the condition and
+     * row-level constraints of the context, then updates or deletes them by chunks with a single statement per chunk.
+     * Delete policies and entity listeners are not applied.
+     */
+    @Override
+    public long executeBulk(BulkOperationContext context) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        checkBulkOperationPermitted(context, metaClass);
+
+        MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
+        if (primaryKeyProperty == null || metadataTools.hasCompositePrimaryKey(metaClass)) {
+            throw new UnsupportedOperationException(String.format(
+                    "Bulk operations are not supported for %s: a simple primary key is required", metaClass.getName()));
+        }
+        validateBulkUpdateValues(context, metaClass, primaryKeyProperty);
+
+        long affected = 0;
+        TransactionStatus transaction = beginBulkTransaction(context.isJoinTransaction());
+        try {
+            EntityManager em = storeAwareLocator.getEntityManager(storeName);
+            boolean softDeletionBefore = PersistenceHints.isSoftDeletion(em);
+            try {
+                em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
+
+                boolean softDelete = context.getType() == BulkOperationContext.Type.DELETE
+                        && metadataTools.isSoftDeletable(metaClass.getJavaClass())
+                        && PersistenceHints.isSoftDeletion(em);
+                Map<String, Object> values = createBulkValues(context, metaClass, softDelete);
+                String statement = createBulkStatement(context, metaClass, primaryKeyProperty, values.keySet(), softDelete);
+                log.debug("executeBulk: {}", statement);
+
+                List<Object> ids = loadBulkOperationIds(em, context, metaClass, primaryKeyProperty);
+                for (List<Object> chunk : Lists.partition(ids, context.getChunkSize())) {
+                    Query query = em.createQuery(statement);
+                    int i = 0;
+                    for (Object value : values.values()) {
+                        query.setParameter("p" + i++, value);
+                    }
+                    query.setParameter("ids", chunk);
+                    affected += query.executeUpdate();
+
+                    if (context.isPublishEntityChangedEvents()) {
+                        publishBulkEntityChangedEvents(context, metaClass, chunk, values.keySet(), softDelete);
+                    }
+                }
+            } finally {
+                em.setProperty(PersistenceHints.SOFT_DELETION, softDeletionBefore);
+            }
+            commitTransaction(transaction);
+        } finally {
+            rollbackTransaction(transaction);
+        }
+        return affected;
+    }
+
+    protected TransactionStatus beginBulkTransaction(boolean joinTransaction) {
+        DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName(SAVE_TX_PREFIX + txCount.incrementAndGet());
+
+        if (joinTransaction) {
+            def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        } else {
+            def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        PlatformTransactionManager txManager = storeAwareLocator.getTransactionManager(storeName);
+        return txManager.getTransaction(def);
+    }
+
+    protected void checkBulkOperationPermitted(BulkOperationContext context, MetaClass metaClass) {
+        if (context.getAccessConstraints().isEmpty()) {
+            return;
+        }
+        CrudEntityContext entityContext = new CrudEntityContext(metaClass);
+        accessManager.applyConstraints(entityContext, context.getAccessConstraints());
+
+        if (context.getType() == BulkOperationContext.Type.UPDATE && !entityContext.isUpdatePermitted()) {
+            throw new AccessDeniedException("entity", metaClass.getName(), "update");
+        }
+        if (context.getType() == BulkOperationContext.Type.DELETE && !entityContext.isDeletePermitted()) {
+            throw new AccessDeniedException("entity", metaClass.getName(), "delete");
+        }
+    }
+
+    protected void validateBulkUpdateValues(BulkOperationContext context, MetaClass metaClass,
+                                            MetaProperty primaryKeyProperty) {
+        if (context.getType() == BulkOperationContext.Type.UPDATE && context.getValues().isEmpty()) {
+            throw new IllegalArgumentException("No values to update are set for " + metaClass.getName());
+        }
+        for (String propertyName : context.getValues().keySet()) {
+            MetaProperty property = metaClass.findProperty(propertyName);
+            if (property == null
+                    || !metadataTools.isJpa(property)
+                    || property.getRange().getCardinality().isMany()
+                    || property.equals(primaryKeyProperty)
+                    || metadataTools.isEmbedded(property)) {
+                throw new IllegalArgumentException(String.format(
+                        "Property %s.%s cannot be updated in bulk", metaClass.getName(), propertyName));
+            }
+        }
+    }
+
+    protected List<Object> loadBulkOperationIds(EntityManager em, BulkOperationContext context, MetaClass metaClass,
+                                                MetaProperty primaryKeyProperty) {
+        ValueLoadContext loadContext = ValueLoadContext.create()
+                .setQuery(ValueLoadContext.createQuery(String.format("select e.%s from %s e",
+                                primaryKeyProperty.getName(), metaClass.getName()))
+                        .setCondition(context.getCondition()))
+                .setAccessConstraints(context.getAccessConstraints())
+                .setHints(context.getHints());
+        loadContext.setProperties(Collections.singletonList(primaryKeyProperty.getName()));
+
+        // listeners can restrict or prevent the load the same way as for loadValues()
+        DataStoreBeforeValueLoadEvent beforeLoadEvent = new DataStoreBeforeValueLoadEvent(loadContext,
+                new EventSharedState());
+        fireEvent(beforeLoadEvent);
+        if (beforeLoadEvent.loadPrevented()) {
+            return Collections.emptyList();
+        }
+
+        Query query = createLoadQuery(em, loadContext, false);
+        List<Object> ids = new ArrayList<>();
+        for (Object row : executeQuery(query, false)) {
+            ids.add(row instanceof Object[] array ? array[0] : row);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns values to set by the bulk statement, including system attributes maintained by the framework.
+     */
+    protected Map<String, Object> createBulkValues(BulkOperationContext context, MetaClass metaClass,
+                                                   boolean softDelete) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (context.getType() == BulkOperationContext.Type.DELETE && !softDelete) {
+            return values;
+        }
+
+        Date currentDate = timeSource.currentTimestamp();
+        Object currentUser = auditInfoProvider.getCurrentUser();
+
+        if (softDelete) {
+            putAuditValue(values, metaClass, metadataTools.findDeletedDateProperty(metaClass.getJavaClass()), currentDate);
+            putAuditValue(values, metaClass, metadataTools.findDeletedByProperty(metaClass.getJavaClass()), currentUser);
+        } else {
+            values.putAll(context.getValues());
+            putAuditValue(values, metaClass, findAnnotatedProperty(metaClass, LastModifiedDate.class), currentDate);
+            putAuditValue(values, metaClass, findAnnotatedProperty(metaClass, LastModifiedBy.class), currentUser);
+        }
+        return values;
+    }
+
+    protected void putAuditValue(Map<String, Object> values, MetaClass metaClass, @Nullable String propertyName,
+                                 @Nullable Object value) {
+        if (propertyName == null || values.containsKey(propertyName)) {
+            return;
+        }
+        Class<?> javaType = metaClass.getProperty(propertyName).getJavaType();
+        if (value == null || auditConversionService.canConvert(value.getClass(), javaType)) {
+            values.put(propertyName, auditConversionService.convert(value, javaType));
+        } else {
+            log.warn("Cannot set {}.{} in bulk operation: no converter found for '{}'",
+                    metaClass.getName(), propertyName, javaType.getName());
+        }
+    }
+
+    protected String createBulkStatement(BulkOperationContext context, MetaClass metaClass,
+                                         MetaProperty primaryKeyProperty, Collection<String> properties,
+                                         boolean softDelete) {
+        StringBuilder sb = new StringBuilder();
+        if (context.getType() == BulkOperationContext.Type.DELETE && !softDelete) {
+            sb.append("delete from ").append(metaClass.getName()).append(" e");
+        } else {
+            sb.append("update ").append(metaClass.getName()).append(" e set ");
+            int i = 0;
+            for (String property : properties) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append("e.").append(property).append(" = :p").append(i++);
+            }
+            String versionProperty = findAnnotatedProperty(metaClass, Version.class);
+            if (versionProperty != null) {
+                sb.append(", e.").append(versionProperty).append(" = e.").append(versionProperty).append(" + 1");
+            }
+        }
+        sb.append(" where e.").append(primaryKeyProperty.getName()).append(" in :ids");
+        return sb.toString();
+    }
+
+    @Nullable
+    protected String findAnnotatedProperty(MetaClass metaClass, Class<? extends Annotation> annotationClass) {
+        for (MetaProperty property : metaClass.getProperties()) {
+            if (property.getAnnotatedElement() != null
+                    && property.getAnnotatedElement().isAnnotationPresent(annotationClass)) {
+                return property.getName();
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected void publishBulkEntityChangedEvents(BulkOperationContext context, MetaClass metaClass,
+                                                  Collection<Object> ids, Collection<String> properties,
+                                                  boolean softDelete) {
+        MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
+        EntityChangedEvent.Type type = context.getType() == BulkOperationContext.Type.DELETE
+                ? EntityChangedEvent.Type.DELETED
+                : EntityChangedEvent.Type.UPDATED;
+
+        List<EntityChangedEvent> events = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            AttributeChanges.Builder changes = AttributeChanges.Builder.create();
+            if (type == EntityChangedEvent.Type.UPDATED || softDelete) {
+                for (String property : properties) {
+                    changes.withChange(property, null);
+                }
+            }
+            events.add(new EntityChangedEvent(this, Id.of(id, metaClass.getJavaClass()), type, changes.build(),
+                    originalMetaClass));
+        }
+        entityChangedEventManager.publish(events);
+    }
+
     protected Query createQuery(EntityManager em, LoadContext<?> context, boolean countQuery) {
         MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
 
@@ -509,8 +755,13 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
 
         if (!context.getPreviousQueries().isEmpty()) {
             log.debug("Restrict query by previous results");
-            //todo MG maybe use user key instead of session id
-//            queryBuilder.setPreviousResults(userSessionSource.getUserSession().getId(), context.getQueryKey());
+            QueryResultIds resultIds = queryResultsManager.getResultIds(context.getQueryKey());
+            if (resultIds == null) {
+                throw new IllegalStateException(String.format(
+                        "Previous results of query with key %d are not available to restrict the query",
+                        context.getQueryKey()));
+            }
+            queryBuilder.setPreviousResultIds(resultIds.toList(), dbmsSpecifics.getDbmsFeatures(storeName));
         }
 
         JmixEclipseLinkQuery<?> query = queryBuilder.getQuery(em);
@@ -65,6 +65,11 @@ public class MysqlDbmsFeatures implements DbmsFeatures {
         return true;
     }
 
+    @Override
+    public Integer getMaxQueryParameters() {
+        return 65535;
+    }
+
     @Override
     public String getTypeAndVersion() {
         return "mysql";
@@ -74,6 +74,11 @@ public class OracleDbmsFeatures implements DbmsFeatures {
         return 1000;
     }
 
+    @Override
+    public Integer getMaxQueryParameters() {
+        return 65535;
+    }
+
     @Override
     public String getTypeAndVersion() {
         return "oracle";
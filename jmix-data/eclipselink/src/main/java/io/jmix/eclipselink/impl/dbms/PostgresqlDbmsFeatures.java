@@ -22,6 +22,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.lang.Nullable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component("postgresqlDbmsFeatures")
 public class PostgresqlDbmsFeatures implements DbmsFeatures {
@@ -65,6 +66,25 @@ public class PostgresqlDbmsFeatures implements DbmsFeatures {
         return true;
     }
 
+    @Override
+    public Integer getMaxQueryParameters() {
+        return 32767;
+    }
+
+    @Override
+    public boolean supportsArrayParameter(Class<?> valueClass) {
+        return UUID.class.equals(valueClass)
+                || Long.class.equals(valueClass)
+                || Integer.class.equals(valueClass)
+                || String.class.equals(valueClass);
+    }
+
+    @Override
+    public String getInArrayCondition(String path, String parameterName) {
+        // the driver binds a Java array as a typed SQL array, "= ANY(?)" uses the index of the attribute
+        return String.format("%s = FUNCTION('ANY', :%s)", path, parameterName);
+    }
+
     @Override
     public String getTypeAndVersion() {
         return "postgresql";
@@ -65,6 +65,11 @@ public class SqlServerDbmsFeatures implements DbmsFeatures {
         return true;
     }
 
+    @Override
+    public Integer getMaxQueryParameters() {
+        return 2100;
+    }
+
     @Override
     public String getTypeAndVersion() {
         return "sqlServer";
@@ -31,6 +31,7 @@ import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkImpl;
 import org.eclipse.persistence.mappings.DatabaseMapping;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.lang.Nullable;
 
 import java.io.Serializable;
 import java.rmi.server.ObjID;
@@ -47,6 +48,9 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
     private volatile boolean isInstantiated;
     private volatile Object value;
     private LoadOptions loadOptions;
+    private transient volatile LazyLoadingSiblings siblings;
+    private transient volatile boolean prefetched;
+    private transient volatile Object prefetchedValue;
 
     public AbstractValueHolder(BeanFactory beanFactory,
                                ValueHolderInterface originalValueHolder,
@@ -304,6 +308,44 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
         return loadOptions;
     }
 
+    public void setSiblings(@Nullable LazyLoadingSiblings siblings) {
+        this.siblings = siblings;
+    }
+
+    @Nullable
+    public LazyLoadingSiblings getSiblings() {
+        return siblings;
+    }
+
+    /**
+     * @return true if the value is neither loaded nor prefetched by a sibling value holder
+     */
+    public boolean isLoadPending() {
+        return !isInstantiated && !prefetched;
+    }
+
+    /**
+     * Sets a value loaded by a sibling value holder. The value is processed by {@link #loadValue()} when
+     * this value holder is accessed.
+     */
+    protected void setPrefetchedValue(@Nullable Object prefetchedValue) {
+        this.prefetchedValue = prefetchedValue;
+        this.prefetched = true;
+    }
+
+    protected boolean isPrefetched() {
+        return prefetched;
+    }
+
+    @Nullable
+    protected Object takePrefetchedValue() {
+        Object result = prefetchedValue;
+        prefetched = false;
+        prefetchedValue = null;
+        getStatistics().queryAvoided();
+        return result;
+    }
+
     public Object getOwner() {
         return owner;
     }
@@ -369,4 +411,8 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
     protected FetchPlans getFetchPlans() {
         return beanFactory.getBean(FetchPlans.class);
     }
+
+    protected LazyLoadingStatistics getStatistics() {
+        return beanFactory.getBean(LazyLoadingStatistics.class);
+    }
 }
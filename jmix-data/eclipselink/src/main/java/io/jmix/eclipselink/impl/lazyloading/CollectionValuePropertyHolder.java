@@ -54,11 +54,7 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
 
     @Override
     protected Object loadValue() {
-        MetaClass metaClass = getMetadata().getClass(getOwner());
-
-        LoadContext<?> loadContext = createLoadContextByOwner(metaClass);
-
-        Object reloadedOwner = getDataManager().load(loadContext);
+        Object reloadedOwner = isPrefetched() ? takePrefetchedValue() : loadOwner();
         Collection<Object> value = EntityValues.getValue(reloadedOwner, getPropertyInfo().getName());
 
         getSecurityState(getOwner()).addErasedIds(getPropertyInfo().getName(),
@@ -79,9 +75,54 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
         }
     }
 
+    protected Object loadOwner() {
+        MetaClass metaClass = getMetadata().getClass(getOwner());
+
+        LazyLoadingSiblings siblings = getSiblings();
+        List<CollectionValuePropertyHolder> pendingSiblings = siblings != null && !getMetadataTools().hasCompositePrimaryKey(metaClass)
+                ? siblings.getPendingSiblings(this)
+                : Collections.emptyList();
+
+        if (pendingSiblings.isEmpty()) {
+            LoadContext<?> loadContext = createLoadContextByOwner(metaClass);
+            return getDataManager().load(loadContext);
+        }
+
+        Set<Object> ids = new LinkedHashSet<>();
+        ids.add(Objects.requireNonNull(EntityValues.getId(getOwner())));
+        for (CollectionValuePropertyHolder sibling : pendingSiblings) {
+            ids.add(Objects.requireNonNull(EntityValues.getId(sibling.getOwner())));
+        }
+
+        LoadContext<?> loadContext = createLoadContextByOwners(metaClass, ids);
+        Map<Object, Object> reloadedOwners = new HashMap<>();
+        for (Object reloadedOwner : getDataManager().loadList(loadContext)) {
+            reloadedOwners.put(EntityValues.getId(reloadedOwner), reloadedOwner);
+        }
+        getStatistics().batchQueryExecuted();
+
+        for (CollectionValuePropertyHolder sibling : pendingSiblings) {
+            Object reloadedOwner = reloadedOwners.get(EntityValues.getId(sibling.getOwner()));
+            if (reloadedOwner != null) {
+                sibling.setPrefetchedValue(reloadedOwner);
+            }
+        }
+
+        return reloadedOwners.get(EntityValues.getId(getOwner()));
+    }
+
     protected LoadContext<?> createLoadContextByOwner(MetaClass metaClass) {
+        return createLoadContext(metaClass)
+                .setId(Objects.requireNonNull(EntityValues.getId(getOwner())));
+    }
+
+    protected LoadContext<?> createLoadContextByOwners(MetaClass metaClass, Collection<Object> ids) {
+        return createLoadContext(metaClass)
+                .setIds(ids);
+    }
+
+    protected LoadContext<?> createLoadContext(MetaClass metaClass) {
         return new LoadContext<>(metaClass)
-                .setId(Objects.requireNonNull(EntityValues.getId(getOwner())))
                 .setFetchPlan(
                         getFetchPlans().builder(metaClass.getJavaClass())
                                 .add(getPropertyInfo().getName(), builder -> builder.addFetchPlan(FetchPlan.BASE))
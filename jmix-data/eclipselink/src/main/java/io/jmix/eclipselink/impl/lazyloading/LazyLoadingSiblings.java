@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.eclipselink.impl.lazyloading;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Group of value holders created for entities loaded by the same load operation. When a lazy attribute of one
+ * entity is accessed, the value holder loads the same attribute of not yet loaded siblings in the same query.
+ * <p>
+ * Value holders are referenced weakly, so the group doesn't prevent garbage collection of the loaded entities.
+ */
+public class LazyLoadingSiblings {
+
+    protected final int batchSize;
+    protected final Map<String, List<WeakReference<AbstractValueHolder>>> holders = new HashMap<>();
+
+    public LazyLoadingSiblings(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public synchronized void register(AbstractValueHolder holder) {
+        holders.computeIfAbsent(getKey(holder), key -> new ArrayList<>())
+                .add(new WeakReference<>(holder));
+        holder.setSiblings(this);
+    }
+
+    /**
+     * Returns value holders of the same attribute of other entities, which values are not loaded yet.
+     * The number of returned holders is limited by the batch size, including the passed holder.
+     *
+     * @param holder value holder which value is being loaded
+     * @return sibling value holders of the same class
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends AbstractValueHolder> List<T> getPendingSiblings(T holder) {
+        List<WeakReference<AbstractValueHolder>> references = holders.get(getKey(holder));
+        if (references == null) {
+            return Collections.emptyList();
+        }
+
+        List<T> result = new ArrayList<>();
+        for (Iterator<WeakReference<AbstractValueHolder>> iterator = references.iterator();
+             iterator.hasNext() && result.size() < batchSize - 1; ) {
+            AbstractValueHolder sibling = iterator.next().get();
+            if (sibling == null || !sibling.isLoadPending()) {
+                iterator.remove();
+            } else if (sibling != holder
+                    && sibling.getClass() == holder.getClass()
+                    && isSameLoadOptions(sibling.getLoadOptions(), holder.getLoadOptions())) {
+                result.add((T) sibling);
+            }
+        }
+        return result;
+    }
+
+    protected String getKey(AbstractValueHolder holder) {
+        return holder.getOwner().getClass().getName() + "." + holder.getPropertyInfo().getName();
+    }
+
+    protected boolean isSameLoadOptions(LoadOptions options1, LoadOptions options2) {
+        return options1.getHints().equals(options2.getHints())
+                && options1.getAccessConstraints().equals(options2.getAccessConstraints());
+    }
+}
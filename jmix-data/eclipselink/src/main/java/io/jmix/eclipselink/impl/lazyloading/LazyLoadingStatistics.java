@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.eclipselink.impl.lazyloading;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters of batched lazy loading, see {@link LazyLoadingSiblings}. The counters are registered in the
+ * {@link MeterRegistry} as {@value #BATCH_QUERIES_METER_NAME} and {@value #AVOIDED_QUERIES_METER_NAME}.
+ */
+@Component("eclipselink_LazyLoadingStatistics")
+public class LazyLoadingStatistics {
+
+    public static final String BATCH_QUERIES_METER_NAME = "jmix.eclipselink.lazyLoading.batchQueries";
+    public static final String AVOIDED_QUERIES_METER_NAME = "jmix.eclipselink.lazyLoading.avoidedQueries";
+
+    protected final Counter batchQueryCounter;
+    protected final Counter avoidedQueryCounter;
+
+    public LazyLoadingStatistics(MeterRegistry meterRegistry) {
+        batchQueryCounter = meterRegistry.counter(BATCH_QUERIES_METER_NAME);
+        avoidedQueryCounter = meterRegistry.counter(AVOIDED_QUERIES_METER_NAME);
+    }
+
+    /**
+     * @return number of queries which loaded a lazy attribute for several entities at once
+     */
+    public long getBatchQueryCount() {
+        return (long) batchQueryCounter.count();
+    }
+
+    /**
+     * @return number of lazy attribute accesses served by a batch query instead of a separate query
+     */
+    public long getAvoidedQueryCount() {
+        return (long) avoidedQueryCounter.count();
+    }
+
+    void batchQueryExecuted() {
+        batchQueryCounter.increment();
+    }
+
+    void queryAvoided() {
+        avoidedQueryCounter.increment();
+    }
+}
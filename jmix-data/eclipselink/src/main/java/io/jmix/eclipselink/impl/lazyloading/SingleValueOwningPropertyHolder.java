@@ -18,15 +18,17 @@ package io.jmix.eclipselink.impl.lazyloading;
 
 import io.jmix.core.LoadContext;
 import io.jmix.core.UuidProvider;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.core.impl.SerializationContext;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.data.PersistenceHints;
 import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.*;
 
 import static io.jmix.core.entity.EntitySystemAccess.getSecurityState;
 
@@ -49,24 +51,63 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
     }
 
     protected Object loadValue() {
+        Object value = isPrefetched() ? takePrefetchedValue() : loadEntity();
+
+        if (value == null) {
+            getSecurityState(getOwner()).addErasedId(getPropertyInfo().getName(), getEntityId());
+        }
+
+        return value;
+    }
+
+    @Nullable
+    protected Object loadEntity() {
         MetaClass metaClass = getMetadata().getClass(getPropertyInfo().getJavaType());
+
+        LazyLoadingSiblings siblings = getSiblings();
+        List<SingleValueOwningPropertyHolder> pendingSiblings = siblings != null && !getMetadataTools().hasCompositePrimaryKey(metaClass)
+                ? siblings.getPendingSiblings(this)
+                : Collections.emptyList();
+
+        if (pendingSiblings.isEmpty()) {
+            LoadContext<?> loadContext = createLoadContext(metaClass)
+                    .setId(getEntityId());
+            return getDataManager().load(loadContext);
+        }
+
+        Set<Object> ids = new LinkedHashSet<>();
+        ids.add(getEntityId());
+        for (SingleValueOwningPropertyHolder sibling : pendingSiblings) {
+            ids.add(sibling.getEntityId());
+        }
+
+        LoadContext<?> loadContext = createLoadContext(metaClass)
+                .setIds(ids);
+        Map<Object, Object> entities = new HashMap<>();
+        for (Object entity : getDataManager().loadList(loadContext)) {
+            entities.put(EntityValues.getId(entity), entity);
+        }
+        getStatistics().batchQueryExecuted();
+
+        for (SingleValueOwningPropertyHolder sibling : pendingSiblings) {
+            Object entity = entities.get(sibling.getEntityId());
+            if (entity != null) {
+                sibling.setPrefetchedValue(entity);
+            }
+        }
+
+        return entities.get(getEntityId());
+    }
+
+    protected LoadContext<?> createLoadContext(MetaClass metaClass) {
         LoadOptions loadOptions = getLoadOptions();
 
-        LoadContext<?> loadContext = new LoadContext<>(metaClass)
-                .setId(getEntityId())
+        return new LoadContext<>(metaClass)
                 .setHints(loadOptions.getHintsCopy())
                 .setHint(PREV_SOFT_DELETION,
-                        getLoadOptions().getHints().getOrDefault(PersistenceHints.SOFT_DELETION, SOFT_DELETION_ABSENT))
+                        loadOptions.getHints().getOrDefault(PersistenceHints.SOFT_DELETION, SOFT_DELETION_ABSENT))
                 .setHint(PersistenceHints.SOFT_DELETION, false)
                 .setAccessConstraints(loadOptions.getAccessConstraints());
-
-        Object value = getDataManager().load(loadContext);
-
-        if (value == null) {
-            getSecurityState(getOwner()).addErasedId(getPropertyInfo().getName(), getEntityId());
-        }
-
-        return value;
     }
 
     protected Object convertId(Object entityId, MetaClass metaClass) {
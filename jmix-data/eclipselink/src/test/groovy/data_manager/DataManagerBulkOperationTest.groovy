@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.Stores
+import io.jmix.core.datastore.AbstractDataStore
+import io.jmix.core.datastore.DataStoreBeforeValueLoadEvent
+import io.jmix.core.datastore.DataStoreEventListener
+import io.jmix.core.event.EntityChangedEvent
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.data.PersistenceHints
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import test_support.DataSpec
+import test_support.entity.sales.Order
+import test_support.listeners.TestOrdersListener
+
+import java.util.concurrent.atomic.AtomicBoolean
+
+import static org.springframework.transaction.event.TransactionPhase.BEFORE_COMMIT
+
+class DataManagerBulkOperationTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    TestOrdersListener ordersListener
+    @Autowired
+    JdbcTemplate jdbc
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    List<Order> createOrders() {
+        List<Order> orders = []
+        for (int i = 1; i <= 5; i++) {
+            Order order = dataManager.create(Order)
+            order.number = "bulk-$i"
+            order.amount = new BigDecimal(i)
+            orders << dataManager.save(order)
+        }
+        return orders
+    }
+
+    @Override
+    void cleanup() {
+        ordersListener.setConsumer(null)
+        jdbc.update("delete from SALES_ORDER")
+    }
+
+    def "bulk update sets values of matching instances by chunks"() {
+        def orders = createOrders()
+
+        when:
+        long updated = dataManager.bulkUpdate(Order)
+                .set('amount', BigDecimal.TEN)
+                .condition(PropertyCondition.greater('amount', BigDecimal.ONE))
+                .chunkSize(2)
+                .execute()
+
+        then:
+        updated == 4
+
+        def loaded = dataManager.load(Order).all().list()
+        loaded.findAll { it.amount == BigDecimal.TEN }.size() == 4
+        loaded.find { it.id == orders[0].id }.amount == BigDecimal.ONE
+        loaded.find { it.id == orders[1].id }.version == orders[1].version + 1
+    }
+
+    def "bulk delete marks soft-deletable instances as deleted"() {
+        def orders = createOrders()
+
+        when:
+        long deleted = dataManager.bulkDelete(Order)
+                .condition(PropertyCondition.lessOrEqual('amount', new BigDecimal(2)))
+                .execute()
+
+        then:
+        deleted == 2
+        dataManager.load(Order).all().list().size() == 3
+        dataManager.load(Order).all().hint(PersistenceHints.SOFT_DELETION, false).list().size() == 5
+        jdbc.queryForObject("select count(*) from SALES_ORDER where DELETE_TS is not null", Integer) == 2
+    }
+
+    def "bulk delete removes instances if soft deletion is off"() {
+        createOrders()
+
+        when:
+        long deleted = dataManager.bulkDelete(Order)
+                .hint(PersistenceHints.SOFT_DELETION, false)
+                .execute()
+
+        then:
+        deleted == 5
+        jdbc.queryForObject("select count(*) from SALES_ORDER", Integer) == 0
+    }
+
+    def "bulk operation publishes EntityChangedEvents on demand"() {
+        def orders = createOrders()
+        List<EntityChangedEvent> events = []
+        ordersListener.setConsumer((e, p) -> {
+            if (p == BEFORE_COMMIT) {
+                events << e
+            }
+        })
+
+        when:
+        dataManager.bulkUpdate(Order)
+                .set('number', 'changed')
+                .publishEntityChangedEvents(true)
+                .execute()
+
+        then:
+        events.size() == 5
+        events.every { it.type == EntityChangedEvent.Type.UPDATED && it.changes.isChanged('number') }
+        events*.entityId*.value as Set == orders*.id as Set
+    }
+
+    def "bulk operation loads identifiers through data store load events"() {
+        createOrders()
+        List<String> loadedQueries = []
+        def preventLoad = new AtomicBoolean(true)
+        ((AbstractDataStore) dataStoreFactory.get(Stores.MAIN)).registerInterceptor(new DataStoreEventListener() {
+            @Override
+            void beforeValueLoad(DataStoreBeforeValueLoadEvent event) {
+                if (preventLoad.get()) {
+                    loadedQueries << event.loadContext.query.queryString
+                    event.setLoadPrevented()
+                }
+            }
+        })
+
+        when:
+        long updated = dataManager.bulkUpdate(Order)
+                .set('amount', BigDecimal.TEN)
+                .execute()
+
+        then:
+        updated == 0
+        loadedQueries == ['select e.id from sales_Order e']
+        dataManager.load(Order).all().list().every { it.amount != BigDecimal.TEN }
+
+        cleanup:
+        preventLoad.set(false)
+    }
+
+    def "collection and unknown properties cannot be updated in bulk"() {
+        when:
+        dataManager.bulkUpdate(Order).set('orderLines', []).execute()
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        dataManager.bulkUpdate(Order).set('unknown', 1).execute()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.data.DataProperties
+import io.jmix.data.impl.JpqlQueryBuilder
+import io.jmix.data.impl.QueryResultsManager
+import io.jmix.data.impl.QueryResultsManagerImpl
+import io.jmix.data.persistence.DbmsFeatures
+import io.jmix.data.persistence.DbmsSpecifics
+import io.jmix.eclipselink.impl.dbms.OracleDbmsFeatures
+import io.jmix.eclipselink.impl.dbms.PostgresqlDbmsFeatures
+import io.jmix.eclipselink.impl.dbms.SqlServerDbmsFeatures
+import org.springframework.beans.factory.BeanFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import test_support.DataSpec
+import test_support.entity.sales.Order
+
+class QueryWithinResultsTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    Metadata metadata
+    @Autowired
+    QueryResultsManager queryResultsManager
+    @Autowired
+    JdbcTemplate jdbc
+    @Autowired
+    BeanFactory beanFactory
+
+    List<Order> createOrders() {
+        List<Order> orders = []
+        for (int i = 1; i <= 6; i++) {
+            Order order = dataManager.create(Order)
+            order.number = i % 2 == 0 ? "even-$i" : "odd-$i"
+            order.amount = new BigDecimal(i)
+            orders << dataManager.save(order)
+        }
+        return orders
+    }
+
+    @Override
+    void cleanup() {
+        jdbc.update("delete from SALES_ORDER")
+    }
+
+    def "query is restricted by previous results kept in memory"() {
+        def orders = createOrders()
+
+        def loadContext = new LoadContext<Order>(metadata.getClass(Order))
+                .setQuery(new LoadContext.Query("select e from sales_Order e where e.number like :number")
+                        .setParameter("number", "even%"))
+                .setQueryKey(1)
+        loadContext.previousQueries.add(new LoadContext.Query("select e from sales_Order e where e.amount > :amount")
+                .setParameter("amount", new BigDecimal(3)))
+
+        when:
+        def result = dataManager.loadList(loadContext)
+
+        then:
+        result*.id as Set == [orders[3].id, orders[5].id] as Set
+        queryResultsManager.getResultIds(1).size() == 3
+    }
+
+    def "query within results fails if previous results exceed the limit"() {
+        createOrders()
+        QueryResultsManagerImpl queryResultsManagerImpl = (QueryResultsManagerImpl) queryResultsManager
+        def dataProperties = queryResultsManagerImpl.dataProperties
+        queryResultsManagerImpl.dataProperties = createDataProperties(2)
+
+        def loadContext = new LoadContext<Order>(metadata.getClass(Order))
+                .setQuery(new LoadContext.Query("select e from sales_Order e"))
+                .setQueryKey(2)
+        loadContext.previousQueries.add(new LoadContext.Query("select e from sales_Order e where e.amount > :amount")
+                .setParameter("amount", new BigDecimal(3)))
+
+        when:
+        dataManager.loadList(loadContext)
+
+        then:
+        thrown(IllegalStateException)
+        queryResultsManager.getResultIds(2) == null
+
+        cleanup:
+        queryResultsManagerImpl.dataProperties = dataProperties
+    }
+
+    def "in-memory limit is bounded by query parameters unless the DBMS supports array parameters"() {
+        def manager = new QueryResultsManagerImpl()
+        manager.dataProperties = createDataProperties(20000)
+
+        when:
+        manager.dbmsSpecifics = dbmsSpecifics(dbmsFeatures)
+
+        then:
+        manager.canKeepInMemory('main', uuids(maxSize))
+        !manager.canKeepInMemory('main', uuids(maxSize + 1))
+
+        where:
+        dbmsFeatures                 | maxSize
+        new PostgresqlDbmsFeatures() | 20000
+        new SqlServerDbmsFeatures()  | 1050
+        new OracleDbmsFeatures()     | 20000
+    }
+
+    def "previous results are passed in an array parameter if the DBMS supports it"() {
+        def ids = uuids(2500)
+
+        when:
+        def arrayQueryBuilder = createQueryBuilder(ids, new PostgresqlDbmsFeatures())
+        def batchQueryBuilder = createQueryBuilder(ids, new OracleDbmsFeatures())
+
+        then:
+        arrayQueryBuilder.resultQueryString.contains(':_qr_ids')
+        arrayQueryBuilder.resultParameters['_qr_ids'] == ids.toArray(new UUID[0])
+        arrayQueryBuilder.resultParameters['_qr_ids'] instanceof UUID[]
+
+        batchQueryBuilder.resultParameters.keySet() == ['_qr_ids0', '_qr_ids1', '_qr_ids2'] as Set
+        batchQueryBuilder.resultParameters['_qr_ids2'].size() == 500
+    }
+
+    protected JpqlQueryBuilder createQueryBuilder(List<UUID> ids, DbmsFeatures dbmsFeatures) {
+        return beanFactory.getBean(JpqlQueryBuilder)
+                .setEntityName('sales_Order')
+                .setQueryString('select e from sales_Order e')
+                .setQueryParameters([:])
+                .setPreviousResultIds(ids, dbmsFeatures)
+    }
+
+    protected DbmsSpecifics dbmsSpecifics(DbmsFeatures dbmsFeatures) {
+        return Stub(DbmsSpecifics) {
+            getDbmsFeatures(_ as String) >> dbmsFeatures
+        }
+    }
+
+    protected static DataProperties createDataProperties(int queryResultsInMemoryMaxSize) {
+        return new DataProperties(true, 100, false, null, true, queryResultsInMemoryMaxSize)
+    }
+
+    protected static List<UUID> uuids(int count) {
+        return (1..count).collect { UUID.randomUUID() }
+    }
+}
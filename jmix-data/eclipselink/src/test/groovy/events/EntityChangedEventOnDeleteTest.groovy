@@ -44,6 +44,7 @@ class EntityChangedEventOnDeleteTest extends DataSpec {
     boolean hasAfterCommit = false
     boolean hasOnDeleteBeforeCommit = false
     boolean hasOnDeleteAfterCommit = false
+    Set<Object> deletedLineIds = []
 
     @Override
     void setup() {
@@ -60,6 +61,7 @@ class EntityChangedEventOnDeleteTest extends DataSpec {
         hasAfterCommit = false
         hasOnDeleteBeforeCommit = false
         hasOnDeleteAfterCommit = false
+        deletedLineIds.clear()
 
         ordersListener.setConsumer((e, p) -> {
             if (EntityChangedEvent.Type.DELETED != e.type)
@@ -73,6 +75,7 @@ class EntityChangedEventOnDeleteTest extends DataSpec {
             }
             if (OrderLine.isAssignableFrom(e.getEntityId().entityClass) && p == BEFORE_COMMIT) {
                 hasOnDeleteBeforeCommit = true
+                deletedLineIds.add(e.getEntityId().value)
             }
             if (OrderLine.isAssignableFrom(e.getEntityId().entityClass) && p == AFTER_COMMIT) {
                 hasOnDeleteAfterCommit = true
@@ -101,4 +104,29 @@ class EntityChangedEventOnDeleteTest extends DataSpec {
         hasOnDeleteAfterCommit
     }
 
+    def "Events published for cascade deleted entities of several removed entities"() {
+        def orders = [order]
+        def lineIds = [orderLine.id] as Set
+        for (int i = 0; i < 3; i++) {
+            Order order = dataManager.create(Order)
+            order.number = "batch-$i"
+            OrderLine line1 = dataManager.create(OrderLine)
+            line1.quantity = 1
+            line1.order = order
+            OrderLine line2 = dataManager.create(OrderLine)
+            line2.quantity = 2
+            line2.order = order
+            dataManager.save(order, line1, line2)
+
+            orders << order
+            lineIds.addAll([line1.id, line2.id])
+        }
+
+        when:
+        dataManager.remove(orders as Object[])
+
+        then:
+        deletedLineIds == lineIds
+        jdbc.queryForObject("select count(*) from SALES_ORDER_LINE where DELETE_TS is null", Integer) == 0
+    }
 }
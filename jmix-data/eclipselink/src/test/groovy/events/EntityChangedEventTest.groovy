@@ -18,7 +18,9 @@ package events
 import io.jmix.core.DataManager
 import io.jmix.core.Metadata
 import io.jmix.core.MetadataTools
+import io.jmix.core.SaveContext
 import io.jmix.core.event.EntityChangedEvent
+import io.jmix.core.event.EntityChangedEvents
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.jdbc.core.JdbcTemplate
 import test_support.DataSpec
@@ -109,4 +111,33 @@ class EntityChangedEventTest extends DataSpec {
         events[0].changes.getAttributes().contains("address.zip")
         events[0].changes.getAttributes().contains("name")
     }
+
+    def "EntityChangedEvents contains events of all entities of the type saved together"() {
+        def customer1 = dataManager.create(Customer)
+        customer1.name = 'Gomer'
+        def customer2 = dataManager.create(Customer)
+        customer2.name = 'Marge'
+        def owner = dataManager.create(Owner)
+        owner.name = 'Ned'
+
+        List<EntityChangedEvent<Customer>> events = []
+        List<EntityChangedEvents<Customer>> batches = []
+        listener.afterCommitEventConsumer = { events.add(it) }
+        listener.afterCommitEventsConsumer = { batches.add(it) }
+
+        when:
+        dataManager.save(new SaveContext().saving(customer1, customer2, owner))
+
+        then:
+        events.size() == 2
+        batches.size() == 1
+        batches[0].events.size() == 2
+        batches[0].getEntityIds(EntityChangedEvent.Type.CREATED)*.value as Set == [customer1.id, customer2.id] as Set
+        batches[0].getEntityIds(EntityChangedEvent.Type.DELETED).isEmpty()
+
+        cleanup:
+        listener.afterCommitEventConsumer = null
+        listener.afterCommitEventsConsumer = null
+        jdbc.update("delete from " + metadataTools.getDatabaseTable(metadata.getClass(Owner)))
+    }
 }
@@ -18,6 +18,7 @@ package fetch_groups
 
 import io.jmix.core.*
 import io.jmix.eclipselink.impl.FetchGroupManager
+import io.micrometer.core.instrument.MeterRegistry
 import org.eclipse.persistence.config.QueryHints
 import org.springframework.beans.factory.annotation.Autowired
 import test_support.DataSpec
@@ -33,6 +34,8 @@ class FetchGroupManagerTest extends DataSpec {
     FetchPlans fetchPlans
     @Autowired
     FetchGroupManager fetchGroupManager
+    @Autowired
+    MeterRegistry meterRegistry
 
     Customer customer
     Order order
@@ -212,4 +215,47 @@ class FetchGroupManagerTest extends DataSpec {
         entityStates.isLoaded(order.orderLines[0], 'product')
         entityStates.isLoaded(order.orderLines[0].product, 'quantity')
     }
+
+    def "fetch group description is cached by query and fetch plan structure"() {
+        def fetchPlan1 = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', FetchPlan.BASE)
+                .build()
+        def fetchPlan2 = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', FetchPlan.BASE)
+                .build()
+        def fetchPlan3 = fetchPlans.builder(Order)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('customer', FetchPlan.INSTANCE_NAME)
+                .build()
+
+        fetchGroupManager.invalidateFetchGroupCache()
+        def hitCount = fetchGroupManager.fetchGroupCacheStats.hitCount()
+
+        when:
+        def description1 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan1, false, true)
+        def description2 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan2, false, true)
+        def description3 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan3, false, true)
+        def description4 = fetchGroupManager.calculateFetchGroup('select o from sales_Order o', fetchPlan1, true, true)
+
+        then:
+        fetchPlan1 == fetchPlan2
+        fetchPlan1.hashCode() == fetchPlan2.hashCode()
+        fetchPlan1 != fetchPlan3
+
+        description1.is(description2)
+        !description1.is(description3)
+        !description1.is(description4)
+        fetchGroupManager.fetchGroupCacheStats.hitCount() == hitCount + 1
+        meterRegistry.get('cache.gets')
+                .tags('cache', FetchGroupManager.FETCH_GROUP_CACHE_NAME, 'result', 'hit')
+                .functionCounter().count() == hitCount + 1
+
+        when:
+        description1.addAttribute('number')
+
+        then:
+        thrown(IllegalStateException)
+    }
 }
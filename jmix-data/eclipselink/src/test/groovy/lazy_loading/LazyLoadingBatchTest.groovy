@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package lazy_loading
+
+import io.jmix.core.DataManager
+import io.jmix.core.FetchPlan
+import io.jmix.eclipselink.impl.lazyloading.LazyLoadingStatistics
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+import test_support.entity.sales.OrderLine
+
+class LazyLoadingBatchTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    LazyLoadingStatistics statistics
+
+    void createOrders() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = dataManager.create(Customer)
+            customer.name = "customer-$i"
+
+            Order order = dataManager.create(Order)
+            order.number = "order-$i"
+            order.customer = customer
+
+            OrderLine line1 = dataManager.create(OrderLine)
+            line1.quantity = 1
+            line1.order = order
+
+            OrderLine line2 = dataManager.create(OrderLine)
+            line2.quantity = 2
+            line2.order = order
+
+            dataManager.save(customer, order, line1, line2)
+        }
+    }
+
+    def "references of entities loaded together are loaded by a single query"() {
+        createOrders()
+        def orders = dataManager.load(Order)
+                .query('select e from sales_Order e order by e.number')
+                .fetchPlan(FetchPlan.BASE)
+                .list()
+        def batchQueryCount = statistics.batchQueryCount
+        def avoidedQueryCount = statistics.avoidedQueryCount
+
+        when:
+        def names = orders.collect { it.customer.name }
+
+        then:
+        names == (0..4).collect { "customer-$it" }
+        statistics.batchQueryCount - batchQueryCount == 1
+        statistics.avoidedQueryCount - avoidedQueryCount == 4
+    }
+
+    def "collections of entities loaded together are loaded by a single query"() {
+        createOrders()
+        def orders = dataManager.load(Order)
+                .query('select e from sales_Order e order by e.number')
+                .fetchPlan(FetchPlan.BASE)
+                .list()
+        def batchQueryCount = statistics.batchQueryCount
+        def avoidedQueryCount = statistics.avoidedQueryCount
+
+        when:
+        def quantities = orders.collect { it.orderLines.collect { it.quantity }.sort() }
+
+        then:
+        quantities == (0..4).collect { [1, 2] }
+        statistics.batchQueryCount - batchQueryCount == 1
+        statistics.avoidedQueryCount - avoidedQueryCount == 4
+    }
+}
@@ -17,6 +17,7 @@
 package test_support.listeners;
 
 import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.event.EntityChangedEvents;
 import io.jmix.core.event.EntitySavingEvent;
 import io.jmix.data.listener.BeforeDetachEntityListener;
 import org.springframework.context.event.EventListener;
@@ -35,6 +36,8 @@ public class TestCustomerListener implements BeforeDetachEntityListener<Customer
 
     public Consumer<EntityChangedEvent<Customer>> afterCommitEventConsumer;
 
+    public Consumer<EntityChangedEvents<Customer>> afterCommitEventsConsumer;
+
     public Consumer<Customer> beforeDetachConsumer;
 
     public Consumer<EntityChangedEvent<Customer>> getChangedEventConsumer() {
@@ -67,6 +70,13 @@ public class TestCustomerListener implements BeforeDetachEntityListener<Customer
         }
     }
 
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAfterCommitCustomers(EntityChangedEvents<Customer> event) {
+        if (afterCommitEventsConsumer != null) {
+            afterCommitEventsConsumer.accept(event);
+        }
+    }
+
     @EventListener
     public void onCustomerCreate(EntitySavingEvent<Customer> event) {
         if (event.getEntity().getStatus() == null) {
@@ -31,9 +31,12 @@ import io.jmix.flowui.UiComponentProperties;
 import io.jmix.flowui.UiComponents;
 import io.jmix.flowui.component.genericfilter.FilterMetadataTools;
 import io.jmix.flowui.component.genericfilter.GenericFilterSupport;
+import io.jmix.flowui.data.aggregation.Aggregations;
+import io.jmix.flowui.data.aggregation.impl.DatabaseAggregationLoader;
 import io.jmix.flowui.model.DataComponents;
 import io.jmix.flowui.sys.ActionsConfiguration;
 import io.jmix.flowui.sys.ViewControllersConfiguration;
+import io.jmix.flowuidata.aggregation.UiDataDatabaseAggregationLoader;
 import io.jmix.flowuidata.genericfilter.GenericFilterConfigurationConverter;
 import io.jmix.flowuidata.genericfilter.UiDataFilterMetadataTools;
 import io.jmix.flowuidata.genericfilter.UiDataGenericFilterSupport;
@@ -92,4 +95,14 @@ public class FlowuiDataConfiguration {
         return new UiDataFilterMetadataTools(metadataTools, uiComponentProperties, accessManager,
                 queryTransformerFactory, metadata);
     }
+
+    @Bean("flowui_UiDataDatabaseAggregationLoader")
+    @Primary
+    public DatabaseAggregationLoader databaseAggregationLoader(DataManager dataManager,
+                                                               MetadataTools metadataTools,
+                                                               Aggregations aggregations,
+                                                               QueryTransformerFactory queryTransformerFactory) {
+        return new UiDataDatabaseAggregationLoader(dataManager, metadataTools, aggregations,
+                queryTransformerFactory);
+    }
 }
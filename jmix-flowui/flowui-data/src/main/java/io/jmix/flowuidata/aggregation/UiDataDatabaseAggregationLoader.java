@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowuidata.aggregation;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.annotation.Internal;
+import io.jmix.data.QueryTransformer;
+import io.jmix.data.QueryTransformerFactory;
+import io.jmix.flowui.data.aggregation.Aggregations;
+import io.jmix.flowui.data.aggregation.impl.DatabaseAggregationLoader;
+
+/**
+ * Removes the {@code order by} clause of aggregated queries using the JPQL query transformer.
+ */
+@Internal
+public class UiDataDatabaseAggregationLoader extends DatabaseAggregationLoader {
+
+    protected QueryTransformerFactory queryTransformerFactory;
+
+    public UiDataDatabaseAggregationLoader(DataManager dataManager,
+                                           MetadataTools metadataTools,
+                                           Aggregations aggregations,
+                                           QueryTransformerFactory queryTransformerFactory) {
+        super(dataManager, metadataTools, aggregations);
+        this.queryTransformerFactory = queryTransformerFactory;
+    }
+
+    @Override
+    protected String removeOrderBy(String queryString) {
+        QueryTransformer transformer = queryTransformerFactory.transformer(queryString);
+        transformer.removeOrderBy();
+        return transformer.getResult();
+    }
+}
@@ -22,6 +22,7 @@ import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.Key;
 import com.vaadin.flow.component.Shortcuts;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.grid.*;
 import com.vaadin.flow.component.grid.editor.Editor;
 import com.vaadin.flow.component.html.Span;
@@ -35,9 +36,11 @@ import com.vaadin.flow.data.selection.SelectionModel;
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.shared.Registration;
 import io.jmix.core.AccessManager;
+import io.jmix.core.LoadContext;
 import io.jmix.core.MessageTools;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.accesscontext.EntityAttributeContext;
+import io.jmix.core.common.event.Subscription;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -46,6 +49,7 @@ import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.flowui.UiComponents;
 import io.jmix.flowui.action.list.EditAction;
 import io.jmix.flowui.action.list.ReadAction;
+import io.jmix.flowui.asynctask.UiAsyncTasks;
 import io.jmix.flowui.component.AggregationInfo;
 import io.jmix.flowui.component.ListDataComponent;
 import io.jmix.flowui.component.SupportsEnterPress.EnterPressEvent;
@@ -54,18 +58,25 @@ import io.jmix.flowui.component.grid.DataGridDataProviderChangeObserver;
 import io.jmix.flowui.component.grid.EnhancedDataGrid;
 import io.jmix.flowui.component.grid.editor.DataGridEditor;
 import io.jmix.flowui.data.BindingState;
+import io.jmix.flowui.data.ContainerDataUnit;
 import io.jmix.flowui.data.EntityDataUnit;
 import io.jmix.flowui.data.aggregation.Aggregation;
 import io.jmix.flowui.data.aggregation.Aggregations;
 import io.jmix.flowui.data.aggregation.impl.AggregatableDelegate;
+import io.jmix.flowui.data.aggregation.impl.DatabaseAggregationLoader;
+import io.jmix.flowui.data.grid.CollectionLoaderDataGridItems;
 import io.jmix.flowui.data.grid.DataGridItems;
 import io.jmix.flowui.data.provider.StringPresentationValueProvider;
 import io.jmix.flowui.kit.action.Action;
 import io.jmix.flowui.kit.component.HasActions;
 import io.jmix.flowui.kit.component.KeyCombination;
+import io.jmix.flowui.model.CollectionLoader;
+import io.jmix.flowui.model.HasLoader;
 import io.jmix.flowui.sys.BeanUtil;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
@@ -82,6 +93,8 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
         extends AbstractComponentDelegate<C>
         implements ApplicationContextAware, InitializingBean {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractGridDelegate.class);
+
     protected ApplicationContext applicationContext;
 
     protected MetadataTools metadataTools;
@@ -90,12 +103,15 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
     protected AccessManager accessManager;
     protected Aggregations aggregations;
     protected AggregatableDelegate<Object> aggregatableDelegate;
+    protected DatabaseAggregationLoader databaseAggregationLoader;
+    protected UiAsyncTasks uiAsyncTasks;
 
     protected ITEMS dataGridItems;
 
     protected Registration selectionListenerRegistration;
     protected Registration itemSetChangeRegistration;
     protected Registration valueChangeRegistration;
+    protected Subscription loaderPreLoadSubscription;
 
     // own selection listeners registration is needed to keep listeners if selection model is changed
     protected Set<SelectionListener<Grid<E>, E>> selectionListeners = new HashSet<>();
@@ -109,6 +125,14 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
     protected EnhancedDataGrid.AggregationPosition aggregationPosition = EnhancedDataGrid.AggregationPosition.BOTTOM;
     protected Map<Grid.Column<E>, AggregationInfo> aggregationMap = new LinkedHashMap<>();
 
+    protected boolean databaseAggregation;
+    /**
+     * Database aggregation results cached until the loader reloads data, {@code null} if they must be computed.
+     */
+    protected Map<AggregationInfo, Object> databaseAggregationValues;
+    protected int databaseAggregationVersion;
+    protected boolean databaseAggregationPending;
+
     protected HeaderRow aggregationHeader;
     protected FooterRow aggregationFooter;
 
@@ -145,6 +169,8 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
         uiComponents = applicationContext.getBean(UiComponents.class);
         accessManager = applicationContext.getBean(AccessManager.class);
         aggregations = applicationContext.getBean(Aggregations.class);
+        databaseAggregationLoader = applicationContext.getBean(DatabaseAggregationLoader.class);
+        uiAsyncTasks = applicationContext.getBean(UiAsyncTasks.class);
     }
 
     protected void initComponent() {
@@ -187,6 +213,11 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
     protected void bind(DataGridItems<E> dataGridItems) {
         itemSetChangeRegistration = dataGridItems.addItemSetChangeListener(this::itemsItemSetChanged);
         valueChangeRegistration = dataGridItems.addValueChangeListener(this::itemsValueChanged);
+
+        CollectionLoader<?> loader = getItemsLoader(dataGridItems);
+        if (loader != null) {
+            loaderPreLoadSubscription = loader.addPreLoadListener(this::onLoaderPreLoad);
+        }
     }
 
     protected void unbind() {
@@ -204,6 +235,38 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
             valueChangeRegistration.remove();
             valueChangeRegistration = null;
         }
+
+        if (loaderPreLoadSubscription != null) {
+            loaderPreLoadSubscription.unsubscribe();
+            loaderPreLoadSubscription = null;
+        }
+
+        invalidateDatabaseAggregation();
+    }
+
+    protected void onLoaderPreLoad(CollectionLoader.PreLoadEvent<?> event) {
+        invalidateDatabaseAggregation();
+
+        // a prevented load does not change the item set, e.g. when items are loaded by pages,
+        // so the aggregation row is not updated from the item set change listener
+        if (event.isLoadPrevented()) {
+            updateAggregationRow();
+        }
+    }
+
+    @Nullable
+    protected CollectionLoader<?> getItemsLoader(@Nullable DataGridItems<E> dataGridItems) {
+        if (dataGridItems instanceof CollectionLoaderDataGridItems<?> loaderItems) {
+            return loaderItems.getLoader();
+        }
+
+        if (dataGridItems instanceof ContainerDataUnit<?> containerDataUnit
+                && containerDataUnit.getContainer() instanceof HasLoader hasLoader
+                && hasLoader.getLoader() instanceof CollectionLoader<?> collectionLoader) {
+            return collectionLoader;
+        }
+
+        return null;
     }
 
     protected void itemsItemSetChanged(DataGridItems.ItemSetChangeEvent<E> event) {
@@ -380,19 +443,37 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
         this.aggregationPosition = position;
     }
 
+    public boolean isDatabaseAggregation() {
+        return databaseAggregation;
+    }
+
+    public void setDatabaseAggregation(boolean databaseAggregation) {
+        if (this.databaseAggregation != databaseAggregation) {
+            this.databaseAggregation = databaseAggregation;
+
+            invalidateDatabaseAggregation();
+            updateAggregationRow();
+        }
+    }
+
     public void addAggregationInfo(Grid.Column<E> column, AggregationInfo info) {
         if (aggregationMap.containsKey(column)) {
             throw new IllegalStateException(String.format("Aggregation property %s already exists", column.getKey()));
         }
 
         aggregationMap.put(column, info);
+        invalidateDatabaseAggregation();
     }
 
     public void removeAggregationInfo(Grid.Column<E> column) {
         aggregationMap.remove(column);
+        invalidateDatabaseAggregation();
     }
 
     public Map<Grid.Column<E>, Object> getAggregationResults() {
+        if (isDatabaseAggregationApplicable()) {
+            return convertAggregationKeyMapToColumnMap(getDatabaseAggregationValues());
+        }
         return aggregateValues();
     }
 
@@ -530,9 +611,116 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
         if (isAggregatable()
                 && getItems() != null
                 && MapUtils.isNotEmpty(aggregationMap)) {
-            Map<Grid.Column<E>, String> results = aggregate();
-            fillAggregationRow(results);
+            if (isDatabaseAggregationApplicable()) {
+                updateDatabaseAggregationRow();
+            } else {
+                Map<Grid.Column<E>, String> results = aggregate();
+                fillAggregationRow(results);
+            }
+        }
+    }
+
+    protected boolean isDatabaseAggregationApplicable() {
+        return isDatabaseAggregation()
+                && isAggregatable()
+                && getItemsLoader(getItems()) != null;
+    }
+
+    protected void invalidateDatabaseAggregation() {
+        databaseAggregationValues = null;
+        databaseAggregationPending = false;
+        databaseAggregationVersion++;
+    }
+
+    /**
+     * Fills the aggregation row with the cached database aggregation results. If there are no results yet,
+     * computes them in a background task and keeps the current row content until the task completes.
+     */
+    protected void updateDatabaseAggregationRow() {
+        if (databaseAggregationValues != null || UI.getCurrent() == null) {
+            fillDatabaseAggregationRow(getDatabaseAggregationValues());
+            return;
         }
+
+        if (databaseAggregationPending) {
+            return;
+        }
+
+        CollectionLoader<?> loader = Objects.requireNonNull(getItemsLoader(getItems()));
+        LoadContext<?> loadContext = loader.createLoadContext();
+        List<AggregationInfo> databaseInfos = getDatabaseAggregationInfos();
+        int version = databaseAggregationVersion;
+
+        databaseAggregationPending = true;
+        uiAsyncTasks.supplierConfigurer(() -> databaseAggregationLoader.aggregate(loadContext, databaseInfos))
+                .withResultHandler(values -> {
+                    if (version == databaseAggregationVersion && getItems() != null) {
+                        databaseAggregationPending = false;
+                        databaseAggregationValues = mergeInMemoryAggregationValues(values);
+                        fillDatabaseAggregationRow(databaseAggregationValues);
+                    }
+                })
+                .withExceptionHandler(throwable -> {
+                    if (version == databaseAggregationVersion && getItems() != null) {
+                        log.warn("Unable to aggregate {} data on the database side, items are aggregated in memory",
+                                component.getClass().getSimpleName(), throwable);
+
+                        databaseAggregationPending = false;
+                        databaseAggregationValues = mergeInMemoryAggregationValues(null);
+                        fillDatabaseAggregationRow(databaseAggregationValues);
+                    }
+                })
+                .supplyAsync();
+    }
+
+    protected Map<AggregationInfo, Object> getDatabaseAggregationValues() {
+        if (databaseAggregationValues == null) {
+            CollectionLoader<?> loader = Objects.requireNonNull(getItemsLoader(getItems()));
+            Map<AggregationInfo, Object> values =
+                    databaseAggregationLoader.aggregate(loader, getDatabaseAggregationInfos());
+
+            databaseAggregationPending = false;
+            databaseAggregationValues = mergeInMemoryAggregationValues(values);
+        }
+        return databaseAggregationValues;
+    }
+
+    protected List<AggregationInfo> getDatabaseAggregationInfos() {
+        return getAggregationInfos().stream()
+                .filter(databaseAggregationLoader::supports)
+                .toList();
+    }
+
+    /**
+     * Adds in-memory results for aggregations which cannot be computed on the database side.
+     *
+     * @param databaseValues database aggregation results or {@code null} if the database aggregation
+     *                       is not possible for the loader query
+     * @return results for all aggregations of the component
+     */
+    protected Map<AggregationInfo, Object> mergeInMemoryAggregationValues(
+            @Nullable Map<AggregationInfo, Object> databaseValues) {
+        Map<AggregationInfo, Object> values = new HashMap<>();
+        if (databaseValues != null) {
+            values.putAll(databaseValues);
+        }
+
+        AggregationInfo[] inMemoryInfos = getAggregationInfos().stream()
+                .filter(info -> !values.containsKey(info))
+                .toArray(AggregationInfo[]::new);
+
+        if (inMemoryInfos.length > 0 && getItems() != null) {
+            values.putAll(getAggregatableDelegate().aggregateValues(inMemoryInfos,
+                    getItems().getItems().stream()
+                            .map(EntityValues::getId)
+                            .toList()));
+        }
+        return values;
+    }
+
+    protected void fillDatabaseAggregationRow(Map<AggregationInfo, Object> values) {
+        Map<AggregationInfo, String> formattedValues = getAggregatableDelegate().formatAggregationValues(values);
+        fillAggregationRow(convertAggregationKeyMapToColumnMap(formattedValues));
     }
 
     public BiFunction<Renderer<E>, String, Grid.Column<E>> getDefaultColumnFactory() {
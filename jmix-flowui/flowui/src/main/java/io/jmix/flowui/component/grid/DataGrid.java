@@ -287,6 +287,16 @@ public class DataGrid<E> extends JmixGrid<E> implements ListDataComponent<E>, Mu
         gridDelegate.setAggregationPosition(aggregationPosition);
     }
 
+    @Override
+    public boolean isDatabaseAggregation() {
+        return gridDelegate.isDatabaseAggregation();
+    }
+
+    @Override
+    public void setDatabaseAggregation(boolean databaseAggregation) {
+        gridDelegate.setDatabaseAggregation(databaseAggregation);
+    }
+
     @Override
     public void addAggregation(Column<E> column, AggregationInfo info) {
         gridDelegate.addAggregationInfo(column, info);
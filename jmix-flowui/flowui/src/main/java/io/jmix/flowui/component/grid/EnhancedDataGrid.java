@@ -66,6 +66,24 @@ public interface EnhancedDataGrid<T> {
      */
     void setAggregationPosition(AggregationPosition position);
 
+    /**
+     * @return true if aggregation is performed on the database side
+     */
+    boolean isDatabaseAggregation();
+
+    /**
+     * Sets whether aggregation should be performed on the database side. Default value is false.
+     * <p>
+     * If enabled and the items are loaded by a {@link io.jmix.flowui.model.CollectionLoader}, aggregated values
+     * are computed by an aggregate query for all rows matching the loader query and condition, instead of
+     * the loaded items only. Results are computed in a background task and cached until the loader reloads data.
+     * Custom aggregations and aggregations of non-persistent or nested attributes are performed in memory.
+     *
+     * @param databaseAggregation whether to aggregate DataGrid columns on the database side
+     * @see io.jmix.flowui.data.aggregation.impl.DatabaseAggregationLoader
+     */
+    void setDatabaseAggregation(boolean databaseAggregation);
+
     /**
      * Add an aggregation info in order to perform aggregation for column.
      *
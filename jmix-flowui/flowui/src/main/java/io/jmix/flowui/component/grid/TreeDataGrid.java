@@ -345,6 +345,16 @@ public class TreeDataGrid<E> extends JmixTreeGrid<E> implements ListDataComponen
         gridDelegate.setAggregationPosition(aggregationPosition);
     }
 
+    @Override
+    public boolean isDatabaseAggregation() {
+        return gridDelegate.isDatabaseAggregation();
+    }
+
+    @Override
+    public void setDatabaseAggregation(boolean databaseAggregation) {
+        gridDelegate.setDatabaseAggregation(databaseAggregation);
+    }
+
     @Override
     public void addAggregation(Column<E> column, AggregationInfo info) {
         gridDelegate.addAggregationInfo(column, info);
@@ -105,51 +105,71 @@ public class AggregatableDelegate<K> {
 
         for (AggregationInfo aggregationInfo : aggregationInfos) {
             final Object value = doPropertyAggregation(aggregationInfo, itemIds);
+            aggregationResults.put(aggregationInfo, formatAggregationValue(aggregationInfo, value));
+        }
 
-            String formattedValue;
-            if (aggregationInfo.getFormatter() != null) {
-                formattedValue = aggregationInfo.getFormatter()
-                        .apply(value);
-            } else {
-                // propertyPath could be null in case of custom aggregation
-                MetaPropertyPath propertyPath = aggregationInfo.getPropertyPath();
-
-                Range range = propertyPath != null
-                        ? propertyPath.getRange()
-                        : null;
-                if (range != null && range.isDatatype()) {
-                    if (aggregationInfo.getType() != AggregationInfo.Type.COUNT) {
-                        Class<?> resultClass;
-
-                        if (aggregationInfo.getStrategy() == null) {
-                            Class<?> rangeJavaClass = propertyPath.getRangeJavaClass();
-                            Aggregation<?> aggregation = aggregations.get(rangeJavaClass);
-                            resultClass = Objects.requireNonNull(aggregation).getResultClass();
-                        } else {
-                            resultClass = aggregationInfo.getStrategy().getResultClass();
-                        }
-
-                        Locale locale = currentAuthentication.getLocale();
-                        formattedValue = datatypeRegistry.get(resultClass).format(value, locale);
+        return aggregationResults;
+    }
+
+    /**
+     * Formats aggregation values computed elsewhere, e.g. on the database side, the same way
+     * as the results of {@link #aggregate(AggregationInfo[], Collection)}.
+     *
+     * @param aggregationValues aggregation values
+     * @return formatted aggregation values
+     */
+    public Map<AggregationInfo, String> formatAggregationValues(Map<AggregationInfo, Object> aggregationValues) {
+        Map<AggregationInfo, String> aggregationResults = new HashMap<>();
+
+        for (Map.Entry<AggregationInfo, Object> entry : aggregationValues.entrySet()) {
+            aggregationResults.put(entry.getKey(), formatAggregationValue(entry.getKey(), entry.getValue()));
+        }
+
+        return aggregationResults;
+    }
+
+    protected String formatAggregationValue(AggregationInfo aggregationInfo, @Nullable Object value) {
+        String formattedValue;
+        if (aggregationInfo.getFormatter() != null) {
+            formattedValue = aggregationInfo.getFormatter()
+                    .apply(value);
+        } else {
+            // propertyPath could be null in case of custom aggregation
+            MetaPropertyPath propertyPath = aggregationInfo.getPropertyPath();
+
+            Range range = propertyPath != null
+                    ? propertyPath.getRange()
+                    : null;
+            if (range != null && range.isDatatype()) {
+                if (aggregationInfo.getType() != AggregationInfo.Type.COUNT) {
+                    Class<?> resultClass;
+
+                    if (aggregationInfo.getStrategy() == null) {
+                        Class<?> rangeJavaClass = propertyPath.getRangeJavaClass();
+                        Aggregation<?> aggregation = aggregations.get(rangeJavaClass);
+                        resultClass = Objects.requireNonNull(aggregation).getResultClass();
                     } else {
-                        formattedValue = Objects.requireNonNull(value).toString();
+                        resultClass = aggregationInfo.getStrategy().getResultClass();
                     }
+
+                    Locale locale = currentAuthentication.getLocale();
+                    formattedValue = datatypeRegistry.get(resultClass).format(value, locale);
                 } else {
-                    if (aggregationInfo.getStrategy() != null) {
-                        Class<?> resultClass = aggregationInfo.getStrategy().getResultClass();
+                    formattedValue = Objects.requireNonNull(value).toString();
+                }
+            } else {
+                if (aggregationInfo.getStrategy() != null) {
+                    Class<?> resultClass = aggregationInfo.getStrategy().getResultClass();
 
-                        Locale locale = currentAuthentication.getLocale();
-                        formattedValue = datatypeRegistry.get(resultClass).format(value, locale);
-                    } else {
-                        formattedValue = Objects.requireNonNull(value).toString();
-                    }
+                    Locale locale = currentAuthentication.getLocale();
+                    formattedValue = datatypeRegistry.get(resultClass).format(value, locale);
+                } else {
+                    formattedValue = Objects.requireNonNull(value).toString();
                 }
             }
-
-            aggregationResults.put(aggregationInfo, formattedValue);
         }
 
-        return aggregationResults;
+        return formattedValue;
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowui.data.aggregation.impl;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.LoadContext;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.ValueLoadContext;
+import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.flowui.component.AggregationInfo;
+import io.jmix.flowui.data.aggregation.Aggregation;
+import io.jmix.flowui.data.aggregation.Aggregations;
+import io.jmix.flowui.model.CollectionLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes aggregations of a {@link CollectionLoader} query on the database side, so the results cover all
+ * rows matching the loader's query and condition instead of the loaded page only.
+ * <p>
+ * The loader query is rewritten to a single {@code select sum(e.a), avg(e.b), ... from ...} query. Only
+ * {@link AggregationInfo.Type#SUM}, {@link AggregationInfo.Type#AVG}, {@link AggregationInfo.Type#MIN},
+ * {@link AggregationInfo.Type#MAX} and {@link AggregationInfo.Type#COUNT} aggregations of local persistent
+ * attributes without a custom strategy are supported, see {@link #supports(AggregationInfo)}.
+ */
+@Component("flowui_DatabaseAggregationLoader")
+public class DatabaseAggregationLoader {
+
+    protected static final Pattern SELECT_PATTERN = Pattern.compile(
+            "^\\s*select\\s+([a-zA-Z_$][\\w$]*)\\s+from\\s", Pattern.CASE_INSENSITIVE);
+
+    protected static final String RESULT_PROPERTY_PREFIX = "a";
+
+    protected DataManager dataManager;
+    protected MetadataTools metadataTools;
+    protected Aggregations aggregations;
+
+    public DatabaseAggregationLoader(DataManager dataManager,
+                                     MetadataTools metadataTools,
+                                     Aggregations aggregations) {
+        this.dataManager = dataManager;
+        this.metadataTools = metadataTools;
+        this.aggregations = aggregations;
+    }
+
+    /**
+     * @param aggregationInfo aggregation info
+     * @return {@code true} if the aggregation can be computed by the database
+     */
+    public boolean supports(AggregationInfo aggregationInfo) {
+        if (aggregationInfo.getStrategy() != null
+                || aggregationInfo.getType() == null
+                || aggregationInfo.getType() == AggregationInfo.Type.CUSTOM) {
+            return false;
+        }
+
+        MetaPropertyPath propertyPath = aggregationInfo.getPropertyPath();
+        if (propertyPath == null
+                || propertyPath.length() != 1
+                || !propertyPath.getRange().isDatatype()
+                || !metadataTools.isJpa(propertyPath)) {
+            return false;
+        }
+
+        Aggregation<?> aggregation = aggregations.get(propertyPath.getRangeJavaClass());
+        return aggregation != null && aggregation.getSupportedAggregationTypes().contains(aggregationInfo.getType());
+    }
+
+    /**
+     * Computes the given aggregations for all rows matching the loader query and condition.
+     *
+     * @param loader           collection loader which query is used
+     * @param aggregationInfos aggregation infos, each one must be {@link #supports(AggregationInfo) supported}
+     * @return aggregation results or {@code null} if the loader query cannot be rewritten to an aggregate query
+     */
+    @Nullable
+    public Map<AggregationInfo, Object> aggregate(CollectionLoader<?> loader,
+                                                  Collection<AggregationInfo> aggregationInfos) {
+        return aggregate(loader.createLoadContext(), aggregationInfos);
+    }
+
+    /**
+     * Computes the given aggregations for all rows matching the query and condition of the load context.
+     * Paging and sorting of the load context are ignored.
+     *
+     * @param loadContext      load context, usually created by {@link CollectionLoader#createLoadContext()}
+     * @param aggregationInfos aggregation infos, each one must be {@link #supports(AggregationInfo) supported}
+     * @return aggregation results or {@code null} if the query cannot be rewritten to an aggregate query
+     */
+    @Nullable
+    public Map<AggregationInfo, Object> aggregate(LoadContext<?> loadContext,
+                                                  Collection<AggregationInfo> aggregationInfos) {
+        if (aggregationInfos.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        LoadContext.Query query = loadContext.getQuery();
+        MetaClass metaClass = loadContext.getEntityMetaClass();
+        if (query == null || query.isDistinct() || !metadataTools.isJpaEntity(metaClass)) {
+            // distinct queries can join collections, so the totals would not correspond to the loaded rows
+            return null;
+        }
+
+        List<AggregationInfo> infos = new ArrayList<>(aggregationInfos);
+        String queryString = createAggregationQueryString(query.getQueryString(), metaClass, infos);
+        if (queryString == null) {
+            return null;
+        }
+
+        ValueLoadContext valueLoadContext = ValueLoadContext.create();
+        valueLoadContext.setQuery(ValueLoadContext.createQuery(queryString)
+                .setCondition(query.getCondition())
+                .setParameters(query.getParameters()));
+        valueLoadContext.setStoreName(metaClass.getStore().getName());
+        valueLoadContext.setAccessConstraints(loadContext.getAccessConstraints());
+        valueLoadContext.setHints(getSerializableHints(loadContext.getHints()));
+
+        List<String> properties = new ArrayList<>(infos.size());
+        for (int i = 0; i < infos.size(); i++) {
+            properties.add(RESULT_PROPERTY_PREFIX + i);
+        }
+        valueLoadContext.setProperties(properties);
+
+        List<KeyValueEntity> rows = dataManager.loadValues(valueLoadContext);
+        KeyValueEntity row = rows.isEmpty() ? null : rows.get(0);
+
+        Map<AggregationInfo, Object> results = new HashMap<>();
+        for (int i = 0; i < infos.size(); i++) {
+            AggregationInfo info = infos.get(i);
+            Object value = row != null ? row.getValue(properties.get(i)) : null;
+            results.put(info, convertResult(info, value));
+        }
+        return results;
+    }
+
+    @Nullable
+    protected String createAggregationQueryString(@Nullable String queryString, MetaClass metaClass,
+                                                  List<AggregationInfo> aggregationInfos) {
+        String sourceQuery = queryString != null
+                ? queryString
+                : String.format("select e from %s e", metaClass.getName());
+
+        String unorderedQuery = removeOrderBy(sourceQuery);
+        Matcher matcher = SELECT_PATTERN.matcher(unorderedQuery);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        String alias = matcher.group(1);
+        StringJoiner selectClause = new StringJoiner(", ", "select ", " from ");
+        for (AggregationInfo info : aggregationInfos) {
+            selectClause.add(createAggregateExpression(alias, info));
+        }
+
+        String fromClause = unorderedQuery.substring(matcher.end());
+        return selectClause + fromClause;
+    }
+
+    /**
+     * Removes the {@code order by} clause of the query, as the aggregate query returns a single row.
+     * The default implementation looks for an {@code order by} clause outside of parentheses and string literals.
+     *
+     * @param queryString JPQL query
+     * @return query without the {@code order by} clause
+     */
+    protected String removeOrderBy(String queryString) {
+        String lowerCaseQuery = queryString.toLowerCase(Locale.ROOT);
+        int depth = 0;
+        boolean inLiteral = false;
+        for (int i = 0; i < lowerCaseQuery.length(); i++) {
+            char c = lowerCaseQuery.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            } else if (!inLiteral) {
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                } else if (depth == 0 && lowerCaseQuery.startsWith("order", i) && isOrderByAt(lowerCaseQuery, i)) {
+                    return queryString.substring(0, i).trim();
+                }
+            }
+        }
+        return queryString;
+    }
+
+    protected boolean isOrderByAt(String lowerCaseQuery, int index) {
+        if (index == 0 || !Character.isWhitespace(lowerCaseQuery.charAt(index - 1))) {
+            return false;
+        }
+        int i = index + "order".length();
+        if (i >= lowerCaseQuery.length() || !Character.isWhitespace(lowerCaseQuery.charAt(i))) {
+            return false;
+        }
+        while (i < lowerCaseQuery.length() && Character.isWhitespace(lowerCaseQuery.charAt(i))) {
+            i++;
+        }
+        return lowerCaseQuery.startsWith("by", i)
+                && i + 2 < lowerCaseQuery.length()
+                && Character.isWhitespace(lowerCaseQuery.charAt(i + 2));
+    }
+
+    protected String createAggregateExpression(String alias, AggregationInfo info) {
+        if (info.getType() == AggregationInfo.Type.COUNT) {
+            return "count(" + alias + ")";
+        }
+
+        String path = alias + "." + Objects.requireNonNull(info.getPropertyPath()).toPathString();
+        return switch (info.getType()) {
+            case SUM -> "sum(" + path + ")";
+            case AVG -> "avg(" + path + ")";
+            case MIN -> "min(" + path + ")";
+            case MAX -> "max(" + path + ")";
+            default -> throw new IllegalArgumentException(String.format("Unsupported aggregation type: %s",
+                    info.getType()));
+        };
+    }
+
+    @Nullable
+    protected Object convertResult(AggregationInfo info, @Nullable Object value) {
+        if (info.getType() == AggregationInfo.Type.COUNT) {
+            // in-memory aggregation returns int for the COUNT type
+            return value instanceof Number number ? number.intValue() : 0;
+        }
+
+        if (!(value instanceof Number number)) {
+            return value;
+        }
+
+        Class<?> javaClass = Objects.requireNonNull(info.getPropertyPath()).getRangeJavaClass();
+        Aggregation<?> aggregation = Objects.requireNonNull(aggregations.get(javaClass));
+        Class<?> resultClass = aggregation.getResultClass();
+
+        if (Long.class.equals(resultClass)) {
+            return number.longValue();
+        } else if (Double.class.equals(resultClass)) {
+            return number.doubleValue();
+        } else if (BigDecimal.class.equals(resultClass)) {
+            return number instanceof BigDecimal ? number : new BigDecimal(number.toString());
+        } else if (BigInteger.class.equals(resultClass)) {
+            return number instanceof BigInteger ? number : BigInteger.valueOf(number.longValue());
+        }
+        return value;
+    }
+
+    protected Map<String, Serializable> getSerializableHints(Map<String, Object> hints) {
+        Map<String, Serializable> result = new HashMap<>();
+        for (Map.Entry<String, Object> entry : hints.entrySet()) {
+            if (entry.getValue() instanceof Serializable serializable) {
+                result.put(entry.getKey(), serializable);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowui.data.grid;
+
+import com.vaadin.flow.data.provider.AbstractDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.shared.Registration;
+import io.jmix.core.DataManager;
+import io.jmix.core.LoadContext;
+import io.jmix.core.Sort;
+import io.jmix.core.common.event.Subscription;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.flowui.data.BindingState;
+import io.jmix.flowui.model.CollectionLoader;
+import io.jmix.flowui.kit.event.EventBus;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Data grid items that load rows directly from the database using the query, condition, parameters, sort
+ * and fetch plan of a {@link CollectionLoader}.
+ * <p>
+ * Rows are loaded by pages when the grid requests them, the pages around the requested range are prefetched,
+ * and only a limited number of pages are kept in memory. Sorting and filtering are applied to the loader,
+ * so they are performed by the database. Invocations of {@link CollectionLoader#load()} (e.g. by a filter)
+ * are intercepted: the loader's container is not filled, instead the cached pages are discarded and
+ * the grid requests the data again.
+ * <p>
+ * Loaded entities are not merged into the {@code DataContext}, so the items are intended for read-only grids.
+ *
+ * @param <T> entity type
+ */
+public class CollectionLoaderDataGridItems<T> extends AbstractDataProvider<T, Void>
+        implements EntityDataGridItems<T>, DataGridItems.Sortable<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_PREFETCH_PAGES = 1;
+    public static final int DEFAULT_MAX_CACHED_PAGES = 20;
+
+    protected CollectionLoader<T> loader;
+    protected DataManager dataManager;
+
+    protected int pageSize = DEFAULT_PAGE_SIZE;
+    protected int prefetchPages = DEFAULT_PREFETCH_PAGES;
+    protected int maxCachedPages = DEFAULT_MAX_CACHED_PAGES;
+
+    protected Map<Integer, List<T>> pages = createPageCache();
+    protected Integer size;
+
+    protected T selectedItem;
+    protected boolean suppressSorting;
+
+    protected Subscription preLoadSubscription;
+    protected BindingState state = BindingState.ACTIVE;
+
+    private EventBus eventBus;
+
+    public CollectionLoaderDataGridItems(CollectionLoader<T> loader, DataManager dataManager) {
+        Preconditions.checkNotNullArgument(loader);
+        Preconditions.checkNotNullArgument(dataManager);
+
+        this.loader = loader;
+        this.dataManager = dataManager;
+
+        preLoadSubscription = loader.addPreLoadListener(this::onLoaderPreLoad);
+    }
+
+    protected void onLoaderPreLoad(CollectionLoader.PreLoadEvent<T> event) {
+        event.preventLoad();
+        refresh();
+    }
+
+    /**
+     * Discards the loaded pages and the row count, so they are requested from the database again.
+     */
+    public void refresh() {
+        pages.clear();
+        size = null;
+        selectedItem = null;
+
+        getEventBus().fireEvent(new ItemSetChangeEvent<>(this));
+        refreshAll();
+    }
+
+    /**
+     * Stops intercepting loads of the underlying loader and switches the items to the
+     * {@link BindingState#INACTIVE} state, so the grid no longer requests rows from the database.
+     */
+    public void unbind() {
+        if (preLoadSubscription != null) {
+            preLoadSubscription.unsubscribe();
+            preLoadSubscription = null;
+        }
+
+        if (state == BindingState.ACTIVE) {
+            state = BindingState.INACTIVE;
+            pages.clear();
+            size = null;
+            selectedItem = null;
+
+            getEventBus().fireEvent(new StateChangeEvent(this, state));
+            refreshAll();
+        }
+    }
+
+    public CollectionLoader<T> getLoader() {
+        return loader;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the number of rows loaded by one query. Discards the loaded pages.
+     */
+    public void setPageSize(int pageSize) {
+        checkArgument(pageSize > 0, "Page size must be positive");
+
+        this.pageSize = pageSize;
+        pages.clear();
+    }
+
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    /**
+     * Sets the number of pages loaded before and after the range requested by the grid.
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        checkArgument(prefetchPages >= 0, "Number of prefetch pages cannot be negative");
+
+        this.prefetchPages = prefetchPages;
+    }
+
+    public int getMaxCachedPages() {
+        return maxCachedPages;
+    }
+
+    /**
+     * Sets the maximum number of pages kept in memory. The least recently used pages are discarded first.
+     */
+    public void setMaxCachedPages(int maxCachedPages) {
+        checkArgument(maxCachedPages > 0, "Maximum number of cached pages must be positive");
+
+        this.maxCachedPages = maxCachedPages;
+
+        Map<Integer, List<T>> oldPages = pages;
+        pages = createPageCache();
+        pages.putAll(oldPages);
+    }
+
+    protected Map<Integer, List<T>> createPageCache() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return false;
+    }
+
+    @Override
+    public int size(Query<T, Void> query) {
+        if (getState() == BindingState.INACTIVE) {
+            return 0;
+        }
+
+        if (size == null) {
+            LoadContext<T> loadContext = loader.createLoadContext();
+            loadContext.getQuery().setFirstResult(0);
+            loadContext.getQuery().setMaxResults(0);
+            size = Math.toIntExact(dataManager.getCount(loadContext));
+        }
+        return size;
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, Void> query) {
+        if (getState() == BindingState.INACTIVE) {
+            return Stream.empty();
+        }
+
+        int offset = query.getOffset();
+        int end = (int) Math.min((long) offset + query.getLimit(), size(query));
+        if (end <= offset) {
+            return Stream.empty();
+        }
+
+        int firstPage = offset / pageSize;
+        int lastPage = (end - 1) / pageSize;
+
+        Map<Integer, List<T>> requestedPages =
+                loadPages(Math.max(0, firstPage - prefetchPages), lastPage + prefetchPages, firstPage, lastPage);
+
+        List<T> rows = new ArrayList<>(end - offset);
+        for (int pageIndex = firstPage; pageIndex <= lastPage; pageIndex++) {
+            List<T> page = requestedPages.get(pageIndex);
+            if (page != null) {
+                rows.addAll(page);
+            }
+        }
+
+        return rows.stream()
+                .skip(offset - (long) firstPage * pageSize)
+                .limit(end - offset);
+    }
+
+    /**
+     * Loads absent pages of the given range. Contiguous absent pages are loaded by a single query.
+     * The requested pages are loaded last, so they are not evicted by the prefetched ones.
+     *
+     * @return requested pages by their indexes, including the pages evicted from the cache because the requested
+     * range is larger than {@link #getMaxCachedPages()}
+     */
+    protected Map<Integer, List<T>> loadPages(int fromPage, int toPage, int requestedFromPage, int requestedToPage) {
+        toPage = Math.min(toPage, Math.max(0, (size - 1) / pageSize));
+        requestedToPage = Math.min(requestedToPage, toPage);
+
+        loadAbsentPages(fromPage, requestedFromPage - 1);
+        loadAbsentPages(requestedToPage + 1, toPage);
+
+        Map<Integer, List<T>> requestedPages = new HashMap<>();
+        for (int pageIndex = requestedFromPage; pageIndex <= requestedToPage; pageIndex++) {
+            List<T> page = pages.get(pageIndex);
+            if (page != null) {
+                requestedPages.put(pageIndex, page);
+            }
+        }
+        requestedPages.putAll(loadAbsentPages(requestedFromPage, requestedToPage));
+        return requestedPages;
+    }
+
+    /**
+     * @return loaded pages by their indexes
+     */
+    protected Map<Integer, List<T>> loadAbsentPages(int fromPage, int toPage) {
+        Map<Integer, List<T>> loadedPages = new HashMap<>();
+        int pageIndex = fromPage;
+        while (pageIndex <= toPage) {
+            if (pages.containsKey(pageIndex)) {
+                pageIndex++;
+                continue;
+            }
+
+            int rangeEnd = pageIndex;
+            while (rangeEnd < toPage && !pages.containsKey(rangeEnd + 1)) {
+                rangeEnd++;
+            }
+
+            List<T> rows = loadRows(pageIndex * pageSize, (rangeEnd - pageIndex + 1) * pageSize);
+            for (int i = pageIndex; i <= rangeEnd; i++) {
+                int from = Math.min((i - pageIndex) * pageSize, rows.size());
+                int to = Math.min(from + pageSize, rows.size());
+                List<T> page = new ArrayList<>(rows.subList(from, to));
+                pages.put(i, page);
+                loadedPages.put(i, page);
+            }
+
+            pageIndex = rangeEnd + 1;
+        }
+        return loadedPages;
+    }
+
+    protected List<T> loadRows(int firstResult, int maxResults) {
+        LoadContext<T> loadContext = loader.createLoadContext();
+        loadContext.getQuery().setFirstResult(firstResult);
+        loadContext.getQuery().setMaxResults(maxResults);
+
+        Function<LoadContext<T>, List<T>> delegate = loader.getLoadDelegate();
+        List<T> rows = delegate == null ? dataManager.loadList(loadContext) : delegate.apply(loadContext);
+        return rows != null ? rows : Collections.emptyList();
+    }
+
+    /**
+     * @return unmodifiable collection of the items currently kept in memory
+     */
+    @Override
+    public Collection<T> getItems() {
+        List<T> items = new ArrayList<>();
+        new TreeMap<>(pages).values().forEach(items::addAll);
+        return Collections.unmodifiableList(items);
+    }
+
+    @Nullable
+    @Override
+    public T getItem(Object itemId) {
+        for (List<T> page : pages.values()) {
+            for (T item : page) {
+                if (itemId.equals(EntityValues.getId(item))) {
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public Object getItemValue(Object itemId, MetaPropertyPath propertyId) {
+        T item = getItem(itemId);
+        return item != null ? EntityValues.getValueEx(item, propertyId) : null;
+    }
+
+    @Override
+    public Object getId(T item) {
+        return EntityValues.getIdOrEntity(item);
+    }
+
+    @Nullable
+    @Override
+    public T getSelectedItem() {
+        return selectedItem;
+    }
+
+    @Override
+    public void setSelectedItem(@Nullable T item) {
+        if (!Objects.equals(selectedItem, item)) {
+            selectedItem = item;
+            getEventBus().fireEvent(new SelectedItemChangeEvent<>(this, item));
+        }
+    }
+
+    @Override
+    public boolean containsItem(T item) {
+        for (List<T> page : pages.values()) {
+            if (page.contains(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void sort(Object[] propertyId, boolean[] ascending) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (int i = 0; i < propertyId.length; i++) {
+            String property;
+            if (propertyId[i] instanceof MetaPropertyPath) {
+                property = ((MetaPropertyPath) propertyId[i]).toPathString();
+            } else {
+                property = (String) propertyId[i];
+            }
+            orders.add(ascending[i] ? Sort.Order.asc(property) : Sort.Order.desc(property));
+        }
+        loader.setSort(Sort.by(orders));
+
+        if (!suppressSorting) {
+            refresh();
+        }
+    }
+
+    @Override
+    public void resetSortOrder() {
+        loader.setSort(Sort.UNSORTED);
+
+        if (!suppressSorting) {
+            refresh();
+        }
+    }
+
+    @Override
+    public void suppressSorting() {
+        suppressSorting = true;
+    }
+
+    @Override
+    public void enableSorting() {
+        suppressSorting = false;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public Registration addValueChangeListener(Consumer<ValueChangeEvent<T>> listener) {
+        return getEventBus().addListener(ValueChangeEvent.class, ((Consumer) listener));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public Registration addItemSetChangeListener(Consumer<ItemSetChangeEvent<T>> listener) {
+        return getEventBus().addListener(ItemSetChangeEvent.class, ((Consumer) listener));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public Registration addSelectedItemChangeListener(Consumer<SelectedItemChangeEvent<T>> listener) {
+        return getEventBus().addListener(SelectedItemChangeEvent.class, ((Consumer) listener));
+    }
+
+    @Override
+    public BindingState getState() {
+        return state;
+    }
+
+    @Override
+    public Registration addStateChangeListener(Consumer<StateChangeEvent> listener) {
+        return getEventBus().addListener(StateChangeEvent.class, listener);
+    }
+
+    @Override
+    public MetaClass getEntityMetaClass() {
+        return loader.getContainer().getEntityMetaClass();
+    }
+
+    @Override
+    public Class<T> getType() {
+        return getEntityMetaClass().getJavaClass();
+    }
+
+    protected EventBus getEventBus() {
+        if (eventBus == null) {
+            eventBus = new EventBus();
+        }
+
+        return eventBus;
+    }
+}
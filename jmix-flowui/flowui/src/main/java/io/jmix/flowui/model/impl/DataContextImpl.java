@@ -25,6 +25,7 @@ import io.jmix.core.impl.StandardSerialization;
 import io.jmix.core.metamodel.datatype.EnumClass;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.flowui.model.CollectionChangeType;
 import io.jmix.flowui.model.DataContext;
 import io.jmix.flowui.model.MergeOptions;
 import org.apache.commons.lang3.StringUtils;
@@ -91,6 +92,18 @@ public class DataContextImpl implements DataContextInternal {
 
     protected Map<Object, Object> nullIdEntitiesMap = new /*Identity*/HashMap<>();
 
+    /**
+     * Reverse index of collection attributes containing managed instances: entity class -> instance key ->
+     * collections. Allows removing an instance from collections without iterating over the whole content.
+     */
+    protected Map<Class<?>, Map<Object, Set<CollectionReference>>> collectionReferences = new HashMap<>();
+
+    /**
+     * Collections which can contain instances not registered in {@link #collectionReferences}, e.g. collections
+     * assigned by application code or loaded lazily. They are checked on each removal.
+     */
+    protected Set<CollectionReference> untrackedCollections = new HashSet<>();
+
     @Nullable
     @Override
     public DataContext getParent() {
@@ -270,7 +283,7 @@ public class DataContextImpl implements DataContextInternal {
                     && (srcNew || entityStates.isLoaded(srcEntity, propertyName))// loaded src
                     && (dstNew || entityStates.isLoaded(dstEntity, propertyName))) {// loaded dst - have to check to avoid unfetched for local properties
 
-                Object value = EntityValues.getValue(srcEntity, propertyName);
+                Object value = EntityValues.getValue(srcEntity, property);
 
                 // ignore null values in non-root source entities
                 if (!isRoot && !options.isFresh() && value == null) {
@@ -286,7 +299,7 @@ public class DataContextImpl implements DataContextInternal {
             if (property.getRange().isClass()                                               // refs and collections
                     && !(metadataTools.isMethodBased(property) && property.isReadOnly())
                     && (srcNew || entityStates.isLoaded(srcEntity, propertyName))) {        // loaded src
-                Object value = EntityValues.getValue(srcEntity, propertyName);
+                Object value = EntityValues.getValue(srcEntity, property);
 
                 // ignore null values in non-root source entities
                 if (!isRoot && !options.isFresh() && value == null) {
@@ -296,6 +309,9 @@ public class DataContextImpl implements DataContextInternal {
                 if (value == null || !entityStates.isLoaded(dstEntity, propertyName)) {
                     if (!metadataTools.isEmbedded(property)) {//dstEntity property value will be lazy loaded and replaced by srcEntity property value
                         setPropertyValue(dstEntity, property, value);
+                        if (value instanceof Collection) {
+                            untrackedCollections.add(new CollectionReference(dstEntity, property));
+                        }
                     }
                     continue;
                 }
@@ -340,7 +356,7 @@ public class DataContextImpl implements DataContextInternal {
     protected void setPropertyValue(Object entity, MetaProperty property, @Nullable Object value, boolean checkEquals) {
         EntityPreconditions.checkEntityType(entity);
         if (!property.isReadOnly()) {
-            EntityValues.setValue(entity, property.getName(), value, checkEquals);
+            EntityValues.setValue(entity, property, value, checkEquals);
         } else {
             AnnotatedElement annotatedElement = property.getAnnotatedElement();
             if (annotatedElement instanceof Field) {
@@ -389,7 +405,7 @@ public class DataContextImpl implements DataContextInternal {
             if (property.getRange().isClass() && !metadataTools.isMethodBased(property)
                     && !srcNew && !entityStates.isLoaded(srcEntity, propertyName)) {
                 entitySystemStateSupport.mergeLazyLoadingState((Entity) srcEntity, (Entity) dstEntity, property,
-                        collection -> wrapLazyValueIntoObservableCollection(collection, dstEntity));
+                        collection -> wrapLazyValueIntoObservableCollection(collection, dstEntity, property));
             }
         }
 
@@ -403,11 +419,11 @@ public class DataContextImpl implements DataContextInternal {
                 Object managedRef = internalMerge(entity, mergedMap, false, options);
                 managedRefs.add(managedRef);
             }
-            List<Object> dstList = createObservableList(managedRefs, managedEntity);
-            setPropertyValue(managedEntity, property, dstList);
+            List<Object> dstList = createObservableList(managedRefs, managedEntity, property);
+            setTrackedCollection(managedEntity, property, dstList);
 
         } else {
-            Object managedValue = EntityValues.getValue(managedEntity, property.getName());
+            Object managedValue = EntityValues.getValue(managedEntity, property);
 
             List<Object> dstList = null;
             if (managedValue instanceof List) {
@@ -417,16 +433,19 @@ public class DataContextImpl implements DataContextInternal {
             }
 
             if (dstList == null) {
-                dstList = createObservableList(managedEntity);
-                setPropertyValue(managedEntity, property, dstList);
+                dstList = createObservableList(managedEntity, property);
+                setTrackedCollection(managedEntity, property, dstList);
             }
             if (dstList.size() == 0) {
                 for (Object srcRef : list) {
-                    dstList.add(internalMerge(srcRef, mergedMap, false, options));
+                    Object managedRef = internalMerge(srcRef, mergedMap, false, options);
+                    registerCollectionReference(managedEntity, property, managedRef);
+                    dstList.add(managedRef);
                 }
             } else {
                 for (Object srcRef : list) {
                     Object managedRef = internalMerge(srcRef, mergedMap, false, options);
+                    registerCollectionReference(managedEntity, property, managedRef);
                     if (!dstList.contains(managedRef)) {
                         dstList.add(managedRef);
                     }
@@ -443,11 +462,11 @@ public class DataContextImpl implements DataContextInternal {
                 Object managedRef = internalMerge(entity, mergedMap, false, options);
                 managedRefs.add(managedRef);
             }
-            Set<Object> dstSet = createObservableSet(managedRefs, managedEntity);
-            setPropertyValue(managedEntity, property, dstSet);
+            Set<Object> dstSet = createObservableSet(managedRefs, managedEntity, property);
+            setTrackedCollection(managedEntity, property, dstSet);
 
         } else {
-            Object managedValue = EntityValues.getValue(managedEntity, property.getName());
+            Object managedValue = EntityValues.getValue(managedEntity, property);
 
             Set<Object> dstSet = null;
             if (managedValue instanceof Set) {
@@ -458,18 +477,13 @@ public class DataContextImpl implements DataContextInternal {
 
 
             if (dstSet == null) {
-                dstSet = createObservableSet(managedEntity);
-                setPropertyValue(managedEntity, property, dstSet);
+                dstSet = createObservableSet(managedEntity, property);
+                setTrackedCollection(managedEntity, property, dstSet);
             }
-            if (dstSet.size() == 0) {
-                for (Object srcRef : set) {
-                    dstSet.add(internalMerge(srcRef, mergedMap, false, options));
-                }
-            } else {
-                for (Object srcRef : set) {
-                    Object managedRef = internalMerge(srcRef, mergedMap, false, options);
-                    dstSet.add(managedRef);
-                }
+            for (Object srcRef : set) {
+                Object managedRef = internalMerge(srcRef, mergedMap, false, options);
+                registerCollectionReference(managedEntity, property, managedRef);
+                dstSet.add(managedRef);
             }
         }
     }
@@ -483,6 +497,17 @@ public class DataContextImpl implements DataContextInternal {
         return collection;
     }
 
+    protected Collection<Object> wrapLazyValueIntoObservableCollection(Collection<Object> collection, Object owner,
+                                                                       MetaProperty property) {
+        if (collection instanceof List) {
+            return createObservableList((List<Object>) collection, owner, property);
+        } else if (collection instanceof Set) {
+            return createObservableSet((Set<Object>) collection, owner, property);
+        }
+        untrackedCollections.add(new CollectionReference(owner, property));
+        return collection;
+    }
+
     protected List<Object> createObservableList(Object notifiedEntity) {
         return createObservableList(new ArrayList<>(), notifiedEntity);
     }
@@ -499,6 +524,109 @@ public class DataContextImpl implements DataContextInternal {
         return new ObservableSet<>(set, (changeType, changes) -> modified(notifiedEntity));
     }
 
+    protected List<Object> createObservableList(Object owner, MetaProperty property) {
+        return createObservableList(new ArrayList<>(), owner, property);
+    }
+
+    /**
+     * Creates a list which registers added items in {@link #collectionReferences}.
+     */
+    protected List<Object> createObservableList(List<Object> list, Object owner, MetaProperty property) {
+        registerCollectionReferences(owner, property, list);
+        return new ObservableList<>(list, (changeType, changes) -> {
+            onTrackedCollectionChanged(owner, property, changeType, changes);
+            modified(owner);
+        });
+    }
+
+    protected Set<Object> createObservableSet(Object owner, MetaProperty property) {
+        return createObservableSet(new LinkedHashSet<>(), owner, property);
+    }
+
+    /**
+     * Creates a set which registers added items in {@link #collectionReferences}.
+     */
+    protected ObservableSet<Object> createObservableSet(Set<Object> set, Object owner, MetaProperty property) {
+        registerCollectionReferences(owner, property, set);
+        return new ObservableSet<>(set, (changeType, changes) -> {
+            onTrackedCollectionChanged(owner, property, changeType, changes);
+            modified(owner);
+        });
+    }
+
+    protected void onTrackedCollectionChanged(Object owner, MetaProperty property,
+                                              CollectionChangeType changeType, Collection<?> changes) {
+        if (changeType == CollectionChangeType.ADD_ITEMS || changeType == CollectionChangeType.SET_ITEM) {
+            registerCollectionReferences(owner, property, changes);
+        }
+    }
+
+    /**
+     * Sets a collection created by {@link #createObservableList(List, Object, MetaProperty)} or
+     * {@link #createObservableSet(Set, Object, MetaProperty)} to the property, so its items are known from
+     * {@link #collectionReferences}.
+     */
+    protected void setTrackedCollection(Object owner, MetaProperty property, Collection<Object> collection) {
+        setPropertyValue(owner, property, collection);
+        // the property change listener marks the collection as untracked, and the value is not replaced
+        // if the current collection is equal to the new one
+        if (EntityValues.getValue(owner, property) == collection) {
+            untrackedCollections.remove(new CollectionReference(owner, property));
+        }
+    }
+
+    protected void registerCollectionReferences(Object owner, MetaProperty property, Collection<?> items) {
+        for (Object item : items) {
+            registerCollectionReference(owner, property, item);
+        }
+    }
+
+    protected void registerCollectionReference(Object owner, MetaProperty property, @Nullable Object item) {
+        if (item != null) {
+            collectionReferences.computeIfAbsent(item.getClass(), aClass -> new HashMap<>())
+                    .computeIfAbsent(makeKey(item), key -> new HashSet<>())
+                    .add(new CollectionReference(owner, property));
+        }
+    }
+
+    protected Set<CollectionReference> getCollectionReferences(Object item) {
+        Map<Object, Set<CollectionReference>> referenceMap = collectionReferences.get(item.getClass());
+        if (referenceMap == null) {
+            return Collections.emptySet();
+        }
+        return referenceMap.getOrDefault(makeKey(item), Collections.emptySet());
+    }
+
+    /**
+     * Removes the instance from {@link #collectionReferences}, both as a collection item and as a collection owner.
+     */
+    protected void unregisterCollectionReferences(Object entity) {
+        Map<Object, Set<CollectionReference>> referenceMap = collectionReferences.get(entity.getClass());
+        if (referenceMap != null) {
+            referenceMap.remove(makeKey(entity));
+        }
+
+        MetaClass metaClass = getEntityMetaClass(entity);
+        for (MetaProperty property : metaClass.getProperties()) {
+            if (property.getRange().isClass()
+                    && property.getRange().getCardinality().isMany()
+                    && entityStates.isLoaded(entity, property.getName())) {
+                CollectionReference reference = new CollectionReference(entity, property);
+                untrackedCollections.remove(reference);
+
+                Collection<?> items = EntityValues.getValue(entity, property);
+                if (items != null) {
+                    for (Object item : items) {
+                        Set<CollectionReference> references = getCollectionReferences(item);
+                        if (!references.isEmpty()) {
+                            references.remove(reference);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void remove(Object entity) {
         checkNotNullArgument(entity, "entity is null");
@@ -516,6 +644,7 @@ public class DataContextImpl implements DataContextInternal {
             if (mergedEntity != null) {
                 entityMap.remove(makeKey(entity));
                 removeFromCollections(mergedEntity);
+                unregisterCollectionReferences(mergedEntity);
             }
         }
 
@@ -523,29 +652,29 @@ public class DataContextImpl implements DataContextInternal {
     }
 
     protected void removeFromCollections(Object entityToRemove) {
-        for (Map.Entry<Class<?>, Map<Object, Object>> entry : content.entrySet()) {
-            Class<?> entityClass = entry.getKey();
-
-            MetaClass metaClass = metadata.getClass(entityClass);
-            for (MetaProperty metaProperty : metaClass.getProperties()) {
-                if (metaProperty.getRange().isClass()
-                        && metaProperty.getRange().getCardinality().isMany()
-                        && metaProperty.getRange().asClass().getJavaClass().isAssignableFrom(entityToRemove.getClass())) {
-
-                    Map<Object, Object> entityMap = entry.getValue();
-                    for (Object entity : entityMap.values()) {
-                        if (entityStates.isLoaded(entity, metaProperty.getName())) {
-                            Collection collection = EntityValues.getValue(entity, metaProperty.getName());
-                            if (collection != null) {
-                                collection.remove(entityToRemove);
-                            }
-                        }
-                    }
+        Set<CollectionReference> references = new LinkedHashSet<>(getCollectionReferences(entityToRemove));
+        references.addAll(untrackedCollections);
+
+        for (CollectionReference reference : references) {
+            Object owner = reference.getOwner();
+            MetaProperty metaProperty = reference.getProperty();
+
+            if (isManagedInstance(owner)
+                    && metaProperty.getRange().asClass().getJavaClass().isAssignableFrom(entityToRemove.getClass())
+                    && entityStates.isLoaded(owner, metaProperty.getName())) {
+                Collection collection = EntityValues.getValue(owner, metaProperty);
+                if (collection != null) {
+                    collection.remove(entityToRemove);
                 }
             }
         }
     }
 
+    protected boolean isManagedInstance(Object entity) {
+        Map<Object, Object> entityMap = content.get(entity.getClass());
+        return entityMap != null && entityMap.get(makeKey(entity)) == entity;
+    }
+
     @Override
     public void evict(Object entity) {
         checkNotNullArgument(entity, "entity is null");
@@ -556,6 +685,7 @@ public class DataContextImpl implements DataContextInternal {
             if (mergedEntity != null) {
                 entityMap.remove(makeKey(entity));
                 removeListeners(entity);
+                unregisterCollectionReferences(mergedEntity);
             }
             modifiedInstances.remove(entity);
             removedInstances.remove(entity);
@@ -580,6 +710,8 @@ public class DataContextImpl implements DataContextInternal {
         for (Object entity : getAll()) {
             evict(entity);
         }
+        collectionReferences.clear();
+        untrackedCollections.clear();
     }
 
     @Override
@@ -829,7 +961,7 @@ public class DataContextImpl implements DataContextInternal {
         for (MetaProperty property : metadata.getClass(entity).getProperties()) {
             if (!property.getRange().isClass() || !entityStates.isLoaded(entity, property.getName()))
                 continue;
-            Object value = EntityValues.getValue(entity, property.getName());
+            Object value = EntityValues.getValue(entity, property);
             String prefix = StringUtils.repeat("  ", level);
             if (value instanceof Entity) {
                 String str = printEntity(value, level + 1, visited);
@@ -889,6 +1021,25 @@ public class DataContextImpl implements DataContextInternal {
                     }
                     entityMap.put(e.getValue(), e.getItem());
                 }
+
+                Map<Object, Set<CollectionReference>> referenceMap = collectionReferences.get(e.getItem().getClass());
+                if (referenceMap != null) {
+                    Set<CollectionReference> references = referenceMap.remove(
+                            e.getPrevValue() == null ? e.getItem() : e.getPrevValue());
+                    if (references != null) {
+                        referenceMap.put(e.getValue(), references);
+                    }
+                }
+            }
+
+            // a collection assigned outside the context can be changed without notifications
+            if (e.getValue() instanceof Collection) {
+                MetaProperty metaProperty = getEntityMetaClass(e.getItem()).findProperty(e.getProperty());
+                if (metaProperty != null
+                        && metaProperty.getRange().isClass()
+                        && metaProperty.getRange().getCardinality().isMany()) {
+                    untrackedCollections.add(new CollectionReference(e.getItem(), metaProperty));
+                }
             }
 
             if (!disableListeners) {
@@ -914,4 +1065,40 @@ public class DataContextImpl implements DataContextInternal {
             }
         }
     }
+
+    /**
+     * Collection attribute of a managed instance.
+     */
+    protected static class CollectionReference {
+
+        private final Object owner;
+        private final MetaProperty property;
+
+        public CollectionReference(Object owner, MetaProperty property) {
+            this.owner = owner;
+            this.property = property;
+        }
+
+        public Object getOwner() {
+            return owner;
+        }
+
+        public MetaProperty getProperty() {
+            return property;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            CollectionReference that = (CollectionReference) o;
+            return owner == that.owner && property.getName().equals(that.property.getName());
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(owner) + property.getName().hashCode();
+        }
+    }
 }
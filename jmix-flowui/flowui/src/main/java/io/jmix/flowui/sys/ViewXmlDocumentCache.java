@@ -23,10 +23,17 @@ import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
 
+/**
+ * Caches view XML documents after parsing and XML inheritance processing.
+ * <p>
+ * Documents are cached both by XML content and by descriptor resource. The latter allows opening
+ * a view without reading the descriptor resource again while it is not modified.
+ */
 @Component("flowui_ViewXmlDocumentCache")
 public class ViewXmlDocumentCache {
 
     protected Cache<String, Document> cache;
+    protected Cache<String, ResourceDocument> resourceCache;
 
     public ViewXmlDocumentCache() {
         this(100);
@@ -34,6 +41,7 @@ public class ViewXmlDocumentCache {
 
     protected ViewXmlDocumentCache(int cacheDescriptorsCount) {
         cache = CacheBuilder.newBuilder().maximumSize(cacheDescriptorsCount).build();
+        resourceCache = CacheBuilder.newBuilder().maximumSize(cacheDescriptorsCount).build();
     }
 
     public void put(String xml, Document document) {
@@ -45,7 +53,44 @@ public class ViewXmlDocumentCache {
         return cache.getIfPresent(xml);
     }
 
+    /**
+     * Caches a document loaded from the descriptor resource.
+     *
+     * @param resourceKey  key of the descriptor resource
+     * @param lastModified last modification time of the resource when it was read
+     * @param document     processed document
+     */
+    public void put(String resourceKey, long lastModified, Document document) {
+        resourceCache.put(resourceKey, new ResourceDocument(lastModified, document));
+    }
+
+    /**
+     * @param resourceKey  key of the descriptor resource
+     * @param lastModified current modification time of the resource
+     * @return cached document or null if it is absent or the resource was modified after caching
+     */
+    @Nullable
+    public Document get(String resourceKey, long lastModified) {
+        ResourceDocument resourceDocument = resourceCache.getIfPresent(resourceKey);
+        if (resourceDocument == null || resourceDocument.lastModified != lastModified) {
+            return null;
+        }
+        return resourceDocument.document;
+    }
+
     public void invalidateAll() {
         cache.invalidateAll();
+        resourceCache.invalidateAll();
+    }
+
+    protected static class ResourceDocument {
+
+        protected final long lastModified;
+        protected final Document document;
+
+        public ResourceDocument(long lastModified, Document document) {
+            this.lastModified = lastModified;
+            this.document = document;
+        }
     }
-}
\ No newline at end of file
+}
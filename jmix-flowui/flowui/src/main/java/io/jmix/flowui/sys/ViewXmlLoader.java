@@ -19,11 +19,13 @@ package io.jmix.flowui.sys;
 import io.jmix.core.DevelopmentException;
 import io.jmix.core.Resources;
 import io.jmix.flowui.view.View;
+import io.jmix.flowui.xml.layout.LoaderResolver;
 import org.apache.commons.io.IOUtils;
 import org.dom4j.Document;
 import org.dom4j.Element;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -40,6 +42,7 @@ public class ViewXmlLoader {
     protected ViewXmlDocumentCache viewXmlDocumentCache;
     protected ViewXmlParser viewXmlParser;
     protected ApplicationContext applicationContext;
+    protected LoaderResolver loaderResolver;
 
     @Autowired
     public void setResources(Resources resources) {
@@ -61,6 +64,11 @@ public class ViewXmlLoader {
         this.applicationContext = applicationContext;
     }
 
+    @Autowired
+    public void setLoaderResolver(LoaderResolver loaderResolver) {
+        this.loaderResolver = loaderResolver;
+    }
+
     /**
      * Loads a descriptor.
      *
@@ -68,12 +76,39 @@ public class ViewXmlLoader {
      * @return root XML element
      */
     public Element load(String resourcePath) {
-        String template = loadTemplate(resourcePath);
-        Document document = getDocument(template);
+        Resource resource = resources.getResource(resourcePath);
+        String resourceKey = resource.getDescription();
+        long lastModified = getLastModified(resource);
+
+        Document document = lastModified >= 0 ? viewXmlDocumentCache.get(resourceKey, lastModified) : null;
+        if (document == null) {
+            String template = loadTemplate(resourcePath);
+            document = getDocument(template);
+            if (lastModified >= 0) {
+                viewXmlDocumentCache.put(resourceKey, lastModified, document);
+            }
+        }
 
         return document.getRootElement();
     }
 
+    /**
+     * Returns the modification time of a file resource, so descriptors changed on disk, e.g. by hot-deploy,
+     * are reloaded. Other resources, e.g. entries of JAR files, cannot change and return {@code 0}.
+     * Returns {@code -1} if the modification time is unavailable and the resource must not be cached.
+     */
+    protected long getLastModified(Resource resource) {
+        if (!resource.isFile()) {
+            return 0;
+        }
+
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     private String loadTemplate(String resourcePath) {
         try (InputStream stream = resources.getResourceAsStream(resourcePath)) {
             if (stream == null) {
@@ -90,6 +125,8 @@ public class ViewXmlLoader {
         Document document = viewXmlDocumentCache.get(template);
         if (document == null) {
             document = createDocument(template);
+            // the document is shared by all instances of the view, so loaders and attributes are resolved once
+            loaderResolver.createBlueprints(document.getRootElement());
             viewXmlDocumentCache.put(template, document);
         }
 
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowui.xml.layout;
+
+import org.dom4j.Attribute;
+import org.dom4j.Element;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolved loading information of a descriptor element: the loader class and the attribute values.
+ * <p>
+ * Blueprints are created once for elements of cached view descriptors, so opening the same view again
+ * does not resolve loaders and attributes for each element repeatedly.
+ *
+ * @see LoaderResolver#createBlueprints(Element)
+ */
+public class LoaderBlueprint {
+
+    @SuppressWarnings("rawtypes")
+    protected final Class<? extends ComponentLoader> loaderClass;
+    protected final Map<String, String> attributes;
+
+    @SuppressWarnings("rawtypes")
+    public LoaderBlueprint(@Nullable Class<? extends ComponentLoader> loaderClass, Element element) {
+        this.loaderClass = loaderClass;
+        this.attributes = collectAttributes(element);
+    }
+
+    /**
+     * @return loader class of the element or {@code null} if the element is not a component
+     */
+    @SuppressWarnings("rawtypes")
+    @Nullable
+    public Class<? extends ComponentLoader> getLoaderClass() {
+        return loaderClass;
+    }
+
+    /**
+     * @param name attribute name
+     * @return attribute value or {@code null} if the element has no such attribute
+     */
+    @Nullable
+    public String getAttributeValue(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * @return unmodifiable map of attribute values by attribute names
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    protected Map<String, String> collectAttributes(Element element) {
+        if (element.attributeCount() == 0) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> attributes = new HashMap<>(element.attributeCount() * 2);
+        for (Attribute attribute : element.attributes()) {
+            // the same lookup rule as Element.attributeValue(String): the first attribute with the name
+            attributes.putIfAbsent(attribute.getName(), attribute.getValue());
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+}
@@ -16,19 +16,35 @@
 
 package io.jmix.flowui.xml.layout;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.dom4j.Element;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Constructor;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component("flowui_LoaderResolver")
 public class LoaderResolver {
 
     protected List<LoaderConfig> loaderConfigs = Collections.emptyList();
 
+    @SuppressWarnings("rawtypes")
+    protected Map<Class<? extends ComponentLoader>, Constructor<? extends ComponentLoader>> loaderConstructors =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Blueprints of cached descriptor elements. Keys are weak and compared by identity, so blueprints
+     * are removed together with descriptor documents evicted from the cache.
+     */
+    protected Cache<Element, LoaderBlueprint> blueprints = CacheBuilder.newBuilder().weakKeys().build();
+
     @Autowired
     public void setLoaderConfigs(List<LoaderConfig> loaderConfigs) {
         this.loaderConfigs = loaderConfigs;
@@ -36,6 +52,37 @@ public class LoaderResolver {
 
     @Nullable
     public Class<? extends ComponentLoader> getLoader(Element element) {
+        LoaderBlueprint blueprint = blueprints.getIfPresent(element);
+        if (blueprint != null) {
+            return blueprint.getLoaderClass();
+        }
+        return resolveLoader(element);
+    }
+
+    /**
+     * Creates blueprints for the given element and all its descendants. Must be called only for
+     * elements of descriptors that are cached and not modified afterwards.
+     *
+     * @param root root element of a cached descriptor
+     */
+    public void createBlueprints(Element root) {
+        blueprints.put(root, new LoaderBlueprint(resolveLoader(root), root));
+        for (Element element : root.elements()) {
+            createBlueprints(element);
+        }
+    }
+
+    /**
+     * @param element descriptor element
+     * @return blueprint of the element or {@code null} if the element does not belong to a cached descriptor
+     */
+    @Nullable
+    public LoaderBlueprint getBlueprint(Element element) {
+        return blueprints.getIfPresent(element);
+    }
+
+    @Nullable
+    protected Class<? extends ComponentLoader> resolveLoader(Element element) {
         for (LoaderConfig config : loaderConfigs) {
             if (config.supports(element)) {
                 return config.getLoader(element);
@@ -54,4 +101,23 @@ public class LoaderResolver {
         }
         return null;
     }
+
+    /**
+     * Returns the public no-arg constructor of the given loader class. Constructors are cached, so
+     * loaders are instantiated without a reflective lookup each time a view is opened.
+     *
+     * @param loaderClass loader class
+     * @return loader constructor
+     * @throws NoSuchMethodException if the loader class has no public no-arg constructor
+     */
+    @SuppressWarnings("rawtypes")
+    public Constructor<? extends ComponentLoader> getLoaderConstructor(Class<? extends ComponentLoader> loaderClass)
+            throws NoSuchMethodException {
+        Constructor<? extends ComponentLoader> constructor = loaderConstructors.get(loaderClass);
+        if (constructor == null) {
+            constructor = loaderClass.getConstructor();
+            loaderConstructors.put(loaderClass, constructor);
+        }
+        return constructor;
+    }
 }
@@ -164,7 +164,7 @@ public class FragmentLoader {
 
         Constructor<? extends ComponentLoader> constructor;
         try {
-            constructor = loaderClass.getConstructor();
+            constructor = loaderResolver.getLoaderConstructor(loaderClass);
         } catch (NoSuchMethodException e) {
             throw new GuiDevelopmentException("Unable to get constructor for loader: " + e, context);
         }
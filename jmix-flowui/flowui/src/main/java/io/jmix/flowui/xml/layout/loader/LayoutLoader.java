@@ -107,7 +107,7 @@ public class LayoutLoader {
 
         Constructor<? extends ComponentLoader> constructor;
         try {
-            constructor = loaderClass.getConstructor();
+            constructor = loaderResolver.getLoaderConstructor(loaderClass);
         } catch (NoSuchMethodException e) {
             throw new GuiDevelopmentException("Unable to get constructor for loader: " + e, context);
         }
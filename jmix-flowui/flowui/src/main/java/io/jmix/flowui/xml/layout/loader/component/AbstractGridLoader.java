@@ -99,6 +99,7 @@ public abstract class AbstractGridLoader<T extends Grid & EnhancedDataGrid & Has
                 resultComponent.getEditor().setBuffered(editorBuffered));
         loadEnum(element, EnhancedDataGrid.AggregationPosition.class, "aggregationPosition",
                 resultComponent::setAggregationPosition);
+        loadBoolean(element, "databaseAggregation", resultComponent::setDatabaseAggregation);
         loadEnum(element, ColumnRendering.class, "columnRendering", resultComponent::setColumnRendering);
 
         componentLoader().loadEnabled(resultComponent, element);
@@ -18,7 +18,10 @@ package io.jmix.flowui.xml.layout.support;
 
 import com.google.common.base.Strings;
 import io.jmix.core.MessageTools;
+import io.jmix.flowui.xml.layout.LoaderBlueprint;
+import io.jmix.flowui.xml.layout.LoaderResolver;
 import org.dom4j.Element;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
@@ -32,11 +35,17 @@ import java.util.function.Consumer;
 public class LoaderSupport {
 
     protected MessageTools messageTools;
+    protected LoaderResolver loaderResolver;
 
     public LoaderSupport(MessageTools messageTools) {
         this.messageTools = messageTools;
     }
 
+    @Autowired
+    public void setLoaderResolver(LoaderResolver loaderResolver) {
+        this.loaderResolver = loaderResolver;
+    }
+
     /**
      * Returns an {@link Optional} with the attribute value from
      * the given element for the attribute with the given name,
@@ -64,7 +73,7 @@ public class LoaderSupport {
      * specified attribute exists in the element, otherwise an empty {@link Optional}
      */
     public Optional<String> loadString(Element element, String attributeName, boolean emptyToNull) {
-        String attributeValue = element.attributeValue(attributeName);
+        String attributeValue = getAttributeValue(element, attributeName);
         return Optional.ofNullable(emptyToNull ? Strings.emptyToNull(attributeValue) : attributeValue);
     }
 
@@ -202,4 +211,16 @@ public class LoaderSupport {
 
         return messageTools.loadString(messageGroup, message);
     }
+
+    /**
+     * Returns the attribute value resolved in the blueprint of a cached descriptor element,
+     * or reads it from the element itself.
+     */
+    @Nullable
+    protected String getAttributeValue(Element element, String attributeName) {
+        LoaderBlueprint blueprint = loaderResolver != null ? loaderResolver.getBlueprint(element) : null;
+        return blueprint != null
+                ? blueprint.getAttributeValue(attributeName)
+                : element.attributeValue(attributeName);
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import com.vaadin.flow.data.provider.Query
+import io.jmix.core.DataManager
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.flowui.data.BindingState
+import io.jmix.flowui.data.grid.CollectionLoaderDataGridItems
+import io.jmix.flowui.model.CollectionContainer
+import io.jmix.flowui.model.CollectionLoader
+import io.jmix.flowui.model.DataComponents
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.entity.Foo
+import test_support.spec.DataContextSpec
+
+class CollectionLoaderDataGridItemsTest extends DataContextSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataComponents factory
+
+    List<Foo> createFoos() {
+        List<Foo> foos = []
+        for (int i = 0; i < 30; i++) {
+            Foo foo = new Foo()
+            foo.name = String.format('foo-%02d', i)
+            foos << dataManager.save(foo)
+        }
+        return foos
+    }
+
+    def "rows are loaded by pages"() {
+        def foos = createFoos()
+
+        CollectionContainer<Foo> container = factory.createCollectionContainer(Foo)
+        CollectionLoader<Foo> loader = factory.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setQuery('select e from test_Foo e order by e.name')
+
+        def items = new CollectionLoaderDataGridItems<Foo>(loader, dataManager)
+        items.pageSize = 5
+        items.prefetchPages = 1
+        items.maxCachedPages = 3
+
+        expect:
+        items.size(new Query<>()) == 30
+        items.fetch(new Query<>(12, 5, [], null, null)).collect { it.name } ==
+                ['foo-12', 'foo-13', 'foo-14', 'foo-15', 'foo-16']
+
+        and: "requested and prefetched pages are cached, the rest is evicted"
+        items.items.size() == 15
+        items.items.first().name == 'foo-10'
+        items.items.last().name == 'foo-24'
+
+        cleanup:
+        deleteRecord(foos.toArray())
+    }
+
+    def "requested range larger than the page cache is returned in full"() {
+        def foos = createFoos()
+
+        CollectionContainer<Foo> container = factory.createCollectionContainer(Foo)
+        CollectionLoader<Foo> loader = factory.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setQuery('select e from test_Foo e order by e.name')
+
+        def items = new CollectionLoaderDataGridItems<Foo>(loader, dataManager)
+        items.pageSize = 5
+        items.prefetchPages = 1
+        items.maxCachedPages = 2
+
+        when: "the range spans 5 pages while only 2 pages can be cached"
+        def names = items.fetch(new Query<>(3, 22, [], null, null)).collect { it.name }
+
+        then:
+        names == (3..24).collect { String.format('foo-%02d', it) }
+
+        when: "pages partially cached by the previous fetch are requested again"
+        names = items.fetch(new Query<>(7, 16, [], null, null)).collect { it.name }
+
+        then:
+        names == (7..22).collect { String.format('foo-%02d', it) }
+
+        cleanup:
+        deleteRecord(foos.toArray())
+    }
+
+    def "sort and filter are applied to the query"() {
+        def foos = createFoos()
+
+        CollectionContainer<Foo> container = factory.createCollectionContainer(Foo)
+        CollectionLoader<Foo> loader = factory.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setQuery('select e from test_Foo e')
+
+        def items = new CollectionLoaderDataGridItems<Foo>(loader, dataManager)
+
+        when:
+        items.sort(['name'] as Object[], [false] as boolean[])
+
+        then:
+        items.fetch(new Query<>(0, 2, [], null, null)).collect { it.name } == ['foo-29', 'foo-28']
+
+        when:
+        loader.setCondition(PropertyCondition.startsWith('name', 'foo-0'))
+        loader.load()
+
+        then: "load is intercepted, the container is not filled"
+        container.items.isEmpty()
+        items.size(new Query<>()) == 10
+        items.fetch(new Query<>(0, 1, [], null, null)).collect { it.name } == ['foo-09']
+
+        cleanup:
+        deleteRecord(foos.toArray())
+    }
+
+    def "unbound items are inactive and return no rows"() {
+        def foos = createFoos()
+
+        CollectionContainer<Foo> container = factory.createCollectionContainer(Foo)
+        CollectionLoader<Foo> loader = factory.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setQuery('select e from test_Foo e order by e.name')
+
+        def items = new CollectionLoaderDataGridItems<Foo>(loader, dataManager)
+        def states = []
+        items.addStateChangeListener { states << it.state }
+
+        expect:
+        items.state == BindingState.ACTIVE
+        items.fetch(new Query<>(0, 2, [], null, null)).count() == 2
+
+        when:
+        items.unbind()
+
+        then:
+        items.state == BindingState.INACTIVE
+        states == [BindingState.INACTIVE]
+        items.size(new Query<>()) == 0
+        items.fetch(new Query<>(0, 2, [], null, null)).count() == 0
+        items.items.isEmpty()
+
+        when: "loads of the loader are no longer intercepted"
+        loader.load()
+
+        then:
+        container.items.size() == 30
+
+        cleanup:
+        deleteRecord(foos.toArray())
+    }
+}
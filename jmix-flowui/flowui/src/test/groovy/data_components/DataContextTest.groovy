@@ -466,6 +466,60 @@ class DataContextTest extends DataContextSpec {
         !order1_1.orderLines.contains(orderLine12_1)
     }
 
+    def "removed object is removed from collections added and assigned after merge"() {
+
+        def dataContext = factory.createDataContext()
+
+        Order order1 = dataContext.merge(makeSaved(new Order(number: "111", orderLines: [])))
+        Order order2 = dataContext.merge(makeSaved(new Order(number: "222", orderLines: [])))
+
+        OrderLine orderLine1 = dataContext.merge(makeSaved(new OrderLine(quantity: 10)))
+        OrderLine orderLine2 = dataContext.merge(makeSaved(new OrderLine(quantity: 20)))
+
+        order1.orderLines.add(orderLine1)
+        order2.orderLines = [orderLine1, orderLine2]
+
+        when:
+
+        dataContext.remove(orderLine1)
+
+        then:
+
+        order1.orderLines.isEmpty()
+        order2.orderLines == [orderLine2]
+    }
+
+    def "removing objects from large context"() {
+
+        def dataContext = factory.createDataContext()
+
+        List<Order> orders = []
+        for (int i = 0; i < 200; i++) {
+            Order order = makeSaved(new Order(number: "order-$i", orderLines: []))
+            for (int j = 0; j < 10; j++) {
+                OrderLine orderLine = makeSaved(new OrderLine(quantity: j))
+                orderLine.order = order
+                order.orderLines.add(orderLine)
+            }
+            orders << order
+        }
+        Collection<Order> mergedOrders = dataContext.merge(orders)
+
+        when:
+
+        mergedOrders.each { Order order ->
+            order.orderLines.findAll { it.quantity % 4 == 0 }.each { dataContext.remove(it) }
+        }
+
+        then:
+
+        mergedOrders.every { Order order ->
+            order.orderLines.size() == 7 && order.orderLines.every { it.quantity % 4 != 0 }
+        }
+        dataContext.getAll().size() == 1600
+        dataContext.removed.size() == 600
+    }
+
     def "system fields are preserved on merge"() {
 
         def dataContext = factory.createDataContext()
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.core.DataManager
+import io.jmix.core.Metadata
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.flowui.component.AggregationInfo
+import io.jmix.flowui.data.aggregation.impl.DatabaseAggregationLoader
+import io.jmix.flowui.model.CollectionContainer
+import io.jmix.flowui.model.CollectionLoader
+import io.jmix.flowui.model.DataComponents
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.entity.sales.Order
+import test_support.spec.DataContextSpec
+
+class DatabaseAggregationLoaderTest extends DataContextSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataComponents factory
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DatabaseAggregationLoader databaseAggregationLoader
+
+    List<Order> createOrders() {
+        List<Order> orders = []
+        for (int i = 1; i <= 4; i++) {
+            Order order = new Order()
+            order.number = "agg-$i"
+            order.amount = new BigDecimal(i * 10)
+            order.total = i * 1.5d
+            orders << dataManager.save(order)
+        }
+        return orders
+    }
+
+    AggregationInfo aggregationInfo(String property, AggregationInfo.Type type) {
+        def info = new AggregationInfo()
+        info.propertyPath = metadata.getClass(Order).getPropertyPath(property)
+        info.type = type
+        return info
+    }
+
+    def "aggregations are computed for all rows matching the loader query and condition"() {
+        def orders = createOrders()
+
+        CollectionContainer<Order> container = factory.createCollectionContainer(Order)
+        CollectionLoader<Order> loader = factory.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setQuery('select e from test_Order e where e.total > :minTotal order by e.number')
+        loader.setParameter('minTotal', 2d)
+        loader.setCondition(PropertyCondition.startsWith('number', 'agg-'))
+        loader.setMaxResults(1)
+
+        def sum = aggregationInfo('amount', AggregationInfo.Type.SUM)
+        def max = aggregationInfo('total', AggregationInfo.Type.MAX)
+        def count = aggregationInfo('number', AggregationInfo.Type.COUNT)
+
+        when:
+        def results = databaseAggregationLoader.aggregate(loader, [sum, max, count])
+
+        then: "paging is ignored, the query parameters and condition are applied"
+        results[sum] == new BigDecimal('90.00')
+        results[max] == 6d
+        results[count] == 3
+
+        cleanup:
+        deleteRecord(orders.toArray())
+    }
+
+    def "order by clause containing function calls is removed from the aggregate query"() {
+        def orders = createOrders()
+
+        CollectionContainer<Order> container = factory.createCollectionContainer(Order)
+        CollectionLoader<Order> loader = factory.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setQuery('select e from test_Order e where e.number like \'agg-%\' order by lower(e.number), e.total desc')
+
+        def sum = aggregationInfo('amount', AggregationInfo.Type.SUM)
+
+        when:
+        def results = databaseAggregationLoader.aggregate(loader, [sum])
+
+        then:
+        results[sum] == new BigDecimal('100.00')
+
+        cleanup:
+        deleteRecord(orders.toArray())
+    }
+
+    def "custom and nested aggregations are not supported"() {
+        def custom = new AggregationInfo()
+        custom.type = AggregationInfo.Type.CUSTOM
+        custom.propertyPath = metadata.getClass(Order).getPropertyPath('amount')
+
+        expect:
+        databaseAggregationLoader.supports(aggregationInfo('amount', AggregationInfo.Type.AVG))
+        !databaseAggregationLoader.supports(aggregationInfo('customer.name', AggregationInfo.Type.COUNT))
+        !databaseAggregationLoader.supports(custom)
+    }
+}
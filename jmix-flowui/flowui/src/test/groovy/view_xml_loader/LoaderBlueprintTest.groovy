@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package view_xml_loader
+
+import io.jmix.flowui.sys.ViewXmlLoader
+import io.jmix.flowui.xml.layout.LoaderResolver
+import io.jmix.flowui.xml.layout.loader.container.HorizontalLayoutLoader
+import io.jmix.flowui.xml.layout.support.LoaderSupport
+import org.dom4j.DocumentHelper
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import test_support.spec.FlowuiTestSpecification
+
+@SpringBootTest
+class LoaderBlueprintTest extends FlowuiTestSpecification {
+
+    static final String DESCRIPTOR = "xml_inheritance/view/xml-inheritance-base-test-view.xml"
+
+    @Autowired
+    ViewXmlLoader viewXmlLoader
+
+    @Autowired
+    LoaderResolver loaderResolver
+
+    @Autowired
+    LoaderSupport loaderSupport
+
+    def "blueprints are created for elements of a cached descriptor"() {
+        when: "Load the descriptor twice"
+        def root = viewXmlLoader.load(DESCRIPTOR)
+        def hbox = root.element("layout").element("hbox")
+
+        then: "The same document is reused and its elements have blueprints"
+        viewXmlLoader.load(DESCRIPTOR).is(root)
+
+        def blueprint = loaderResolver.getBlueprint(hbox)
+        blueprint != null
+        blueprint.loaderClass == HorizontalLayoutLoader
+        blueprint.getAttributeValue("id") == "hboxAddNew"
+
+        loaderResolver.getLoader(hbox) == HorizontalLayoutLoader
+        loaderSupport.loadString(hbox, "id").get() == "hboxAddNew"
+    }
+
+    def "attributes of elements without blueprints are read from the element"() {
+        when: "Create an element that does not belong to a cached descriptor"
+        def element = DocumentHelper.createElement("hbox")
+        element.addAttribute("id", "standalone")
+
+        then: "Loader and attributes are resolved from the element"
+        loaderResolver.getBlueprint(element) == null
+        loaderResolver.getLoader(element) == HorizontalLayoutLoader
+        loaderSupport.loadString(element, "id").get() == "standalone"
+    }
+}
@@ -18,14 +18,13 @@ package io.jmix.gradle;
 
 import jakarta.annotation.Nullable;
 import javassist.*;
+import javassist.bytecode.AccessFlag;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import static io.jmix.gradle.AnnotationsInfo.ClassAnnotation.*;
@@ -143,7 +142,7 @@ public class EntityEntryEnhancingStep extends BaseEnhancingStep {
         setupSoftDelete(nestedCtClass, ctClass, info);
         setupHasUuid(nestedCtClass, ctClass, info);
         setupVersion(nestedCtClass, ctClass, info);
-
+        setupIndexedAccessors(nestedCtClass, ctClass);
 
         nestedCtClass.writeFile(outputDir);
     }
@@ -281,6 +280,161 @@ public class EntityEntryEnhancingStep extends BaseEnhancingStep {
         }
     }
 
+    /**
+     * Generates switch-based accessors invoked by {@code BaseEntityEntry} for properties having an ordinal.
+     * Ordinals are assigned in the order of field declaration starting from the root of the class hierarchy,
+     * so inherited properties have the same ordinals in all subclasses.
+     */
+    protected void setupIndexedAccessors(CtClass nestedClass, CtClass ctClass)
+            throws NotFoundException, CannotCompileException {
+        List<IndexedProperty> properties = collectIndexedProperties(ctClass);
+        if (properties.isEmpty()) {
+            return;
+        }
+
+        nestedClass.addField(CtField.make(
+                String.format("public static final java.lang.String[] %s = new java.lang.String[]{%s};",
+                        GEN_INDEXED_PROPERTIES_VAR_NAME,
+                        properties.stream()
+                                .map(property -> '"' + property.name + '"')
+                                .collect(Collectors.joining(", "))),
+                nestedClass));
+
+        nestedClass.addMethod(CtNewMethod.make(Modifier.PROTECTED,
+                classPool.get(String[].class.getName()), GET_INDEXED_PROPERTIES_METHOD_NAME,
+                null, null,
+                String.format("return %s;", GEN_INDEXED_PROPERTIES_VAR_NAME),
+                nestedClass));
+
+        StringBuilder getterCases = new StringBuilder();
+        StringBuilder setterCases = new StringBuilder();
+        for (int i = 0; i < properties.size(); i++) {
+            IndexedProperty property = properties.get(i);
+            getterCases.append(String.format("case %d: return ($w) ((%s)getSource()).%s(); ",
+                    i, ctClass.getName(), property.getter.getName()));
+            if (property.setter != null) {
+                setterCases.append(String.format("case %d: ((%s)getSource()).%s((%s)$2); return true; ",
+                        i, ctClass.getName(), property.setter.getName(),
+                        property.setter.getParameterTypes()[0].getName()));
+            }
+        }
+
+        CtClass objectClass = classPool.get(Object.class.getName());
+
+        nestedClass.addMethod(CtNewMethod.make(Modifier.PROTECTED,
+                objectClass, GET_INDEXED_VALUE_METHOD_NAME,
+                new CtClass[]{CtClass.intType}, null,
+                String.format("{ switch ($1) { %s} return %s.NO_INDEXED_VALUE; }",
+                        getterCases, BASE_ENTITY_ENTRY_TYPE),
+                nestedClass));
+
+        if (setterCases.length() > 0) {
+            nestedClass.addMethod(CtNewMethod.make(Modifier.PROTECTED,
+                    CtClass.booleanType, SET_INDEXED_VALUE_METHOD_NAME,
+                    new CtClass[]{CtClass.intType, objectClass}, null,
+                    String.format("{ switch ($1) { %s} return false; }", setterCases),
+                    nestedClass));
+        }
+
+        logger.debug(String.format("Entity %s has %d indexed properties", ctClass.getSimpleName(), properties.size()));
+    }
+
+    protected List<IndexedProperty> collectIndexedProperties(CtClass ctClass) throws NotFoundException {
+        List<CtClass> hierarchy = new ArrayList<>();
+        CtClass current = ctClass;
+        while (current != null && !Object.class.getName().equals(current.getName())) {
+            hierarchy.add(0, current);
+            try {
+                current = current.getSuperclass();
+            } catch (NotFoundException e) {
+                current = null;
+            }
+        }
+
+        Map<String, List<CtMethod>> publicMethods = new HashMap<>();
+        for (CtMethod method : ctClass.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers())
+                    && (method.getMethodInfo().getAccessFlags() & AccessFlag.BRIDGE) == 0) {
+                publicMethods.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(method);
+            }
+        }
+
+        List<IndexedProperty> properties = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (CtClass hierarchyClass : hierarchy) {
+            for (CtField field : hierarchyClass.getDeclaredFields()) {
+                String name = field.getName();
+                if (Modifier.isStatic(field.getModifiers())
+                        || name.startsWith("_persistence_")
+                        || name.equals(GEN_ENTITY_ENTRY_VAR_NAME)
+                        || !names.add(name)) {
+                    continue;
+                }
+
+                List<String> getterNames = new ArrayList<>();
+                getterNames.add("get" + StringUtils.capitalize(name));
+                getterNames.add("is" + StringUtils.capitalize(name));
+                String setterName = "set" + StringUtils.capitalize(name);
+                if (isKotlinBooleanPropertyName(name)) {
+                    getterNames.add(name);
+                    setterName = "set" + name.substring(2);
+                }
+
+                CtMethod getter = findSingleAccessor(publicMethods, getterNames, 0);
+                if (getter == null) {
+                    continue;
+                }
+                CtMethod setter = findSingleAccessor(publicMethods, List.of(setterName), 1);
+                if (setter != null && setter.getParameterTypes()[0].isPrimitive()) {
+                    setter = null;
+                }
+                properties.add(new IndexedProperty(name, getter, setter));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Returns the only method having one of the given names and number of parameters,
+     * or null if there is no such method or it is ambiguous.
+     */
+    @Nullable
+    protected CtMethod findSingleAccessor(Map<String, List<CtMethod>> methods, List<String> names, int paramCount)
+            throws NotFoundException {
+        CtMethod found = null;
+        for (String name : names) {
+            for (CtMethod method : methods.getOrDefault(name, Collections.emptyList())) {
+                if (method.getParameterTypes().length != paramCount) {
+                    continue;
+                }
+                if (paramCount == 0 && method.getReturnType() == CtClass.voidType) {
+                    continue;
+                }
+                if (found != null) {
+                    return null;
+                }
+                found = method;
+            }
+        }
+        return found;
+    }
+
+    protected boolean isKotlinBooleanPropertyName(String name) {
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+    }
+
+    protected static class IndexedProperty {
+        protected final String name;
+        protected final CtMethod getter;
+        protected final CtMethod setter;
+
+        protected IndexedProperty(String name, CtMethod getter, @Nullable CtMethod setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
     protected void setupHasUuidForField(CtClass nestedClass, CtClass ctClass, String uuidFieldName)
             throws NotFoundException, CannotCompileException {
         CtClass uuidClass = classPool.get(UUID.class.getName());
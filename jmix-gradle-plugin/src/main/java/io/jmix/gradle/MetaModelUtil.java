@@ -55,6 +55,11 @@ public class MetaModelUtil {
 
     public static final String GEN_ENTITY_ENTRY_VAR_NAME = "_jmixEntityEntry";
     public static final String GEN_ENTITY_ENTRY_CLASS_NAME = "JmixEntityEntry";
+    public static final String GEN_INDEXED_PROPERTIES_VAR_NAME = "_jmixIndexedProperties";
+
+    public static final String GET_INDEXED_PROPERTIES_METHOD_NAME = "getIndexedProperties";
+    public static final String GET_INDEXED_VALUE_METHOD_NAME = "getIndexedValue";
+    public static final String SET_INDEXED_VALUE_METHOD_NAME = "setIndexedValue";
 
     public static boolean isSettersEnhanced(CtClass ctClass) throws NotFoundException {
         for (CtClass ctInterface : ctClass.getInterfaces()) {
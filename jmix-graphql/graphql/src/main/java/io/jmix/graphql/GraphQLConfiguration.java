@@ -17,6 +17,7 @@
 package io.jmix.graphql;
 
 import com.fasterxml.jackson.databind.ser.std.DateSerializer;
+import graphql.GraphQL;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLCodeRegistry;
@@ -26,6 +27,7 @@ import io.jmix.core.AccessManager;
 import io.jmix.core.CoreConfiguration;
 import io.jmix.core.Messages;
 import io.jmix.core.annotation.JmixModule;
+import io.jmix.graphql.cache.PreparsedDocumentCache;
 import io.jmix.graphql.datafetcher.MessagesDataFetcher;
 import io.jmix.graphql.datafetcher.PermissionDataFetcher;
 import io.jmix.graphql.limitation.JmixMaxQueryDepthInstrumentation;
@@ -56,10 +58,12 @@ import io.leangen.graphql.spqr.spring.autoconfigure.SpqrProperties;
 import io.leangen.graphql.util.Utils;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
@@ -143,6 +147,26 @@ public class GraphQLConfiguration {
         );
     }
 
+    /**
+     * Registers {@link PreparsedDocumentCache} in the {@link GraphQL} instance created by the spqr starter.
+     */
+    @Bean
+    public static BeanPostProcessor gqlPreparsedDocumentCachePostProcessor(
+            ObjectProvider<PreparsedDocumentCache> documentCacheProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof GraphQL) {
+                    PreparsedDocumentCache documentCache = documentCacheProvider.getIfAvailable();
+                    if (documentCache != null && documentCache.isEnabled()) {
+                        return ((GraphQL) bean).transform(builder -> builder.preparsedDocumentProvider(documentCache));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
     @Bean
     public Jackson2ObjectMapperBuilderCustomizer jacksonCustomizer() {
         return builder -> builder.serializerByType(Timestamp.class,
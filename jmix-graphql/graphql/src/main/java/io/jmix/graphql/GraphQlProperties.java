@@ -26,11 +26,48 @@ public class GraphQlProperties {
 
     Boolean multipleSortSupported = false;
 
-    public GraphQlProperties(@DefaultValue("false") Boolean multipleSortSupported) {
+    /**
+     * Whether reference and collection fields of entity lists are loaded with one query per field and nesting
+     * level instead of a single fetch plan covering the whole selection. Disabled by default because nested
+     * entities loaded this way are subject to row-level read constraints (including JPQL policies) of their
+     * entities, so references hidden by such constraints are returned as {@code null}.
+     */
+    Boolean nestedEntitiesBatchLoading = false;
+
+    /**
+     * Max number of parsed and validated operation documents kept in the cache. Value 0 disables the cache.
+     */
+    Integer documentCacheMaxSize = 1000;
+
+    /**
+     * Whether clients can send a SHA-256 hash of an operation instead of its text (automatic persisted queries).
+     * Requires the document cache.
+     */
+    Boolean persistedQueriesEnabled = true;
+
+    public GraphQlProperties(@DefaultValue("false") Boolean multipleSortSupported,
+                             @DefaultValue("false") Boolean nestedEntitiesBatchLoading,
+                             @DefaultValue("1000") Integer documentCacheMaxSize,
+                             @DefaultValue("true") Boolean persistedQueriesEnabled) {
         this.multipleSortSupported = multipleSortSupported;
+        this.nestedEntitiesBatchLoading = nestedEntitiesBatchLoading;
+        this.documentCacheMaxSize = documentCacheMaxSize;
+        this.persistedQueriesEnabled = persistedQueriesEnabled;
     }
 
     public Boolean isMultipleSortSupported() {
         return multipleSortSupported;
     }
+
+    public Boolean isNestedEntitiesBatchLoading() {
+        return nestedEntitiesBatchLoading;
+    }
+
+    public Integer getDocumentCacheMaxSize() {
+        return documentCacheMaxSize;
+    }
+
+    public Boolean isPersistedQueriesEnabled() {
+        return persistedQueriesEnabled;
+    }
 }
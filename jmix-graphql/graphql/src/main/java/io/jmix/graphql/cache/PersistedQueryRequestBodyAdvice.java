@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.jmix.graphql.controller.GraphQLControllerException;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Supports automatic persisted queries sent in the Apollo format:
+ * {@code "extensions": {"persistedQuery": {"version": 1, "sha256Hash": "..."}}}.
+ * <p>
+ * A request without the operation text is rewritten to the {@link PreparsedDocumentCache#PERSISTED_QUERY_PREFIX}
+ * marker resolved by {@link PreparsedDocumentCache}. A request with both the text and the hash is checked to match
+ * the hash, the parsed document is then cached by the hash as usual.
+ */
+@ControllerAdvice
+public class PersistedQueryRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    protected final PreparsedDocumentCache documentCache;
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+
+    public PersistedQueryRequestBodyAdvice(PreparsedDocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return GraphQLRequest.class.equals(targetType) && documentCache.isPersistedQueriesEnabled();
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        JsonNode request = body.length > 0 ? objectMapper.readTree(body) : null;
+        if (request == null || !request.isObject()) {
+            return createInputMessage(inputMessage.getHeaders(), body);
+        }
+
+        String hash = request.path("extensions").path("persistedQuery").path("sha256Hash").asText(null);
+        if (hash == null) {
+            return createInputMessage(inputMessage.getHeaders(), body);
+        }
+
+        String query = request.path("query").asText(null);
+        if (query == null || query.isEmpty()) {
+            ((ObjectNode) request).put("query", PreparsedDocumentCache.PERSISTED_QUERY_PREFIX + hash);
+            return createInputMessage(inputMessage.getHeaders(), objectMapper.writeValueAsBytes(request));
+        }
+
+        if (!hash.equalsIgnoreCase(documentCache.hash(query))) {
+            throw new GraphQLControllerException("Persisted query hash mismatch",
+                    "Provided sha256Hash does not match the query", HttpStatus.BAD_REQUEST);
+        }
+        return createInputMessage(inputMessage.getHeaders(), body);
+    }
+
+    protected HttpInputMessage createInputMessage(HttpHeaders headers, byte[] body) {
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.jmix.graphql.GraphQlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches parsed and validated operation documents by SHA-256 hash of the operation text, so repeated operations
+ * skip parsing, validation and the validation-phase instrumentations such as the max query depth check.
+ * Only documents without validation errors are cached.
+ * <p>
+ * The same cache serves automatic persisted queries: a request containing only the operation hash is
+ * converted by {@link PersistedQueryRequestBodyAdvice} to the {@link #PERSISTED_QUERY_PREFIX} marker and resolved
+ * here. If the hash is unknown, the {@code PersistedQueryNotFound} error asks the client to send the full text.
+ * <p>
+ * Metrics:
+ * <ul>
+ *     <li>{@code jmix.graphql.documentCache.requests} - cache lookups tagged with {@code result} hit or miss</li>
+ *     <li>{@code jmix.graphql.documentCache.parse} - time spent to parse and validate missed documents</li>
+ *     <li>{@code jmix.graphql.documentCache.saved} - parse and validation time saved by cache hits</li>
+ * </ul>
+ */
+@Component("gql_PreparsedDocumentCache")
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+
+    public static final String PERSISTED_QUERY_PREFIX = "#jmix-persisted-query:";
+
+    public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+
+    protected final GraphQlProperties properties;
+    protected final Cache<String, CachedDocument> documents;
+
+    protected final Counter hits;
+    protected final Counter misses;
+    protected final Timer parseTimer;
+    protected final Timer savedTimer;
+
+    public PreparsedDocumentCache(GraphQlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.documents = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(properties.getDocumentCacheMaxSize(), 0))
+                .build();
+
+        this.hits = meterRegistry.counter("jmix.graphql.documentCache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("jmix.graphql.documentCache.requests", "result", "miss");
+        this.parseTimer = meterRegistry.timer("jmix.graphql.documentCache.parse");
+        this.savedTimer = meterRegistry.timer("jmix.graphql.documentCache.saved");
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+
+        String persistedQueryHash = getPersistedQueryHash(query);
+        if (persistedQueryHash != null) {
+            CachedDocument cached = documents.getIfPresent(persistedQueryHash);
+            if (cached == null) {
+                misses.increment();
+                return new PreparsedDocumentEntry(createPersistedQueryNotFoundError(persistedQueryHash));
+            }
+            return useCached(cached);
+        }
+
+        if (!isEnabled()) {
+            return parseAndValidateFunction.apply(executionInput);
+        }
+
+        String hash = hash(query);
+        CachedDocument cached = documents.getIfPresent(hash);
+        if (cached != null && cached.query.equals(query)) {
+            return useCached(cached);
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
+        long elapsed = System.nanoTime() - start;
+        parseTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        if (!entry.hasErrors()) {
+            documents.put(hash, new CachedDocument(query, entry, elapsed));
+        }
+        return entry;
+    }
+
+    /**
+     * @return whether documents are cached
+     */
+    public boolean isEnabled() {
+        return properties.getDocumentCacheMaxSize() > 0;
+    }
+
+    /**
+     * @return whether operations can be sent by hash only
+     */
+    public boolean isPersistedQueriesEnabled() {
+        return isEnabled() && Boolean.TRUE.equals(properties.isPersistedQueriesEnabled());
+    }
+
+    /**
+     * @param query operation text
+     * @return lowercase hex SHA-256 hash of the operation text, the key of the cache
+     */
+    public String hash(String query) {
+        return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Removes all cached documents, e.g. after the schema has been changed.
+     */
+    public void invalidateAll() {
+        documents.invalidateAll();
+    }
+
+    @Nullable
+    protected String getPersistedQueryHash(@Nullable String query) {
+        if (query != null && query.startsWith(PERSISTED_QUERY_PREFIX) && isPersistedQueriesEnabled()) {
+            return query.substring(PERSISTED_QUERY_PREFIX.length());
+        }
+        return null;
+    }
+
+    protected PreparsedDocumentEntry useCached(CachedDocument cached) {
+        hits.increment();
+        savedTimer.record(cached.parseNanos, TimeUnit.NANOSECONDS);
+        return cached.entry;
+    }
+
+    protected GraphQLError createPersistedQueryNotFoundError(String hash) {
+        return GraphqlErrorBuilder.newError()
+                .message(PERSISTED_QUERY_NOT_FOUND)
+                .extensions(Collections.singletonMap("persistedQueryId", hash))
+                .build();
+    }
+
+    protected static class CachedDocument {
+
+        protected final String query;
+        protected final PreparsedDocumentEntry entry;
+        protected final long parseNanos;
+
+        protected CachedDocument(String query, PreparsedDocumentEntry entry, long parseNanos) {
+            this.query = query;
+            this.entry = entry;
+            this.parseNanos = parseNanos;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.querycondition.Condition;
 import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.graphql.GraphQlProperties;
 import io.jmix.graphql.service.IdentifierService;
 import io.jmix.graphql.NamingUtils;
 import io.jmix.graphql.loader.*;
@@ -29,6 +30,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.lang.Nullable;
 
 import javax.validation.constraints.NotNull;
+import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -60,6 +62,8 @@ public class EntityQueryDataFetcher {
     protected QueryDataFetcherLoader queryDataFetcherLoader;
     @Autowired
     protected IdentifierService identifierService;
+    @Autowired
+    protected GraphQlProperties graphQlProperties;
 
     private static final String GRAPHQL_ENTITY_LOADER_METHOD_NAME = GraphQLEntityDataFetcher.class.getDeclaredMethods()[0].getName();
 
@@ -144,8 +148,24 @@ public class EntityQueryDataFetcher {
             if (softDeletion != null) {
                 ctx.setHint("jmix.softDeletion", softDeletion);
             }
+            Set<String> props = environmentUtils.getDotDelimitedProps(environment);
             List<Object> objects;
             if (queryDataFetcherLoader.getCustomEntitiesFetcher(metaClass.getJavaClass()) == null) {
+                if (Boolean.TRUE.equals(graphQlProperties.isNestedEntitiesBatchLoading())) {
+                    // nested entities are loaded by the response builder level by level
+                    ctx.setFetchPlan(responseBuilder.buildBatchFetchPlan(fetchPan));
+                    objects = dataManager.loadList(ctx);
+
+                    Map<String, Serializable> hints = new HashMap<>();
+                    if (softDeletion != null) {
+                        hints.put("jmix.softDeletion", softDeletion);
+                    }
+                    List<Map<String, Object>> entitiesAsMap = responseBuilder.buildBatchedResponse(
+                            (List<Entity>) (List<?>) objects, fetchPan, metaClass, props, hints);
+
+                    log.debug("loadEntities return {} objects for {}", entitiesAsMap.size(), metaClass.getName());
+                    return entitiesAsMap;
+                }
                 objects = dataManager.loadList(ctx);
             } else {
                 Object bean = queryDataFetcherLoader.getCustomEntitiesFetcher(metaClass.getJavaClass());
@@ -155,7 +175,6 @@ public class EntityQueryDataFetcher {
                         orderByConditions, limit, offset, fetchPan));
             }
 
-            Set<String> props = environmentUtils.getDotDelimitedProps(environment);
             List<Map<String, Object>> entitiesAsMap = objects.stream()
                     .map(e -> responseBuilder.buildResponse((Entity) e, fetchPan, metaClass, props))
                     .collect(Collectors.toList());
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.datafetcher;
+
+import io.jmix.core.Entity;
+import io.jmix.core.FetchPlan;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Entities of one nesting level of a graphql response. Reference and collection properties of these entities
+ * are loaded by {@link ResponseBuilder} with one query per property for the whole batch, the loaded entities
+ * form the batch of the next nesting level.
+ * <p>
+ * A batch lives as long as the response of a single graphql request.
+ */
+public class EntityResponseBatch {
+
+    protected final Collection<? extends Entity> entities;
+    protected final FetchPlan fetchPlan;
+    protected final Map<String, Serializable> hints;
+
+    protected final Map<String, Map<Object, Entity>> loadedProperties = new HashMap<>();
+    protected final Map<String, EntityResponseBatch> nestedBatches = new HashMap<>();
+
+    public EntityResponseBatch(Collection<? extends Entity> entities, FetchPlan fetchPlan,
+                               Map<String, Serializable> hints) {
+        this.entities = entities;
+        this.fetchPlan = fetchPlan;
+        this.hints = hints;
+    }
+
+    public Collection<? extends Entity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return fetch plan requested by graphql for the batch entities
+     */
+    public FetchPlan getFetchPlan() {
+        return fetchPlan;
+    }
+
+    public Map<String, Serializable> getHints() {
+        return hints;
+    }
+
+    /**
+     * @param property reference or collection property
+     * @return entities referenced by the property of all batch entities by their ids, or null if not loaded yet
+     */
+    @Nullable
+    public Map<Object, Entity> getLoadedProperty(String property) {
+        return loadedProperties.get(property);
+    }
+
+    @Nullable
+    public EntityResponseBatch getNestedBatch(String property) {
+        return nestedBatches.get(property);
+    }
+
+    public void setLoadedProperty(String property, Map<Object, Entity> entitiesById, EntityResponseBatch nestedBatch) {
+        loadedProperties.put(property, entitiesById);
+        nestedBatches.put(property, nestedBatch);
+    }
+}
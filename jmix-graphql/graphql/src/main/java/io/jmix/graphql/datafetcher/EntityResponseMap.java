@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.datafetcher;
+
+import io.jmix.core.Entity;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+
+/**
+ * Read-only map view of an entity returned by data fetchers. Property values are not copied to the map but
+ * resolved by {@link ResponseBuilder} when graphql requests them, so large responses don't allocate
+ * a parallel map graph.
+ */
+public class EntityResponseMap extends AbstractMap<String, Object> {
+
+    protected final ResponseBuilder responseBuilder;
+    protected final Entity entity;
+    protected final FetchPlan fetchPlan;
+    protected final MetaClass metaClass;
+    protected final Set<String> props;
+    protected final EntityResponseBatch batch;
+    protected final Set<String> keys;
+
+    public EntityResponseMap(ResponseBuilder responseBuilder, Entity entity, FetchPlan fetchPlan,
+                             MetaClass metaClass, Set<String> props, @Nullable EntityResponseBatch batch,
+                             Set<String> keys) {
+        this.responseBuilder = responseBuilder;
+        this.entity = entity;
+        this.fetchPlan = fetchPlan;
+        this.metaClass = metaClass;
+        this.props = props;
+        this.batch = batch;
+        this.keys = keys;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public FetchPlan getFetchPlan() {
+        return fetchPlan;
+    }
+
+    public MetaClass getMetaClass() {
+        return metaClass;
+    }
+
+    public Set<String> getProps() {
+        return props;
+    }
+
+    /**
+     * @return batch of sibling entities which nested properties are loaded together, or null if nested
+     * properties are taken from the entity graph as is
+     */
+    @Nullable
+    public EntityResponseBatch getBatch() {
+        return batch;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        return responseBuilder.resolveProperty(this, (String) key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        //noinspection SuspiciousMethodCalls
+        return keys.contains(key);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(keys);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<String> keyIterator = keys.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return keyIterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        String key = keyIterator.next();
+                        return new SimpleImmutableEntry<>(key, get(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.size();
+            }
+        };
+    }
+}
@@ -16,8 +16,13 @@
 
 package io.jmix.graphql.datafetcher;
 
+import com.google.common.collect.Lists;
+import io.jmix.core.DataManager;
 import io.jmix.core.Entity;
 import io.jmix.core.FetchPlan;
+import io.jmix.core.FetchPlanBuilder;
+import io.jmix.core.FetchPlanProperty;
+import io.jmix.core.FetchPlans;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.entity.EntityValues;
@@ -28,22 +33,32 @@ import io.jmix.graphql.NamingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.io.Serializable;
+import java.util.*;
 
 import static io.jmix.graphql.NamingUtils.ID_ATTR_NAME;
 
 /**
  * Converts entities to Map&lt;String, Object&gt; response format.
+ * <p>
+ * Returned maps are {@link EntityResponseMap} views, property values are resolved when graphql requests them.
+ * Reference and collection properties of entities passed to
+ * {@link #buildBatchedResponse(List, FetchPlan, MetaClass, Set, Map)} are loaded with one query per property
+ * and nesting level, see {@link EntityResponseBatch}.
  */
 @Component("gql_ResponseBuilder")
 public class ResponseBuilder {
 
+    /**
+     * Max number of ids passed to a single query loading nested entities.
+     */
+    protected static final int NESTED_ENTITIES_BATCH_SIZE = 500;
+
+    protected static final String SOFT_DELETION_HINT = "jmix.softDeletion";
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     @Autowired
@@ -52,6 +67,10 @@ public class ResponseBuilder {
     Metadata metadata;
     @Autowired
     protected EnvironmentUtils environmentUtils;
+    @Autowired
+    protected DataManager dataManager;
+    @Autowired
+    protected FetchPlans fetchPlans;
 
 
     /**
@@ -64,63 +83,242 @@ public class ResponseBuilder {
      * @return entity converted to response as Map&lt;String, Object&gt;
      */
     public Map<String, Object> buildResponse(Entity entity, FetchPlan fetchPlan, MetaClass metaClass, Set<String> props) {
-        Map<String, Object> entityAsMap = new HashMap<>();
+        return createResponseMap(entity, fetchPlan, metaClass, props, null);
+    }
 
-        // check and evaluate _instanceName, if required
-        if (environmentUtils.hasInstanceNameProperty(props)) {
-            entityAsMap.put(NamingUtils.SYS_ATTR_INSTANCE_NAME, metadataTools.getInstanceName(entity));
+    /**
+     * Convert entities loaded with {@link #buildBatchFetchPlan(FetchPlan)} to data fetcher return format.
+     * Nested entities requested by {@code fetchPlan} are loaded on demand, one query per property and nesting level.
+     *
+     * @param entities loaded entities
+     * @param fetchPlan fetch plan requested by graphql
+     * @param metaClass entity meta class
+     * @param props we need pass full set of properties to have information about system props such '_instanceName'
+     * @param hints hints to use when loading nested entities
+     * @return entities converted to response as Map&lt;String, Object&gt;
+     */
+    public List<Map<String, Object>> buildBatchedResponse(List<? extends Entity> entities, FetchPlan fetchPlan,
+                                                          MetaClass metaClass, Set<String> props,
+                                                          Map<String, Serializable> hints) {
+        EntityResponseBatch batch = new EntityResponseBatch(entities, fetchPlan, hints);
+        List<Map<String, Object>> result = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            result.add(createResponseMap(entity, fetchPlan, metaClass, props, batch));
         }
+        return result;
+    }
 
-        // must include id
-        writeIdField(entity, entityAsMap);
+    /**
+     * Creates a fetch plan which contains local properties of {@code fetchPlan} and only ids of reference and
+     * collection properties that are loaded in batches.
+     *
+     * @param fetchPlan fetch plan requested by graphql
+     * @return fetch plan to load entities passed to {@link #buildBatchedResponse(List, FetchPlan, MetaClass, Set, Map)}
+     */
+    public FetchPlan buildBatchFetchPlan(FetchPlan fetchPlan) {
+        MetaClass metaClass = metadata.getClass(fetchPlan.getEntityClass());
+        FetchPlanBuilder builder = fetchPlans.builder(fetchPlan.getEntityClass())
+                .partial(fetchPlan.loadPartialEntities());
 
-        // compose result object by iterating over fetch plan props
-        fetchPlan.getProperties().forEach(prop -> {
+        for (FetchPlanProperty property : fetchPlan.getProperties()) {
+            MetaProperty metaProperty = metaClass.getProperty(property.getName());
+            if (isBatchLoaded(metaProperty, property)) {
+                String primaryKeyName = Objects.requireNonNull(
+                        metadataTools.getPrimaryKeyName(metaProperty.getRange().asClass()));
+                builder.add(property.getName(), nested -> nested.add(primaryKeyName));
+            } else {
+                builder.mergeProperty(property.getName(), property.getFetchPlan(), property.getFetchMode());
+            }
+        }
+        return builder.build();
+    }
 
-            String propName = prop.getName();
-            MetaProperty metaProperty = metaClass.getProperty(propName);
-            Object fieldValue = EntityValues.getValue(entity, propName);
-            Range propertyRange = metaProperty.getRange();
+    /**
+     * Resolves a value of the response map property.
+     *
+     * @param response response map
+     * @param propName property name
+     * @return property value in response format
+     */
+    @Nullable
+    public Object resolveProperty(EntityResponseMap response, String propName) {
+        Entity entity = response.getEntity();
 
-            if (fieldValue == null) {
-                entityAsMap.put(propName, null);
-                return;
-            }
+        if (NamingUtils.SYS_ATTR_INSTANCE_NAME.equals(propName)) {
+            return metadataTools.getInstanceName(entity);
+        }
 
-            if (propertyRange.isDatatype() || propertyRange.isEnum()) {
-                entityAsMap.put(propName, fieldValue);
-                return;
-            }
+        FetchPlanProperty prop = response.getFetchPlan().getProperty(propName);
+        if (prop == null) {
+            return ID_ATTR_NAME.equals(propName) ? EntityValues.getId(entity) : null;
+        }
 
-            if (propertyRange.isClass()) {
-                Set<String> nestedProps = environmentUtils.getNestedProps(props, propName);
+        MetaClass metaClass = response.getMetaClass();
+        MetaProperty metaProperty = metaClass.getProperty(propName);
+        Object fieldValue = EntityValues.getValue(entity, propName);
+        Range propertyRange = metaProperty.getRange();
+
+        if (fieldValue == null) {
+            return null;
+        }
+
+        if (propertyRange.isDatatype() || propertyRange.isEnum()) {
+            return fieldValue;
+        }
+
+        if (propertyRange.isClass()) {
+            Set<String> nestedProps = environmentUtils.getNestedProps(response.getProps(), propName);
+            MetaClass nestedMetaClass = propertyRange.asClass();
+            EntityResponseBatch batch = response.getBatch();
+
+            if (batch != null && isBatchLoaded(metaProperty, prop)) {
+                Map<Object, Entity> entitiesById = getBatchLoadedEntities(batch, prop, metaProperty);
+                EntityResponseBatch nestedBatch = batch.getNestedBatch(propName);
 
                 if (fieldValue instanceof Entity) {
-                    entityAsMap.put(propName, buildResponse((Entity) fieldValue, prop.getFetchPlan(), propertyRange.asClass(), nestedProps));
-                    return;
+                    Entity nestedEntity = entitiesById.get(EntityValues.getId(fieldValue));
+                    // null if the reference is not available for the current user
+                    return nestedEntity == null ? null
+                            : createResponseMap(nestedEntity, prop.getFetchPlan(), nestedMetaClass, nestedProps, nestedBatch);
                 }
 
                 if (fieldValue instanceof Collection) {
-                    Collection<Object> values = ((Collection<Entity>)fieldValue).stream()
-                            .map(e -> buildResponse(e, prop.getFetchPlan(), propertyRange.asClass(), nestedProps))
-                            .collect(Collectors.toList());
-                    entityAsMap.put(propName, values);
-                    return;
+                    List<Object> values = new ArrayList<>();
+                    for (Object value : (Collection<?>) fieldValue) {
+                        Entity nestedEntity = entitiesById.get(EntityValues.getId(value));
+                        if (nestedEntity != null) {
+                            values.add(createResponseMap(nestedEntity, prop.getFetchPlan(), nestedMetaClass, nestedProps, nestedBatch));
+                        }
+                    }
+                    return values;
+                }
+            }
+
+            if (fieldValue instanceof Entity) {
+                return buildResponse((Entity) fieldValue, prop.getFetchPlan(), nestedMetaClass, nestedProps);
+            }
+
+            if (fieldValue instanceof Collection) {
+                List<Object> values = new ArrayList<>();
+                for (Object value : (Collection<?>) fieldValue) {
+                    values.add(buildResponse((Entity) value, prop.getFetchPlan(), nestedMetaClass, nestedProps));
                 }
+                return values;
             }
+        }
+
+        log.warn("buildResponse: failed for {}.{} unsupported range type ", metaClass.getName(), prop.getName());
+        throw new IllegalStateException("Unsupported range type " + propertyRange);
+    }
 
-            log.warn("buildResponse: failed for {}.{} unsupported range type ", metaClass.getName(), prop.getName());
-            throw new IllegalStateException("Unsupported range type " + propertyRange);
-        });
-        return entityAsMap;
+    protected EntityResponseMap createResponseMap(Entity entity, FetchPlan fetchPlan, MetaClass metaClass,
+                                                  Set<String> props, @Nullable EntityResponseBatch batch) {
+        checkIdSupported(entity);
+
+        Set<String> keys = new LinkedHashSet<>();
+        // check _instanceName, if required
+        if (environmentUtils.hasInstanceNameProperty(props)) {
+            keys.add(NamingUtils.SYS_ATTR_INSTANCE_NAME);
+        }
+        // must include id
+        keys.add(ID_ATTR_NAME);
+        for (FetchPlanProperty property : fetchPlan.getProperties()) {
+            keys.add(property.getName());
+        }
+
+        return new EntityResponseMap(this, entity, fetchPlan, metaClass, props, batch, keys);
+    }
+
+    /**
+     * Returns entities referenced by the property from all entities of the batch, loading them with one query
+     * (or one query per {@link #NESTED_ENTITIES_BATCH_SIZE} ids) on the first call.
+     */
+    protected Map<Object, Entity> getBatchLoadedEntities(EntityResponseBatch batch, FetchPlanProperty prop,
+                                                         MetaProperty metaProperty) {
+        Map<Object, Entity> entitiesById = batch.getLoadedProperty(prop.getName());
+        if (entitiesById != null) {
+            return entitiesById;
+        }
+
+        Set<Object> ids = new LinkedHashSet<>();
+        for (Entity owner : batch.getEntities()) {
+            Object value = EntityValues.getValue(owner, prop.getName());
+            if (value instanceof Entity) {
+                ids.add(EntityValues.getId(value));
+            } else if (value instanceof Collection) {
+                for (Object element : (Collection<?>) value) {
+                    ids.add(EntityValues.getId(element));
+                }
+            }
+        }
+
+        MetaClass nestedMetaClass = metaProperty.getRange().asClass();
+        FetchPlan nestedFetchPlan = Objects.requireNonNull(prop.getFetchPlan());
+        Map<String, Serializable> hints = batch.getHints();
+        if (!metaProperty.getRange().getCardinality().isMany()) {
+            // a fetch plan loads soft-deleted to-one references, so they are loaded by id the same way
+            hints = new HashMap<>(hints);
+            hints.put(SOFT_DELETION_HINT, false);
+        }
+        List<Entity> loaded = loadNestedEntities(nestedMetaClass, ids, buildBatchFetchPlan(nestedFetchPlan), hints);
+
+        entitiesById = new HashMap<>(loaded.size());
+        for (Entity entity : loaded) {
+            entitiesById.put(EntityValues.getId(entity), entity);
+        }
+        batch.setLoadedProperty(prop.getName(), entitiesById,
+                new EntityResponseBatch(loaded, nestedFetchPlan, batch.getHints()));
+
+        log.debug("Loaded {} instances of {} for {} entities", loaded.size(), nestedMetaClass.getName(),
+                batch.getEntities().size());
+        return entitiesById;
+    }
+
+    /**
+     * Loads nested entities by ids with a root query. Unlike references loaded by a fetch plan, the nested entities
+     * are subject to the row-level read constraints of their entity, so references hidden by the constraints
+     * are returned as null and collection elements are skipped.
+     */
+    protected List<Entity> loadNestedEntities(MetaClass metaClass, Collection<Object> ids, FetchPlan fetchPlan,
+                                              Map<String, Serializable> hints) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String queryString = String.format("select e from %s e where e.%s in :ids",
+                metaClass.getName(), metadataTools.getPrimaryKeyName(metaClass));
+        List<Entity> result = new ArrayList<>(ids.size());
+        for (List<Object> idsBatch : Lists.partition(new ArrayList<>(ids), NESTED_ENTITIES_BATCH_SIZE)) {
+            result.addAll(dataManager.load(metaClass.<Entity>getJavaClass())
+                    .query(queryString)
+                    .parameter("ids", idsBatch)
+                    .fetchPlan(fetchPlan)
+                    .hints(hints)
+                    .list());
+        }
+        return result;
+    }
+
+    /**
+     * @return true if values of the property are loaded for the whole {@link EntityResponseBatch} with one query
+     */
+    protected boolean isBatchLoaded(MetaProperty metaProperty, FetchPlanProperty property) {
+        if (!metaProperty.getRange().isClass() || property.getFetchPlan() == null) {
+            return false;
+        }
+        MetaClass refMetaClass = metaProperty.getRange().asClass();
+        return metadataTools.isJpa(metaProperty)
+                && !metadataTools.isEmbedded(metaProperty)
+                && metadataTools.isJpaEntity(refMetaClass)
+                && !metadataTools.hasCompositePrimaryKey(refMetaClass)
+                && metadataTools.getPrimaryKeyName(refMetaClass) != null;
     }
 
-    protected void writeIdField(Entity entity, Map<String, Object> entityAsMap) {
+    protected void checkIdSupported(Entity entity) {
         MetaClass metaClass = metadata.getClass(entity);
         if (metadataTools.hasCompositePrimaryKey(metaClass)) {
             throw new UnsupportedOperationException("Composite primary keys are not supported now for " + metaClass);
         }
-        entityAsMap.put(ID_ATTR_NAME, EntityValues.getId(entity));
     }
 
 }
@@ -16,10 +16,13 @@
 
 package io.jmix.graphql.limitation;
 
+import io.jmix.core.ratelimit.RateLimitKeyType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.ConstructorBinding;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.util.List;
+
 @ConfigurationProperties(prefix = "jmix.graphql")
 @ConstructorBinding
 public class LimitationProperties {
@@ -30,13 +33,21 @@ public class LimitationProperties {
     int maxQueryDepth;
 
     /**
-     * Number of rate-limit per minute from one client IP address. Default value 0 means the client has no limit.
+     * Number of operations allowed per minute for one rate limit key, see {@link #operationRateLimitKeyTypes}.
+     * Default value 0 means the client has no limit.
      */
     int operationRateLimitPerMinute;
 
-    public LimitationProperties(@DefaultValue("0") int operationRateLimitPerMinute, @DefaultValue("0") int maxQueryDepth) {
+    /**
+     * Request parts the operation rate limit key is composed of. By default, the limit is applied per client IP address.
+     */
+    List<RateLimitKeyType> operationRateLimitKeyTypes;
+
+    public LimitationProperties(@DefaultValue("0") int operationRateLimitPerMinute, @DefaultValue("0") int maxQueryDepth,
+                                @DefaultValue("IP") List<RateLimitKeyType> operationRateLimitKeyTypes) {
         this.operationRateLimitPerMinute = operationRateLimitPerMinute;
         this.maxQueryDepth = maxQueryDepth;
+        this.operationRateLimitKeyTypes = operationRateLimitKeyTypes;
     }
 
     /**
@@ -46,6 +57,13 @@ public class LimitationProperties {
         return operationRateLimitPerMinute;
     }
 
+    /**
+     * @see #operationRateLimitKeyTypes
+     */
+    public List<RateLimitKeyType> getOperationRateLimitKeyTypes() {
+        return operationRateLimitKeyTypes;
+    }
+
     /**
      * @see #maxQueryDepth
      */
@@ -16,66 +16,75 @@
 
 package io.jmix.graphql.limitation;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import graphql.execution.AbortExecutionException;
+import io.jmix.core.ratelimit.RateLimit;
+import io.jmix.core.ratelimit.RateLimitKeyType;
+import io.jmix.core.ratelimit.RateLimiter;
+import io.jmix.core.security.CurrentAuthentication;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.lang.Nullable;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-
+/**
+ * Limits the number of GraphQL operations per minute using {@link RateLimiter}. The rate limit key is composed
+ * according to {@link LimitationProperties#getOperationRateLimitKeyTypes()}.
+ */
 @Component(value = OperationRateLimitService.NAME)
 public class OperationRateLimitService {
     public static final String NAME = "gql_OperationRateLimitService";
 
-    private final LoadingCache<String, Integer> attemptsCache;
+    public static final String RATE_LIMIT_SCOPE = "graphql";
+
     private LimitationProperties properties;
+    private RateLimiter rateLimiter;
+    private CurrentAuthentication currentAuthentication;
 
     @Autowired
     public void setLimitationProperties(LimitationProperties properties) {
         this.properties = properties;
     }
 
-    public boolean isRateLimited() {
-        return properties.getOperationRateLimitPerMinute() > 0;
+    @Autowired
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
     }
 
-    public OperationRateLimitService() {
-        super();
-        attemptsCache = CacheBuilder.newBuilder().
-                expireAfterWrite(1, TimeUnit.MINUTES).build(new CacheLoader<String, Integer>() {
-            public Integer load(String key) {
-                return 0;
-            }
-        });
+    @Autowired
+    public void setCurrentAuthentication(CurrentAuthentication currentAuthentication) {
+        this.currentAuthentication = currentAuthentication;
+    }
+
+    public boolean isRateLimited() {
+        return properties.getOperationRateLimitPerMinute() > 0;
     }
 
     public boolean isBlocked(String key) {
-        try {
-            return attemptsCache.get(key) >= properties.getOperationRateLimitPerMinute();
-        } catch (ExecutionException e) {
-            return false;
-        }
+        return rateLimiter.isLimited(RATE_LIMIT_SCOPE, key, getRateLimit());
     }
 
     public void queryPerformed(@Nullable String ip) {
-        if (ip == null) {
+        queryPerformed(ip, null);
+    }
+
+    public void queryPerformed(@Nullable String ip, @Nullable String operationName) {
+        if (ip == null && properties.getOperationRateLimitKeyTypes().contains(RateLimitKeyType.IP)) {
             throw new AbortExecutionException("Can't get remote ip address");
         }
-        if (isBlocked(ip)) {
+        String key = createKey(ip, operationName);
+        if (!rateLimiter.tryAcquire(RATE_LIMIT_SCOPE, key, getRateLimit())) {
             throw new AbortExecutionException("Exceeded the number of allowed requests per minute");
         }
+    }
 
-        int attempts;
-        try {
-            attempts = attemptsCache.get(ip);
-        } catch (ExecutionException e) {
-            attempts = 0;
-        }
-        attempts++;
-        attemptsCache.put(ip, attempts);
+    protected String createKey(@Nullable String ip, @Nullable String operationName) {
+        return rateLimiter.createKey(properties.getOperationRateLimitKeyTypes(), keyType -> switch (keyType) {
+            case IP -> ip;
+            case USER -> currentAuthentication.isSet() ? currentAuthentication.getUser().getUsername() : null;
+            case OPERATION -> operationName;
+        });
+    }
+
+    protected RateLimit getRateLimit() {
+        return RateLimit.perMinute(properties.getOperationRateLimitPerMinute());
     }
 }
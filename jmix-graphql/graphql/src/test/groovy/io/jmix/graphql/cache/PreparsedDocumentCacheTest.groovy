@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.cache
+
+import graphql.ExecutionInput
+import graphql.GraphqlErrorBuilder
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.parser.Parser
+import io.jmix.graphql.GraphQlProperties
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class PreparsedDocumentCacheTest extends Specification {
+
+    private static final String QUERY = '{ scr_CarList { id } }'
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    private PreparsedDocumentCache cache = new PreparsedDocumentCache(
+            new GraphQlProperties(false, true, 10, true), meterRegistry)
+    private int parseCount
+
+    private PreparsedDocumentEntry parse(ExecutionInput input) {
+        parseCount++
+        return new PreparsedDocumentEntry(new Parser().parseDocument(input.query))
+    }
+
+    def "document is parsed once for the same query text"() {
+        when:
+        def first = cache.getDocument(ExecutionInput.newExecutionInput(QUERY).build(), this.&parse)
+        def second = cache.getDocument(ExecutionInput.newExecutionInput(QUERY).build(), this.&parse)
+
+        then:
+        parseCount == 1
+        second.is(first)
+        meterRegistry.counter("jmix.graphql.documentCache.requests", "result", "hit").count() == 1
+        meterRegistry.counter("jmix.graphql.documentCache.requests", "result", "miss").count() == 1
+        meterRegistry.timer("jmix.graphql.documentCache.saved").count() == 1
+    }
+
+    def "persisted query is resolved by hash of a previously executed query"() {
+        def persistedQuery = PreparsedDocumentCache.PERSISTED_QUERY_PREFIX + cache.hash(QUERY)
+
+        when: "the query has not been sent yet"
+        def notFound = cache.getDocument(ExecutionInput.newExecutionInput(persistedQuery).build(), this.&parse)
+
+        then:
+        notFound.hasErrors()
+        notFound.errors[0].message == PreparsedDocumentCache.PERSISTED_QUERY_NOT_FOUND
+
+        when: "the full query text has been sent"
+        def full = cache.getDocument(ExecutionInput.newExecutionInput(QUERY).build(), this.&parse)
+        def byHash = cache.getDocument(ExecutionInput.newExecutionInput(persistedQuery).build(), this.&parse)
+
+        then:
+        byHash.is(full)
+        parseCount == 1
+    }
+
+    def "documents with errors are not cached"() {
+        def failingParse = { ExecutionInput input ->
+            parseCount++
+            new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("invalid").build())
+        }
+
+        when:
+        cache.getDocument(ExecutionInput.newExecutionInput(QUERY).build(), failingParse)
+        cache.getDocument(ExecutionInput.newExecutionInput(QUERY).build(), failingParse)
+
+        then:
+        parseCount == 2
+    }
+}
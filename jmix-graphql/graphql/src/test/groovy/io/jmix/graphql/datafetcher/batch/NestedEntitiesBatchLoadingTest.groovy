@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.datafetcher.batch
+
+import io.jmix.core.Stores
+import io.jmix.core.UnconstrainedDataManager
+import io.jmix.core.datastore.AbstractDataStore
+import io.jmix.core.datastore.DataStoreBeforeEntityLoadEvent
+import io.jmix.core.datastore.DataStoreEventListener
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.graphql.AbstractGraphQLTest
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.TestPropertySource
+import test_support.entity.test.SoftDeleteTestEntity
+
+import java.util.concurrent.atomic.AtomicBoolean
+
+@TestPropertySource(properties = ["io.jmix.graphql.nested-entities-batch-loading=true"])
+class NestedEntitiesBatchLoadingTest extends AbstractGraphQLTest {
+
+    @Autowired
+    UnconstrainedDataManager dataManager
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    def "references and collections are resolved level by level"() {
+        when:
+        def response = query(
+                "datafetcher/batch/query-cars-with-garage.graphql",
+                asObjectNode('{"filter": ' +
+                        '{"regNumber": {"_in": ["ab345", "a010a", "aaabb"]}}' +
+                        '}')
+        )
+
+        then:
+        getBody(response) == '{"data":{"scr_CarList":[' +
+                '{"regNumber":"a010a","garage":null},' +
+                '{"regNumber":"aaabb","garage":null},' +
+                '{"regNumber":"ab345","garage":{"name":"P.S. 118","cars":[' +
+                '{"regNumber":"ab345","garage":{"name":"P.S. 118"}}' +
+                ']}}' +
+                ']}}'
+    }
+
+    def "each level of nested entities is loaded with a single query"() {
+        given:
+        List<String> loadedEntities = []
+        def countingLoads = new AtomicBoolean(true)
+        ((AbstractDataStore) dataStoreFactory.get(Stores.MAIN)).registerInterceptor(new DataStoreEventListener() {
+            @Override
+            void beforeEntityLoad(DataStoreBeforeEntityLoadEvent event) {
+                if (countingLoads.get()) {
+                    loadedEntities.add(event.loadContext.entityMetaClass.name)
+                }
+            }
+        })
+
+        when:
+        query(
+                "datafetcher/batch/query-cars-with-garage.graphql",
+                asObjectNode('{"filter": ' +
+                        '{"regNumber": {"_in": ["ab345", "a010a", "aaabb"]}}' +
+                        '}')
+        )
+        countingLoads.set(false)
+
+        then:
+        loadedEntities == ['scr$Car', 'scr$Garage', 'scr$Car', 'scr$Garage']
+    }
+
+    def "soft-deleted to-one references are loaded"() {
+        given:
+        def parent = dataManager.create(SoftDeleteTestEntity)
+        parent.name = "deleted parent"
+        dataManager.save(parent)
+
+        def child = dataManager.create(SoftDeleteTestEntity)
+        child.name = "child of deleted"
+        child.parent = parent
+        dataManager.save(child)
+
+        dataManager.remove(parent)
+
+        when:
+        def response = query(
+                "datafetcher/batch/query-soft-delete-entities-with-parent.graphql",
+                asObjectNode('{"filter": ' +
+                        '{"name": {"_eq": "child of deleted"}}' +
+                        '}')
+        )
+
+        then:
+        getBody(response) == '{"data":{"scr_SoftDeleteTestEntityList":[' +
+                '{"name":"child of deleted","parent":{"name":"deleted parent"}}' +
+                ']}}'
+
+        cleanup:
+        dataManager.remove(child)
+    }
+}
@@ -20,7 +20,9 @@ import io.jmix.gridexportflowui.action.ExportAction;
 import io.jmix.gridexportflowui.exporter.ColumnsToExport;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -39,6 +41,40 @@ public class GridExportProperties {
      */
     String exportAllPaginationStrategy;
 
+    /**
+     * Number of batches loaded ahead of the exporter when exporting all records. Batches are loaded in a separate
+     * thread while the exporter writes the rows of the previous ones. The separate thread loads batches in its own
+     * transaction, so batches may observe changes committed during the export. Set to 0 to load batches in the
+     * exporting thread within a single transaction.
+     */
+    int exportAllPrefetchBatches;
+
+    /**
+     * Maximum number of threads loading batches ahead of the exporters. Each loading thread holds its own database
+     * connection during the export. Exports started when all threads are busy load batches in the exporting thread.
+     */
+    int exportAllPrefetchThreads;
+
+    /**
+     * Whether the {@link ExportAction} exports all records in a background task showing the progress dialog
+     * which allows to cancel the export.
+     */
+    boolean exportAllInBackground;
+
+    /**
+     * Timeout of the background task exporting all records.
+     */
+    Duration exportAllBackgroundTimeout;
+
+    /**
+     * Name of the file storage which exported files are saved to and downloaded from. If not set, exported files
+     * are downloaded from temporary files which are deleted after the download.
+     * <p>
+     * Files saved to the file storage are not removed by the export, so the application must clean up the file
+     * storage itself, e.g. by a scheduled task removing old files.
+     */
+    String exportFileStorage;
+
     /**
      * A list of mods that used by default in the {@link ExportAction}
      */
@@ -56,12 +92,22 @@ public class GridExportProperties {
 
     public GridExportProperties(@DefaultValue("1000") int exportAllBatchSize,
                                 @DefaultValue("keyset") String exportAllPaginationStrategy,
+                                @DefaultValue("2") int exportAllPrefetchBatches,
+                                @DefaultValue("4") int exportAllPrefetchThreads,
+                                @DefaultValue("false") boolean exportAllInBackground,
+                                @DefaultValue("1h") Duration exportAllBackgroundTimeout,
+                                @Nullable String exportFileStorage,
                                 @DefaultValue({"ALL_ROWS", "CURRENT_PAGE", "SELECTED_ROWS"})
                                 List<String> defaultExportModes,
                                 @DefaultValue("VISIBLE_COLUMNS") String defaultColumnsToExport,
                                 @DefaultValue ExcelExporterProperties excel) {
         this.exportAllBatchSize = exportAllBatchSize;
         this.exportAllPaginationStrategy = exportAllPaginationStrategy;
+        this.exportAllPrefetchBatches = exportAllPrefetchBatches;
+        this.exportAllPrefetchThreads = exportAllPrefetchThreads;
+        this.exportAllInBackground = exportAllInBackground;
+        this.exportAllBackgroundTimeout = exportAllBackgroundTimeout;
+        this.exportFileStorage = exportFileStorage;
         this.defaultExportModes = defaultExportModes;
         this.defaultColumnsToExport = defaultColumnsToExport;
         this.excel = excel;
@@ -81,6 +127,42 @@ public class GridExportProperties {
         return exportAllPaginationStrategy;
     }
 
+    /**
+     * @see #exportAllPrefetchBatches
+     */
+    public int getExportAllPrefetchBatches() {
+        return exportAllPrefetchBatches;
+    }
+
+    /**
+     * @see #exportAllPrefetchThreads
+     */
+    public int getExportAllPrefetchThreads() {
+        return exportAllPrefetchThreads;
+    }
+
+    /**
+     * @see #exportAllInBackground
+     */
+    public boolean isExportAllInBackground() {
+        return exportAllInBackground;
+    }
+
+    /**
+     * @see #exportAllBackgroundTimeout
+     */
+    public Duration getExportAllBackgroundTimeout() {
+        return exportAllBackgroundTimeout;
+    }
+
+    /**
+     * @see #exportFileStorage
+     */
+    @Nullable
+    public String getExportFileStorage() {
+        return exportFileStorage;
+    }
+
     /**
      * @see #defaultExportModes
      */
@@ -16,7 +16,12 @@
 
 package io.jmix.gridexportflowui.action;
 
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.grid.Grid;
+import io.jmix.core.DataManager;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileStorage;
+import io.jmix.core.LoadContext;
 import io.jmix.core.Messages;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.flowui.Dialogs;
@@ -24,17 +29,25 @@ import io.jmix.flowui.action.ActionType;
 import io.jmix.flowui.action.DialogAction;
 import io.jmix.flowui.action.SecuredBaseAction;
 import io.jmix.flowui.action.list.ListDataComponentAction;
+import io.jmix.flowui.backgroundtask.BackgroundTask;
+import io.jmix.flowui.backgroundtask.TaskLifeCycle;
 import io.jmix.flowui.component.ListDataComponent;
+import io.jmix.flowui.component.UiComponentUtils;
 import io.jmix.flowui.component.grid.DataGrid;
 import io.jmix.flowui.data.ContainerDataUnit;
+import io.jmix.flowui.download.DownloadDataProvider;
+import io.jmix.flowui.download.DownloadFormat;
 import io.jmix.flowui.download.Downloader;
 import io.jmix.flowui.kit.action.Action;
 import io.jmix.flowui.kit.action.ActionVariant;
+import io.jmix.flowui.model.CollectionLoader;
 import io.jmix.flowui.model.HasLoader;
+import io.jmix.flowui.view.View;
 import io.jmix.gridexportflowui.GridExportProperties;
 import io.jmix.gridexportflowui.exporter.ColumnsToExport;
 import io.jmix.gridexportflowui.exporter.DataGridExporter;
 import io.jmix.gridexportflowui.exporter.ExportMode;
+import io.jmix.gridexportflowui.exporter.excel.ExcelExporter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -44,6 +57,8 @@ import org.springframework.util.CollectionUtils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -63,6 +78,8 @@ public class ExportAction extends ListDataComponentAction<ExportAction, Object>
     protected Messages messages;
     protected Downloader downloader;
     protected Dialogs dialogs;
+    protected DataManager dataManager;
+    protected GridExportProperties gridExportProperties;
 
     protected DataGridExporter dataGridExporter;
     protected List<ExportMode> availableExportModes;
@@ -99,8 +116,14 @@ public class ExportAction extends ListDataComponentAction<ExportAction, Object>
         this.dialogs = dialogs;
     }
 
+    @Autowired
+    public void setDataManager(DataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
     @Autowired
     public void setGridExportProperties(GridExportProperties gridExportProperties) {
+        this.gridExportProperties = gridExportProperties;
         this.availableExportModes = gridExportProperties.getDefaultExportModes().stream()
                 .map(ExportMode::valueOf)
                 .toList();
@@ -304,12 +327,63 @@ public class ExportAction extends ListDataComponentAction<ExportAction, Object>
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected void doExport(ExportMode exportMode, Predicate<Grid.Column<Object>> primaryFilterPredicate) {
         if (getTarget() instanceof Grid) {
-            dataGridExporter.exportDataGrid(downloader, (DataGrid) getTarget(), exportMode, primaryFilterPredicate);
+            Consumer<Downloader> exportAll = exportMode == ExportMode.ALL_ROWS
+                    && gridExportProperties.isExportAllInBackground()
+                    ? dataGridExporter.prepareExportAll((DataGrid) getTarget(), primaryFilterPredicate)
+                    : null;
+            if (exportAll != null) {
+                doExportAllInBackground(exportAll);
+            } else {
+                dataGridExporter.exportDataGrid(downloader, (DataGrid) getTarget(), exportMode, primaryFilterPredicate);
+            }
         } else {
             throw new UnsupportedOperationException("Unsupported component for export");
         }
     }
 
+    /**
+     * Exports all rows in a background task. The dialog shows the export progress and allows to cancel the export,
+     * the exported file is downloaded when the task is done.
+     *
+     * @param exportAll export of all rows prepared by
+     *                  {@link DataGridExporter#prepareExportAll(Grid, Predicate)} in the UI thread
+     */
+    protected void doExportAllInBackground(Consumer<Downloader> exportAll) {
+        Dialogs.BackgroundTaskDialogBuilder<Integer, DeferredDownloader> dialogBuilder = dialogs
+                .createBackgroundTaskDialog(new ExportAllTask(exportAll))
+                .withHeader(getMessage("exportAllInBackgroundDialog.header"))
+                .withText(getMessage("exportAllInBackgroundDialog.text"))
+                .withCancelAllowed(true);
+
+        Long allRowsCount = getAllRowsCount();
+        if (allRowsCount != null) {
+            dialogBuilder.withTotal(allRowsCount)
+                    .withShowProgressInPercentage(true);
+        }
+        dialogBuilder.open();
+    }
+
+    /**
+     * @return number of rows exported in {@link ExportMode#ALL_ROWS} mode or {@code null} if it cannot be
+     * counted without a load delegate
+     */
+    @Nullable
+    protected Long getAllRowsCount() {
+        if (target.getItems() instanceof ContainerDataUnit<?> containerItems
+                && containerItems.getContainer() instanceof HasLoader containerWithLoader
+                && containerWithLoader.getLoader() instanceof CollectionLoader<?> collectionLoader
+                && collectionLoader.getLoadDelegate() == null) {
+            LoadContext<?> loadContext = collectionLoader.createLoadContext();
+            LoadContext.Query query = loadContext.getQuery();
+            if (query != null) {
+                query.setFirstResult(0);
+                query.setMaxResults(0);
+            }
+            return dataManager.getCount(loadContext);
+        }
+        return null;
+    }
+
     protected String getMessage(String id) {
         return messages.getMessage(getClass(), id);
     }
@@ -337,4 +411,115 @@ public class ExportAction extends ListDataComponentAction<ExportAction, Object>
                 && containerItems.getContainer() instanceof HasLoader containerWithLoader
                 && containerWithLoader.getLoader() != null;
     }
+
+    /**
+     * Exports all rows in a background thread and publishes the number of exported rows after each loaded batch.
+     * The task runs the export prepared in the UI thread, so it doesn't access the {@link DataGrid}.
+     */
+    protected class ExportAllTask extends BackgroundTask<Integer, DeferredDownloader> {
+
+        protected Consumer<Downloader> exportAll;
+
+        public ExportAllTask(Consumer<Downloader> exportAll) {
+            super(gridExportProperties.getExportAllBackgroundTimeout().toSeconds(), TimeUnit.SECONDS,
+                    UiComponentUtils.findView((Component) target));
+            this.exportAll = exportAll;
+        }
+
+        @Override
+        public DeferredDownloader run(TaskLifeCycle<Integer> taskLifeCycle) {
+            DeferredDownloader deferredDownloader = new DeferredDownloader();
+            int batchSize = gridExportProperties.getExportAllBatchSize();
+
+            dataGridExporter.setProgressListener(exportedRowsCount -> {
+                if (exportedRowsCount % batchSize == 0) {
+                    try {
+                        taskLifeCycle.publish(exportedRowsCount);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            try {
+                exportAll.accept(deferredDownloader);
+            } finally {
+                dataGridExporter.setProgressListener(null);
+            }
+            return deferredDownloader;
+        }
+
+        @Override
+        public void done(DeferredDownloader result) {
+            result.download(downloader);
+
+            if (dataGridExporter instanceof ExcelExporter excelExporter) {
+                excelExporter.showMaxRowNumberExceededNotification();
+            }
+        }
+    }
+
+    /**
+     * Records downloads requested by an exporter running in a background thread, so they can be performed
+     * by the {@link Downloader} in the UI thread.
+     */
+    protected static class DeferredDownloader implements Downloader {
+
+        protected List<Consumer<Downloader>> downloads = new ArrayList<>();
+        protected boolean showNewWindow;
+
+        /**
+         * Performs the recorded downloads.
+         *
+         * @param downloader {@link Downloader} instance
+         */
+        public void download(Downloader downloader) {
+            downloads.forEach(download -> download.accept(downloader));
+        }
+
+        @Override
+        public void setFileStorage(FileStorage fileStorage) {
+            downloads.add(downloader -> downloader.setFileStorage(fileStorage));
+        }
+
+        @Override
+        public boolean isShowNewWindow() {
+            return showNewWindow;
+        }
+
+        @Override
+        public void setShowNewWindow(boolean showNewWindow) {
+            this.showNewWindow = showNewWindow;
+            downloads.add(downloader -> downloader.setShowNewWindow(showNewWindow));
+        }
+
+        @Override
+        public void download(DownloadDataProvider dataProvider, String resourceName, @Nullable DownloadFormat format) {
+            downloads.add(downloader -> downloader.download(dataProvider, resourceName, format));
+        }
+
+        @Override
+        public void download(DownloadDataProvider dataProvider, String resourceName) {
+            downloads.add(downloader -> downloader.download(dataProvider, resourceName));
+        }
+
+        @Override
+        public void download(FileRef fileReference) {
+            downloads.add(downloader -> downloader.download(fileReference));
+        }
+
+        @Override
+        public void download(FileRef fileReference, @Nullable DownloadFormat format) {
+            downloads.add(downloader -> downloader.download(fileReference, format));
+        }
+
+        @Override
+        public void download(byte[] data, String resourceName) {
+            downloads.add(downloader -> downloader.download(data, resourceName));
+        }
+
+        @Override
+        public void download(byte[] data, String resourceName, @Nullable DownloadFormat format) {
+            downloads.add(downloader -> downloader.download(data, resourceName, format));
+        }
+    }
 }
@@ -19,6 +19,7 @@ package io.jmix.gridexportflowui.exporter;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.HasText;
 import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.data.renderer.Renderer;
@@ -34,16 +35,31 @@ import io.jmix.flowui.UiProperties;
 import io.jmix.flowui.component.ListDataComponent;
 import io.jmix.flowui.component.grid.EnhancedDataGrid;
 import io.jmix.flowui.data.grid.EntityDataGridItems;
+import io.jmix.flowui.download.DownloadFormat;
+import io.jmix.flowui.download.Downloader;
+import io.jmix.flowui.download.FileRefDownloadDataProvider;
 import io.jmix.flowui.model.InstanceContainer;
+import io.jmix.gridexportflowui.GridExportProperties;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.lang.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
 
 public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporter<?>> implements DataGridExporter {
 
@@ -53,6 +69,8 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
     protected MetadataTools metadataTools;
     protected UiProperties uiProperties;
     protected CoreProperties coreProperties;
+    protected GridExportProperties gridExportProperties;
+    protected FileStorageLocator fileStorageLocator;
 
     @Autowired
     public void setMessageTools(MessageTools messageTools) {
@@ -84,10 +102,22 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
         this.coreProperties = coreProperties;
     }
 
+    @Autowired
+    public void setGridExportProperties(GridExportProperties gridExportProperties) {
+        this.gridExportProperties = gridExportProperties;
+    }
+
+    @Autowired
+    public void setFileStorageLocator(FileStorageLocator fileStorageLocator) {
+        this.fileStorageLocator = fileStorageLocator;
+    }
+
     protected String fileName;
 
     protected Map<String, Function<ColumnValueContext, Object>> columnValueProviders;
 
+    protected IntConsumer progressListener;
+
     public String getFileName() {
         return fileName;
     }
@@ -126,6 +156,54 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
                 : null;
     }
 
+    @Override
+    public void setProgressListener(@Nullable IntConsumer progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    protected void fireProgress(int exportedRowsCount) {
+        if (progressListener != null) {
+            progressListener.accept(exportedRowsCount);
+        }
+    }
+
+    /**
+     * @return new file in the {@link CoreProperties#getTempDir()} to write the exported data to
+     */
+    protected File createTempFile() {
+        return new File(coreProperties.getTempDir(), UuidProvider.createUuid().toString());
+    }
+
+    /**
+     * Downloads the exported file. If {@link GridExportProperties#getExportFileStorage()} is set, the file is
+     * saved to that file storage and downloaded from it, otherwise it's downloaded from the temporary directory.
+     * The temporary file is deleted after the download. The file saved to the file storage is kept there, it's
+     * not removed after the download.
+     *
+     * @param downloader   {@link Downloader} instance
+     * @param file         exported file written to the temporary directory
+     * @param resourceName name of the downloaded file
+     * @param format       format of the downloaded file
+     */
+    protected void downloadFile(Downloader downloader, File file, String resourceName, DownloadFormat format) {
+        String fileStorageName = gridExportProperties.getExportFileStorage();
+        if (StringUtils.isEmpty(fileStorageName)) {
+            downloader.download(new TempFileDownloadDataProvider(file), resourceName, format);
+            return;
+        }
+
+        FileStorage fileStorage = fileStorageLocator.getByName(fileStorageName);
+        FileRef fileRef;
+        try (InputStream inputStream = new FileInputStream(file)) {
+            fileRef = fileStorage.saveStream(resourceName, inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to save exported file to the file storage", e);
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+        downloader.download(new FileRefDownloadDataProvider(fileRef, fileStorage), resourceName, format);
+    }
+
     protected String getMetaClassName(MetaClass metaClass) {
         return messageTools.getEntityCaption(metaClass);
     }
@@ -158,18 +236,88 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
             Renderer<?> renderer = column.getRenderer();
             //if a component renderer is assigned, try to retrieve export value from rendered component
             if (renderer instanceof ComponentRenderer componentRenderer) {
-                Component cellComponent = componentRenderer.createComponent(instance);
-                if (cellComponent instanceof HasText hasText) {
-                    cellValue = hasText.getText();
-                } else if (cellComponent instanceof HasValue<?,?> hasValue) {
-                    cellValue = hasValue.getValue();
-                }
+                cellValue = getComponentRendererValue(componentRenderer, instance);
             }
         }
 
         return cellValue;
     }
 
+    @Nullable
+    protected Object getComponentRendererValue(ComponentRenderer<?, Object> componentRenderer, Object instance) {
+        Component cellComponent = componentRenderer.createComponent(instance);
+        if (cellComponent instanceof HasText hasText) {
+            return hasText.getText();
+        } else if (cellComponent instanceof HasValue<?, ?> hasValue) {
+            return hasValue.getValue();
+        }
+        return null;
+    }
+
+    protected String getColumnHeaderText(Grid.Column<?> column) {
+        return StringUtils.defaultString(column.getHeaderText());
+    }
+
+    /**
+     * Captures the exported columns, so that their header texts and values can be obtained without accessing
+     * the {@link Grid}. Must be invoked in the UI thread.
+     *
+     * @param dataGrid     exported grid
+     * @param columnFilter filter of the exported columns
+     * @return exported columns
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected List<ExportedColumn> captureColumns(Grid<Object> dataGrid, Predicate<Grid.Column<Object>> columnFilter) {
+        return dataGrid.getColumns().stream()
+                .filter(columnFilter)
+                .map(column -> new ExportedColumn(
+                        column.getKey(),
+                        getColumnHeaderText(column),
+                        ((EnhancedDataGrid) dataGrid).getColumnMetaPropertyPath(column),
+                        createColumnValueExtractor(dataGrid, column)))
+                .toList();
+    }
+
+    /**
+     * Creates a function which returns the value of the column for an entity instance, the same as
+     * {@link #getColumnValue(Grid, Grid.Column, Object)} does. Column value providers and component renderers may
+     * use UI components, so they are invoked holding the session lock of the current UI.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Function<Object, Object> createColumnValueExtractor(Grid<Object> dataGrid, Grid.Column<Object> column) {
+        Function<ColumnValueContext, Object> columnValueProvider = getColumnValueProvider(column.getKey());
+        if (columnValueProvider != null) {
+            ListDataComponent<?> target = (ListDataComponent<?>) dataGrid;
+            return accessUi(entity -> columnValueProvider.apply(new ColumnValueContext(target, column, entity)));
+        }
+
+        MetaPropertyPath metaPropertyPath = ((EnhancedDataGrid) dataGrid).getColumnMetaPropertyPath(column);
+        if (metaPropertyPath != null) {
+            String[] path = metaPropertyPath.getPath();
+            return entity -> EntityValues.getValueEx(entity, path);
+        }
+
+        if (column.getRenderer() instanceof ComponentRenderer componentRenderer) {
+            return accessUi(entity -> getComponentRendererValue(componentRenderer, entity));
+        }
+        return entity -> null;
+    }
+
+    /**
+     * @return function which invokes the given one holding the session lock of the current UI
+     */
+    protected Function<Object, Object> accessUi(Function<Object, Object> function) {
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            return function;
+        }
+        return entity -> {
+            AtomicReference<Object> value = new AtomicReference<>();
+            ui.accessSynchronously(() -> value.set(function.apply(entity)));
+            return value.get();
+        };
+    }
+
     protected Function<Object, InstanceContainer<Object>> createInstanceContainerProvider(
             Grid<?> dataGrid, Object item) {
         return entity -> {
@@ -247,4 +395,41 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
             return cellValue.toString();
         }
     }
+
+    /**
+     * Column captured in the UI thread to be exported outside of it.
+     */
+    protected static class ExportedColumn {
+
+        protected final String key;
+        protected final String headerText;
+        protected final MetaPropertyPath metaPropertyPath;
+        protected final Function<Object, Object> valueExtractor;
+
+        public ExportedColumn(String key, String headerText, @Nullable MetaPropertyPath metaPropertyPath,
+                              Function<Object, Object> valueExtractor) {
+            this.key = key;
+            this.headerText = headerText;
+            this.metaPropertyPath = metaPropertyPath;
+            this.valueExtractor = valueExtractor;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getHeaderText() {
+            return headerText;
+        }
+
+        @Nullable
+        public MetaPropertyPath getMetaPropertyPath() {
+            return metaPropertyPath;
+        }
+
+        @Nullable
+        public Object getValue(Object entity) {
+            return valueExtractor.apply(entity);
+        }
+    }
 }
@@ -22,7 +22,9 @@ import io.jmix.flowui.component.grid.DataGrid;
 import io.jmix.flowui.download.Downloader;
 import org.springframework.lang.Nullable;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 
 public interface DataGridExporter {
@@ -51,6 +53,30 @@ public interface DataGridExporter {
         exportDataGrid(downloader, dataGrid, exportMode, ColumnsToExport.VISIBLE_COLUMNS.getFilterPredicate());
     }
 
+    /**
+     * Captures the state of the {@link DataGrid} needed to export all rows: the exported columns, the functions
+     * obtaining column values and the load context. Must be invoked in the UI thread. The returned export doesn't
+     * access the {@link DataGrid}, so it can be run in a background thread.
+     *
+     * @param dataGrid     {@link DataGrid} to get content
+     * @param columnFilter filter of the {@link Grid.Column}
+     * @return export of all rows using the given {@link Downloader}, or {@code null} if the exporter cannot
+     * export all rows outside the UI thread
+     */
+    @Nullable
+    default Consumer<Downloader> prepareExportAll(Grid<Object> dataGrid, Predicate<Grid.Column<Object>> columnFilter) {
+        return null;
+    }
+
+    /**
+     * Sets the listener which is notified with the number of exported rows while exporting
+     * {@link ExportMode#ALL_ROWS}. Exporters which don't report the progress ignore the listener.
+     *
+     * @param progressListener listener invoked in the exporting thread
+     */
+    default void setProgressListener(@Nullable IntConsumer progressListener) {
+    }
+
     /**
      * @return exporter label
      */
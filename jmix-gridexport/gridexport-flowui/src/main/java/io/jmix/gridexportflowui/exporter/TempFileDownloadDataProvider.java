@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.gridexportflowui.exporter;
+
+import io.jmix.flowui.download.DownloadDataProvider;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Data provider for an exported file written to the temporary directory. The file is deleted when the stream
+ * returned by {@link #getStream()} is closed.
+ */
+public class TempFileDownloadDataProvider implements DownloadDataProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(TempFileDownloadDataProvider.class);
+
+    protected File file;
+
+    public TempFileDownloadDataProvider(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public InputStream getStream() {
+        try {
+            return new FileInputStream(file) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    try {
+                        FileUtils.delete(file);
+                    } catch (IOException e) {
+                        log.warn("Unable to delete temp file " + file.getAbsolutePath());
+                    }
+                }
+            };
+        } catch (FileNotFoundException e) {
+            throw new IllegalStateException("Exported file " + file.getAbsolutePath() + " is not found", e);
+        }
+    }
+}
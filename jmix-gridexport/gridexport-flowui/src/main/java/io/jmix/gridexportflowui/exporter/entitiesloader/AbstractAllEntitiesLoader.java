@@ -16,29 +16,45 @@
 
 package io.jmix.gridexportflowui.exporter.entitiesloader;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.security.SecurityContextHelper;
 import io.jmix.flowui.data.ContainerDataUnit;
 import io.jmix.flowui.data.DataUnit;
 import io.jmix.flowui.model.*;
 import io.jmix.gridexportflowui.GridExportProperties;
 import io.jmix.gridexportflowui.exporter.EntityExportContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Base class for the all entities loader which is used to export to other data formats such as excel or json
  */
 public abstract class AbstractAllEntitiesLoader implements AllEntitiesLoader {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractAllEntitiesLoader.class);
+
+    protected static final long PREFETCH_POLL_INTERVAL_MS = 500;
+
     protected MetadataTools metadataTools;
     protected DataManager dataManager;
     protected PlatformTransactionManager platformTransactionManager;
     protected GridExportProperties gridExportProperties;
 
+    protected ThreadPoolExecutor prefetchExecutor;
+
     public AbstractAllEntitiesLoader(MetadataTools metadataTools,
                                      DataManager dataManager,
                                      PlatformTransactionManager platformTransactionManager,
@@ -47,6 +63,21 @@ public abstract class AbstractAllEntitiesLoader implements AllEntitiesLoader {
         this.dataManager = dataManager;
         this.platformTransactionManager = platformTransactionManager;
         this.gridExportProperties = gridExportProperties;
+        this.prefetchExecutor = createPrefetchExecutor();
+    }
+
+    /**
+     * Creates the executor loading batches ahead of the exporter. The executor runs at most
+     * {@link GridExportProperties#getExportAllPrefetchThreads()} loading threads and doesn't queue tasks, so an
+     * export started when all threads are busy loads its batches in the exporting thread.
+     */
+    protected ThreadPoolExecutor createPrefetchExecutor() {
+        int threads = Math.max(1, gridExportProperties.getExportAllPrefetchThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("grid-export-prefetch-%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     /**
@@ -67,8 +98,7 @@ public abstract class AbstractAllEntitiesLoader implements AllEntitiesLoader {
         DataLoader dataLoader = getDataLoader(dataUnit);
         int loadBatchSize = gridExportProperties.getExportAllBatchSize();
 
-        TransactionTemplate transactionTemplate = new TransactionTemplate(platformTransactionManager);
-        transactionTemplate.executeWithoutResult(transactionStatus -> {
+        executeInTransaction(() -> {
             if (dataLoader instanceof CollectionLoader<?> collectionLoader) {
                 loadEntities(collectionLoader, exportedEntityVisitor, loadBatchSize);
             } else if (dataLoader instanceof KeyValueCollectionLoader keyValueCollectionLoader) {
@@ -79,12 +109,67 @@ public abstract class AbstractAllEntitiesLoader implements AllEntitiesLoader {
         });
     }
 
+    @Nullable
+    @Override
+    public Consumer<ExportedEntityVisitor> prepareLoadAll(DataUnit dataUnit) {
+        Preconditions.checkNotNullArgument(dataUnit, "Cannot export all rows. DataUnit can't be null");
+
+        DataLoader dataLoader = getDataLoader(dataUnit);
+        int loadBatchSize = gridExportProperties.getExportAllBatchSize();
+
+        //load delegate may use the view state, so it is invoked in the UI thread only
+        if (dataLoader instanceof CollectionLoader<?> collectionLoader) {
+            if (collectionLoader.getLoadDelegate() != null) {
+                return null;
+            }
+            LoadContext<?> loadContext = generateLoadContext(collectionLoader);
+            //batches are loaded by the prefetching thread, don't hold a transaction in the exporting thread
+            return exportedEntityVisitor -> {
+                if (isPrefetchEnabled()) {
+                    loadEntities(loadContext, exportedEntityVisitor, loadBatchSize);
+                } else {
+                    executeInTransaction(() -> loadEntities(loadContext, exportedEntityVisitor, loadBatchSize));
+                }
+            };
+        } else if (dataLoader instanceof KeyValueCollectionLoader keyValueCollectionLoader) {
+            if (keyValueCollectionLoader.getDelegate() != null) {
+                return null;
+            }
+            ValueLoadContext loadContext = keyValueCollectionLoader.createLoadContext();
+            return exportedEntityVisitor -> executeInTransaction(() ->
+                    loadKeyValueEntities(loadContext, exportedEntityVisitor, loadBatchSize));
+        } else {
+            throw new IllegalArgumentException("Cannot export all rows. Loader type is not supported.");
+        }
+    }
+
+    protected boolean isPrefetchEnabled() {
+        return gridExportProperties.getExportAllPrefetchBatches() > 0;
+    }
+
+    protected void executeInTransaction(Runnable action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(platformTransactionManager);
+        transactionTemplate.executeWithoutResult(transactionStatus -> action.run());
+    }
+
     protected abstract LoadContext generateLoadContext(CollectionLoader loader);
 
     protected abstract void loadEntities(CollectionLoader<?> collectionLoader,
                                          ExportedEntityVisitor exportedEntityVisitor,
                                          int loadBatchSize);
 
+    /**
+     * Loads all entities using copies of the load context generated by {@link #generateLoadContext(CollectionLoader)}.
+     * Doesn't access the loader, so it can be invoked outside the UI thread.
+     *
+     * @param loadContext           load context generated by {@link #generateLoadContext(CollectionLoader)}
+     * @param exportedEntityVisitor visitor which exports entity to appropriate format
+     * @param loadBatchSize         number of entities loaded in one query
+     */
+    protected abstract void loadEntities(LoadContext<?> loadContext,
+                                         ExportedEntityVisitor exportedEntityVisitor,
+                                         int loadBatchSize);
+
     protected DataLoader getDataLoader(DataUnit dataUnit) {
         if (!(dataUnit instanceof ContainerDataUnit<?> containerDataUnit)) {
             throw new IllegalArgumentException("Cannot get data loader. DataUnit must be an instance of ContainerDataUnit.");
@@ -126,6 +211,175 @@ public abstract class AbstractAllEntitiesLoader implements AllEntitiesLoader {
         }
     }
 
+    /**
+     * Loads key-value entities by the given load context without accessing the loader.
+     */
+    protected void loadKeyValueEntities(ValueLoadContext loadContext,
+                                        ExportedEntityVisitor exportedEntityVisitor,
+                                        int loadBatchSize) {
+        ValueLoadContext.Query query = getValueLoadContextQuery(loadContext);
+        int rowNumber = 0;
+        boolean lastBatchLoaded = false;
+
+        for (int firstResult = 0; !lastBatchLoaded && !Thread.currentThread().isInterrupted();
+             firstResult += loadBatchSize) {
+            query.setFirstResult(firstResult);
+            query.setMaxResults(loadBatchSize);
+
+            List<KeyValueEntity> keyValueEntities = dataManager.loadValues(loadContext);
+            for (KeyValueEntity keyValueEntity : keyValueEntities) {
+                if (!exportedEntityVisitor.visitEntity(new EntityExportContext(keyValueEntity, ++rowNumber))) {
+                    return;
+                }
+            }
+            lastBatchLoaded = keyValueEntities.size() < loadBatchSize;
+        }
+    }
+
+    /**
+     * Passes the batches returned by the {@code batchLoader} to the visitor. If
+     * {@link GridExportProperties#getExportAllPrefetchBatches()} is positive, the batches are loaded ahead of the
+     * visitor, see {@link #visitPrefetchedBatches(UnaryOperator, ExportedEntityVisitor)}.
+     *
+     * @param batchLoader           loads the batch following the given one ({@code null} for the first batch),
+     *                              returns {@code null} if there are no more batches
+     * @param exportedEntityVisitor visitor which exports entity to appropriate format
+     */
+    protected void visitBatches(UnaryOperator<List<?>> batchLoader, ExportedEntityVisitor exportedEntityVisitor) {
+        if (isPrefetchEnabled()) {
+            visitPrefetchedBatches(batchLoader, exportedEntityVisitor);
+            return;
+        }
+        visitLoadedBatches(batchLoader, exportedEntityVisitor);
+    }
+
+    /**
+     * Loads batches in the calling thread and passes them to the visitor.
+     */
+    protected void visitLoadedBatches(UnaryOperator<List<?>> batchLoader,
+                                      ExportedEntityVisitor exportedEntityVisitor) {
+        int rowNumber = 0;
+        List<?> batch = null;
+        while (!Thread.currentThread().isInterrupted() && (batch = batchLoader.apply(batch)) != null) {
+            for (Object entity : batch) {
+                if (!exportedEntityVisitor.visitEntity(new EntityExportContext(entity, ++rowNumber))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads batches in a separate thread and passes the loaded entities to the visitor in the calling thread.
+     * At most {@link GridExportProperties#getExportAllPrefetchBatches()} loaded batches wait for the visitor, so
+     * loading of the next batches overlaps with exporting of the previous ones while the memory consumption stays
+     * bounded. Loading stops when the visitor stops the export or the calling thread is interrupted.
+     * <p>
+     * The loading thread runs in its own transaction, not in the transaction of the calling thread. If all
+     * {@link GridExportProperties#getExportAllPrefetchThreads()} loading threads are busy with other exports,
+     * batches are loaded in the calling thread within a transaction.
+     *
+     * @param batchLoader           loads the batch following the given one ({@code null} for the first batch),
+     *                              returns {@code null} if there are no more batches. Invoked in the loading thread,
+     *                              so it must not access UI components
+     * @param exportedEntityVisitor visitor which exports entity to appropriate format
+     */
+    protected void visitPrefetchedBatches(UnaryOperator<List<?>> batchLoader,
+                                          ExportedEntityVisitor exportedEntityVisitor) {
+        BlockingQueue<PrefetchedBatch> queue =
+                new ArrayBlockingQueue<>(gridExportProperties.getExportAllPrefetchBatches());
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+
+        Future<?> prefetching;
+        try {
+            prefetching = prefetchExecutor.submit(() -> {
+                Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+                SecurityContextHelper.setAuthentication(authentication);
+                try {
+                    executeInTransaction(() -> {
+                        try {
+                            List<?> batch = null;
+                            while ((batch = batchLoader.apply(batch)) != null) {
+                                queue.put(new PrefetchedBatch(batch, null));
+                            }
+                            queue.put(new PrefetchedBatch(null, null));
+                        } catch (InterruptedException e) {
+                            // the export is stopped, nobody waits for the next batches
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                } catch (Throwable e) {
+                    // the exporting thread also checks the task state, so the error isn't lost if the queue is full
+                    queue.offer(new PrefetchedBatch(null, e));
+                    throw e;
+                } finally {
+                    SecurityContextHelper.setAuthentication(previousAuthentication);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("All prefetching threads are busy, batches are loaded in the exporting thread");
+            executeInTransaction(() -> visitLoadedBatches(batchLoader, exportedEntityVisitor));
+            return;
+        }
+
+        int rowNumber = 0;
+        try {
+            while (true) {
+                PrefetchedBatch batch = queue.poll(PREFETCH_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (batch == null) {
+                    if (prefetching.isDone() && queue.isEmpty()) {
+                        // the loading thread finished without the end marker
+                        checkPrefetchingFailure(prefetching);
+                        return;
+                    }
+                    continue;
+                }
+                if (batch.error != null) {
+                    throw rethrow(batch.error);
+                }
+                if (batch.entities == null) {
+                    return;
+                }
+                for (Object entity : batch.entities) {
+                    EntityExportContext entityExportContext = new EntityExportContext(entity, ++rowNumber);
+                    if (!exportedEntityVisitor.visitEntity(entityExportContext)) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // the export is cancelled, e.g. the background task running it is interrupted
+            Thread.currentThread().interrupt();
+        } finally {
+            prefetching.cancel(true);
+        }
+    }
+
+    protected void checkPrefetchingFailure(Future<?> prefetching) throws InterruptedException {
+        try {
+            prefetching.get();
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Loading of the exported entities is cancelled", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    protected RuntimeException rethrow(Throwable error) {
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (error instanceof Error e) {
+            throw e;
+        }
+        throw new IllegalStateException("Cannot load exported entities", error);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
     protected ValueLoadContext.Query getValueLoadContextQuery(ValueLoadContext valueLoadContext) {
         ValueLoadContext.Query query = valueLoadContext.getQuery();
         //noinspection ConstantValue
@@ -134,5 +388,18 @@ public abstract class AbstractAllEntitiesLoader implements AllEntitiesLoader {
         }
         return query;
     }
-}
 
+    /**
+     * Batch of entities loaded ahead of the exporter. A batch without entities and error marks the end of data.
+     */
+    protected static class PrefetchedBatch {
+
+        protected final List<?> entities;
+        protected final Throwable error;
+
+        public PrefetchedBatch(@Nullable List<?> entities, @Nullable Throwable error) {
+            this.entities = entities;
+            this.error = error;
+        }
+    }
+}
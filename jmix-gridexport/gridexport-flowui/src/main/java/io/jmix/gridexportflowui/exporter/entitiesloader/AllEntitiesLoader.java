@@ -19,6 +19,9 @@ package io.jmix.gridexportflowui.exporter.entitiesloader;
 import io.jmix.flowui.data.DataUnit;
 import io.jmix.gridexportflowui.GridExportProperties;
 import io.jmix.gridexportflowui.exporter.EntityExportContext;
+import org.springframework.lang.Nullable;
+
+import java.util.function.Consumer;
 
 /**
  * This interface should be implemented by any bean which loads all entities for json or excel export.
@@ -49,4 +52,18 @@ public interface AllEntitiesLoader {
      * Load entities and export each entity using the {@link ExportedEntityVisitor}
      */
     void loadAll(DataUnit dataUnit, ExportedEntityVisitor exportedEntityVisitor);
+
+    /**
+     * Captures the load context of the given {@code dataUnit}, so that all entities can be loaded later without
+     * accessing the data unit and its loader, e.g. in a background thread. Must be invoked in the UI thread.
+     *
+     * @param dataUnit data unit linked with the data
+     * @return function which loads all entities and exports each entity using the given
+     * {@link ExportedEntityVisitor}, or {@code null} if entities cannot be loaded outside the UI thread,
+     * e.g. the loader has a load delegate which may use the view state
+     */
+    @Nullable
+    default Consumer<ExportedEntityVisitor> prepareLoadAll(DataUnit dataUnit) {
+        return null;
+    }
 }
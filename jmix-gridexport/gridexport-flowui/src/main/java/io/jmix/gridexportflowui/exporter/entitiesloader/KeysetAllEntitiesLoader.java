@@ -24,6 +24,7 @@ import io.jmix.core.querycondition.PropertyCondition;
 import io.jmix.flowui.model.CollectionLoader;
 import io.jmix.gridexportflowui.GridExportProperties;
 import io.jmix.gridexportflowui.exporter.EntityExportContext;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 
@@ -95,19 +96,28 @@ public class KeysetAllEntitiesLoader extends AbstractAllEntitiesLoader {
     /**
      * Sort entities by the primary key, load the first batch and save the last entity primary key value.
      * Load the next batch with primary keys after the last entity primary key.
+     * <p>
+     * If the loader has no load delegate, entities are loaded by
+     * {@link #loadEntities(LoadContext, ExportedEntityVisitor, int)}.
      * @param exportedEntityVisitor {@link ExportedEntityVisitor#visitEntity(EntityExportContext)}
      * @param loadBatchSize {@link GridExportProperties#getExportAllBatchSize()} number of entities loaded in one query
      */
     protected void loadEntities(CollectionLoader<?> collectionLoader,
                                 ExportedEntityVisitor exportedEntityVisitor,
                                 int loadBatchSize) {
+        //load delegate may use the view state, so it is invoked in the exporting thread only
+        if (collectionLoader.getLoadDelegate() == null) {
+            loadEntities(generateLoadContext(collectionLoader), exportedEntityVisitor, loadBatchSize);
+            return;
+        }
+
         int rowNumber = 0;
         boolean initialLoading = true;
         Object lastLoadedPkValue = null;
         boolean proceedToExport = true;
         boolean lastBatchLoaded = false;
 
-        while (!lastBatchLoaded && proceedToExport) {
+        while (!lastBatchLoaded && proceedToExport && !Thread.currentThread().isInterrupted()) {
             LoadContext<?> loadContext = generateLoadContext(collectionLoader);
             //query is not null - checked when generated load context
             LoadContext.Query query = Objects.requireNonNull(loadContext.getQuery());
@@ -119,9 +129,7 @@ public class KeysetAllEntitiesLoader extends AbstractAllEntitiesLoader {
             }
             query.setMaxResults(loadBatchSize);
 
-            List<?> entities = collectionLoader.getLoadDelegate() == null
-                    ? dataManager.loadList(loadContext)
-                    : collectionLoader.getLoadDelegate().apply((LoadContext) loadContext);
+            List<?> entities = collectionLoader.getLoadDelegate().apply((LoadContext) loadContext);
             for (Object entity : entities) {
                 EntityExportContext entityExportContext = new EntityExportContext(entity, ++rowNumber);
                 proceedToExport = exportedEntityVisitor.visitEntity(entityExportContext);
@@ -138,4 +146,40 @@ public class KeysetAllEntitiesLoader extends AbstractAllEntitiesLoader {
             lastBatchLoaded = loadedEntitiesAmount == 0 || loadedEntitiesAmount < loadBatchSize;
         }
     }
+
+    /**
+     * Loads batches one after another using copies of the given load context. If
+     * {@link GridExportProperties#getExportAllPrefetchBatches()} is positive, the next batches are loaded ahead of
+     * the exporter, see {@link #visitBatches(java.util.function.UnaryOperator, ExportedEntityVisitor)}.
+     */
+    @Override
+    protected void loadEntities(LoadContext<?> loadContext, ExportedEntityVisitor exportedEntityVisitor,
+                                int loadBatchSize) {
+        visitBatches(previousBatch -> loadNextBatch(loadContext, previousBatch, loadBatchSize), exportedEntityVisitor);
+    }
+
+    /**
+     * Loads the batch following the given one using a copy of the load context generated by
+     * {@link #generateLoadContext(CollectionLoader)}.
+     *
+     * @param previousBatch previously loaded batch or {@code null} to load the first batch
+     * @return next batch or {@code null} if the previous batch is the last one
+     */
+    @Nullable
+    protected List<?> loadNextBatch(LoadContext<?> loadContext, @Nullable List<?> previousBatch, int loadBatchSize) {
+        LoadContext<?> batchLoadContext = loadContext.copy();
+        //query is not null - checked when generated load context
+        LoadContext.Query query = Objects.requireNonNull(batchLoadContext.getQuery());
+
+        if (previousBatch != null) {
+            if (previousBatch.size() < loadBatchSize) {
+                return null;
+            }
+            Object lastEntity = previousBatch.get(previousBatch.size() - 1);
+            query.setParameter(LAST_LOADED_PK_CONDITION_PARAMETER_NAME, Id.of(lastEntity).getValue());
+        }
+        query.setMaxResults(loadBatchSize);
+
+        return dataManager.loadList(batchLoadContext);
+    }
 }
@@ -28,6 +28,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This loader implements limit-offset pagination strategy. Entities are fetched in the same order as in the data store.
@@ -104,4 +105,28 @@ public class LimitOffsetAllEntitiesLoader extends AbstractAllEntitiesLoader {
             lastBatchLoaded = loadedEntitiesAmount == 0 || loadedEntitiesAmount < loadBatchSize;
         }
     }
+
+    /**
+     * Loads batches one after another using copies of the given load context. If
+     * {@link GridExportProperties#getExportAllPrefetchBatches()} is positive, the next batches are loaded ahead of
+     * the exporter, see {@link #visitBatches(java.util.function.UnaryOperator, ExportedEntityVisitor)}.
+     */
+    @Override
+    protected void loadEntities(LoadContext<?> loadContext, ExportedEntityVisitor exportedEntityVisitor,
+                                int loadBatchSize) {
+        AtomicInteger firstResultNumber = new AtomicInteger();
+        visitBatches(previousBatch -> {
+            if (previousBatch != null && previousBatch.size() < loadBatchSize) {
+                return null;
+            }
+
+            LoadContext<?> batchLoadContext = loadContext.copy();
+            //query is not null - checked when generated load context
+            LoadContext.Query query = Objects.requireNonNull(batchLoadContext.getQuery());
+            query.setFirstResult(firstResultNumber.getAndAdd(loadBatchSize));
+            query.setMaxResults(loadBatchSize);
+
+            return dataManager.loadList(batchLoadContext);
+        }, exportedEntityVisitor);
+    }
 }
@@ -18,6 +18,7 @@ package io.jmix.gridexportflowui.exporter.excel;
 
 import com.google.common.base.Strings;
 import com.vaadin.flow.component.HasText;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.HeaderRow;
 import com.vaadin.flow.component.treegrid.TreeGrid;
@@ -37,7 +38,6 @@ import io.jmix.flowui.component.grid.TreeDataGrid;
 import io.jmix.flowui.component.grid.headerfilter.DataGridHeaderFilter;
 import io.jmix.flowui.data.grid.ContainerDataGridItems;
 import io.jmix.flowui.data.grid.ContainerTreeDataGridItems;
-import io.jmix.flowui.download.ByteArrayDownloadDataProvider;
 import io.jmix.flowui.download.Downloader;
 import io.jmix.flowui.kit.component.grid.JmixGrid;
 import io.jmix.flowui.model.InstanceContainer;
@@ -47,19 +47,23 @@ import io.jmix.gridexportflowui.exporter.AbstractDataGridExporter;
 import io.jmix.gridexportflowui.exporter.ExportMode;
 import io.jmix.gridexportflowui.exporter.entitiesloader.AllEntitiesLoader;
 import io.jmix.gridexportflowui.exporter.entitiesloader.AllEntitiesLoaderFactory;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.sql.Time;
 import java.text.ParseException;
@@ -67,6 +71,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -81,6 +86,8 @@ import static io.jmix.flowui.download.DownloadFormat.XLSX;
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
 
+    private static final Logger log = LoggerFactory.getLogger(ExcelExporter.class);
+
     protected static final int COL_WIDTH_MAGIC = 48;
 
     private static final int SPACE_COUNT = 10;
@@ -108,7 +115,6 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
 
     protected boolean isRowNumberExceeded = false;
 
-    protected GridExportProperties gridExportProperties;
     protected Notifications notifications;
     protected AllEntitiesLoaderFactory allEntitiesLoaderFactory;
 
@@ -157,39 +163,9 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
 
             int r = 0;
 
-            Row row = sheet.createRow(r);
-            createAutoColumnSizers(columns.size());
-
-            float maxHeight = sheet.getDefaultRowHeightInPoints();
-
-            CellStyle headerCellStyle = wb.createCellStyle();
-            headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-            for (DataGrid.Column<?> column : columns) {
-                String columnHeaderText = getColumnHeaderText(column);
-
-                int countOfReturnSymbols = StringUtils.countMatches(columnHeaderText, "\n");
-                if (countOfReturnSymbols > 0) {
-                    maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
-                    headerCellStyle.setWrapText(true);
-                }
-            }
-            row.setHeightInPoints(maxHeight);
-
-            for (int c = 0; c < columns.size(); c++) {
-                DataGrid.Column<?> column = columns.get(c);
-                String columnHeaderText = getColumnHeaderText(column);
-
-                Cell cell = row.createCell(c);
-                RichTextString richTextString = createStringCellValue(columnHeaderText);
-                richTextString.applyFont(boldFont);
-                cell.setCellValue(richTextString);
-
-                ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
-                sizer.notifyCellValue(columnHeaderText, boldFont);
-                sizers[c] = sizer;
-
-                cell.setCellStyle(headerCellStyle);
-            }
+            createHeaderRow(columns.stream()
+                    .map(this::getColumnHeaderText)
+                    .toList());
 
             ContainerDataGridItems<Object> dataGridSource = (ContainerDataGridItems) ((ListDataComponent<Object>) dataGrid).getItems();
             if (dataGridSource == null) {
@@ -251,39 +227,139 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
                                         context.getEntityNumber(),
                                         context.getEntity(),
                                         addLevelPadding);
+                                fireProgress(context.getEntityNumber());
                                 return true;
                             }
                             return false;
                         });
-            }
 
-            for (int c = 0; c < columns.size(); c++) {
-                sheet.setColumnWidth(c, sizers[c].getWidth() * COL_WIDTH_MAGIC);
+                if (Thread.currentThread().isInterrupted()) {
+                    // the export is cancelled
+                    return;
+                }
             }
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            try {
-                wb.write(out);
-            } catch (IOException e) {
-                throw new RuntimeException("Unable to write document", e);
-            }
+            writeWorkbook(downloader, columns.size(), getFileName(dataGrid) + "." + XLSX.getFileExt());
+        } finally {
+            disposeWorkBook();
+        }
+    }
 
-            if (isXlsxMaxRowNumberExceeded()) {
-                showWarnNotification();
-            }
+    @Nullable
+    @Override
+    public Consumer<Downloader> prepareExportAll(Grid<Object> dataGrid, Predicate<Grid.Column<Object>> columnFilter) {
+        Consumer<AllEntitiesLoader.ExportedEntityVisitor> entitiesLoading = allEntitiesLoaderFactory.getEntitiesLoader()
+                .prepareLoadAll(((ListDataComponent<?>) dataGrid).getItems());
+        if (entitiesLoading == null) {
+            return null;
+        }
 
-            ByteArrayDownloadDataProvider dataProvider = new ByteArrayDownloadDataProvider(out.toByteArray(),
-                    uiProperties.getSaveExportedByteArrayDataThresholdBytes(), coreProperties.getTempDir());
+        List<ExportedColumn> columns = captureColumns(dataGrid, columnFilter);
+        String resourceName = getFileName(dataGrid) + "." + XLSX.getFileExt();
+        return downloader -> exportAllRows(downloader, columns, entitiesLoading, resourceName);
+    }
 
+    /**
+     * Exports all rows using the state captured by {@link #prepareExportAll(Grid, Predicate)}.
+     */
+    protected void exportAllRows(Downloader downloader, List<ExportedColumn> columns,
+                                 Consumer<AllEntitiesLoader.ExportedEntityVisitor> entitiesLoading, String resourceName) {
+        Preconditions.checkNotNullArgument(downloader, "Downloader is null");
 
-            downloader.download(dataProvider, getFileName(dataGrid) + "." + XLSX.getFileExt(), XLSX);
+        createWorkbookWithSheet();
+        try {
+            createFonts();
+            createFormats();
+
+            createHeaderRow(columns.stream()
+                    .map(ExportedColumn::getHeaderText)
+                    .toList());
+
+            entitiesLoading.accept(context -> {
+                if (!checkIsRowNumberExceed(context.getEntityNumber())) {
+                    createRowForEntityInstance(columns, context.getEntityNumber(), context.getEntity());
+                    fireProgress(context.getEntityNumber());
+                    return true;
+                }
+                return false;
+            });
+
+            if (Thread.currentThread().isInterrupted()) {
+                // the export is cancelled
+                return;
+            }
 
+            writeWorkbook(downloader, columns.size(), resourceName);
         } finally {
             disposeWorkBook();
         }
     }
 
-    protected String getColumnHeaderText(DataGrid.Column<?> column) {
+    protected void createHeaderRow(List<String> headerTexts) {
+        Row row = sheet.createRow(0);
+        createAutoColumnSizers(headerTexts.size());
+
+        float maxHeight = sheet.getDefaultRowHeightInPoints();
+
+        CellStyle headerCellStyle = wb.createCellStyle();
+        headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        for (String columnHeaderText : headerTexts) {
+            int countOfReturnSymbols = StringUtils.countMatches(columnHeaderText, "\n");
+            if (countOfReturnSymbols > 0) {
+                maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
+                headerCellStyle.setWrapText(true);
+            }
+        }
+        row.setHeightInPoints(maxHeight);
+
+        for (int c = 0; c < headerTexts.size(); c++) {
+            String columnHeaderText = headerTexts.get(c);
+
+            Cell cell = row.createCell(c);
+            RichTextString richTextString = createStringCellValue(columnHeaderText);
+            richTextString.applyFont(boldFont);
+            cell.setCellValue(richTextString);
+
+            ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
+            sizer.notifyCellValue(columnHeaderText, boldFont);
+            sizers[c] = sizer;
+
+            cell.setCellStyle(headerCellStyle);
+        }
+    }
+
+    protected void createRowForEntityInstance(List<ExportedColumn> columns, int rowNumber, Object entityInstance) {
+        Row row = sheet.createRow(rowNumber);
+        for (int c = 0; c < columns.size(); c++) {
+            Cell cell = row.createCell(c);
+            ExportedColumn column = columns.get(c);
+            formatValueCell(cell, column.getValue(entityInstance), column.getMetaPropertyPath(), c, rowNumber, 0,
+                    null);
+        }
+    }
+
+    protected void writeWorkbook(Downloader downloader, int columnsCount, String resourceName) {
+        for (int c = 0; c < columnsCount; c++) {
+            sheet.setColumnWidth(c, sizers[c].getWidth() * COL_WIDTH_MAGIC);
+        }
+
+        File file = createTempFile();
+        try (OutputStream out = FileUtils.openOutputStream(file)) {
+            wb.write(out);
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(file);
+            throw new RuntimeException("Unable to write document", e);
+        }
+
+        if (isXlsxMaxRowNumberExceeded()) {
+            showWarnNotification();
+        }
+
+        downloadFile(downloader, file, resourceName, XLSX);
+    }
+
+    @Override
+    protected String getColumnHeaderText(Grid.Column<?> column) {
         String headerText = !isHeaderRowAppended(column)
                 ? column.getHeaderText()
                 : getDefaultHeaderText(column);
@@ -613,7 +689,25 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
         return isRowNumberExceeded;
     }
 
+    /**
+     * Shows the notification about skipped rows if the last export exceeded {@link ExcelExporter#MAX_ROW_COUNT}.
+     * Must be invoked in the UI thread, e.g. when the export performed in a background task is done.
+     */
+    public void showMaxRowNumberExceededNotification() {
+        if (isXlsxMaxRowNumberExceeded()) {
+            showWarnNotification();
+        }
+    }
+
     protected void showWarnNotification() {
+        if (UI.getCurrent() == null) {
+            // exported in a background task, the notification is shown by showMaxRowNumberExceededNotification()
+            // in the UI thread
+            log.warn("Exported rows number exceeds the maximum number of rows {}, the rest of rows is skipped",
+                    MAX_ROW_COUNT);
+            return;
+        }
+
         notifications.create(
                         messages.getMessage(getClass(), "maximumRowsNumberExceededWarning.title"),
                         messages.formatMessage(getClass(),
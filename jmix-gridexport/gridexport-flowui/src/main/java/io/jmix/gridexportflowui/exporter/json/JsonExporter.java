@@ -17,6 +17,7 @@
 package io.jmix.gridexportflowui.exporter.json;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import com.vaadin.flow.component.grid.Grid;
 import io.jmix.core.Metadata;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
@@ -25,7 +26,6 @@ import io.jmix.flowui.component.grid.DataGrid;
 import io.jmix.flowui.component.grid.EnhancedDataGrid;
 import io.jmix.flowui.component.grid.TreeDataGrid;
 import io.jmix.flowui.data.grid.ContainerTreeDataGridItems;
-import io.jmix.flowui.download.ByteArrayDownloadDataProvider;
 import io.jmix.flowui.download.DownloadFormat;
 import io.jmix.flowui.download.Downloader;
 import io.jmix.gridexportflowui.action.ExportAction;
@@ -33,14 +33,21 @@ import io.jmix.gridexportflowui.exporter.AbstractDataGridExporter;
 import io.jmix.gridexportflowui.exporter.ExportMode;
 import io.jmix.gridexportflowui.exporter.entitiesloader.AllEntitiesLoader;
 import io.jmix.gridexportflowui.exporter.entitiesloader.AllEntitiesLoaderFactory;
+import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -77,33 +84,107 @@ public class JsonExporter extends AbstractDataGridExporter<JsonExporter> {
     @Override
     public void exportDataGrid(Downloader downloader, Grid<Object> dataGrid, ExportMode exportMode,
                                Predicate<Grid.Column<Object>> columnFilter) {
+        File file = createTempFile();
+        try {
+            writeJsonFile(file, dataGrid, exportMode, columnFilter);
+        } catch (RuntimeException e) {
+            FileUtils.deleteQuietly(file);
+            throw e;
+        }
+
+        if (Thread.currentThread().isInterrupted()) {
+            // the export is cancelled
+            FileUtils.deleteQuietly(file);
+            return;
+        }
+
+        downloadFile(downloader, file, getFileName(dataGrid) + ".json", DownloadFormat.JSON);
+    }
+
+    @Nullable
+    @Override
+    public Consumer<Downloader> prepareExportAll(Grid<Object> dataGrid, Predicate<Grid.Column<Object>> columnFilter) {
+        Consumer<AllEntitiesLoader.ExportedEntityVisitor> entitiesLoading = allEntitiesLoaderFactory.getEntitiesLoader()
+                .prepareLoadAll(((ListDataComponent<?>) dataGrid).getItems());
+        if (entitiesLoading == null) {
+            return null;
+        }
+
+        List<ExportedColumn> columns = captureColumns(dataGrid, columnFilter);
+        String resourceName = getFileName(dataGrid) + ".json";
+        return downloader -> exportAllRows(downloader, columns, entitiesLoading, resourceName);
+    }
+
+    /**
+     * Exports all rows using the state captured by {@link #prepareExportAll(Grid, Predicate)}.
+     */
+    protected void exportAllRows(Downloader downloader, List<ExportedColumn> columns,
+                                 Consumer<AllEntitiesLoader.ExportedEntityVisitor> entitiesLoading,
+                                 String resourceName) {
         Gson gson = createGsonForSerialization();
-        JsonArray jsonElements = new JsonArray();
-
-        if (exportMode == ExportMode.ALL_ROWS) {
-            AllEntitiesLoader entitiesLoader = allEntitiesLoaderFactory.getEntitiesLoader();
-            entitiesLoader.loadAll(((ListDataComponent<?>) dataGrid).getItems(),
-                    context -> {
-                        JsonObject jsonObject = createJsonObjectFromEntity(dataGrid, context.getEntity(), columnFilter);
-                        jsonElements.add(jsonObject);
-                        return true;
-                    });
-        } else {
-            Collection<Object> items = getItems(dataGrid, exportMode);
-
-            for (Object entity : items) {
-                JsonObject jsonObject = createJsonObjectFromEntity(dataGrid, entity, columnFilter);
-                jsonElements.add(jsonObject);
-            }
+        File file = createTempFile();
+
+        try (JsonWriter jsonWriter = gson.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(FileUtils.openOutputStream(file), StandardCharsets.UTF_8)))) {
+            jsonWriter.beginArray();
+
+            entitiesLoading.accept(context -> {
+                gson.toJson(createJsonObjectFromEntity(columns, context.getEntity()), jsonWriter);
+                fireProgress(context.getEntityNumber());
+                return true;
+            });
+
+            jsonWriter.endArray();
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(file);
+            throw new RuntimeException("Unable to write document", e);
+        } catch (RuntimeException e) {
+            FileUtils.deleteQuietly(file);
+            throw e;
         }
 
-        ByteArrayDownloadDataProvider downloadDataProvider = new ByteArrayDownloadDataProvider(
-                gson.toJson(jsonElements).getBytes(StandardCharsets.UTF_8),
-                uiProperties.getSaveExportedByteArrayDataThresholdBytes(),
-                coreProperties.getTempDir()
-        );
+        if (Thread.currentThread().isInterrupted()) {
+            // the export is cancelled
+            FileUtils.deleteQuietly(file);
+            return;
+        }
 
-        downloader.download(downloadDataProvider, getFileName(dataGrid) + ".json", DownloadFormat.JSON);
+        downloadFile(downloader, file, resourceName, DownloadFormat.JSON);
+    }
+
+    /**
+     * Streams the JSON array of exported rows to the file, so only the currently written row is kept in memory.
+     */
+    protected void writeJsonFile(File file, Grid<Object> dataGrid, ExportMode exportMode,
+                                 Predicate<Grid.Column<Object>> columnFilter) {
+        Gson gson = createGsonForSerialization();
+
+        try (JsonWriter jsonWriter = gson.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(FileUtils.openOutputStream(file), StandardCharsets.UTF_8)))) {
+            jsonWriter.beginArray();
+
+            if (exportMode == ExportMode.ALL_ROWS) {
+                AllEntitiesLoader entitiesLoader = allEntitiesLoaderFactory.getEntitiesLoader();
+                entitiesLoader.loadAll(((ListDataComponent<?>) dataGrid).getItems(),
+                        context -> {
+                            JsonObject jsonObject = createJsonObjectFromEntity(dataGrid, context.getEntity(), columnFilter);
+                            gson.toJson(jsonObject, jsonWriter);
+                            fireProgress(context.getEntityNumber());
+                            return true;
+                        });
+            } else {
+                Collection<Object> items = getItems(dataGrid, exportMode);
+
+                for (Object entity : items) {
+                    JsonObject jsonObject = createJsonObjectFromEntity(dataGrid, entity, columnFilter);
+                    gson.toJson(jsonObject, jsonWriter);
+                }
+            }
+
+            jsonWriter.endArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to write document", e);
+        }
     }
 
     protected JsonObject createJsonObjectFromEntity(Grid<Object> dataGrid, Object entity,
@@ -130,6 +211,23 @@ public class JsonExporter extends AbstractDataGridExporter<JsonExporter> {
         return jsonObject;
     }
 
+    protected JsonObject createJsonObjectFromEntity(List<ExportedColumn> columns, Object entity) {
+        JsonObject jsonObject = new JsonObject();
+
+        for (ExportedColumn column : columns) {
+            Object columnValue = column.getValue(entity);
+
+            if (columnValue != null) {
+                jsonObject.add(column.getKey(),
+                        new JsonPrimitive(formatValue(columnValue, column.getMetaPropertyPath())));
+            } else {
+                jsonObject.add(column.getKey(), JsonNull.INSTANCE);
+            }
+        }
+
+        return jsonObject;
+    }
+
     protected Gson createGsonForSerialization() {
         GsonBuilder gsonBuilder = new GsonBuilder();
         if (gsonConfigurer != null) {
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entities_loader
+
+import io.jmix.core.DataManager
+import io.jmix.gridexportflowui.GridExportProperties
+import io.jmix.gridexportflowui.exporter.entitiesloader.AllEntitiesLoader
+import io.jmix.gridexportflowui.exporter.entitiesloader.KeysetAllEntitiesLoader
+import org.springframework.transaction.PlatformTransactionManager
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.UnaryOperator
+
+class BatchesVisitingTest extends Specification {
+
+    KeysetAllEntitiesLoader loader
+
+    def cleanup() {
+        loader?.shutdown()
+    }
+
+    @Unroll
+    def "all batches are visited until the end of data, prefetch batches: #prefetchBatches"() {
+        loader = createLoader(prefetchBatches)
+        def visited = []
+
+        when:
+        loader.visitBatches(batchLoader([[1, 2], [3, 4], [5]]), { context ->
+            visited << [context.entity, context.entityNumber]
+            true
+        } as AllEntitiesLoader.ExportedEntityVisitor)
+
+        then:
+        visited == [[1, 1], [2, 2], [3, 3], [4, 4], [5, 5]]
+        !Thread.currentThread().isInterrupted()
+
+        where:
+        prefetchBatches << [0, 2]
+    }
+
+    @Unroll
+    def "loading error is thrown to the exporting thread, prefetch batches: #prefetchBatches"() {
+        loader = createLoader(prefetchBatches)
+        def error = new IllegalStateException('loading failed')
+        def visited = []
+
+        when:
+        loader.visitBatches({ previous ->
+            if (previous == null) {
+                return [1, 2]
+            }
+            throw error
+        } as UnaryOperator, { context ->
+            visited << context.entity
+            true
+        } as AllEntitiesLoader.ExportedEntityVisitor)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.is(error)
+        visited == [1, 2]
+
+        where:
+        prefetchBatches << [0, 2]
+    }
+
+    def "loading stops when the visitor stops the export"() {
+        loader = createLoader(2)
+        def loadedBatches = new AtomicInteger()
+        def visited = []
+
+        when: "batches are loaded endlessly"
+        loader.visitBatches({ previous ->
+            loadedBatches.incrementAndGet()
+            [1, 2]
+        } as UnaryOperator, { context ->
+            visited << context.entityNumber
+            context.entityNumber < 3
+        } as AllEntitiesLoader.ExportedEntityVisitor)
+        Thread.sleep(200)
+        int loadedAfterStop = loadedBatches.get()
+        Thread.sleep(200)
+
+        then: "at most the prefetched batches and the blocked one are loaded after the visited ones"
+        visited == [1, 2, 3]
+        loadedAfterStop <= 2 + 2 + 1
+        loadedBatches.get() == loadedAfterStop
+    }
+
+    def "export is cancelled when the exporting thread is interrupted"() {
+        loader = createLoader(2)
+        def loadingStarted = new CountDownLatch(1)
+        def loadingInterrupted = new CountDownLatch(1)
+        def exportInterrupted = false
+
+        def exporting = new Thread({
+            loader.visitBatches({ previous ->
+                loadingStarted.countDown()
+                try {
+                    Thread.sleep(60_000)
+                } catch (InterruptedException ignored) {
+                    loadingInterrupted.countDown()
+                }
+                null
+            } as UnaryOperator, { true } as AllEntitiesLoader.ExportedEntityVisitor)
+            exportInterrupted = Thread.currentThread().isInterrupted()
+        })
+
+        when:
+        exporting.start()
+        loadingStarted.await(10, TimeUnit.SECONDS)
+        exporting.interrupt()
+        exporting.join(10_000)
+
+        then:
+        !exporting.alive
+        exportInterrupted
+        loadingInterrupted.await(10, TimeUnit.SECONDS)
+    }
+
+    def "loading error which isn't a runtime exception is thrown to the exporting thread"() {
+        loader = createLoader(1)
+        def error = new AssertionError('loading failed')
+        def visited = []
+
+        when: "the error happens while the queue of prefetched batches is full"
+        loader.visitBatches({ previous ->
+            if (previous == null) {
+                return [1, 2]
+            }
+            throw error
+        } as UnaryOperator, { context ->
+            Thread.sleep(100)
+            visited << context.entity
+            true
+        } as AllEntitiesLoader.ExportedEntityVisitor)
+
+        then:
+        def e = thrown(AssertionError)
+        e.is(error)
+        visited == [1, 2]
+    }
+
+    def "batches are loaded in the exporting thread if all prefetching threads are busy"() {
+        loader = createLoader(2, 1)
+        def loadingStarted = new CountDownLatch(1)
+        def busyLoading = new Thread({
+            loader.visitBatches({ previous ->
+                loadingStarted.countDown()
+                try {
+                    Thread.sleep(60_000)
+                } catch (InterruptedException ignored) {
+                }
+                null
+            } as UnaryOperator, { true } as AllEntitiesLoader.ExportedEntityVisitor)
+        })
+        def loadingThreads = []
+        def visited = []
+
+        when:
+        busyLoading.start()
+        loadingStarted.await(10, TimeUnit.SECONDS)
+        Iterator<List<?>> batches = [[1, 2], [3]].iterator()
+        loader.visitBatches({ previous ->
+            loadingThreads << Thread.currentThread()
+            batches.hasNext() ? batches.next() : null
+        } as UnaryOperator, { context ->
+            visited << context.entity
+            true
+        } as AllEntitiesLoader.ExportedEntityVisitor)
+
+        then:
+        visited == [1, 2, 3]
+        loadingThreads.every { it.is(Thread.currentThread()) }
+
+        cleanup:
+        busyLoading.interrupt()
+        busyLoading.join(10_000)
+    }
+
+    protected KeysetAllEntitiesLoader createLoader(int prefetchBatches, int prefetchThreads = 4) {
+        def properties = new GridExportProperties(2, KeysetAllEntitiesLoader.PAGINATION_STRATEGY, prefetchBatches,
+                prefetchThreads, false, Duration.ofHours(1), null, ['ALL_ROWS'], 'VISIBLE_COLUMNS',
+                new GridExportProperties.ExcelExporterProperties(true))
+        return new KeysetAllEntitiesLoader(null, Stub(DataManager), Stub(PlatformTransactionManager), properties)
+    }
+
+    protected static UnaryOperator<List<?>> batchLoader(List<List<?>> batches) {
+        Iterator<List<?>> iterator = batches.iterator()
+        return { previous -> iterator.hasNext() ? iterator.next() : null } as UnaryOperator
+    }
+}
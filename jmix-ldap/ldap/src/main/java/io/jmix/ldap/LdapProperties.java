@@ -138,6 +138,33 @@ public class LdapProperties {
      */
     List<String> standardAuthenticationUsers;
 
+    /**
+     * LDAP filter selecting user entries during synchronization from the group. Entries which are not members
+     * of the group are skipped.
+     */
+    String synchronizationUserFilter;
+
+    /**
+     * Operational attribute used to detect user entries changed since the previous synchronization, e.g.
+     * modifyTimestamp or uSNChanged for Active Directory. If empty, all users are synchronized every time.
+     */
+    String synchronizationChangeAttribute;
+
+    /**
+     * Page size of LDAP searches performed during user synchronization.
+     */
+    int synchronizationPageSize;
+
+    /**
+     * Number of users saved to the database at once during user synchronization.
+     */
+    int synchronizationBatchSize;
+
+    /**
+     * Number of threads synchronizing batches of users in parallel.
+     */
+    int synchronizationThreadCount;
+
     public LdapProperties(@DefaultValue("true") boolean enabled,
                           @DefaultValue("app") String userDetailsSource,
                           List<String> urls,
@@ -159,7 +186,12 @@ public class LdapProperties {
                           @DefaultValue("true") Boolean synchronizeUserOnLogin,
                           @Nullable List<String> defaultRoles,
                           @DefaultValue({"admin", "system"}) List<String> standardAuthenticationUsers,
-                          String managerReferral) {
+                          String managerReferral,
+                          @DefaultValue("(objectClass=person)") String synchronizationUserFilter,
+                          @DefaultValue("modifyTimestamp") String synchronizationChangeAttribute,
+                          @DefaultValue("500") int synchronizationPageSize,
+                          @DefaultValue("100") int synchronizationBatchSize,
+                          @DefaultValue("4") int synchronizationThreadCount) {
         this.enabled = enabled;
         this.userDetailsSource = userDetailsSource;
         this.urls = urls;
@@ -182,6 +214,11 @@ public class LdapProperties {
         this.defaultRoles = defaultRoles == null ? Collections.emptyList() : defaultRoles;
         this.standardAuthenticationUsers = standardAuthenticationUsers;
         this.managerReferral = managerReferral;
+        this.synchronizationUserFilter = synchronizationUserFilter;
+        this.synchronizationChangeAttribute = synchronizationChangeAttribute;
+        this.synchronizationPageSize = synchronizationPageSize;
+        this.synchronizationBatchSize = synchronizationBatchSize;
+        this.synchronizationThreadCount = synchronizationThreadCount;
     }
 
     public boolean isEnabled() {
@@ -271,5 +308,24 @@ public class LdapProperties {
     public String getManagerReferral() {
         return managerReferral;
     }
-}
 
+    public String getSynchronizationUserFilter() {
+        return synchronizationUserFilter;
+    }
+
+    public String getSynchronizationChangeAttribute() {
+        return synchronizationChangeAttribute;
+    }
+
+    public int getSynchronizationPageSize() {
+        return synchronizationPageSize;
+    }
+
+    public int getSynchronizationBatchSize() {
+        return synchronizationBatchSize;
+    }
+
+    public int getSynchronizationThreadCount() {
+        return synchronizationThreadCount;
+    }
+}
@@ -35,7 +35,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -68,51 +71,17 @@ public abstract class AbstractLdapUserDetailsSynchronizationStrategy<T extends U
     protected RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
 
     @Override
-    @SuppressWarnings("unchecked")
     public UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
                                               Collection<? extends GrantedAuthority> authorities) {
-        T jmixUserDetails;
-        try {
-            jmixUserDetails = (T) userRepository.loadUserByUsername(username);
-        } catch (UsernameNotFoundException e) {
-            log.info("User with login {} wasn't found in user repository", username);
-            jmixUserDetails = createUserDetails(username, ctx);
-        }
-
-        //copy ldap attributes to UserDetails
-        mapUserDetailsAttributes(jmixUserDetails, ctx);
-
-        SaveContext saveContext = new SaveContext();
+        List<RoleAssignmentEntity> existingRoleAssignments = Collections.emptyList();
         if (ldapProperties.getSynchronizeRoleAssignments()) {
-            Set<GrantedAuthority> grantedAuthorities = authoritiesMapper.mapAuthorities(authorities);
-
-            List<RoleAssignmentEntity> existingRoleAssignments = dataManager.load(RoleAssignmentEntity.class)
+            existingRoleAssignments = dataManager.load(RoleAssignmentEntity.class)
                     .query("select e from sec_RoleAssignmentEntity e where e.username = :username")
                     .parameter("username", username)
                     .list();
-            Set<String> existingRoleAssignmentCodes = existingRoleAssignments.stream()
-                    .map(RoleAssignmentEntity::getRoleCode)
-                    .collect(Collectors.toSet());
-
-            Collection<RoleAssignmentEntity> grantedRoleAssignments = buildRoleAssignments(grantedAuthorities, username);
-            Set<String> grantedRoleAssignmentsCodes = grantedRoleAssignments.stream()
-                    .map(RoleAssignmentEntity::getRoleCode)
-                    .collect(Collectors.toSet());
-
-            //remove only existing role assignments that should not be granted
-            List<RoleAssignmentEntity> roleAssignmentsToRemove = existingRoleAssignments.stream()
-                    .filter(roleAssignmentEntity -> !grantedRoleAssignmentsCodes.contains(roleAssignmentEntity.getRoleCode()))
-                    .collect(Collectors.toList());
-
-            //create only non-existing assignments
-            List<RoleAssignmentEntity> roleAssignmentsToCreate = grantedRoleAssignments.stream()
-                    .filter(roleAssignmentEntity -> !existingRoleAssignmentCodes.contains(roleAssignmentEntity.getRoleCode()))
-                    .collect(Collectors.toList());
-
-            saveContext.removing(roleAssignmentsToRemove);
-            saveContext.saving(roleAssignmentsToCreate);
         }
-        saveContext.saving(jmixUserDetails);
+        SaveContext saveContext = new SaveContext();
+        T jmixUserDetails = addUserChanges(saveContext, ctx, username, authorities, existingRoleAssignments);
 
         //persist user details and roles if needed
         dataManager.save(saveContext);
@@ -120,6 +89,172 @@ public abstract class AbstractLdapUserDetailsSynchronizationStrategy<T extends U
         return jmixUserDetails;
     }
 
+    /**
+     * Synchronizes the batch of users. If {@link #synchronizeUserDetails(DirContextOperations, String, Collection)}
+     * is not overridden, role assignments of the whole batch are loaded by one query and the changes of all users
+     * are saved in one transaction. If saving of the batch fails, the users are saved one by one.
+     * <p>
+     * A failure of one user doesn't prevent synchronization of the others; failed users are logged and reported
+     * by an exception after the batch is processed.
+     */
+    @Override
+    public void synchronizeUsers(Collection<LdapUserSynchronizationEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<String> failedUsernames = new ArrayList<>();
+        if (isSynchronizeUserDetailsOverridden()) {
+            // synchronization of a single user is customized, so it's used for each user
+            for (LdapUserSynchronizationEntry entry : entries) {
+                try {
+                    synchronizeUserDetails(entry.getContext(), entry.getUsername(), entry.getAuthorities());
+                } catch (RuntimeException e) {
+                    log.error("Unable to synchronize LDAP user {}", entry.getUsername(), e);
+                    failedUsernames.add(entry.getUsername());
+                }
+            }
+        } else {
+            Map<String, List<RoleAssignmentEntity>> existingRoleAssignments = Collections.emptyMap();
+            if (ldapProperties.getSynchronizeRoleAssignments()) {
+                Set<String> usernames = entries.stream()
+                        .map(LdapUserSynchronizationEntry::getUsername)
+                        .collect(Collectors.toSet());
+                existingRoleAssignments = dataManager.load(RoleAssignmentEntity.class)
+                        .query("select e from sec_RoleAssignmentEntity e where e.username in :usernames")
+                        .parameter("usernames", usernames)
+                        .list().stream()
+                        .collect(Collectors.groupingBy(RoleAssignmentEntity::getUsername));
+            }
+
+            Map<String, SaveContext> userChanges = new LinkedHashMap<>();
+            for (LdapUserSynchronizationEntry entry : entries) {
+                String username = entry.getUsername();
+                try {
+                    SaveContext saveContext = new SaveContext();
+                    addUserChanges(saveContext, entry.getContext(), username, entry.getAuthorities(),
+                            existingRoleAssignments.getOrDefault(username, Collections.emptyList()));
+                    userChanges.put(username, saveContext);
+                } catch (RuntimeException e) {
+                    log.error("Unable to synchronize LDAP user {}", username, e);
+                    failedUsernames.add(username);
+                }
+            }
+            failedUsernames.addAll(saveUserChanges(userChanges));
+        }
+
+        if (!failedUsernames.isEmpty()) {
+            throw new IllegalStateException("Unable to synchronize LDAP users: " + failedUsernames);
+        }
+    }
+
+    /**
+     * Loads the user by {@link UserRepository#loadUserByUsername(String)} or creates a new one, copies LDAP
+     * attributes to it and adds the user and role assignment changes to the save context.
+     *
+     * @return synchronized user details
+     */
+    protected T addUserChanges(SaveContext saveContext, DirContextOperations ctx, String username,
+                               Collection<? extends GrantedAuthority> authorities,
+                               List<RoleAssignmentEntity> existingRoleAssignments) {
+        T jmixUserDetails = loadUserDetails(username, ctx);
+
+        //copy ldap attributes to UserDetails
+        mapUserDetailsAttributes(jmixUserDetails, ctx);
+
+        if (ldapProperties.getSynchronizeRoleAssignments()) {
+            addRoleAssignmentChanges(saveContext, username, authorities, existingRoleAssignments);
+        }
+        saveContext.saving(jmixUserDetails);
+        return jmixUserDetails;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T loadUserDetails(String username, DirContextOperations ctx) {
+        try {
+            return (T) userRepository.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            log.info("User with login {} wasn't found in user repository", username);
+            return createUserDetails(username, ctx);
+        }
+    }
+
+    /**
+     * Saves the changes of all users in one transaction or, if it fails, user by user.
+     *
+     * @param userChanges changes by username
+     * @return usernames of the users which failed to save
+     */
+    protected List<String> saveUserChanges(Map<String, SaveContext> userChanges) {
+        if (userChanges.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        SaveContext batchSaveContext = new SaveContext();
+        for (SaveContext saveContext : userChanges.values()) {
+            batchSaveContext.saving(saveContext.getEntitiesToSave());
+            batchSaveContext.removing(saveContext.getEntitiesToRemove());
+        }
+        try {
+            dataManager.save(batchSaveContext);
+            return Collections.emptyList();
+        } catch (RuntimeException e) {
+            log.warn("Unable to save a batch of {} LDAP users, saving them one by one", userChanges.size(), e);
+        }
+
+        List<String> failedUsernames = new ArrayList<>();
+        userChanges.forEach((username, saveContext) -> {
+            try {
+                dataManager.save(saveContext);
+            } catch (RuntimeException e) {
+                log.error("Unable to save LDAP user {}", username, e);
+                failedUsernames.add(username);
+            }
+        });
+        return failedUsernames;
+    }
+
+    /**
+     * @return whether a subclass customizes synchronization of a single user
+     */
+    protected boolean isSynchronizeUserDetailsOverridden() {
+        try {
+            return getClass().getMethod("synchronizeUserDetails",
+                    DirContextOperations.class, String.class, Collection.class).getDeclaringClass()
+                    != AbstractLdapUserDetailsSynchronizationStrategy.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    protected void addRoleAssignmentChanges(SaveContext saveContext, String username,
+                                            Collection<? extends GrantedAuthority> authorities,
+                                            List<RoleAssignmentEntity> existingRoleAssignments) {
+        Set<GrantedAuthority> grantedAuthorities = authoritiesMapper.mapAuthorities(authorities);
+
+        Set<String> existingRoleAssignmentCodes = existingRoleAssignments.stream()
+                .map(RoleAssignmentEntity::getRoleCode)
+                .collect(Collectors.toSet());
+
+        Collection<RoleAssignmentEntity> grantedRoleAssignments = buildRoleAssignments(grantedAuthorities, username);
+        Set<String> grantedRoleAssignmentsCodes = grantedRoleAssignments.stream()
+                .map(RoleAssignmentEntity::getRoleCode)
+                .collect(Collectors.toSet());
+
+        //remove only existing role assignments that should not be granted
+        List<RoleAssignmentEntity> roleAssignmentsToRemove = existingRoleAssignments.stream()
+                .filter(roleAssignmentEntity -> !grantedRoleAssignmentsCodes.contains(roleAssignmentEntity.getRoleCode()))
+                .collect(Collectors.toList());
+
+        //create only non-existing assignments
+        List<RoleAssignmentEntity> roleAssignmentsToCreate = grantedRoleAssignments.stream()
+                .filter(roleAssignmentEntity -> !existingRoleAssignmentCodes.contains(roleAssignmentEntity.getRoleCode()))
+                .collect(Collectors.toList());
+
+        saveContext.removing(roleAssignmentsToRemove);
+        saveContext.saving(roleAssignmentsToCreate);
+    }
+
     protected Collection<RoleAssignmentEntity> buildRoleAssignments(Collection<GrantedAuthority> grantedAuthorities,
                                                                     String username) {
         List<RoleAssignmentEntity> roleAssignmentEntities = new ArrayList<>();
@@ -25,4 +25,16 @@ import java.util.Collection;
 public interface LdapUserDetailsSynchronizationStrategy {
     UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
                                        Collection<? extends GrantedAuthority> authorities);
+
+    /**
+     * Synchronizes a batch of users. Called by {@link LdapUserSynchronizationManager} from several threads
+     * for different batches. The default implementation synchronizes the users one by one.
+     *
+     * @param entries LDAP entries of the users
+     */
+    default void synchronizeUsers(Collection<LdapUserSynchronizationEntry> entries) {
+        for (LdapUserSynchronizationEntry entry : entries) {
+            synchronizeUserDetails(entry.getContext(), entry.getUsername(), entry.getAuthorities());
+        }
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ldap.userdetails;
+
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * LDAP user entry passed to {@link LdapUserDetailsSynchronizationStrategy#synchronizeUsers(Collection)}.
+ */
+public class LdapUserSynchronizationEntry {
+
+    protected final DirContextOperations context;
+    protected final String username;
+    protected final Collection<? extends GrantedAuthority> authorities;
+
+    public LdapUserSynchronizationEntry(DirContextOperations context, String username,
+                                        Collection<? extends GrantedAuthority> authorities) {
+        this.context = context;
+        this.username = username;
+        this.authorities = authorities;
+    }
+
+    /**
+     * @return the user's full DN and attributes
+     */
+    public DirContextOperations getContext() {
+        return context;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * @return authorities of the user obtained from LDAP
+     */
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
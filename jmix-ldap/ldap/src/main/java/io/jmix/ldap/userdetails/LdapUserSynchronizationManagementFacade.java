@@ -32,4 +32,11 @@ public class LdapUserSynchronizationManagementFacade {
         ldapUserSynchronizationManager.synchronizeUsersFromGroup();
         return "Synchronized successfully";
     }
+
+    @ManagedOperation(description = "Synchronizes all LDAP users from the predefined LDAP group, " +
+            "including the ones not changed since the previous synchronization")
+    public String synchronizeAllUsersFromGroup() {
+        int count = ldapUserSynchronizationManager.synchronizeUsersFromGroup(true);
+        return "Synchronized successfully: " + count + " users";
+    }
 }
@@ -16,25 +16,55 @@
 
 package io.jmix.ldap.userdetails;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.security.SecurityContextHelper;
 import io.jmix.ldap.LdapProperties;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.ldap.NameNotFoundException;
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
+import org.springframework.ldap.core.AttributesMapper;
+import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.SingleContextSource;
+import org.springframework.ldap.filter.AndFilter;
+import org.springframework.ldap.filter.GreaterThanOrEqualsFilter;
+import org.springframework.ldap.filter.HardcodedFilter;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.ldap.LdapUtils;
 import org.springframework.security.ldap.search.LdapUserSearch;
 import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
 
+import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
-import java.util.Collection;
-import java.util.Collections;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.SearchControls;
+import javax.naming.ldap.LdapName;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
+/**
+ * Synchronizes users of the LDAP group defined by {@link LdapProperties#getGroupForSynchronization()}.
+ * <p>
+ * Group members are read with range retrieval if the directory returns the member attribute in ranges.
+ * User entries are read by paged searches and synchronized in batches in parallel. After a successful
+ * synchronization, the greatest value of the {@link LdapProperties#getSynchronizationChangeAttribute() change
+ * attribute} is remembered, and the next synchronization reads only the users changed since then and the new
+ * members of the group.
+ */
 public class LdapUserSynchronizationManager {
 
     private static final Logger log = LoggerFactory.getLogger(LdapUserSynchronizationManager.class);
 
+    protected static final String RANGE_OPTION = ";range=";
+
     protected String groupDn;
 
     protected LdapTemplate ldapTemplate;
@@ -49,6 +79,22 @@ public class LdapUserSynchronizationManager {
 
     protected LdapAuthoritiesPopulator authoritiesPopulator;
 
+    protected String userSearchBase = "";
+
+    protected String userFilter = "(objectClass=person)";
+
+    protected String changeAttribute = "modifyTimestamp";
+
+    protected int pageSize = 500;
+
+    protected int batchSize = 100;
+
+    protected int threadCount = 4;
+
+    // state of the last successful synchronization, guarded by "this"
+    protected String changeWatermark;
+    protected Set<LdapName> synchronizedMembers;
+
     @Autowired(required = false)
     public void setSynchronizationStrategy(LdapUserDetailsSynchronizationStrategy synchronizationStrategy) {
         this.synchronizationStrategy = synchronizationStrategy;
@@ -59,6 +105,12 @@ public class LdapUserSynchronizationManager {
         this.groupDn = ldapProperties.getGroupForSynchronization();
         this.memberAttribute = ldapProperties.getMemberAttribute();
         this.usernameAttribute = ldapProperties.getUsernameAttribute();
+        this.userSearchBase = ldapProperties.getUserSearchBase();
+        this.userFilter = ldapProperties.getSynchronizationUserFilter();
+        this.changeAttribute = ldapProperties.getSynchronizationChangeAttribute();
+        this.pageSize = ldapProperties.getSynchronizationPageSize();
+        this.batchSize = ldapProperties.getSynchronizationBatchSize();
+        this.threadCount = ldapProperties.getSynchronizationThreadCount();
     }
 
     @Autowired
@@ -68,12 +120,28 @@ public class LdapUserSynchronizationManager {
 
     /**
      * Obtains LDAP users from the given group and synchronize them using the {@link #synchronizationStrategy}.
+     * Only the users changed since the previous synchronization are processed if possible.
      *
      * @throws IllegalArgumentException when LDAP group for synchronization is not set or
      *                                  group does not contain any users.
      * @throws IllegalStateException    when LdapUserDetailsSynchronizationStrategy bean is not found.
      */
     public void synchronizeUsersFromGroup() {
+        synchronizeUsersFromGroup(false);
+    }
+
+    /**
+     * Obtains LDAP users from the given group and synchronize them using the {@link #synchronizationStrategy}.
+     *
+     * @param fullSynchronization whether to synchronize all members of the group, otherwise only the users
+     *                            changed since the previous synchronization and new members are processed
+     * @return number of synchronized users
+     * @throws IllegalArgumentException when LDAP group for synchronization is not set or
+     *                                  group does not contain any users.
+     * @throws IllegalStateException    when LdapUserDetailsSynchronizationStrategy bean is not found
+     *                                  or some users failed to synchronize.
+     */
+    public synchronized int synchronizeUsersFromGroup(boolean fullSynchronization) {
         if (groupDn == null) {
             throw new IllegalArgumentException("LDAP group for synchronization is not set in application properties");
         }
@@ -81,24 +149,212 @@ public class LdapUserSynchronizationManager {
             throw new IllegalStateException("LdapUserDetailsSynchronizationStrategy bean is not found");
         }
 
-        String groupRelativeDn = getRelativeDn(groupDn);
-        DirContextOperations groupDirContextOperations = ldapTemplate.lookupContext(groupRelativeDn);
-        String[] groupMembers = groupDirContextOperations.getStringAttributes(memberAttribute);
-
-        if (groupMembers == null || groupMembers.length == 0) {
+        Set<LdapName> groupMembers = readGroupMembers(getRelativeDn(groupDn));
+        if (groupMembers.isEmpty()) {
             throw new IllegalArgumentException("No users found in the group: " + groupDn);
-        } else {
-            for (String userDn : groupMembers) {
-                String relativeName = getRelativeDn(userDn);
-                DirContextOperations dirContextOperations = ldapTemplate.lookupContext(relativeName);
-                String username = dirContextOperations.getStringAttribute(usernameAttribute);
-                Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
-                if (authoritiesPopulator != null) {
-                    authorities = authoritiesPopulator.getGrantedAuthorities(dirContextOperations, username);
+        }
+
+        boolean incremental = !fullSynchronization && changeWatermark != null && synchronizedMembers != null;
+        log.info("Starting {} synchronization of {} LDAP group members",
+                incremental ? "incremental" : "full", groupMembers.size());
+
+        UserBatchProcessor batchProcessor = new UserBatchProcessor();
+        try {
+            Set<LdapName> foundMembers = new HashSet<>();
+            String newWatermark = searchUsers(incremental ? changeWatermark : null, ctx -> {
+                LdapName dn = org.springframework.ldap.support.LdapUtils.newLdapName(ctx.getNameInNamespace());
+                if (groupMembers.contains(dn) && foundMembers.add(dn)) {
+                    batchProcessor.add(ctx);
+                }
+            });
+
+            // members outside the user search base are not found by the search; in the incremental mode, members
+            // added to the group are not necessarily changed themselves
+            for (LdapName dn : groupMembers) {
+                if (foundMembers.contains(dn) || incremental && synchronizedMembers.contains(dn)) {
+                    continue;
+                }
+                DirContextOperations ctx = lookupMember(dn);
+                if (ctx != null) {
+                    batchProcessor.add(ctx);
+                }
+            }
+
+            int synchronizedCount = batchProcessor.finish();
+
+            synchronizedMembers = groupMembers;
+            if (StringUtils.isNotBlank(changeAttribute)) {
+                changeWatermark = maxWatermark(changeWatermark, newWatermark);
+            }
+            log.info("Synchronized {} LDAP users", synchronizedCount);
+            return synchronizedCount;
+        } finally {
+            batchProcessor.shutdown();
+        }
+    }
+
+    /**
+     * Reads the entry of a group member which is not found by the user search.
+     *
+     * @return the member entry or null if it doesn't exist
+     */
+    @Nullable
+    protected DirContextOperations lookupMember(LdapName dn) {
+        try {
+            return ldapTemplate.lookupContext(getRelativeDn(dn.toString()));
+        } catch (NameNotFoundException e) {
+            log.warn("Member {} of the LDAP group {} is not found, skipping it", dn, groupDn);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the DNs of the group members. If the directory returns the member attribute in ranges (e.g. Active
+     * Directory for large groups), all ranges are requested one after another.
+     */
+    protected Set<LdapName> readGroupMembers(String groupRelativeDn) {
+        Set<LdapName> members = new HashSet<>();
+        String requestedAttribute = memberAttribute;
+        while (true) {
+            Attributes attributes = ldapTemplate.lookup(groupRelativeDn, new String[]{requestedAttribute},
+                    (AttributesMapper<Attributes>) attrs -> attrs);
+            Attribute attribute = findMemberAttribute(attributes);
+            if (attribute == null) {
+                break;
+            }
+            try {
+                NamingEnumeration<?> values = attribute.getAll();
+                while (values.hasMore()) {
+                    members.add(org.springframework.ldap.support.LdapUtils.newLdapName(values.next().toString()));
+                }
+            } catch (NamingException e) {
+                throw org.springframework.ldap.support.LdapUtils.convertLdapException(e);
+            }
+
+            String rangeEnd = getRangeEnd(attribute.getID());
+            if (rangeEnd == null || "*".equals(rangeEnd)) {
+                break;
+            }
+            requestedAttribute = memberAttribute + RANGE_OPTION + (Long.parseLong(rangeEnd) + 1) + "-*";
+        }
+        return members;
+    }
+
+    @Nullable
+    protected Attribute findMemberAttribute(Attributes attributes) {
+        try {
+            NamingEnumeration<? extends Attribute> all = attributes.getAll();
+            while (all.hasMore()) {
+                Attribute attribute = all.next();
+                String id = attribute.getID();
+                if (id.equalsIgnoreCase(memberAttribute)
+                        || StringUtils.startsWithIgnoreCase(id, memberAttribute + RANGE_OPTION)) {
+                    return attribute;
                 }
-                synchronizationStrategy.synchronizeUserDetails(dirContextOperations, username, authorities);
             }
+            return null;
+        } catch (NamingException e) {
+            throw org.springframework.ldap.support.LdapUtils.convertLdapException(e);
+        }
+    }
+
+    /**
+     * @param attributeId attribute id with options, e.g. {@code member;range=0-1499}
+     * @return the end of the range, {@code *} for the last range, or null if the attribute is not ranged
+     */
+    @Nullable
+    protected String getRangeEnd(String attributeId) {
+        int rangeIndex = StringUtils.indexOfIgnoreCase(attributeId, RANGE_OPTION);
+        if (rangeIndex < 0) {
+            return null;
+        }
+        return StringUtils.substringAfter(attributeId.substring(rangeIndex + RANGE_OPTION.length()), "-");
+    }
+
+    /**
+     * Searches for user entries page by page over a single connection.
+     *
+     * @param watermark if not null, only entries changed since the watermark are returned
+     * @param consumer  receives found entries
+     * @return the greatest value of the change attribute among the found entries
+     */
+    @Nullable
+    protected String searchUsers(@Nullable String watermark,
+                                 Consumer<DirContextOperations> consumer) {
+        String filter = userFilter;
+        if (watermark != null) {
+            filter = new AndFilter()
+                    .and(new HardcodedFilter(userFilter))
+                    .and(new GreaterThanOrEqualsFilter(changeAttribute, watermark))
+                    .encode();
+        }
+
+        SearchControls searchControls = new SearchControls();
+        searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        if (StringUtils.isNotBlank(changeAttribute)) {
+            // operational attributes are returned only on request
+            searchControls.setReturningAttributes(new String[]{"*", changeAttribute});
+        }
+
+        String searchFilter = filter;
+        return SingleContextSource.doWithSingleContext(ldapTemplate.getContextSource(), operations -> {
+            PagedResultsDirContextProcessor processor = new PagedResultsDirContextProcessor(pageSize);
+            String maxWatermark = null;
+            do {
+                List<DirContextOperations> page = operations.search(userSearchBase, searchFilter, searchControls,
+                        (ContextMapper<DirContextOperations>) ctx -> (DirContextOperations) ctx, processor);
+                for (DirContextOperations ctx : page) {
+                    if (StringUtils.isNotBlank(changeAttribute)) {
+                        maxWatermark = maxWatermark(maxWatermark, ctx.getStringAttribute(changeAttribute));
+                    }
+                    consumer.accept(ctx);
+                }
+            } while (processor.hasMore());
+            return maxWatermark;
+        });
+    }
+
+    @Nullable
+    protected String maxWatermark(@Nullable String watermark1, @Nullable String watermark2) {
+        if (watermark1 == null) {
+            return watermark2;
+        }
+        if (watermark2 == null) {
+            return watermark1;
+        }
+        int result;
+        if (StringUtils.isNumeric(watermark1) && StringUtils.isNumeric(watermark2)) {
+            // e.g. uSNChanged
+            result = Long.compare(Long.parseLong(watermark1), Long.parseLong(watermark2));
+        } else {
+            // generalized time is ordered lexicographically
+            result = watermark1.compareTo(watermark2);
+        }
+        return result >= 0 ? watermark1 : watermark2;
+    }
+
+    /**
+     * Synchronizes a batch of users using the {@link #synchronizationStrategy}.
+     *
+     * @return number of synchronized users
+     */
+    protected int synchronizeBatch(List<DirContextOperations> batch) {
+        List<LdapUserSynchronizationEntry> entries = new ArrayList<>(batch.size());
+        for (DirContextOperations dirContextOperations : batch) {
+            String username = dirContextOperations.getStringAttribute(usernameAttribute);
+            if (username == null) {
+                log.warn("LDAP entry {} has no {} attribute, skipping it",
+                        dirContextOperations.getNameInNamespace(), usernameAttribute);
+                continue;
+            }
+            Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
+            if (authoritiesPopulator != null) {
+                authorities = authoritiesPopulator.getGrantedAuthorities(dirContextOperations, username);
+            }
+            entries.add(new LdapUserSynchronizationEntry(dirContextOperations, username, authorities));
         }
+        synchronizationStrategy.synchronizeUsers(entries);
+        return entries.size();
     }
 
     /**
@@ -127,4 +383,78 @@ public class LdapUserSynchronizationManager {
     public void setUsernameAttribute(String usernameAttribute) {
         this.usernameAttribute = usernameAttribute;
     }
+
+    /**
+     * Collects found users into batches and synchronizes the batches on a pool of threads. When all threads are
+     * busy, the batch is synchronized by the calling thread, which also limits the number of entries kept in memory.
+     */
+    protected class UserBatchProcessor {
+
+        protected final ExecutorService executor;
+        protected final List<Future<Integer>> futures = new ArrayList<>();
+        protected final Authentication authentication = SecurityContextHelper.getAuthentication();
+        protected List<DirContextOperations> batch = new ArrayList<>();
+
+        public UserBatchProcessor() {
+            this.executor = new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threadCount),
+                    new ThreadFactoryBuilder().setNameFormat("ldap-user-sync-%d").setDaemon(true).build(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        public void add(DirContextOperations dirContextOperations) {
+            batch.add(dirContextOperations);
+            if (batch.size() >= batchSize) {
+                submit();
+            }
+        }
+
+        protected void submit() {
+            List<DirContextOperations> currentBatch = batch;
+            batch = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+                SecurityContextHelper.setAuthentication(authentication);
+                try {
+                    return synchronizeBatch(currentBatch);
+                } finally {
+                    SecurityContextHelper.setAuthentication(previousAuthentication);
+                }
+            }));
+        }
+
+        /**
+         * Synchronizes the remaining users and waits for all batches.
+         *
+         * @return number of synchronized users
+         */
+        public int finish() {
+            if (!batch.isEmpty()) {
+                submit();
+            }
+            int synchronizedCount = 0;
+            int failedBatches = 0;
+            for (Future<Integer> future : futures) {
+                try {
+                    synchronizedCount += future.get();
+                } catch (ExecutionException e) {
+                    failedBatches++;
+                    log.error("Unable to synchronize a batch of LDAP users", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("LDAP user synchronization interrupted", e);
+                }
+            }
+            if (failedBatches > 0) {
+                throw new IllegalStateException(String.format(
+                        "%d batches of LDAP users failed to synchronize, %d users synchronized",
+                        failedBatches, synchronizedCount));
+            }
+            return synchronizedCount;
+        }
+
+        public void shutdown() {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package user_synchronization;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchEntry;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
+import com.unboundid.ldap.sdk.*;
+import com.unboundid.ldap.sdk.controls.SimplePagedResultsControl;
+import io.jmix.ldap.LdapProperties;
+import io.jmix.ldap.userdetails.LdapUserDetailsSynchronizationStrategy;
+import io.jmix.ldap.userdetails.LdapUserSynchronizationManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.LdapContextSource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LdapUserSynchronizationManagerTest {
+
+    static final String BASE_DN = "dc=jmix,dc=io";
+    static final String GROUP_DN = "cn=sync,ou=groups," + BASE_DN;
+
+    InMemoryDirectoryServer server;
+    MemberRangeInterceptor interceptor;
+    RecordingSynchronizationStrategy synchronizationStrategy;
+    LdapUserSynchronizationManager synchronizationManager;
+
+    @BeforeEach
+    protected void setup() throws LDAPException {
+        interceptor = new MemberRangeInterceptor(2);
+
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE_DN);
+        config.setListenerConfigs(InMemoryListenerConfig.createLDAPConfig("default", 0));
+        config.addInMemoryOperationInterceptor(interceptor);
+        server = new InMemoryDirectoryServer(config);
+
+        server.add("dn: " + BASE_DN, "objectClass: top", "objectClass: domain", "dc: jmix");
+        server.add("dn: ou=people," + BASE_DN, "objectClass: top", "objectClass: organizationalUnit", "ou: people");
+        server.add("dn: ou=groups," + BASE_DN, "objectClass: top", "objectClass: organizationalUnit", "ou: groups");
+        for (int i = 1; i <= 6; i++) {
+            server.add("dn: " + userDn(i), "objectClass: top", "objectClass: person", "objectClass: inetOrgPerson",
+                    "uid: user" + i, "cn: User " + i, "sn: User" + i);
+        }
+        server.add(new Entry(GROUP_DN,
+                new Attribute("objectClass", "top", "groupOfUniqueNames"),
+                new Attribute("cn", "sync"),
+                new Attribute("uniqueMember", userDn(1), userDn(2), userDn(3), userDn(4), userDn(5))));
+        server.startListening();
+
+        LdapContextSource contextSource = new LdapContextSource();
+        contextSource.setUrl("ldap://localhost:" + server.getListenPort());
+        contextSource.setBase(BASE_DN);
+        contextSource.setAnonymousReadOnly(true);
+        contextSource.afterPropertiesSet();
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("jmix.ldap.group-for-synchronization", GROUP_DN);
+        properties.put("jmix.ldap.user-search-base", "ou=people");
+        properties.put("jmix.ldap.synchronization-page-size", "4");
+        properties.put("jmix.ldap.synchronization-batch-size", "2");
+        properties.put("jmix.ldap.synchronization-thread-count", "2");
+        LdapProperties ldapProperties = new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("jmix.ldap", LdapProperties.class);
+
+        synchronizationStrategy = new RecordingSynchronizationStrategy();
+
+        synchronizationManager = new LdapUserSynchronizationManager();
+        synchronizationManager.setLdapProperties(ldapProperties);
+        synchronizationManager.setLdapTemplate(new LdapTemplate(contextSource));
+        synchronizationManager.setSynchronizationStrategy(synchronizationStrategy);
+    }
+
+    @AfterEach
+    protected void cleanup() {
+        server.shutDown(true);
+    }
+
+    @Test
+    public void groupMembersAreReadInRangesAndUsersInPages() {
+        int synchronizedCount = synchronizationManager.synchronizeUsersFromGroup(true);
+
+        assertEquals(5, synchronizedCount);
+        assertEquals(Set.of("user1", "user2", "user3", "user4", "user5"), synchronizationStrategy.usernames.keySet());
+        // members 1-2, 3-4 and 5
+        assertEquals(3, interceptor.groupLookups.get());
+        // 6 users by 4
+        assertEquals(2, interceptor.pagedSearches.get());
+    }
+
+    @Test
+    public void incrementalSynchronizationReadsChangedUsersAndNewMembers() throws Exception {
+        // make user1 the last changed entry, the watermark of the first synchronization
+        Thread.sleep(10);
+        server.modify(userDn(1), new Modification(ModificationType.REPLACE, "description", "changed"));
+        Thread.sleep(10);
+
+        synchronizationManager.synchronizeUsersFromGroup(false);
+        synchronizationStrategy.usernames.clear();
+
+        Thread.sleep(10);
+        server.modify(userDn(3), new Modification(ModificationType.REPLACE, "description", "changed"));
+        server.modify(GROUP_DN, new Modification(ModificationType.ADD, "uniqueMember", userDn(6)));
+
+        int synchronizedCount = synchronizationManager.synchronizeUsersFromGroup(false);
+
+        // the watermark is inclusive, so the entry which defined it is read again
+        assertEquals(3, synchronizedCount);
+        assertEquals(Set.of("user1", "user3", "user6"), synchronizationStrategy.usernames.keySet());
+    }
+
+    @Test
+    public void fullSynchronizationIgnoresWatermark() {
+        synchronizationManager.synchronizeUsersFromGroup(false);
+        synchronizationStrategy.usernames.clear();
+
+        int synchronizedCount = synchronizationManager.synchronizeUsersFromGroup(true);
+
+        assertEquals(5, synchronizedCount);
+        assertEquals(Set.of("user1", "user2", "user3", "user4", "user5"), synchronizationStrategy.usernames.keySet());
+    }
+
+    static String userDn(int i) {
+        return "uid=user" + i + ",ou=people," + BASE_DN;
+    }
+
+    static class RecordingSynchronizationStrategy implements LdapUserDetailsSynchronizationStrategy {
+
+        final Map<String, Boolean> usernames = new ConcurrentHashMap<>();
+
+        @Override
+        public UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
+                                                  Collection<? extends GrantedAuthority> authorities) {
+            usernames.put(username, true);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the member attribute of groups in ranges the way Active Directory does for large groups, and counts
+     * group lookups and paged searches.
+     */
+    static class MemberRangeInterceptor extends InMemoryOperationInterceptor {
+
+        static final String MEMBER_ATTRIBUTE = "uniqueMember";
+        static final String RANGE_OPTION = ";range=";
+
+        final int rangeSize;
+        final Map<Integer, Integer> rangeStarts = new ConcurrentHashMap<>();
+        final AtomicInteger groupLookups = new AtomicInteger();
+        final AtomicInteger pagedSearches = new AtomicInteger();
+
+        MemberRangeInterceptor(int rangeSize) {
+            this.rangeSize = rangeSize;
+        }
+
+        @Override
+        public void processSearchRequest(InMemoryInterceptedSearchRequest request) throws LDAPException {
+            ReadOnlySearchRequest searchRequest = request.getRequest();
+            if (searchRequest.hasControl(SimplePagedResultsControl.PAGED_RESULTS_OID)) {
+                pagedSearches.incrementAndGet();
+            }
+            if (new DN(searchRequest.getBaseDN()).equals(new DN(GROUP_DN))) {
+                groupLookups.incrementAndGet();
+            }
+
+            List<String> attributes = new ArrayList<>();
+            for (String attribute : searchRequest.getAttributeList()) {
+                String prefix = MEMBER_ATTRIBUTE + RANGE_OPTION;
+                if (attribute.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                    String range = attribute.substring(prefix.length());
+                    rangeStarts.put(request.getMessageID(), Integer.parseInt(range.substring(0, range.indexOf('-'))));
+                    attributes.add(MEMBER_ATTRIBUTE);
+                } else {
+                    attributes.add(attribute);
+                }
+            }
+            SearchRequest modifiedRequest = searchRequest.duplicate();
+            modifiedRequest.setAttributes(attributes);
+            request.setRequest(modifiedRequest);
+        }
+
+        @Override
+        public void processSearchEntry(InMemoryInterceptedSearchEntry searchEntry) {
+            Entry entry = searchEntry.getSearchEntry().duplicate();
+            Attribute members = entry.getAttribute(MEMBER_ATTRIBUTE);
+            if (members == null) {
+                return;
+            }
+
+            List<String> values = new ArrayList<>(Arrays.asList(members.getValues()));
+            Collections.sort(values);
+            int start = rangeStarts.getOrDefault(searchEntry.getMessageID(), 0);
+            int end = Math.min(start + rangeSize, values.size());
+
+            entry.removeAttribute(MEMBER_ATTRIBUTE);
+            entry.addAttribute(new Attribute(
+                    MEMBER_ATTRIBUTE + RANGE_OPTION + start + "-" + (end == values.size() ? "*" : end - 1),
+                    values.subList(start, end)));
+            searchEntry.setSearchEntry(entry);
+        }
+    }
+}
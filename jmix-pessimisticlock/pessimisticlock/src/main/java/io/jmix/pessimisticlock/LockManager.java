@@ -21,6 +21,7 @@ import io.jmix.pessimisticlock.entity.LockNotSupported;
 import org.springframework.lang.Nullable;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 public interface LockManager {
 
@@ -81,6 +82,19 @@ public interface LockManager {
      */
     Collection<LockInfo> getCurrentLocks();
 
+    /**
+     * Collection of current locks of objects with the given name
+     *
+     * @param name     locking object name
+     * @param username user holding the locks or null to return locks of all users
+     */
+    default Collection<LockInfo> getCurrentLocks(String name, @Nullable String username) {
+        return getCurrentLocks().stream()
+                .filter(lockInfo -> name.equals(lockInfo.getObjectType()))
+                .filter(lockInfo -> username == null || username.equals(lockInfo.getUsername()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Process locks expiring. All expired locks will be removed.
      */
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock;
+
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Storage of pessimistic locks used by {@link LockManager}. Implementations must be thread-safe.
+ * <p>
+ * By default, locks are kept by {@link io.jmix.pessimisticlock.impl.CacheLockStore} which is safe to use in a cluster. Single-instance
+ * applications can replace it with {@link io.jmix.pessimisticlock.impl.InMemoryLockStore} by defining a bean with the
+ * {@code pslock_LockStore} name.
+ */
+public interface LockStore {
+
+    /**
+     * Stores the lock if the object is not locked yet.
+     *
+     * @param lockInfo  lock to store
+     * @param expiresAt time after which the lock is removed by {@link #removeExpired(Date)}, or null if the lock
+     *                  doesn't expire
+     * @return null if the lock is stored, or the existing lock of the object
+     */
+    @Nullable
+    LockInfo putIfAbsent(LockInfo lockInfo, @Nullable Date expiresAt);
+
+    /**
+     * @return lock of the object or null if the object is not locked
+     */
+    @Nullable
+    LockInfo get(String objectType, String objectId);
+
+    /**
+     * Removes the lock of the object.
+     *
+     * @return true if the object was locked
+     */
+    boolean remove(String objectType, String objectId);
+
+    /**
+     * @return all locks
+     */
+    Collection<LockInfo> getAll();
+
+    /**
+     * @param objectType type of locked objects
+     * @param username   user holding the locks or null to return locks of all users
+     * @return locks of objects of the type
+     */
+    Collection<LockInfo> getByObjectType(String objectType, @Nullable String username);
+
+    /**
+     * @return types of locked objects
+     */
+    Set<String> getObjectTypes();
+
+    /**
+     * Removes all locks of objects of the type.
+     *
+     * @return number of removed locks
+     */
+    int removeByObjectType(String objectType);
+
+    /**
+     * Removes the locks which expiration time is before the given time.
+     *
+     * @return removed locks
+     */
+    Collection<LockInfo> removeExpired(Date now);
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.core.CacheOperations;
+import io.jmix.core.cluster.ClusterApplicationEvent;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.pessimisticlock.LockManager;
+import io.jmix.pessimisticlock.LockStore;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * {@link LockStore} keeping locks in the {@link LockManager#LOCKS_CACHE_NAME} cache. If the cache is distributed,
+ * locks are shared by all application instances of a cluster.
+ * <p>
+ * The cache is the only source of lock ownership, so {@link #putIfAbsent(LockInfo, Date)} is atomic cluster-wide.
+ * Each instance additionally keeps an {@link InMemoryLockStore} index of all locks which is updated by cluster
+ * events and used for the queries and expiration, so the cache is never iterated after startup.
+ */
+@Component("pslock_LockStore")
+public class CacheLockStore implements LockStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheLockStore.class);
+
+    protected final CacheManager cacheManager;
+    protected final CacheOperations cacheOperations;
+    protected final ClusterApplicationEventPublisher clusterEventPublisher;
+
+    protected final InMemoryLockStore index = new InMemoryLockStore();
+
+    protected Cache locks;
+
+    public CacheLockStore(CacheManager cacheManager,
+                          CacheOperations cacheOperations,
+                          ClusterApplicationEventPublisher clusterEventPublisher) {
+        this.cacheManager = cacheManager;
+        this.cacheOperations = cacheOperations;
+        this.clusterEventPublisher = clusterEventPublisher;
+    }
+
+    @PostConstruct
+    protected void init() {
+        locks = cacheManager.getCache(LockManager.LOCKS_CACHE_NAME);
+        if (locks == null) {
+            throw new IllegalStateException(String.format("Unable to find cache: %s", LockManager.LOCKS_CACHE_NAME));
+        }
+        if (cacheOperations.isIterableCache(locks)) {
+            for (Object value : cacheOperations.getValues(locks)) {
+                StoredLock storedLock = toStoredLock(value);
+                if (storedLock != null) {
+                    index.put(storedLock.getLockInfo(), storedLock.getExpiresAt());
+                }
+            }
+        } else {
+            log.debug("Locks created before startup are unknown: cache provider is not iterable");
+        }
+    }
+
+    @Nullable
+    @Override
+    public LockInfo putIfAbsent(LockInfo lockInfo, @Nullable Date expiresAt) {
+        LockManagerImpl.LockKey key = new LockManagerImpl.LockKey(lockInfo.getObjectType(), lockInfo.getObjectId());
+        Cache.ValueWrapper existing = locks.putIfAbsent(key, new StoredLock(lockInfo, expiresAt));
+        if (existing != null) {
+            StoredLock storedLock = toStoredLock(existing.get());
+            if (storedLock != null) {
+                return storedLock.getLockInfo();
+            }
+            // unknown value, take the lock over
+            locks.put(key, new StoredLock(lockInfo, expiresAt));
+        }
+        index.put(lockInfo, expiresAt);
+        clusterEventPublisher.publish(new LockChangedEvent(this, lockInfo, expiresAt, false));
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public LockInfo get(String objectType, String objectId) {
+        Cache.ValueWrapper wrapper = locks.get(new LockManagerImpl.LockKey(objectType, objectId));
+        StoredLock storedLock = wrapper != null ? toStoredLock(wrapper.get()) : null;
+        return storedLock != null ? storedLock.getLockInfo() : null;
+    }
+
+    @Override
+    public boolean remove(String objectType, String objectId) {
+        LockManagerImpl.LockKey key = new LockManagerImpl.LockKey(objectType, objectId);
+        Cache.ValueWrapper wrapper = locks.get(key);
+        StoredLock storedLock = wrapper != null ? toStoredLock(wrapper.get()) : null;
+        boolean removed = locks.evictIfPresent(key);
+        index.remove(objectType, objectId);
+        if (removed && storedLock != null) {
+            clusterEventPublisher.publish(new LockChangedEvent(this, storedLock.getLockInfo(), null, true));
+        }
+        return removed;
+    }
+
+    @Override
+    public Collection<LockInfo> getAll() {
+        return index.getAll();
+    }
+
+    @Override
+    public Collection<LockInfo> getByObjectType(String objectType, @Nullable String username) {
+        return index.getByObjectType(objectType, username);
+    }
+
+    @Override
+    public Set<String> getObjectTypes() {
+        return index.getObjectTypes();
+    }
+
+    @Override
+    public int removeByObjectType(String objectType) {
+        int count = 0;
+        for (LockInfo lockInfo : index.getByObjectType(objectType, null)) {
+            if (remove(objectType, lockInfo.getObjectId())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Collection<LockInfo> removeExpired(Date now) {
+        List<LockInfo> removed = new ArrayList<>();
+        for (LockInfo lockInfo : index.removeExpired(now)) {
+            LockManagerImpl.LockKey key = new LockManagerImpl.LockKey(lockInfo.getObjectType(), lockInfo.getObjectId());
+            Cache.ValueWrapper wrapper = locks.get(key);
+            StoredLock storedLock = wrapper != null ? toStoredLock(wrapper.get()) : null;
+            // the object may be already unlocked and locked again, possibly by another instance
+            if (storedLock != null && storedLock.getLockInfo().getId().equals(lockInfo.getId())) {
+                locks.evict(key);
+                clusterEventPublisher.publish(new LockChangedEvent(this, lockInfo, null, true));
+                removed.add(lockInfo);
+            }
+        }
+        return removed;
+    }
+
+    @EventListener
+    public void onLockChanged(LockChangedEvent event) {
+        LockInfo lockInfo = event.getLockInfo();
+        if (event.isRemoved()) {
+            index.remove(lockInfo.getObjectType(), lockInfo.getObjectId(), lockInfo.getId());
+        } else {
+            index.put(lockInfo, event.getExpiresAt());
+        }
+    }
+
+    @Nullable
+    protected StoredLock toStoredLock(@Nullable Object value) {
+        if (value instanceof StoredLock storedLock) {
+            return storedLock;
+        } else if (value instanceof LockInfo lockInfo) {
+            // stored before the expiration time was kept with the lock
+            return new StoredLock(lockInfo, null);
+        }
+        return null;
+    }
+
+    /**
+     * Value of the locks cache.
+     */
+    public static class StoredLock implements Serializable {
+
+        private static final long serialVersionUID = 4316602497301427126L;
+
+        private final LockInfo lockInfo;
+        private final Date expiresAt;
+
+        public StoredLock(LockInfo lockInfo, @Nullable Date expiresAt) {
+            this.lockInfo = lockInfo;
+            this.expiresAt = expiresAt;
+        }
+
+        public LockInfo getLockInfo() {
+            return lockInfo;
+        }
+
+        @Nullable
+        public Date getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    /**
+     * Event published to all application instances of a cluster when a lock is stored or removed.
+     */
+    public static class LockChangedEvent extends ClusterApplicationEvent {
+
+        protected LockInfo lockInfo;
+        protected Date expiresAt;
+        protected boolean removed;
+
+        public LockChangedEvent(Object source, LockInfo lockInfo, @Nullable Date expiresAt, boolean removed) {
+            super(source);
+            this.lockInfo = lockInfo;
+            this.expiresAt = expiresAt;
+            this.removed = removed;
+        }
+
+        public LockInfo getLockInfo() {
+            return lockInfo;
+        }
+
+        @Nullable
+        public Date getExpiresAt() {
+            return expiresAt;
+        }
+
+        public boolean isRemoved() {
+            return removed;
+        }
+
+        @Override
+        public String toString() {
+            return "LockChangedEvent{" +
+                    "lockInfo=" + lockInfo +
+                    ", removed=" + removed +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.pessimisticlock.LockStore;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@link LockStore} keeping locks in memory of the current application instance.
+ * <p>
+ * Locks are grouped by object type, so locks of a type are returned without iterating over all locks. Locks with
+ * an expiration time are also kept in a set ordered by that time, so {@link #removeExpired(Date)} only visits
+ * expired locks. Reads don't take locks, modifications are serialized.
+ */
+public class InMemoryLockStore implements LockStore {
+
+    protected final Map<String, Map<String, Entry>> locksByType = new ConcurrentHashMap<>();
+
+    // guarded by "this"
+    protected final NavigableSet<Entry> expirationIndex = new TreeSet<>(
+            Comparator.comparing((Entry entry) -> entry.expiresAt)
+                    .thenComparingLong(entry -> entry.sequenceNumber));
+    protected long sequence;
+
+    @Nullable
+    @Override
+    public synchronized LockInfo putIfAbsent(LockInfo lockInfo, @Nullable Date expiresAt) {
+        Map<String, Entry> locks = locksByType.get(lockInfo.getObjectType());
+        Entry existing = locks != null ? locks.get(lockInfo.getObjectId()) : null;
+        if (existing != null) {
+            return existing.lockInfo;
+        }
+        add(lockInfo, expiresAt);
+        return null;
+    }
+
+    /**
+     * Stores the lock replacing the existing lock of the object.
+     *
+     * @param lockInfo  lock to store
+     * @param expiresAt expiration time of the lock or null if the lock doesn't expire
+     */
+    public synchronized void put(LockInfo lockInfo, @Nullable Date expiresAt) {
+        removeEntry(lockInfo.getObjectType(), lockInfo.getObjectId(), null);
+        add(lockInfo, expiresAt);
+    }
+
+    @Nullable
+    @Override
+    public LockInfo get(String objectType, String objectId) {
+        Map<String, Entry> locks = locksByType.get(objectType);
+        Entry entry = locks != null ? locks.get(objectId) : null;
+        return entry != null ? entry.lockInfo : null;
+    }
+
+    @Override
+    public synchronized boolean remove(String objectType, String objectId) {
+        return removeEntry(objectType, objectId, null) != null;
+    }
+
+    /**
+     * Removes the lock of the object if it is the given lock, so that a newer lock of the same object is kept.
+     *
+     * @param lockId id of the lock to remove
+     * @return true if the lock was removed
+     */
+    public synchronized boolean remove(String objectType, String objectId, UUID lockId) {
+        return removeEntry(objectType, objectId, lockId) != null;
+    }
+
+    @Override
+    public Collection<LockInfo> getAll() {
+        return locksByType.values().stream()
+                .flatMap(locks -> locks.values().stream())
+                .map(entry -> entry.lockInfo)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<LockInfo> getByObjectType(String objectType, @Nullable String username) {
+        Map<String, Entry> locks = locksByType.get(objectType);
+        if (locks == null) {
+            return Collections.emptyList();
+        }
+        return locks.values().stream()
+                .map(entry -> entry.lockInfo)
+                .filter(lockInfo -> username == null || username.equals(lockInfo.getUsername()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<String> getObjectTypes() {
+        return new HashSet<>(locksByType.keySet());
+    }
+
+    @Override
+    public synchronized int removeByObjectType(String objectType) {
+        Map<String, Entry> locks = locksByType.remove(objectType);
+        if (locks == null) {
+            return 0;
+        }
+        for (Entry entry : locks.values()) {
+            if (entry.expiresAt != null) {
+                expirationIndex.remove(entry);
+            }
+        }
+        return locks.size();
+    }
+
+    @Override
+    public synchronized Collection<LockInfo> removeExpired(Date now) {
+        List<LockInfo> expired = new ArrayList<>();
+        while (!expirationIndex.isEmpty() && expirationIndex.first().expiresAt.before(now)) {
+            Entry entry = expirationIndex.pollFirst();
+            removeEntry(entry.lockInfo.getObjectType(), entry.lockInfo.getObjectId(), null);
+            expired.add(entry.lockInfo);
+        }
+        return expired;
+    }
+
+    protected void add(LockInfo lockInfo, @Nullable Date expiresAt) {
+        Entry entry = new Entry(lockInfo, expiresAt, sequence++);
+        locksByType.computeIfAbsent(lockInfo.getObjectType(), type -> new ConcurrentHashMap<>())
+                .put(lockInfo.getObjectId(), entry);
+        if (expiresAt != null) {
+            expirationIndex.add(entry);
+        }
+    }
+
+    @Nullable
+    protected Entry removeEntry(String objectType, String objectId, @Nullable UUID lockId) {
+        Map<String, Entry> locks = locksByType.get(objectType);
+        if (locks == null) {
+            return null;
+        }
+        Entry entry = locks.get(objectId);
+        if (entry == null || lockId != null && !lockId.equals(entry.lockInfo.getId())) {
+            return null;
+        }
+        locks.remove(objectId);
+        if (locks.isEmpty()) {
+            locksByType.remove(objectType);
+        }
+        if (entry.expiresAt != null) {
+            expirationIndex.remove(entry);
+        }
+        return entry;
+    }
+
+    protected static class Entry {
+
+        protected final LockInfo lockInfo;
+        protected final Date expiresAt;
+        protected final long sequenceNumber;
+
+        public Entry(LockInfo lockInfo, @Nullable Date expiresAt, long sequenceNumber) {
+            this.lockInfo = lockInfo;
+            this.expiresAt = expiresAt;
+            this.sequenceNumber = sequenceNumber;
+        }
+    }
+}
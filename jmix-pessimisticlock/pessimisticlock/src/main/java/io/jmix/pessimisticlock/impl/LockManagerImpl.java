@@ -23,14 +23,12 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.pessimisticlock.LockDescriptorProvider;
 import io.jmix.pessimisticlock.LockManager;
+import io.jmix.pessimisticlock.LockStore;
 import io.jmix.pessimisticlock.entity.LockDescriptor;
 import io.jmix.pessimisticlock.entity.LockInfo;
 import io.jmix.pessimisticlock.entity.LockNotSupported;
-import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -49,40 +47,27 @@ public class LockManagerImpl implements LockManager {
     protected final MetadataTools metadataTools;
     protected final TimeSource timeSource;
     protected final CurrentAuthentication currentAuthentication;
-    protected final CacheManager cacheManager;
-    protected final CacheOperations cacheOperations;
+    protected final LockStore lockStore;
     protected List<LockDescriptorProvider> lockDescriptorProviders;
 
     protected volatile Map<String, LockDescriptor> config;
 
-    protected Cache locks;
-
     public LockManagerImpl(ExtendedEntities extendedEntities,
                            Metadata metadata,
                            MetadataTools metadataTools,
                            TimeSource timeSource,
                            CurrentAuthentication currentAuthentication,
-                           CacheManager cacheManager,
-                           CacheOperations cacheOperations,
+                           LockStore lockStore,
                            List<LockDescriptorProvider> lockDescriptorProviders) {
         this.extendedEntities = extendedEntities;
         this.metadata = metadata;
         this.metadataTools = metadataTools;
         this.timeSource = timeSource;
         this.currentAuthentication = currentAuthentication;
-        this.cacheManager = cacheManager;
-        this.cacheOperations = cacheOperations;
+        this.lockStore = lockStore;
         this.lockDescriptorProviders = lockDescriptorProviders;
     }
 
-    @PostConstruct
-    protected void init() {
-        locks = cacheManager.getCache(LOCKS_CACHE_NAME);
-        if (locks == null) {
-            throw new IllegalStateException(String.format("Unable to find cache: %s", LOCKS_CACHE_NAME));
-        }
-    }
-
     protected Map<String, LockDescriptor> getConfig() {
         if (this.config == null) {
             Map<String, LockDescriptor> config = new ConcurrentHashMap<>();
@@ -106,21 +91,28 @@ public class LockManagerImpl implements LockManager {
             return new LockNotSupported();
         }
 
-        LockKey key = new LockKey(name, id);
         UserDetails user = currentAuthentication.getUser();
         LockInfo lockInfo = new LockInfo(user.getUsername(), name, id, timeSource.currentTimestamp());
 
-        Cache.ValueWrapper lockInfoWrapper = locks.putIfAbsent(key, lockInfo);
-        if (lockInfoWrapper == null) {
+        LockInfo existingLockInfo = lockStore.putIfAbsent(lockInfo, getExpirationTime(ld, lockInfo));
+        if (existingLockInfo == null) {
             log.debug("Locked {}/{}", name, id);
             return null;
         } else {
-            LockInfo existingLockInfo = (LockInfo) lockInfoWrapper.get();
             log.debug("Already locked: {}", existingLockInfo);
             return existingLockInfo;
         }
     }
 
+    @Nullable
+    protected Date getExpirationTime(LockDescriptor ld, LockInfo lockInfo) {
+        Integer timeoutSec = ld.getTimeoutSec();
+        if (timeoutSec != null && timeoutSec > 0) {
+            return new Date(lockInfo.getSince().getTime() + timeoutSec * 1000L);
+        }
+        return null;
+    }
+
     @Nullable
     @Override
     public LockInfo lock(Object entity) {
@@ -134,7 +126,7 @@ public class LockManagerImpl implements LockManager {
 
     @Override
     public void unlock(String name, String id) {
-        if (locks.evictIfPresent(new LockKey(name, id))) {
+        if (lockStore.remove(name, id)) {
             log.debug("Unlocked {}/{}", name, id);
         }
     }
@@ -156,53 +148,37 @@ public class LockManagerImpl implements LockManager {
             return new LockNotSupported();
         }
 
-        return locks.get(new LockKey(name, id), LockInfo.class);
+        return lockStore.get(name, id);
     }
 
     @Override
     public Collection<LockInfo> getCurrentLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
-            return cacheOperations.getValues(locks);
-        } else {
-            log.debug("Current locks list operation is unsupported by cache provider");
-            return Collections.emptyList();
-        }
+        return lockStore.getAll();
+    }
+
+    @Override
+    public Collection<LockInfo> getCurrentLocks(String name, @Nullable String username) {
+        return lockStore.getByObjectType(name, username);
     }
 
     @Override
     public void expireLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
-            log.trace("Start expiring locks operation");
-            Collection<LockKey> keys = cacheOperations.getKeys(locks);
-            for (LockKey key : keys) {
-                LockInfo lockInfo = locks.get(key, LockInfo.class);
-                if (lockInfo != null) {
-                    LockDescriptor ld = getConfig().get(key.name);
-                    if (ld == null) {
-                        log.debug("Lock {}/{} configuration not found, remove it", key.name, key.id);
-                        locks.evict(key);
-                    } else {
-                        Integer timeoutSec = ld.getTimeoutSec();
-                        if (timeoutSec != null && timeoutSec > 0) {
-                            Date since = lockInfo.getSince();
-                            if (since.getTime() + timeoutSec * 1000 < timeSource.currentTimestamp().getTime()) {
-                                log.debug("Lock {}/{} expired", key.name, key.id);
-                                locks.evict(key);
-                            }
-                        }
-                    }
-                } else {
-                    log.trace("Lock info not found for key '{}'", key);
-                }
-            }
-        } else {
-            log.debug("Expiring locks operation is unsupported by cache provider");
+        log.trace("Start expiring locks operation");
+        for (LockInfo lockInfo : lockStore.removeExpired(timeSource.currentTimestamp())) {
+            log.debug("Lock {}/{} expired", lockInfo.getObjectType(), lockInfo.getObjectId());
         }
     }
 
     @Override
     public void reloadConfiguration() {
         config = null;
+        Map<String, LockDescriptor> config = getConfig();
+        for (String name : lockStore.getObjectTypes()) {
+            if (!config.containsKey(name)) {
+                int count = lockStore.removeByObjectType(name);
+                log.debug("Lock {} configuration not found, removed {} locks", name, count);
+            }
+        }
     }
 
     public static class LockKey implements Serializable {
@@ -211,7 +187,7 @@ public class LockManagerImpl implements LockManager {
         private final String name;
         private final String id;
 
-        private LockKey(String name, String id) {
+        public LockKey(String name, String id) {
             this.name = name;
             this.id = id;
         }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pessimisticlock
+
+import io.jmix.pessimisticlock.entity.LockInfo
+import io.jmix.pessimisticlock.impl.InMemoryLockStore
+import spock.lang.Specification
+
+class InMemoryLockStoreTest extends Specification {
+
+    InMemoryLockStore store = new InMemoryLockStore()
+
+    def "lock is stored once"() {
+        def lockInfo = new LockInfo('user1', 'type1', '1', new Date())
+
+        expect:
+        store.putIfAbsent(lockInfo, null) == null
+        store.putIfAbsent(new LockInfo('user2', 'type1', '1', new Date()), null).is(lockInfo)
+        store.get('type1', '1').is(lockInfo)
+
+        when:
+        def removed = store.remove('type1', '1')
+
+        then:
+        removed
+        store.get('type1', '1') == null
+        store.getObjectTypes().isEmpty()
+    }
+
+    def "locks are returned by object type and user"() {
+        store.putIfAbsent(new LockInfo('user1', 'type1', '1', new Date()), null)
+        store.putIfAbsent(new LockInfo('user2', 'type1', '2', new Date()), null)
+        store.putIfAbsent(new LockInfo('user1', 'type2', '1', new Date()), null)
+
+        expect:
+        store.getAll().size() == 3
+        store.getByObjectType('type1', null)*.objectId as Set == ['1', '2'] as Set
+        store.getByObjectType('type1', 'user1')*.objectId == ['1']
+        store.getByObjectType('type3', null).isEmpty()
+        store.getObjectTypes() == ['type1', 'type2'] as Set
+
+        when:
+        def count = store.removeByObjectType('type1')
+
+        then:
+        count == 2
+        store.getAll()*.objectType == ['type2']
+    }
+
+    def "only expired locks are removed"() {
+        def now = new Date()
+        store.putIfAbsent(new LockInfo('user1', 'type1', '1', now), new Date(now.time - 2000))
+        store.putIfAbsent(new LockInfo('user1', 'type1', '2', now), new Date(now.time - 1000))
+        store.putIfAbsent(new LockInfo('user1', 'type1', '3', now), new Date(now.time + 1000))
+        store.putIfAbsent(new LockInfo('user1', 'type1', '4', now), null)
+
+        when:
+        def expired = store.removeExpired(now)
+
+        then:
+        expired*.objectId == ['1', '2']
+        store.getAll()*.objectId as Set == ['3', '4'] as Set
+
+        when:
+        store.remove('type1', '3')
+
+        then:
+        store.removeExpired(new Date(now.time + 5000)).isEmpty()
+    }
+
+    def "newer lock of the object is not removed by id of the older one"() {
+        def oldLock = new LockInfo('user1', 'type1', '1', new Date())
+        def newLock = new LockInfo('user2', 'type1', '1', new Date())
+        store.put(oldLock, null)
+        store.put(newLock, null)
+
+        expect:
+        !store.remove('type1', '1', oldLock.id)
+        store.get('type1', '1').is(newLock)
+        store.remove('type1', '1', newLock.id)
+    }
+}
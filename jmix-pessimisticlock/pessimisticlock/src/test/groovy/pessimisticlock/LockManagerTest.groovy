@@ -92,4 +92,19 @@ class LockManagerTest extends Specification {
         then:
         assertNull(lockInfo)
     }
+
+    def "Test current locks of entity type"() {
+        LockableParentEntity entity = metadata.create(LockableParentEntity.class)
+        entity.setName("Test name")
+
+        when:
+        lockManager.lock(entity)
+        then:
+        lockManager.getCurrentLocks("pslock_LockableParentEntity", "system")*.objectId == [entity.getId().toString()]
+        lockManager.getCurrentLocks("pslock_LockableParentEntity", "admin").isEmpty()
+        lockManager.getCurrentLocks().find { it.objectId == entity.getId().toString() } != null
+
+        cleanup:
+        lockManager.unlock(entity)
+    }
 }
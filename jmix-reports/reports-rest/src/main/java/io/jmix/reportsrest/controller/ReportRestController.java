@@ -21,7 +21,7 @@ import io.jmix.reports.yarg.structure.ReportOutputType;
 import io.jmix.core.FileTypesHelper;
 import io.jmix.core.common.util.URLEncodeUtils;
 import io.jmix.reports.ReportPrintHelper;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +33,6 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 @RestController("report_ReportRestController")
@@ -76,11 +75,13 @@ public class ReportRestController {
                     + "; filename=\"" + fileName + "\"");
 
             ServletOutputStream os = response.getOutputStream();
-            IOUtils.copy(new ByteArrayInputStream(result.getContent()), os);
+            result.writeContent(os);
             os.flush();
         } catch (IOException e) {
             log.error("Error on downloading the report {}", entityId, e);
             throw new RestAPIException("Error on downloading the report", "", HttpStatus.INTERNAL_SERVER_ERROR);
+        } finally {
+            FileUtils.deleteQuietly(result.getContentFile());
         }
     }
 
@@ -37,11 +37,16 @@ import io.jmix.reports.yarg.reporting.ReportOutputDocument;
 import io.jmix.reports.yarg.util.converter.ObjectToStringConverter;
 import io.jmix.security.constraint.PolicyStore;
 import io.jmix.security.constraint.SecureOperations;
+import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -153,17 +158,23 @@ public class ReportRestControllerManager {
             checkReportOutputType(report.getDefaultTemplate());
         }
         Map<String, Object> preparedValues = prepareValues(report, body.parameters);
-        try {
+        // the report is written to a temporary file instead of memory, the file is removed after the response is sent
+        File contentFile = createContentFile();
+        boolean success = false;
+        try (OutputStream outputStream = new FileOutputStream(contentFile)) {
+            ReportOutputDocument document;
             if (body.template != null) {
-                ReportOutputDocument document = reportRunner.byReportEntity(report)
+                document = reportRunner.byReportEntity(report)
                         .withTemplateCode(body.template)
                         .withParams(preparedValues)
-                        .run();
-
-                return new ReportRestResult(document, body.attachment);
+                        .run(outputStream);
             } else {
-                return new ReportRestResult(reportRunner.run(new ReportRunContext(report).setParams(preparedValues)), body.attachment);
+                document = reportRunner.run(new ReportRunContext(report).setParams(preparedValues), outputStream);
             }
+            success = true;
+            return new ReportRestResult(document, body.attachment, contentFile);
+        } catch (IOException e) {
+            throw new RestAPIException("Run report error", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, e);
         } catch (FailedToConnectToOpenOfficeException e) {
             throw new RestAPIException("Run report error", "Couldn't find LibreOffice instance",
                     HttpStatus.INTERNAL_SERVER_ERROR);
@@ -176,6 +187,19 @@ public class ReportRestControllerManager {
         } catch (ReportingException e) {
             throw new RestAPIException("Run report error",
                     e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        } finally {
+            if (!success) {
+                FileUtils.deleteQuietly(contentFile);
+            }
+        }
+    }
+
+    protected File createContentFile() {
+        try {
+            return File.createTempFile("report", null);
+        } catch (IOException e) {
+            throw new RestAPIException("Run report error", "Unable to create a temporary file for the report",
+                    HttpStatus.INTERNAL_SERVER_ERROR, e);
         }
     }
 
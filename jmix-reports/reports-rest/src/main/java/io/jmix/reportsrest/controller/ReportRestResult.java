@@ -18,9 +18,16 @@ package io.jmix.reportsrest.controller;
 
 import io.jmix.reports.yarg.reporting.ReportOutputDocument;
 import io.jmix.reports.yarg.structure.ReportOutputType;
+import org.springframework.lang.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 
 public class ReportRestResult {
     protected byte[] content;
+    protected File contentFile;
     protected String documentName;
     protected ReportOutputType reportOutputType;
     protected boolean attachment;
@@ -32,10 +39,38 @@ public class ReportRestResult {
         this.attachment = attachment;
     }
 
+    /**
+     * Creates a result which content has been written to the file.
+     */
+    public ReportRestResult(ReportOutputDocument document, boolean attachment, File contentFile) {
+        this(document, attachment);
+        this.contentFile = contentFile;
+    }
+
+    /**
+     * @return report content, or null if the content is stored in a file
+     */
+    @Nullable
     public byte[] getContent() {
         return content;
     }
 
+    @Nullable
+    public File getContentFile() {
+        return contentFile;
+    }
+
+    /**
+     * Copies the report content to the stream.
+     */
+    public void writeContent(OutputStream outputStream) throws IOException {
+        if (contentFile != null) {
+            Files.copy(contentFile.toPath(), outputStream);
+        } else if (content != null) {
+            outputStream.write(content);
+        }
+    }
+
     public String getDocumentName() {
         return documentName;
     }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports;
+
+import io.jmix.reports.entity.Report;
+import io.jmix.reports.runner.ReportRunContext;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+
+import java.util.function.Supplier;
+
+/**
+ * Cache of rendered report documents. Documents are stored in the file storage and keyed by the report and template
+ * versions, the output type, the parameter values and the current user.
+ *
+ * @see ReportsProperties#isOutputCacheEnabled()
+ */
+public interface ReportOutputCache {
+
+    boolean isEnabled();
+
+    /**
+     * Returns the cached document for the run context or renders it. Concurrent calls with the same key wait for
+     * a single rendering.
+     *
+     * @param context  prepared run context
+     * @param renderer renders the document if it is not cached
+     * @return cached or rendered document
+     */
+    ReportOutputDocument getOrRender(ReportRunContext context, Supplier<ReportOutputDocument> renderer);
+
+    /**
+     * Removes cached documents of the report.
+     */
+    void invalidate(Report report);
+
+    void invalidateAll();
+}
@@ -32,6 +32,7 @@ import io.jmix.reports.yarg.reporting.extraction.controller.CrossTabExtractionCo
 import io.jmix.reports.yarg.reporting.extraction.preprocessor.SqlCrosstabPreprocessor;
 import io.jmix.reports.yarg.structure.BandOrientation;
 import io.jmix.reports.yarg.util.groovy.Scripting;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
@@ -180,8 +181,15 @@ public class ReportsConfiguration {
     @Bean("report_ExtractionControllerFactory")
     public DefaultExtractionControllerFactory extractionControllerFactory(ReportLoaderFactory loaderFactory,
                                                                           ApplicationContext applicationContext,
-                                                                          DefaultPreprocessorFactory defaultPreprocessorFactory) {
-        DefaultExtractionControllerFactory extractionControllerFactory = new DefaultExtractionControllerFactory(loaderFactory);
+                                                                          DefaultPreprocessorFactory defaultPreprocessorFactory,
+                                                                          MeterRegistry meterRegistry) {
+        DefaultExtractionControllerFactory extractionControllerFactory = new DefaultExtractionControllerFactory(loaderFactory,
+                (controllerFactory, reportLoaderFactory) -> {
+                    JmixExtractionController extractionController = new JmixExtractionController(controllerFactory,
+                            reportLoaderFactory, meterRegistry);
+                    extractionController.setBatchExtractionEnabled(reportsProperties.isBatchBandExtractionEnabled());
+                    return extractionController;
+                });
         Map<BandOrientation, ExtractionController> extractionControllers = new HashMap<>();
         extractionControllers.put(BandOrientation.CROSS, applicationContext.getBean(CrossTabExtractionController.class, extractionControllerFactory,
                 loaderFactory, defaultPreprocessorFactory));
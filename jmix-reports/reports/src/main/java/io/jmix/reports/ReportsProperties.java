@@ -144,6 +144,55 @@ public class ReportsProperties {
      */
     boolean formulasPostProcessingEvaluationEnabled;
 
+    /**
+     * Whether the data of child bands is loaded for all bands of the parent level with one query instead of a query
+     * per parent band, if the child band query supports it. Only queries referencing the parent band in a top-level
+     * {@code and} condition of the where clause are loaded in batch.
+     */
+    boolean batchBandExtractionEnabled;
+
+    /**
+     * Whether rendered report documents are cached and reused for runs with the same report, template, parameters
+     * and user.
+     */
+    boolean outputCacheEnabled;
+
+    /**
+     * Time in seconds a cached report document is reused.
+     */
+    int outputCacheTimeToLiveSec;
+
+    /**
+     * Max number of cached report documents.
+     */
+    int outputCacheMaxSize;
+
+    /**
+     * Names of entities which changes remove all cached report documents. The entities must publish
+     * {@code EntityChangedEvent}.
+     */
+    List<String> outputCacheInvalidatingEntities;
+
+    /**
+     * Number of worker threads running reports asynchronously.
+     */
+    int executionPoolSize;
+
+    /**
+     * Max number of asynchronous runs waiting for a worker.
+     */
+    int executionQueueCapacity;
+
+    /**
+     * Max number of concurrent asynchronous runs of the same report. Value == 0 means no limit.
+     */
+    int executionMaxRunsPerReport;
+
+    /**
+     * Max number of concurrent asynchronous runs of the same user. Value == 0 means no limit.
+     */
+    int executionMaxRunsPerUser;
+
     public ReportsProperties(@DefaultValue("/") String officePath,
                              @DefaultValue({"8100", "8101", "8102", "8103"}) List<Integer> officePorts,
                              @DefaultValue("20") int docFormatterTimeout,
@@ -166,7 +215,16 @@ public class ReportsProperties {
                              @DefaultValue("1000") int historyCleanupMaxItemsPerReport,
                              @DefaultValue("3") int countOfRetry,
                              @DefaultValue("false") boolean useOfficeForDocumentConversion,
-                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled) {
+                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled,
+                             @DefaultValue("false") boolean batchBandExtractionEnabled,
+                             @DefaultValue("false") boolean outputCacheEnabled,
+                             @DefaultValue("600") int outputCacheTimeToLiveSec,
+                             @DefaultValue("100") int outputCacheMaxSize,
+                             @Nullable List<String> outputCacheInvalidatingEntities,
+                             @DefaultValue("4") int executionPoolSize,
+                             @DefaultValue("100") int executionQueueCapacity,
+                             @DefaultValue("2") int executionMaxRunsPerReport,
+                             @DefaultValue("2") int executionMaxRunsPerUser) {
         this.officePath = officePath;
         this.officePorts = officePorts;
         this.docFormatterTimeout = docFormatterTimeout;
@@ -190,6 +248,15 @@ public class ReportsProperties {
         this.countOfRetry = countOfRetry;
         this.useOfficeForDocumentConversion = useOfficeForDocumentConversion;
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
+        this.batchBandExtractionEnabled = batchBandExtractionEnabled;
+        this.outputCacheEnabled = outputCacheEnabled;
+        this.outputCacheTimeToLiveSec = outputCacheTimeToLiveSec;
+        this.outputCacheMaxSize = outputCacheMaxSize;
+        this.outputCacheInvalidatingEntities = outputCacheInvalidatingEntities == null ? Collections.emptyList() : outputCacheInvalidatingEntities;
+        this.executionPoolSize = executionPoolSize;
+        this.executionQueueCapacity = executionQueueCapacity;
+        this.executionMaxRunsPerReport = executionMaxRunsPerReport;
+        this.executionMaxRunsPerUser = executionMaxRunsPerUser;
     }
 
     /**
@@ -343,4 +410,67 @@ public class ReportsProperties {
     public boolean isFormulasPostProcessingEvaluationEnabled() {
         return formulasPostProcessingEvaluationEnabled;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #batchBandExtractionEnabled
+     */
+    public boolean isBatchBandExtractionEnabled() {
+        return batchBandExtractionEnabled;
+    }
+
+    /**
+     * @see #outputCacheEnabled
+     */
+    public boolean isOutputCacheEnabled() {
+        return outputCacheEnabled;
+    }
+
+    /**
+     * @see #outputCacheTimeToLiveSec
+     */
+    public int getOutputCacheTimeToLiveSec() {
+        return outputCacheTimeToLiveSec;
+    }
+
+    /**
+     * @see #outputCacheMaxSize
+     */
+    public int getOutputCacheMaxSize() {
+        return outputCacheMaxSize;
+    }
+
+    /**
+     * @see #outputCacheInvalidatingEntities
+     */
+    public List<String> getOutputCacheInvalidatingEntities() {
+        return outputCacheInvalidatingEntities;
+    }
+
+    /**
+     * @see #executionPoolSize
+     */
+    public int getExecutionPoolSize() {
+        return executionPoolSize;
+    }
+
+    /**
+     * @see #executionQueueCapacity
+     */
+    public int getExecutionQueueCapacity() {
+        return executionQueueCapacity;
+    }
+
+    /**
+     * @see #executionMaxRunsPerReport
+     */
+    public int getExecutionMaxRunsPerReport() {
+        return executionMaxRunsPerReport;
+    }
+
+    /**
+     * @see #executionMaxRunsPerUser
+     */
+    public int getExecutionMaxRunsPerUser() {
+        return executionMaxRunsPerUser;
+    }
+}
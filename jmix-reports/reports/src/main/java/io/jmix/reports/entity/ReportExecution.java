@@ -88,6 +88,12 @@ public class ReportExecution {
     @Lob
     private String errorMessage;
 
+    /**
+     * Time in milliseconds an asynchronous run has been queued before start
+     */
+    @Column(name = "QUEUE_WAIT_TIME")
+    private Long queueWaitTime;
+
     @PostConstruct
     public void postConstruct() {
         success = false;
@@ -206,6 +212,14 @@ public class ReportExecution {
         this.errorMessage = errorMessage;
     }
 
+    public Long getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    public void setQueueWaitTime(Long queueWaitTime) {
+        this.queueWaitTime = queueWaitTime;
+    }
+
     @JmixProperty
     @DependsOnProperties({"finishTime", "startTime"})
     public Long getExecutionTimeSec() {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.reports.entity;
+
+import io.jmix.core.FileRef;
+import io.jmix.core.entity.annotation.JmixGeneratedValue;
+import io.jmix.core.entity.annotation.SystemLevel;
+import io.jmix.core.metamodel.annotation.JmixEntity;
+
+import jakarta.persistence.*;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Rendered report document kept in the file storage by {@link io.jmix.reports.ReportOutputCache}. The entries are
+ * stored in the database, so the files are found and removed by any cluster node and after restart.
+ */
+@SystemLevel
+@Entity(name = "report_ReportOutputCacheEntry")
+@Table(name = "REPORT_OUTPUT_CACHE_ENTRY", indexes = {
+        @Index(name = "IDX_REPORT_OUTPUT_CACHE_KEY", columnList = "CACHE_KEY")
+})
+@JmixEntity
+public class ReportOutputCacheEntry {
+
+    @Id
+    @Column(name = "ID")
+    @JmixGeneratedValue
+    protected UUID id;
+
+    @Column(name = "CREATE_TS", nullable = false)
+    private Date createTs;
+
+    @Column(name = "CACHE_KEY", nullable = false, length = 64)
+    private String cacheKey;
+
+    @Column(name = "REPORT_ID")
+    private UUID reportId;
+
+    @Column(name = "FILE_REF", nullable = false, length = 4000)
+    private FileRef fileRef;
+
+    @Column(name = "DOCUMENT_NAME")
+    private String documentName;
+
+    @Column(name = "OUTPUT_TYPE", length = 50)
+    private String outputType;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Date getCreateTs() {
+        return createTs;
+    }
+
+    public void setCreateTs(Date createTs) {
+        this.createTs = createTs;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public UUID getReportId() {
+        return reportId;
+    }
+
+    public void setReportId(UUID reportId) {
+        this.reportId = reportId;
+    }
+
+    public FileRef getFileRef() {
+        return fileRef;
+    }
+
+    public void setFileRef(FileRef fileRef) {
+        this.fileRef = fileRef;
+    }
+
+    public String getDocumentName() {
+        return documentName;
+    }
+
+    public void setDocumentName(String documentName) {
+        this.documentName = documentName;
+    }
+
+    /**
+     * @return id of the {@link io.jmix.reports.yarg.structure.ReportOutputType}
+     */
+    public String getOutputType() {
+        return outputType;
+    }
+
+    public void setOutputType(String outputType) {
+        this.outputType = outputType;
+    }
+}
@@ -18,6 +18,7 @@ package io.jmix.reports.impl;
 
 import com.google.common.collect.Sets;
 import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl;
 import io.jmix.reports.yarg.structure.ReportOutputType;
 import io.jmix.core.*;
 import io.jmix.core.security.CurrentAuthentication;
@@ -34,12 +35,17 @@ import org.apache.commons.lang3.time.DateUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -159,11 +165,28 @@ public class ReportExecutionHistoryRecorderImpl implements ReportExecutionHistor
                 JmixReportOutputType.chart.getId(),
                 JmixReportOutputType.table.getId(),
                 JmixReportOutputType.pivot.getId());
-        return reportsProperties.isSaveOutputDocumentsToHistory() && !outputTypesWithoutDocument.contains(type.getId());
+        // a document written to an output stream has no content, it may be kept in a temporary file
+        return reportsProperties.isSaveOutputDocumentsToHistory()
+                && !outputTypesWithoutDocument.contains(type.getId())
+                && (document.getContent() != null || getContentFile(document) != null);
     }
 
     protected FileRef saveDocument(ReportOutputDocument document) throws FileStorageException {
-        return getFileStorage().saveStream(document.getDocumentName(), new ByteArrayInputStream(document.getContent()));
+        if (document.getContent() != null) {
+            return getFileStorage().saveStream(document.getDocumentName(),
+                    new ByteArrayInputStream(document.getContent()));
+        }
+        File contentFile = getContentFile(document);
+        try (InputStream inputStream = new FileInputStream(contentFile)) {
+            return getFileStorage().saveStream(document.getDocumentName(), inputStream);
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, document.getDocumentName(), e);
+        }
+    }
+
+    @Nullable
+    protected File getContentFile(ReportOutputDocument document) {
+        return document instanceof ReportOutputDocumentImpl documentImpl ? documentImpl.getContentFile() : null;
     }
 
     /**
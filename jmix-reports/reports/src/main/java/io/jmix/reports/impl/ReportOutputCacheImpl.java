@@ -0,0 +1,394 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.impl;
+
+import com.google.common.hash.Hashing;
+import io.jmix.core.*;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.metamodel.datatype.EnumClass;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.reports.ReportOutputCache;
+import io.jmix.reports.ReportsProperties;
+import io.jmix.reports.entity.Report;
+import io.jmix.reports.entity.ReportOutputCacheEntry;
+import io.jmix.reports.entity.ReportTemplate;
+import io.jmix.reports.runner.ReportRunContext;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl;
+import io.jmix.reports.yarg.structure.ReportOutputType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps rendered documents in the default file storage and indexes them by {@link ReportOutputCacheEntry} records,
+ * so that every cluster node finds the cached documents and removes their files on eviction, also after restart.
+ */
+@Component("report_ReportOutputCache")
+public class ReportOutputCacheImpl implements ReportOutputCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportOutputCacheImpl.class);
+
+    public static final String REQUESTS_METRIC = "jmix.reports.outputCache.requests";
+
+    protected final ReportsProperties reportsProperties;
+    protected final FileStorageLocator fileStorageLocator;
+    protected final CurrentAuthentication currentAuthentication;
+    protected final Metadata metadata;
+    protected final UnconstrainedDataManager dataManager;
+    protected final TimeSource timeSource;
+    protected final MeterRegistry meterRegistry;
+
+    protected final ConcurrentMap<String, CompletableFuture<ReportOutputCacheEntry>> renderings =
+            new ConcurrentHashMap<>();
+
+    public ReportOutputCacheImpl(ReportsProperties reportsProperties,
+                                 FileStorageLocator fileStorageLocator,
+                                 CurrentAuthentication currentAuthentication,
+                                 Metadata metadata,
+                                 UnconstrainedDataManager dataManager,
+                                 TimeSource timeSource,
+                                 MeterRegistry meterRegistry) {
+        this.reportsProperties = reportsProperties;
+        this.fileStorageLocator = fileStorageLocator;
+        this.currentAuthentication = currentAuthentication;
+        this.metadata = metadata;
+        this.dataManager = dataManager;
+        this.timeSource = timeSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return reportsProperties.isOutputCacheEnabled();
+    }
+
+    @Override
+    public ReportOutputDocument getOrRender(ReportRunContext context, Supplier<ReportOutputDocument> renderer) {
+        String key = isEnabled() ? createKey(context) : null;
+        if (key == null) {
+            return renderer.get();
+        }
+
+        ReportOutputCacheEntry entry = findEntry(key);
+        if (entry != null) {
+            ReportOutputDocument document = readDocument(context, entry);
+            if (document != null) {
+                countRequest("hit");
+                return document;
+            }
+            removeEntries(Collections.singletonList(entry));
+        }
+
+        CompletableFuture<ReportOutputCacheEntry> rendering = new CompletableFuture<>();
+        CompletableFuture<ReportOutputCacheEntry> existingRendering = renderings.putIfAbsent(key, rendering);
+        if (existingRendering != null) {
+            countRequest("coalesced");
+            ReportOutputCacheEntry renderedEntry = awaitRendering(existingRendering);
+            ReportOutputDocument document = renderedEntry != null ? readDocument(context, renderedEntry) : null;
+            // the document could not be shared, e.g. the rendering has failed
+            return document != null ? document : renderer.get();
+        }
+
+        countRequest("miss");
+        try {
+            ReportOutputDocument document = renderer.get();
+            ReportOutputCacheEntry renderedEntry = saveDocument(key, context.getReport(), document);
+            if (renderedEntry != null) {
+                evictEntries();
+            }
+            rendering.complete(renderedEntry);
+            return document;
+        } catch (RuntimeException | Error e) {
+            rendering.complete(null);
+            throw e;
+        } finally {
+            renderings.remove(key, rendering);
+        }
+    }
+
+    @Override
+    public void invalidate(Report report) {
+        removeEntries(loadEntries().stream()
+                .filter(entry -> Objects.equals(entry.getReportId(), report.getId()))
+                .toList());
+    }
+
+    @Override
+    public void invalidateAll() {
+        removeEntries(loadEntries());
+    }
+
+    /**
+     * Removes the documents which have expired while the application was stopped, or all documents if the cache
+     * has been disabled.
+     */
+    @EventListener
+    public void onApplicationStarted(ApplicationStartedEvent event) {
+        try {
+            if (isEnabled()) {
+                evictEntries();
+            } else {
+                invalidateAll();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unable to remove stale cached report documents", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        if (!isEnabled()) {
+            return;
+        }
+        Class<?> entityClass = event.getEntityId().getEntityClass();
+        if (Report.class.equals(entityClass) || ReportTemplate.class.equals(entityClass)
+                || ReportOutputCacheEntry.class.equals(entityClass)) {
+            // cached documents of changed reports are not found anymore as the key contains versions
+            return;
+        }
+        String entityName = metadata.getClass(entityClass).getName();
+        if (reportsProperties.getOutputCacheInvalidatingEntities().contains(entityName)) {
+            log.debug("Invalidating report output cache on change of {}", event.getEntityId());
+            invalidateAll();
+        }
+    }
+
+    /**
+     * @return cache key or null if the document must not be cached
+     */
+    @Nullable
+    protected String createKey(ReportRunContext context) {
+        Report report = context.getReport();
+        ReportTemplate template = context.getReportTemplate();
+        if (report == null || template == null
+                || Boolean.TRUE.equals(report.getIsTmp()) || report.getVersion() == null || template.getVersion() == null) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(report.getId()).append(':').append(report.getVersion())
+                .append('|').append(template.getId()).append(':').append(template.getVersion())
+                .append('|').append(context.getOutputType() != null ? context.getOutputType().getId() : "")
+                .append('|').append(Objects.toString(context.getOutputNamePattern(), ""))
+                .append('|').append(currentAuthentication.getUser().getUsername())
+                .append('|').append(currentAuthentication.getLocale());
+
+        for (Map.Entry<String, Object> entry : new TreeMap<>(context.getParams()).entrySet()) {
+            String value = normalizeParameter(entry.getValue());
+            if (value == null) {
+                return null;
+            }
+            sb.append('|').append(entry.getKey()).append('=').append(value);
+        }
+        return Hashing.sha256().hashString(sb, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * @return string form of the parameter value which doesn't depend on the instance, or null if a document
+     * with such a parameter must not be cached
+     */
+    @Nullable
+    protected String normalizeParameter(@Nullable Object value) {
+        if (value == null) {
+            return "null";
+        } else if (value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof UUID || value instanceof Enum || value instanceof java.time.temporal.Temporal) {
+            return value.getClass().getSimpleName() + ":" + value;
+        } else if (value instanceof Date) {
+            return "Date:" + ((Date) value).getTime();
+        } else if (value instanceof EnumClass) {
+            return "Enum:" + ((EnumClass<?>) value).getId();
+        } else if (value instanceof Collection) {
+            List<String> values = new ArrayList<>();
+            for (Object item : (Collection<?>) value) {
+                String itemValue = normalizeParameter(item);
+                if (itemValue == null) {
+                    return null;
+                }
+                values.add(itemValue);
+            }
+            return values.toString();
+        } else if (EntityValues.isEntity(value)) {
+            Object id = EntityValues.getId(value);
+            return id != null ? metadata.getClass(value).getName() + ":" + id : null;
+        }
+        return null;
+    }
+
+    @Nullable
+    protected ReportOutputCacheEntry saveDocument(String key, Report report, ReportOutputDocument document) {
+        if (document.getContent() == null) {
+            return null;
+        }
+        FileRef fileRef;
+        try {
+            fileRef = getFileStorage().saveStream(document.getDocumentName(),
+                    new ByteArrayInputStream(document.getContent()));
+        } catch (FileStorageException e) {
+            log.warn("Unable to save report output to cache", e);
+            return null;
+        }
+
+        ReportOutputCacheEntry entry = dataManager.create(ReportOutputCacheEntry.class);
+        entry.setCreateTs(timeSource.currentTimestamp());
+        entry.setCacheKey(key);
+        entry.setReportId(report.getId());
+        entry.setFileRef(fileRef);
+        entry.setDocumentName(document.getDocumentName());
+        entry.setOutputType(document.getReportOutputType() != null ? document.getReportOutputType().getId() : null);
+        try {
+            return saveEntry(entry);
+        } catch (RuntimeException e) {
+            log.warn("Unable to save cached report output entry", e);
+            removeFile(fileRef);
+            return null;
+        }
+    }
+
+    @Nullable
+    protected ReportOutputDocument readDocument(ReportRunContext context, ReportOutputCacheEntry entry) {
+        try (InputStream inputStream = getFileStorage().openStream(entry.getFileRef())) {
+            ReportOutputType outputType = entry.getOutputType() != null
+                    ? ReportOutputType.getOutputTypeById(entry.getOutputType())
+                    : null;
+            return new ReportOutputDocumentImpl(context.getReport(), IOUtils.toByteArray(inputStream),
+                    entry.getDocumentName(), outputType);
+        } catch (FileStorageException | IOException e) {
+            log.warn("Unable to read cached report output {}", entry.getFileRef(), e);
+            return null;
+        }
+    }
+
+    @Nullable
+    protected ReportOutputCacheEntry awaitRendering(CompletableFuture<ReportOutputCacheEntry> rendering) {
+        try {
+            return rendering.join();
+        } catch (CompletionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the newest not expired entry with the key
+     */
+    @Nullable
+    protected ReportOutputCacheEntry findEntry(String key) {
+        Date minCreateTs = getMinCreateTs();
+        return loadEntries(key).stream()
+                .filter(entry -> !entry.getCreateTs().before(minCreateTs))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Removes expired entries and the oldest entries exceeding {@link ReportsProperties#getOutputCacheMaxSize()}.
+     */
+    protected void evictEntries() {
+        List<ReportOutputCacheEntry> entries = loadEntries();
+        Date minCreateTs = getMinCreateTs();
+        int maxSize = reportsProperties.getOutputCacheMaxSize();
+
+        List<ReportOutputCacheEntry> evictedEntries = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            ReportOutputCacheEntry entry = entries.get(i);
+            if (i >= maxSize || entry.getCreateTs().before(minCreateTs)) {
+                evictedEntries.add(entry);
+            }
+        }
+        removeEntries(evictedEntries);
+    }
+
+    /**
+     * Removes the files of the entries and then the entries, so that a failure does not leave files without entries.
+     */
+    protected void removeEntries(List<ReportOutputCacheEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        for (ReportOutputCacheEntry entry : entries) {
+            removeFile(entry.getFileRef());
+        }
+        deleteEntries(entries);
+    }
+
+    protected void removeFile(FileRef fileRef) {
+        try {
+            getFileStorage().removeFile(fileRef);
+        } catch (FileStorageException e) {
+            log.warn("Unable to remove cached report output {}", fileRef, e);
+        }
+    }
+
+    protected Date getMinCreateTs() {
+        return new Date(timeSource.currentTimeMillis() - reportsProperties.getOutputCacheTimeToLiveSec() * 1000L);
+    }
+
+    /**
+     * @return all entries, newest first
+     */
+    protected List<ReportOutputCacheEntry> loadEntries() {
+        return dataManager.load(ReportOutputCacheEntry.class)
+                .query("select e from report_ReportOutputCacheEntry e order by e.createTs desc")
+                .list();
+    }
+
+    /**
+     * @return entries with the key, newest first
+     */
+    protected List<ReportOutputCacheEntry> loadEntries(String key) {
+        return dataManager.load(ReportOutputCacheEntry.class)
+                .query("select e from report_ReportOutputCacheEntry e where e.cacheKey = :key order by e.createTs desc")
+                .parameter("key", key)
+                .list();
+    }
+
+    protected ReportOutputCacheEntry saveEntry(ReportOutputCacheEntry entry) {
+        return dataManager.save(entry);
+    }
+
+    protected void deleteEntries(List<ReportOutputCacheEntry> entries) {
+        dataManager.remove(entries.toArray());
+    }
+
+    protected void countRequest(String result) {
+        meterRegistry.counter(REQUESTS_METRIC, "result", result).increment();
+    }
+
+    protected FileStorage getFileStorage() {
+        return fileStorageLocator.getDefault();
+    }
+}
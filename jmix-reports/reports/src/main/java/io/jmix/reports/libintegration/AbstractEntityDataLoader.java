@@ -16,6 +16,7 @@
 
 package io.jmix.reports.libintegration;
 
+import com.google.common.collect.Lists;
 import io.jmix.reports.yarg.loaders.ReportDataLoader;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import io.jmix.core.*;
@@ -26,8 +27,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.lang.Nullable;
 
+import java.util.*;
+
 public abstract class AbstractEntityDataLoader implements ReportDataLoader {
 
+    protected static final int RELOAD_BATCH_SIZE = 500;
+
     @Autowired
     protected BeanFactory beanFactory;
 
@@ -64,6 +69,53 @@ public abstract class AbstractEntityDataLoader implements ReportDataLoader {
 
         return entity;
     }
+    /**
+     * Reloads entities which are not loaded with the data set fetch plan using one query per entity class
+     * instead of a query per entity.
+     *
+     * @return reloaded entities in the order of the passed collection
+     */
+    protected List<Entity> reloadEntitiesByDataSetFetchPlan(ReportQuery reportQuery, Collection<Entity> entities) {
+        List<Entity> result = new ArrayList<>(entities);
+        if (!(reportQuery instanceof DataSet)) {
+            return result;
+        }
+
+        Map<Class<?>, FetchPlan> fetchPlans = new HashMap<>();
+        Map<Class<?>, Map<Object, List<Integer>>> indexesByClass = new LinkedHashMap<>();
+        for (int i = 0; i < result.size(); i++) {
+            Entity entity = result.get(i);
+            if (entity == null
+                    || !metadataTools.isJpaEntity(entity.getClass())
+                    || entity instanceof Report && ((Report) entity).getIsTmp()) {
+                continue;
+            }
+            FetchPlan fetchPlan = fetchPlans.computeIfAbsent(entity.getClass(),
+                    aClass -> getFetchPlan(entity, (DataSet) reportQuery));
+            if (fetchPlan != null && !entityStates.isLoadedWithFetchPlan(entity, fetchPlan)) {
+                indexesByClass.computeIfAbsent(entity.getClass(), aClass -> new LinkedHashMap<>())
+                        .computeIfAbsent(Id.of(entity).getValue(), id -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        for (Map.Entry<Class<?>, Map<Object, List<Integer>>> entry : indexesByClass.entrySet()) {
+            Map<Object, List<Integer>> indexesById = entry.getValue();
+            for (List<Object> ids : Lists.partition(new ArrayList<>(indexesById.keySet()), RELOAD_BATCH_SIZE)) {
+                List<?> loaded = dataManager.load(entry.getKey())
+                        .ids(ids)
+                        .fetchPlan(fetchPlans.get(entry.getKey()))
+                        .list();
+                for (Object loadedEntity : loaded) {
+                    for (Integer index : indexesById.get(Id.of((Entity) loadedEntity).getValue())) {
+                        result.set(index, (Entity) loadedEntity);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     protected  <T> T reloadEntity(T entity, FetchPlan fetchPlan) {
         if (entity instanceof Report && ((Report) entity).getIsTmp()) {
             return entity;
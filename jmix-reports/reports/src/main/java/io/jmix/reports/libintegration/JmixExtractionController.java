@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.libintegration;
+
+import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
+import io.jmix.reports.yarg.reporting.extraction.ExtractionControllerFactory;
+import io.jmix.reports.yarg.reporting.extraction.controller.DefaultExtractionController;
+import io.jmix.reports.yarg.structure.ReportBand;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extraction controller which records the extraction time of child bands to the {@code jmix.reports.band.extraction}
+ * timer tagged with the band name and the extraction mode.
+ */
+public class JmixExtractionController extends DefaultExtractionController {
+
+    public static final String BAND_EXTRACTION_TIMER = "jmix.reports.band.extraction";
+
+    protected MeterRegistry meterRegistry;
+
+    public JmixExtractionController(ExtractionControllerFactory controllerRegistry, ReportLoaderFactory loaderFactory,
+                                    MeterRegistry meterRegistry) {
+        super(controllerRegistry, loaderFactory);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void onBandExtracted(ReportBand band, boolean batch, int parentCount, long nanos) {
+        super.onBandExtracted(band, batch, parentCount, nanos);
+        Timer.builder(BAND_EXTRACTION_TIMER)
+                .tag("band", band.getName())
+                .tag("mode", batch ? "batch" : "perParent")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -33,7 +33,9 @@ import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.lang.Nullable;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -103,6 +105,49 @@ public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLo
         }
     }
 
+    @Override
+    protected List<Map.Entry<Object, Map<String, Object>>> loadBatchRows(ReportQuery reportQuery, String query,
+                                                                         BandData ancestorBand, Map<String, Object> params) {
+        String storeName = StoreUtils.getStoreName(reportQuery);
+        try {
+            List<OutputValue> outputParameters = parseQueryOutputParametersNames(query);
+
+            query = query.replaceAll("(?i)" + ALIAS_PATTERN + ",", ",");//replaces [as alias_name], entries except last
+            query = query.replaceAll("(?i)" + ALIAS_PATTERN, " ");//replaces last [as alias_name] entry
+
+            List queryResult = executeQuery(ancestorBand, params, storeName, query);
+            if (CollectionUtils.isEmpty(queryResult)) {
+                return Collections.emptyList();
+            }
+
+            // the last selected value is the key of the parent band added by the batch query
+            List<Map.Entry<Object, Map<String, Object>>> rows = new ArrayList<>(queryResult.size());
+            for (Object theResult : queryResult) {
+                Object[] values = (Object[]) theResult;
+                Object key = values[values.length - 1];
+                Map<String, Object> row;
+                if (values.length == 2 && values[0] instanceof Entity) {
+                    row = new EntityMap((Entity) values[0], beanFactory);
+                } else {
+                    Object rowValues = values.length == 2 ? values[0] : Arrays.copyOf(values, values.length - 1);
+                    row = fillOutputData(Collections.singletonList(rowValues), outputParameters).get(0);
+                }
+                rows.add(new AbstractMap.SimpleEntry<>(key, row));
+            }
+            return rows;
+        } catch (Throwable e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for data set [%s]", reportQuery.getName()), e);
+        }
+    }
+
+    @Override
+    protected Object normalizeBatchKey(Object value) {
+        if (value instanceof Entity) {
+            value = Id.of((Entity) value).getValue();
+        }
+        return super.normalizeBatchKey(value);
+    }
+
     @Nullable
     protected List executeQuery(BandData parentBand, Map<String, Object> params, String storeName, String query) {
         return storeAwareLocator.getTransactionTemplate(storeName).execute(transactionStatus -> {
@@ -86,10 +86,11 @@ public class MultiEntityDataLoader extends AbstractEntityDataLoader {
 
         List<Map<String, Object>> resultList = new ArrayList<>();
 
-        for (Entity entity : entitiesList) {
-            if (!hasNestedCollection) {
-                entity = reloadEntityByDataSetFetchPlan(dataSet, entity);
-            }
+        Collection<Entity> resultEntities = hasNestedCollection
+                ? entitiesList
+                : reloadEntitiesByDataSetFetchPlan(dataSet, entitiesList);
+
+        for (Entity entity : resultEntities) {
             if (dataSet instanceof DataSet) {
                 if (hasNestedCollection) {
                     if (nestedCollectionFetchPLan != null) {
@@ -34,6 +34,7 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -65,6 +66,7 @@ public class FluentReportRunner {
     private ReportTemplate template;
     private ReportOutputType outputType;
     private String outputNamePattern;
+    private ReportRunPriority priority;
 
     @Autowired
     private DataManager dataManager;
@@ -153,6 +155,18 @@ public class FluentReportRunner {
         return this;
     }
 
+    /**
+     * Sets a priority of an asynchronous run.
+     *
+     * @param priority run priority
+     * @return current instance of fluent runner
+     * @see #runAsync()
+     */
+    public FluentReportRunner withPriority(@Nullable ReportRunPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
     /**
      * Creates an instance of {@link ReportRunContext} based on the parameters specified for the runner.
      *
@@ -164,6 +178,7 @@ public class FluentReportRunner {
         return new ReportRunContext(report)
                 .setReportTemplate(reportTemplate)
                 .setOutputNamePattern(this.outputNamePattern)
+                .setPriority(this.priority)
                 .setOutputType(this.outputType)
                 .setParams(this.params);
     }
@@ -177,6 +192,27 @@ public class FluentReportRunner {
         return reportRunner.run(buildContext());
     }
 
+    /**
+     * Builds a {@link ReportRunContext} instance and runs a report writing its content to the passed stream.
+     *
+     * @param outputStream stream to write the report content to
+     * @return report execution result without content
+     * @see ReportRunner#run(ReportRunContext, OutputStream)
+     */
+    public ReportOutputDocument run(OutputStream outputStream) {
+        return reportRunner.run(buildContext(), outputStream);
+    }
+
+    /**
+     * Builds a {@link ReportRunContext} instance and queues an asynchronous run of a report.
+     *
+     * @return handle of the run
+     * @see ReportRunner#runAsync(ReportRunContext)
+     */
+    public ReportRunHandle runAsync() {
+        return reportRunner.runAsync(buildContext());
+    }
+
     private Optional<Report> loadReportByCode(String reportCode) {
         return dataManager.load(Report.class)
                 .query("e.code = :code")
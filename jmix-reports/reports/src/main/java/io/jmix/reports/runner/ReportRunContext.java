@@ -59,6 +59,7 @@ public class ReportRunContext {
     protected ReportOutputType outputType;
     protected Map<String, Object> params = new HashMap<>();
     protected String outputNamePattern;
+    protected ReportRunPriority priority;
 
     public Report getReport() {
         return report;
@@ -120,4 +121,16 @@ public class ReportRunContext {
         return this;
     }
 
+    /**
+     * @return priority of an asynchronous run, {@link ReportRunPriority#NORMAL} if not set
+     */
+    @Nullable
+    public ReportRunPriority getPriority() {
+        return priority;
+    }
+
+    public ReportRunContext setPriority(@Nullable ReportRunPriority priority) {
+        this.priority = priority;
+        return this;
+    }
 }
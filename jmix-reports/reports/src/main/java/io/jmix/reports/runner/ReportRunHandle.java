@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmix.reports.runner;
+
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle of a report run started by {@link ReportRunner#runAsync(ReportRunContext)}.
+ * <br>
+ * Usage example:
+ * <pre>
+ * ReportRunHandle handle = reportRunner.byReportCode("orders-report")
+ *                 .addParam("orders", orders)
+ *                 .withPriority(ReportRunPriority.HIGH)
+ *                 .runAsync();
+ *
+ * handle.getResult().thenAccept(document -&gt; ...);
+ * </pre>
+ */
+public interface ReportRunHandle {
+
+    ReportRunContext getContext();
+
+    ReportRunState getState();
+
+    /**
+     * @return future completed with the report document, or completed exceptionally if the run has failed
+     * or has been cancelled
+     */
+    CompletableFuture<ReportOutputDocument> getResult();
+
+    /**
+     * @return time in milliseconds the run has spent in the queue, or null if the run has not been started yet
+     */
+    @Nullable
+    Long getQueueWaitTime();
+
+    /**
+     * @return time in milliseconds the run has been executed, or null if the run has not been started yet
+     */
+    @Nullable
+    Long getRunTime();
+
+    /**
+     * Cancels the run. A queued run is removed from the queue, a running report is interrupted and stops at the
+     * next check in data loading or formatting.
+     *
+     * @return false if the run has already finished
+     */
+    boolean cancel();
+}
@@ -18,6 +18,10 @@ package io.jmix.reports.runner;
 
 import io.jmix.reports.yarg.reporting.ReportOutputDocument;
 import io.jmix.reports.entity.Report;
+import io.jmix.reports.exception.ReportingException;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Interface is used for running reports
@@ -33,6 +37,38 @@ public interface ReportRunner {
      */
     ReportOutputDocument run(ReportRunContext context);
 
+    /**
+     * Runs the report and writes its content directly to the passed output stream, e.g. a temporary file or
+     * an HTTP response, instead of keeping the whole document in memory. The caller is responsible for closing
+     * the stream.
+     * <p>
+     * The default implementation runs the report by {@link #run(ReportRunContext)} and copies the content to the
+     * stream, so the returned document contains the content.
+     *
+     * @param context      the object that contains all information required to run the report
+     * @param outputStream stream to write the report content to
+     * @return report execution result, the content may be absent if it has been written to the stream only
+     */
+    default ReportOutputDocument run(ReportRunContext context, OutputStream outputStream) {
+        ReportOutputDocument document = run(context);
+        try {
+            outputStream.write(document.getContent());
+        } catch (IOException e) {
+            throw new ReportingException("Unable to write the report content to the output stream", e);
+        }
+        return document;
+    }
+
+    /**
+     * Queues the run of the report and returns immediately. Runs are executed on a bounded pool of workers
+     * by priority, with limits of concurrent runs per report and per user.
+     *
+     * @param context the object that contains all information required to run the report
+     * @return handle to track, wait for or cancel the run
+     * @see ReportRunContext#setPriority(ReportRunPriority)
+     */
+    ReportRunHandle runAsync(ReportRunContext context);
+
     /**
      * Creates an instance of {@link FluentReportRunner} for a report with specified code.
      * <br>
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.core.security.SecurityContextHelper;
+import io.jmix.reports.ReportsProperties;
+import io.jmix.reports.exception.ReportCanceledException;
+import io.jmix.reports.exception.ReportingException;
+import io.jmix.reports.runner.ReportRunContext;
+import io.jmix.reports.runner.ReportRunHandle;
+import io.jmix.reports.runner.ReportRunPriority;
+import io.jmix.reports.runner.ReportRunState;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Runs reports asynchronously on a bounded pool of worker threads.
+ * <p>
+ * Runs are queued by priority and submission order. A queued run is started when a worker is free and the
+ * numbers of running reports of the same report and of the same user are below the configured limits, so a few
+ * heavy reports cannot occupy all workers.
+ *
+ * @see ReportsProperties#getExecutionPoolSize()
+ */
+@Component("report_ReportExecutionScheduler")
+public class ReportExecutionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportExecutionScheduler.class);
+
+    public static final String QUEUE_WAIT_TIMER = "jmix.reports.execution.queueWait";
+    public static final String RUN_TIMER = "jmix.reports.execution.run";
+    public static final String QUEUED_GAUGE = "jmix.reports.execution.queued";
+
+    protected final ReportsProperties reportsProperties;
+    protected final CurrentAuthentication currentAuthentication;
+    protected final MeterRegistry meterRegistry;
+
+    protected final ExecutorService executor;
+    protected final AtomicLong sequence = new AtomicLong();
+
+    // guarded by "this"
+    protected final PriorityQueue<ScheduledReportRun> queue = new PriorityQueue<>(
+            Comparator.comparing((ScheduledReportRun run) -> run.priority).reversed()
+                    .thenComparingLong(run -> run.sequenceNumber));
+    protected final Map<Object, Integer> runningByReport = new HashMap<>();
+    protected final Map<String, Integer> runningByUser = new HashMap<>();
+    protected int runningCount;
+
+    public ReportExecutionScheduler(ReportsProperties reportsProperties,
+                                    CurrentAuthentication currentAuthentication,
+                                    MeterRegistry meterRegistry) {
+        this.reportsProperties = reportsProperties;
+        this.currentAuthentication = currentAuthentication;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newFixedThreadPool(reportsProperties.getExecutionPoolSize(),
+                new ThreadFactoryBuilder().setNameFormat("report-execution-%d").setDaemon(true).build());
+        meterRegistry.gauge(QUEUED_GAUGE, queue, Collection::size);
+    }
+
+    /**
+     * Queues the run of the report.
+     *
+     * @param context run context
+     * @param task    runs the report, the argument is the time in milliseconds the run has spent in the queue
+     * @return handle of the run
+     * @throws ReportingException if the queue is full
+     */
+    public ReportRunHandle schedule(ReportRunContext context, Function<Long, ReportOutputDocument> task) {
+        ScheduledReportRun run = new ScheduledReportRun(context, task,
+                context.getPriority() != null ? context.getPriority() : ReportRunPriority.NORMAL,
+                sequence.incrementAndGet(),
+                context.getReport() != null ? context.getReport().getId() : null,
+                currentAuthentication.getUser().getUsername(),
+                SecurityContextHelper.getAuthentication());
+
+        synchronized (this) {
+            if (queue.size() >= reportsProperties.getExecutionQueueCapacity()) {
+                throw new ReportingException("Report execution queue is full, try to run the report later");
+            }
+            queue.add(run);
+        }
+        dispatch();
+        return run;
+    }
+
+    /**
+     * Starts queued runs while there are free workers and runs within the limits.
+     */
+    protected void dispatch() {
+        List<ScheduledReportRun> runsToStart = new ArrayList<>();
+        synchronized (this) {
+            if (runningCount >= reportsProperties.getExecutionPoolSize() || queue.isEmpty()) {
+                return;
+            }
+            List<ScheduledReportRun> postponed = new ArrayList<>();
+            while (runningCount < reportsProperties.getExecutionPoolSize() && !queue.isEmpty()) {
+                ScheduledReportRun run = queue.poll();
+                if (isLimitReached(run)) {
+                    postponed.add(run);
+                    continue;
+                }
+                runningCount++;
+                runningByReport.merge(run.reportId, 1, Integer::sum);
+                runningByUser.merge(run.username, 1, Integer::sum);
+                runsToStart.add(run);
+            }
+            queue.addAll(postponed);
+        }
+        for (ScheduledReportRun run : runsToStart) {
+            executor.execute(() -> execute(run));
+        }
+    }
+
+    protected boolean isLimitReached(ScheduledReportRun run) {
+        int maxRunsPerReport = reportsProperties.getExecutionMaxRunsPerReport();
+        int maxRunsPerUser = reportsProperties.getExecutionMaxRunsPerUser();
+        return maxRunsPerReport > 0 && run.reportId != null
+                && runningByReport.getOrDefault(run.reportId, 0) >= maxRunsPerReport
+                || maxRunsPerUser > 0 && runningByUser.getOrDefault(run.username, 0) >= maxRunsPerUser;
+    }
+
+    protected void execute(ScheduledReportRun run) {
+        Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+        try {
+            if (!run.start(Thread.currentThread())) {
+                return;
+            }
+            Timer.builder(QUEUE_WAIT_TIMER).register(meterRegistry).record(run.getQueueWaitTime(), TimeUnit.MILLISECONDS);
+
+            SecurityContextHelper.setAuthentication(run.authentication);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                run.complete(run.task.apply(run.getQueueWaitTime()), null);
+            } catch (Throwable e) {
+                run.complete(null, e);
+            } finally {
+                sample.stop(Timer.builder(RUN_TIMER).register(meterRegistry));
+            }
+        } finally {
+            SecurityContextHelper.setAuthentication(previousAuthentication);
+            // clear the interruption of a cancelled run, so it doesn't affect the next run on the thread
+            //noinspection ResultOfMethodCallIgnored
+            Thread.interrupted();
+            release(run);
+            dispatch();
+        }
+    }
+
+    protected synchronized void release(ScheduledReportRun run) {
+        runningCount--;
+        runningByReport.computeIfPresent(run.reportId, (key, count) -> count > 1 ? count - 1 : null);
+        runningByUser.computeIfPresent(run.username, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    protected synchronized boolean removeFromQueue(ScheduledReportRun run) {
+        return queue.remove(run);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<ScheduledReportRun> queuedRuns;
+        synchronized (this) {
+            queuedRuns = new ArrayList<>(queue);
+            queue.clear();
+        }
+        for (ScheduledReportRun run : queuedRuns) {
+            run.cancel();
+        }
+        executor.shutdownNow();
+    }
+
+    protected class ScheduledReportRun implements ReportRunHandle {
+
+        protected final ReportRunContext context;
+        protected final Function<Long, ReportOutputDocument> task;
+        protected final ReportRunPriority priority;
+        protected final long sequenceNumber;
+        protected final Object reportId;
+        protected final String username;
+        protected final Authentication authentication;
+        protected final long submitTime = System.currentTimeMillis();
+        protected final CompletableFuture<ReportOutputDocument> result = new CompletableFuture<>();
+
+        // guarded by "this"
+        protected ReportRunState state = ReportRunState.QUEUED;
+        protected Thread thread;
+        protected Long startTime;
+        protected Long finishTime;
+
+        public ScheduledReportRun(ReportRunContext context, Function<Long, ReportOutputDocument> task,
+                                  ReportRunPriority priority, long sequenceNumber, @Nullable Object reportId,
+                                  String username, @Nullable Authentication authentication) {
+            this.context = context;
+            this.task = task;
+            this.priority = priority;
+            this.sequenceNumber = sequenceNumber;
+            this.reportId = reportId;
+            this.username = username;
+            this.authentication = authentication;
+        }
+
+        @Override
+        public ReportRunContext getContext() {
+            return context;
+        }
+
+        @Override
+        public synchronized ReportRunState getState() {
+            return state;
+        }
+
+        @Override
+        public CompletableFuture<ReportOutputDocument> getResult() {
+            return result;
+        }
+
+        @Nullable
+        @Override
+        public synchronized Long getQueueWaitTime() {
+            return startTime != null ? startTime - submitTime : null;
+        }
+
+        @Nullable
+        @Override
+        public synchronized Long getRunTime() {
+            if (startTime == null) {
+                return null;
+            }
+            return (finishTime != null ? finishTime : System.currentTimeMillis()) - startTime;
+        }
+
+        @Override
+        public boolean cancel() {
+            synchronized (this) {
+                if (state == ReportRunState.RUNNING) {
+                    thread.interrupt();
+                    return true;
+                }
+                if (state != ReportRunState.QUEUED) {
+                    return false;
+                }
+                state = ReportRunState.CANCELLED;
+            }
+            removeFromQueue(this);
+            result.completeExceptionally(new ReportCanceledException("Report run is canceled before start"));
+            return true;
+        }
+
+        protected synchronized boolean start(Thread thread) {
+            if (state != ReportRunState.QUEUED) {
+                return false;
+            }
+            this.state = ReportRunState.RUNNING;
+            this.thread = thread;
+            this.startTime = System.currentTimeMillis();
+            return true;
+        }
+
+        protected void complete(@Nullable ReportOutputDocument document, @Nullable Throwable error) {
+            synchronized (this) {
+                finishTime = System.currentTimeMillis();
+                thread = null;
+                if (error == null) {
+                    state = ReportRunState.COMPLETED;
+                } else if (error instanceof ReportCanceledException) {
+                    state = ReportRunState.CANCELLED;
+                } else {
+                    state = ReportRunState.FAILED;
+                }
+            }
+            if (error == null) {
+                result.complete(document);
+            } else {
+                if (!(error instanceof ReportCanceledException)) {
+                    log.debug("Report run failed", error);
+                }
+                result.completeExceptionally(error);
+            }
+        }
+    }
+}
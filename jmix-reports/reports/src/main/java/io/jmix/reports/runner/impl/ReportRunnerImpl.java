@@ -19,8 +19,10 @@ package io.jmix.reports.runner.impl;
 import io.jmix.core.DataManager;
 import io.jmix.core.EntityStates;
 import io.jmix.core.Id;
+import io.jmix.core.common.util.Preconditions;
 import io.jmix.reports.PrototypesLoader;
 import io.jmix.reports.ReportExecutionHistoryRecorder;
+import io.jmix.reports.ReportOutputCache;
 import io.jmix.reports.ReportsProperties;
 import io.jmix.reports.app.ParameterPrototype;
 import io.jmix.reports.entity.Report;
@@ -31,23 +33,32 @@ import io.jmix.reports.exception.*;
 import io.jmix.reports.libintegration.CustomFormatter;
 import io.jmix.reports.runner.FluentReportRunner;
 import io.jmix.reports.runner.ReportRunContext;
+import io.jmix.reports.runner.ReportRunHandle;
 import io.jmix.reports.runner.ReportRunner;
 import io.jmix.reports.util.ReportsUtils;
 import io.jmix.reports.yarg.exception.OpenOfficeException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
 import io.jmix.reports.yarg.formatters.impl.doc.connector.NoFreePortsException;
 import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl;
 import io.jmix.reports.yarg.reporting.ReportingAPI;
 import io.jmix.reports.yarg.reporting.RunParams;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -71,33 +82,107 @@ public class ReportRunnerImpl implements ReportRunner {
     @Autowired
     protected ReportExecutionHistoryRecorder executionHistoryRecorder;
     @Autowired
+    protected ReportOutputCache reportOutputCache;
+    @Autowired
+    protected ReportExecutionScheduler executionScheduler;
+    @Autowired
     protected ReportsUtils reportsUtils;
     @Autowired
     protected ApplicationContext applicationContext;
 
     @Override
     public ReportOutputDocument run(ReportRunContext context) {
+        return runInternal(context, null);
+    }
+
+    @Override
+    public ReportOutputDocument run(ReportRunContext context, OutputStream outputStream) {
+        Preconditions.checkNotNullArgument(outputStream);
+        return runInternal(context, outputStream);
+    }
+
+    @Override
+    public ReportRunHandle runAsync(ReportRunContext context) {
+        return executionScheduler.schedule(context, queueWaitTime -> runInternal(context, null, queueWaitTime));
+    }
+
+    protected ReportOutputDocument runInternal(ReportRunContext context, @Nullable OutputStream outputStream) {
+        return runInternal(context, outputStream, null);
+    }
+
+    /**
+     * @param queueWaitTime time in milliseconds an asynchronous run has been queued, null for synchronous runs
+     */
+    protected ReportOutputDocument runInternal(ReportRunContext context, @Nullable OutputStream outputStream,
+                                               @Nullable Long queueWaitTime) {
         prepareContext(context);
         if (!reportsProperties.isHistoryRecordingEnabled()) {
-            return createReportDocumentInternal(context);
+            return createReportDocument(context, outputStream);
         }
 
         ReportExecution reportExecution =
                 executionHistoryRecorder.startExecution(context.getReport(), context.getParams());
+        reportExecution.setQueueWaitTime(queueWaitTime);
+        // the streamed content is also written to a temporary file to save it to the history
+        File contentFile = outputStream != null && reportsProperties.isSaveOutputDocumentsToHistory()
+                ? createContentFile()
+                : null;
         try {
-            ReportOutputDocument document = createReportDocumentInternal(context);
+            ReportOutputDocument document;
+            if (contentFile != null) {
+                try (OutputStream fileOutputStream = new FileOutputStream(contentFile)) {
+                    document = createReportDocument(context, new TeeOutputStream(outputStream, fileOutputStream));
+                }
+                if (document instanceof ReportOutputDocumentImpl documentImpl) {
+                    documentImpl.setContentFile(contentFile);
+                }
+            } else {
+                document = createReportDocument(context, outputStream);
+            }
             executionHistoryRecorder.markAsSuccess(reportExecution, document);
+            if (document instanceof ReportOutputDocumentImpl documentImpl) {
+                documentImpl.setContentFile(null);
+            }
             return document;
         } catch (ReportCanceledException e) {
             executionHistoryRecorder.markAsCancelled(reportExecution);
             throw e;
+        } catch (IOException e) {
+            ReportingException reportingException =
+                    new ReportingException("Unable to write the report content to a temporary file", e);
+            executionHistoryRecorder.markAsError(reportExecution, reportingException);
+            throw reportingException;
         } catch (Exception e) {
             executionHistoryRecorder.markAsError(reportExecution, e);
             throw e;
+        } finally {
+            if (contentFile != null) {
+                FileUtils.deleteQuietly(contentFile);
+            }
+        }
+    }
+
+    protected File createContentFile() {
+        try {
+            return File.createTempFile("report", null);
+        } catch (IOException e) {
+            throw new ReportingException("Unable to create a temporary file for the report content", e);
+        }
+    }
+
+    protected ReportOutputDocument createReportDocument(ReportRunContext context, @Nullable OutputStream outputStream) {
+        // streamed documents are not kept in memory, so they are not cached
+        if (outputStream == null && reportOutputCache.isEnabled()) {
+            return reportOutputCache.getOrRender(context, () -> createReportDocumentInternal(context, null));
         }
+        return createReportDocumentInternal(context, outputStream);
     }
 
-    protected ReportOutputDocument createReportDocumentInternal(ReportRunContext context) {
+    /**
+     * @param outputStream stream to write the report content to, or null to return the content in the document
+     */
+    protected ReportOutputDocument createReportDocumentInternal(ReportRunContext context,
+                                                                @Nullable OutputStream outputStream) {
         Report report = context.getReport();
         ReportTemplate template = context.getReportTemplate();
         ReportOutputType outputType = context.getOutputType();
@@ -131,7 +216,10 @@ public class ReportRunnerImpl implements ReportRunner {
 
             io.jmix.reports.yarg.structure.ReportOutputType resultOutputType = (outputType != null) ? outputType.getOutputType() : template.getOutputType();
 
-            return reportingAPI.runReport(new RunParams(report).template(template).params(resultParams).output(resultOutputType).outputNamePattern(outputNamePattern));
+            RunParams runParams = new RunParams(report).template(template).params(resultParams).output(resultOutputType).outputNamePattern(outputNamePattern);
+            return outputStream != null
+                    ? reportingAPI.runReport(runParams, outputStream)
+                    : reportingAPI.runReport(runParams);
         } catch (NoFreePortsException nfe) {
             throw new NoOpenOfficeFreePortsException(nfe.getMessage());
         } catch (OpenOfficeException ooe) {
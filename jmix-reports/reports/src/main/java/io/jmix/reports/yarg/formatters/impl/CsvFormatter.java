@@ -54,20 +54,22 @@ public class CsvFormatter extends AbstractFormatter {
 
     protected void writeCsvDocument(BandData rootBand, OutputStream outputStream) {
         try {
-            List<BandData> actualData = getActualData(rootBand);
-            CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), separator,
-                    CSVWriter.DEFAULT_QUOTE_CHARACTER, CSVWriter.DEFAULT_ESCAPE_CHARACTER, CSVWriter.DEFAULT_LINE_END);
+            CSVWriter writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)),
+                    separator, CSVWriter.DEFAULT_QUOTE_CHARACTER, CSVWriter.DEFAULT_ESCAPE_CHARACTER, CSVWriter.DEFAULT_LINE_END);
 
             writer.writeNext(header);
 
-            for (BandData row : actualData) {
-                String[] entries = new String[parametersToInsert.size()];
-                for (int i = 0; i < parametersToInsert.size(); i++) {
-                    String parameterName = parametersToInsert.get(i);
-                    String fullParameterName = row.getName() + "." + parameterName;
-                    entries[i] = formatValue(row.getData().get(parameterName), parameterName, fullParameterName);
+            // rows are written while the bands are traversed, so no copy of the band list is built
+            Map<String, List<BandData>> childrenBands = rootBand.getChildrenBands();
+            if (childrenBands != null) {
+                for (List<BandData> bandDataList : childrenBands.values()) {
+                    for (BandData row : bandDataList) {
+                        if (isActualData(row)) {
+                            checkThreadInterrupted();
+                            writer.writeNext(createEntries(row));
+                        }
+                    }
                 }
-                writer.writeNext(entries);
             }
 
             writer.close();
@@ -76,13 +78,27 @@ public class CsvFormatter extends AbstractFormatter {
         }
     }
 
+    protected String[] createEntries(BandData row) {
+        String[] entries = new String[parametersToInsert.size()];
+        for (int i = 0; i < parametersToInsert.size(); i++) {
+            String parameterName = parametersToInsert.get(i);
+            String fullParameterName = row.getName() + "." + parameterName;
+            entries[i] = formatValue(row.getData().get(parameterName), parameterName, fullParameterName);
+        }
+        return entries;
+    }
+
+    protected boolean isActualData(BandData bandData) {
+        return bandData.getData() != null && !bandData.getData().isEmpty();
+    }
+
     protected List<BandData> getActualData(BandData rootBand) {
         List<BandData> resultData = new ArrayList<>();
         Map<String, List<BandData>> childrenBands = rootBand.getChildrenBands();
 
         if (childrenBands != null && !childrenBands.isEmpty()) {
             childrenBands.forEach((s, bandDataList) -> bandDataList.forEach(bandData -> {
-                if (bandData.getData() != null && !bandData.getData().isEmpty()) {
+                if (isActualData(bandData)) {
                     resultData.add(bandData);
                 }
             }));
@@ -187,6 +187,10 @@ public class XlsxFormatter extends AbstractFormatter {
             if (ReportOutputType.csv.equals(outputType)) {
                 saveXlsxAsCsv(result, outputStream);
                 outputStream.flush();
+            } else if (ReportOutputType.xlsx.equals(outputType) && !isFormulasPostProcessingEvaluationRequired()) {
+                // write the package straight to the output without an intermediate copy of the whole document
+                writeToOutputStream(result.getPackage(), outputStream);
+                outputStream.flush();
             } else {
                 ByteArrayOutputStream intermediateBos = new ByteArrayOutputStream();
                 writeToOutputStream(result.getPackage(), intermediateBos);
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013 Haulmont
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.jmix.reports.yarg.loaders;
+
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data loader which can load rows of a child band for many parent bands with a single query
+ * instead of one query per parent band.
+ */
+public interface BatchReportDataLoader extends ReportDataLoader {
+
+    /**
+     * @param reportQuery    query of the child band
+     * @param parentBandName name of the parent band
+     * @return true if rows of the query can be loaded for a batch of parent bands
+     */
+    boolean supportsBatch(ReportQuery reportQuery, String parentBandName);
+
+    /**
+     * Loads rows for all parent bands. The parent bands must have the same name, parameters of ancestor bands
+     * are taken from the parent of the first band.
+     * <p>
+     * Returned maps MUST be mutable, see {@link ReportDataLoader#loadData(ReportQuery, BandData, Map)}.
+     *
+     * @return rows of each parent band, in the order of {@code parentBands}
+     */
+    List<List<Map<String, Object>>> loadBatchData(ReportQuery reportQuery, List<BandData> parentBands,
+                                                  Map<String, Object> params);
+}
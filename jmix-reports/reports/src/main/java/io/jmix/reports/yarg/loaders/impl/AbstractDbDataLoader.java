@@ -16,20 +16,48 @@
 
 package io.jmix.reports.yarg.loaders.impl;
 
+import com.google.common.collect.Lists;
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
 import groovy.text.GStringTemplateEngine;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public abstract class AbstractDbDataLoader extends AbstractDataLoader {
+/**
+ * Base class for query loaders.
+ * <p>
+ * A query of a child band can be loaded for all parent bands at once, see {@link BatchReportDataLoader}, if the query
+ * references the parent band in a single {@code expression = ${ParentBand.field}} condition which is one of the
+ * top-level conjuncts of the where clause, and the query has no top-level {@code or} conditions. Such a condition is
+ * replaced with {@code expression in (...)} containing the field values of all parent bands, the expression is added
+ * to the select clause and used to distribute loaded rows back to parent bands. Queries with templates, several
+ * select clauses, {@code *} in the select clause, grouping, aggregate functions or result limits are loaded per
+ * parent band.
+ */
+public abstract class AbstractDbDataLoader extends AbstractDataLoader implements BatchReportDataLoader {
 
     public static final Pattern COMMON_PARAM_PATTERN = Pattern.compile("\\$\\{(.+?)\\}");
 
+    /**
+     * Max number of parent band keys passed to a single batch query.
+     */
+    public static final int MAX_BATCH_KEYS = 500;
+
+    protected static final Pattern SELECT_PATTERN = Pattern.compile("(?i)\\bselect\\b");
+    protected static final Pattern BATCH_UNSUPPORTED_PATTERN = Pattern.compile("(?i)\\b(union|intersect|except|minus" +
+            "|group\\s+by|having|limit|offset|fetch\\s+first|top|rownum|over\\s*\\(|count\\s*\\(|sum\\s*\\(|avg\\s*\\(" +
+            "|min\\s*\\(|max\\s*\\()");
+    protected static final Pattern CONJUNCT_START_PATTERN = Pattern.compile("(?i)\\s(where|and)\\s+$");
+    protected static final Pattern CONJUNCT_END_PATTERN = Pattern.compile("(?i)^\\s*($|and\\s)");
+
     protected List<Map<String, Object>> fillOutputData(List resList, List<OutputValue> parametersNames) {
         List<Map<String, Object>> outputData = new ArrayList<>();
 
@@ -59,6 +87,211 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
         return outputData;
     }
 
+    @Override
+    public boolean supportsBatch(ReportQuery reportQuery, String parentBandName) {
+        return createBatchQuery(reportQuery, parentBandName) != null;
+    }
+
+    @Override
+    public List<List<Map<String, Object>>> loadBatchData(ReportQuery reportQuery, List<BandData> parentBands,
+                                                         Map<String, Object> params) {
+        List<List<Map<String, Object>>> result = new ArrayList<>(parentBands.size());
+        for (int i = 0; i < parentBands.size(); i++) {
+            result.add(new ArrayList<>());
+        }
+        if (parentBands.isEmpty()) {
+            return result;
+        }
+
+        BatchQuery batchQuery = createBatchQuery(reportQuery, parentBands.get(0).getName());
+        if (batchQuery == null) {
+            throw new DataLoadingException(String.format("Data set [%s] cannot be loaded in batch", reportQuery.getName()));
+        }
+
+        Map<Object, Object> keyValues = new LinkedHashMap<>();
+        Map<Object, List<Integer>> parentIndexesByKey = new HashMap<>();
+        for (int i = 0; i < parentBands.size(); i++) {
+            Map<String, Object> parentData = parentBands.get(i).getData();
+            Object value = parentData != null ? parentData.get(batchQuery.getParentField()) : null;
+            if (value != null) {
+                Object key = normalizeBatchKey(value);
+                keyValues.putIfAbsent(key, value);
+                parentIndexesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            } else {
+                // the condition is removed from the query for null parameters, so such a band is loaded separately
+                result.set(i, loadData(reportQuery, parentBands.get(i), params));
+            }
+        }
+
+        // ancestors of the parent bands are the same, so parameters from them are taken from the first parent band
+        BandData ancestorBand = parentBands.get(0).getParentBand();
+        for (List<Object> keysBatch : Lists.partition(new ArrayList<>(keyValues.values()), MAX_BATCH_KEYS)) {
+            Map<String, Object> batchParams = new HashMap<>(params);
+            List<Object> convertedKeys = new ArrayList<>(keysBatch.size());
+            for (Object key : keysBatch) {
+                convertedKeys.add(convertParameter(key));
+            }
+            batchParams.put(batchQuery.getParentParamName(), convertedKeys);
+
+            for (Map.Entry<Object, Map<String, Object>> row : loadBatchRows(reportQuery, batchQuery.getQuery(),
+                    ancestorBand, batchParams)) {
+                List<Integer> parentIndexes = row.getKey() != null
+                        ? parentIndexesByKey.get(normalizeBatchKey(row.getKey()))
+                        : null;
+                if (parentIndexes == null) {
+                    continue;
+                }
+                for (Integer parentIndex : parentIndexes) {
+                    // each parent band must get its own mutable row
+                    result.get(parentIndex).add(parentIndexes.size() == 1 ? row.getValue() : new HashMap<>(row.getValue()));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Executes the query created by {@link #createBatchQuery(ReportQuery, String)}, the last selected value of
+     * which is the key of the parent band.
+     *
+     * @return loaded rows with the parent band keys
+     */
+    protected abstract List<Map.Entry<Object, Map<String, Object>>> loadBatchRows(ReportQuery reportQuery, String query,
+                                                                                  BandData ancestorBand,
+                                                                                  Map<String, Object> params);
+
+    /**
+     * Converts keys of parent bands and loaded rows to the same form, e.g. database may return a number
+     * of another type or a string instead of UUID.
+     */
+    protected Object normalizeBatchKey(Object value) {
+        if (value instanceof Number) {
+            return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+        }
+        return value.toString();
+    }
+
+    @Nullable
+    protected BatchQuery createBatchQuery(ReportQuery reportQuery, String parentBandName) {
+        String query = reportQuery.getScript();
+        if (StringUtils.isBlank(query) || Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
+            return null;
+        }
+        query = StringUtils.removeEnd(query.trim(), ";");
+
+        String parentParamName = null;
+        for (String paramName : findParameterNames(query)) {
+            if (paramName.startsWith(parentBandName + ".")) {
+                if (parentParamName != null) {
+                    return null;
+                }
+                parentParamName = paramName;
+            }
+        }
+        if (parentParamName == null
+                || StringUtils.countMatches(query, "${" + parentParamName + "}") != 1
+                || BATCH_UNSUPPORTED_PATTERN.matcher(query).find()) {
+            return null;
+        }
+
+        Matcher selectMatcher = SELECT_PATTERN.matcher(query);
+        if (!selectMatcher.find() || selectMatcher.find()) {
+            return null;
+        }
+
+        int fromIndex = findTopLevelKeyword(query, "from", 0);
+        if (fromIndex < 0 || query.substring(0, fromIndex).contains("*")) {
+            // the key cannot be appended to "select *" on all databases
+            return null;
+        }
+        int whereIndex = findTopLevelKeyword(query, "where", fromIndex);
+        if (whereIndex < 0) {
+            return null;
+        }
+        int whereEnd = findTopLevelKeyword(query, "order", whereIndex);
+        if (whereEnd < 0) {
+            whereEnd = query.length();
+        }
+        int orIndex = findTopLevelKeyword(query, "or", whereIndex);
+        if (orIndex >= 0 && orIndex < whereEnd) {
+            return null;
+        }
+
+        // the condition must be one of the top-level conjuncts of the where clause, otherwise rows cannot be
+        // distributed by the key, e.g. rows of an outer join or of another "or" branch
+        Matcher conditionMatcher = Pattern.compile("([\\w.]+)\\s*=\\s*" + Pattern.quote("${" + parentParamName + "}"))
+                .matcher(query);
+        conditionMatcher.region(whereIndex, whereEnd);
+        if (!conditionMatcher.find() || !isTopLevel(query, conditionMatcher.start())) {
+            return null;
+        }
+        String before = query.substring(whereIndex, conditionMatcher.start());
+        String after = query.substring(conditionMatcher.end(), whereEnd);
+        if (!CONJUNCT_START_PATTERN.matcher(before).find() || !CONJUNCT_END_PATTERN.matcher(after).find()) {
+            return null;
+        }
+
+        String keyExpression = conditionMatcher.group(1);
+        String batchQuery = query.substring(0, fromIndex) + ", " + keyExpression
+                + query.substring(fromIndex, conditionMatcher.start())
+                + keyExpression + " in ${" + parentParamName + "}"
+                + query.substring(conditionMatcher.end());
+        return new BatchQuery(batchQuery, parentParamName, parentParamName.substring(parentBandName.length() + 1));
+    }
+
+    /**
+     * @return index of the whitespace before the keyword on the top level of the query after the given index,
+     * or -1 if not found
+     */
+    protected int findTopLevelKeyword(String query, String keyword, int fromIndex) {
+        int depth = 0;
+        char quote = 0;
+        int length = keyword.length();
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (i >= fromIndex && depth == 0 && Character.isWhitespace(c)
+                    && query.regionMatches(true, i + 1, keyword, 0, length)
+                    && i + length + 1 < query.length()
+                    && (Character.isWhitespace(query.charAt(i + length + 1)) || query.charAt(i + length + 1) == '(')) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return whether the index is outside of parentheses and literals
+     */
+    protected boolean isTopLevel(String query, int index) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < index; i++) {
+            char c = query.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+        return depth == 0 && quote == 0;
+    }
+
     private void putValue(Map<String, Object> outputData, OutputValue outputValue, Object value) {
         outputData.put(outputValue.getValueName(), value);
         if (StringUtils.isNotBlank(outputValue.getSynonym())) {
@@ -232,6 +465,30 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
         return query;
     }
 
+    protected static class BatchQuery {
+        private String query;
+        private String parentParamName;
+        private String parentField;
+
+        public BatchQuery(String query, String parentParamName, String parentField) {
+            this.query = query;
+            this.parentParamName = parentParamName;
+            this.parentField = parentField;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public String getParentParamName() {
+            return parentParamName;
+        }
+
+        public String getParentField() {
+            return parentField;
+        }
+    }
+
     protected static class QueryPack {
         private String query;
         private QueryParameter[] params;
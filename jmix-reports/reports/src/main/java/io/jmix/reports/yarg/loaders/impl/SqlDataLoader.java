@@ -27,7 +27,9 @@ import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -53,15 +55,46 @@ public class SqlDataLoader extends AbstractDbDataLoader {
 
     @Override
     public List<Map<String, Object>> loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params) {
+        String query = reportQuery.getScript();
+        if (StringUtils.isBlank(query)) {
+            return Collections.emptyList();
+        }
+        if (Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
+            query = processQueryTemplate(query, parentBand, params);
+        }
+        List<OutputValue> outputValues = new ArrayList<>();
+        List resList = executeQuery(reportQuery, query, parentBand, params, outputValues);
+        return fillOutputData(resList, outputValues);
+    }
+
+    @Override
+    protected List<Map.Entry<Object, Map<String, Object>>> loadBatchRows(ReportQuery reportQuery, String query,
+                                                                         BandData ancestorBand, Map<String, Object> params) {
+        List<OutputValue> outputValues = new ArrayList<>();
+        List<Object[]> resList = executeQuery(reportQuery, query, ancestorBand, params, outputValues);
+        if (resList.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // the last column is the key of the parent band added by the batch query
+        List<Object[]> rowValues = new ArrayList<>(resList.size());
+        for (Object[] values : resList) {
+            rowValues.add(Arrays.copyOf(values, values.length - 1));
+        }
+        List<Map<String, Object>> outputData = fillOutputData(rowValues, outputValues.subList(0, outputValues.size() - 1));
+
+        List<Map.Entry<Object, Map<String, Object>>> rows = new ArrayList<>(resList.size());
+        for (int i = 0; i < resList.size(); i++) {
+            Object[] values = resList.get(i);
+            rows.add(new AbstractMap.SimpleEntry<>(values[values.length - 1], outputData.get(i)));
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<Object[]> executeQuery(ReportQuery reportQuery, String query, BandData parentBand,
+                                          Map<String, Object> params, final List<OutputValue> outputValues) {
         try {
-            String query = reportQuery.getScript();
-            if (StringUtils.isBlank(query)) {
-                return Collections.emptyList();
-            }
-            final List<OutputValue> outputValues = new ArrayList<>();
-            if (Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
-                query = processQueryTemplate(query, parentBand, params);
-            }
             final QueryPack pack = prepareQuery(query, parentBand, params);
 
             List<Object> resultingParams = new ArrayList<>();
@@ -74,7 +107,7 @@ public class SqlDataLoader extends AbstractDbDataLoader {
                 }
             }
 
-            List resList = runQuery(reportQuery, pack.getQuery(), resultingParams.toArray(), new ResultSetHandler<List>() {
+            return runQuery(reportQuery, pack.getQuery(), resultingParams.toArray(), new ResultSetHandler<List>() {
                 @Override
                 public List handle(ResultSet rs) throws SQLException {
                     List<Object[]> resList = new ArrayList<>();
@@ -107,7 +140,6 @@ public class SqlDataLoader extends AbstractDbDataLoader {
                     }
                 }
             });
-            return fillOutputData(resList, outputValues);
         } catch (DataLoadingException e) {
             throw e;
         } catch (Throwable e) {
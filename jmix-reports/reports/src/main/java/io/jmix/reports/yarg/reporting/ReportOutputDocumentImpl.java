@@ -18,12 +18,15 @@ package io.jmix.reports.yarg.reporting;
 import io.jmix.reports.yarg.structure.Report;
 import io.jmix.reports.yarg.structure.ReportOutputType;
 
+import java.io.File;
+
 public class ReportOutputDocumentImpl implements ReportOutputDocument {
 
     protected Report report;
     protected byte[] content;
     protected String documentName;
     protected ReportOutputType reportOutputType;
+    protected transient File contentFile;
 
     public ReportOutputDocumentImpl(Report report, byte[] content, String documentName, ReportOutputType reportOutputType) {
         this.report = report;
@@ -67,4 +70,16 @@ public class ReportOutputDocumentImpl implements ReportOutputDocument {
     public void setReportOutputType(ReportOutputType reportOutputType) {
         this.reportOutputType = reportOutputType;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return temporary file with the content of a document written to an output stream, or null if the content
+     * is not kept. The file exists while the report run is being finished only.
+     */
+    public File getContentFile() {
+        return contentFile;
+    }
+
+    public void setContentFile(File contentFile) {
+        this.contentFile = contentFile;
+    }
+}
@@ -21,6 +21,7 @@ import io.jmix.reports.yarg.reporting.extraction.*;
 import io.jmix.reports.yarg.exception.DataLoadingException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
 import io.jmix.reports.yarg.exception.ValidationException;
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.loaders.ReportDataLoader;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
 import io.jmix.reports.yarg.structure.BandData;
@@ -28,6 +29,9 @@ import io.jmix.reports.yarg.structure.ReportBand;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -37,12 +41,19 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Default data extraction logic implementation
+ * <p>
+ * If batch extraction is enabled, bands are extracted level by level: the data of a child band is loaded for all
+ * bands of the parent level at once if the child band has a single query supported by
+ * {@link BatchReportDataLoader}. Otherwise the child band is extracted for each parent band separately.
  */
 public class DefaultExtractionController implements ExtractionController {
 
+    private static final Logger log = LoggerFactory.getLogger(DefaultExtractionController.class);
+
     protected ReportLoaderFactory loaderFactory;
     protected ExtractionControllerFactory controllerRegistry;
     protected PreprocessorFactory preprocessorFactory;
+    protected boolean batchExtractionEnabled;
 
     public DefaultExtractionController(ExtractionControllerFactory controllerRegistry, ReportLoaderFactory loaderFactory) {
         checkNotNull(controllerRegistry);
@@ -113,12 +124,175 @@ public class DefaultExtractionController implements ExtractionController {
         return preprocessorFactory;
     }
 
+    public boolean isBatchExtractionEnabled() {
+        return batchExtractionEnabled;
+    }
+
+    public void setBatchExtractionEnabled(boolean batchExtractionEnabled) {
+        this.batchExtractionEnabled = batchExtractionEnabled;
+    }
+
     protected List<BandData> traverseData(ExtractionContext context, List<Map<String, Object>> outputData) {
+        if (batchExtractionEnabled) {
+            List<BandData> bands = outputData.stream()
+                    .map(data -> createBandData(context, context.getParentBandData(), data))
+                    .collect(Collectors.toList());
+            extractChildren(context, bands);
+            return bands;
+        }
         return outputData.stream()
                 .map(data-> wrapData(context, data))
                 .collect(Collectors.toList());
     }
 
+    protected BandData createBandData(ExtractionContext context, BandData parentBand, Map<String, Object> data) {
+        BandData band = new BandData(context.getBand().getName(), parentBand, context.getBand().getBandOrientation());
+        band.setData(data);
+        return band;
+    }
+
+    /**
+     * Extracts children of all bands of one level, the bands are created for the definition of the passed context.
+     */
+    protected void extractChildren(ExtractionContext context, List<BandData> bands) {
+        Collection<ReportBand> childrenBandDefinitions = context.getBand().getChildren();
+        if (childrenBandDefinitions == null || bands.isEmpty()) {
+            return;
+        }
+        for (ReportBand childDefinition : childrenBandDefinitions) {
+            long start = System.nanoTime();
+            ExtractionController childController = controllerRegistry.controllerBy(childDefinition.getBandOrientation());
+            ReportQuery batchQuery = childController == this && bands.size() > 1
+                    ? getBatchQuery(childDefinition, context.getBand().getName())
+                    : null;
+            if (batchQuery != null) {
+                for (List<BandData> parentBands : groupByAncestors(batchQuery, bands)) {
+                    extractBatch(context.withBand(childDefinition, parentBands.get(0)), batchQuery, parentBands);
+                }
+            } else {
+                for (BandData band : bands) {
+                    band.addChildren(childController.extract(context.withBand(childDefinition, band)));
+                }
+            }
+            onBandExtracted(childDefinition, batchQuery != null, bands.size(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Loads the data of the child band of the passed context for all parent bands with one loader call and
+     * continues the extraction with the next level.
+     */
+    protected void extractBatch(ExtractionContext context, ReportQuery reportQuery, List<BandData> parentBands) {
+        List<BandData> notEmptyParentBands = parentBands.stream()
+                .filter(parentBand -> !isEmptyBand(parentBand))
+                .collect(Collectors.toList());
+        Map<BandData, List<Map<String, Object>>> batchData = new IdentityHashMap<>();
+        if (!notEmptyParentBands.isEmpty()) {
+            List<List<Map<String, Object>>> loadedData = getBatchQueryData(context, reportQuery, notEmptyParentBands);
+            for (int i = 0; i < notEmptyParentBands.size(); i++) {
+                batchData.put(notEmptyParentBands.get(i), loadedData.get(i));
+            }
+        }
+
+        List<BandData> childBands = new ArrayList<>();
+        for (BandData parentBand : parentBands) {
+            List<Map<String, Object>> result = batchData.getOrDefault(parentBand, Collections.emptyList());
+            if (context.putEmptyRowIfNoDataSelected() && CollectionUtils.isEmpty(result)) {
+                result = new ArrayList<>();
+                result.add(Collections.emptyMap());
+            }
+
+            List<BandData> bands = new ArrayList<>(result.size());
+            for (Map<String, Object> data : result) {
+                bands.add(createBandData(context, parentBand, data));
+            }
+            parentBand.addChildren(bands);
+            childBands.addAll(bands);
+        }
+        extractChildren(context, childBands);
+    }
+
+    protected List<List<Map<String, Object>>> getBatchQueryData(ExtractionContext context, ReportQuery reportQuery,
+                                                                List<BandData> parentBands) {
+        checkInterrupted();
+        try {
+            BatchReportDataLoader dataLoader =
+                    (BatchReportDataLoader) loaderFactory.createDataLoader(reportQuery.getLoaderType());
+            return preprocessorFactory.processorBy(reportQuery.getLoaderType())
+                    .preprocess(reportQuery, new HashMap<>(context.getParams()), (processedQuery, processedParams) -> {
+                        List<List<Map<String, Object>>> result = dataLoader.loadBatchData(processedQuery,
+                                parentBands, processedParams);
+                        context.extendParams(processedParams);
+                        return result;
+                    });
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for band [%s] and query [%s].",
+                    context.getBand().getName(), reportQuery.getName()), e);
+        }
+    }
+
+    /**
+     * @return the query of the band if it can be loaded for all parent bands at once, null otherwise
+     */
+    @Nullable
+    protected ReportQuery getBatchQuery(ReportBand band, String parentBandName) {
+        List<ReportQuery> reportQueries = band.getReportQueries();
+        if (reportQueries == null || reportQueries.size() != 1) {
+            return null;
+        }
+        ReportQuery reportQuery = reportQueries.get(0);
+        ReportDataLoader dataLoader = loaderFactory.createDataLoader(reportQuery.getLoaderType());
+        if (dataLoader instanceof BatchReportDataLoader
+                && ((BatchReportDataLoader) dataLoader).supportsBatch(reportQuery, parentBandName)) {
+            return reportQuery;
+        }
+        return null;
+    }
+
+    /**
+     * Parent bands can be loaded together only if the query doesn't reference other ancestor bands
+     * which differ between the parent bands.
+     */
+    protected Collection<List<BandData>> groupByAncestors(ReportQuery reportQuery, List<BandData> parentBands) {
+        String script = StringUtils.defaultString(reportQuery.getScript());
+        boolean referencesAncestors = false;
+        for (BandData ancestor = parentBands.get(0).getParentBand(); ancestor != null; ancestor = ancestor.getParentBand()) {
+            if (script.contains("${" + ancestor.getName() + ".")) {
+                referencesAncestors = true;
+                break;
+            }
+        }
+        if (!referencesAncestors) {
+            return Collections.singletonList(parentBands);
+        }
+
+        Map<BandData, List<BandData>> groups = new IdentityHashMap<>();
+        List<List<BandData>> result = new ArrayList<>();
+        for (BandData parentBand : parentBands) {
+            groups.computeIfAbsent(parentBand.getParentBand(), ancestor -> {
+                List<BandData> group = new ArrayList<>();
+                result.add(group);
+                return group;
+            }).add(parentBand);
+        }
+        return result;
+    }
+
+    /**
+     * Invoked after a child band is extracted for all bands of the parent level.
+     *
+     * @param band        child band definition
+     * @param batch       whether the band data was loaded for all parent bands at once
+     * @param parentCount number of parent bands
+     * @param nanos       extraction time including nested bands
+     */
+    protected void onBandExtracted(ReportBand band, boolean batch, int parentCount, long nanos) {
+        log.debug("Band [{}] extracted for {} parent bands in {} ms, batch: {}",
+                band.getName(), parentCount, nanos / 1_000_000, batch);
+    }
+
     protected BandData wrapData(ExtractionContext context, Map<String, Object> data) {
         BandData band = new BandData(context.getBand().getName(),
                 context.getParentBandData(), context.getBand().getBandOrientation());
@@ -198,6 +372,7 @@ public class DefaultExtractionController implements ExtractionController {
     }
 
     protected List<Map<String, Object>>  getQueryData(ExtractionContext context, ReportQuery reportQuery) {
+        checkInterrupted();
         try {
             ReportDataLoader dataLoader = loaderFactory.createDataLoader(reportQuery.getLoaderType());
             return preprocessorFactory.processorBy(reportQuery.getLoaderType())
@@ -216,6 +391,15 @@ public class DefaultExtractionController implements ExtractionController {
         }
     }
 
+    /**
+     * Stops the extraction before the next query if the report run has been cancelled.
+     */
+    protected void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new ReportingInterruptedException("Data extraction interrupted");
+        }
+    }
+
     protected boolean isEmptyBand(BandData parentBand) {
         return parentBand != null && parentBand.getData() == Collections.EMPTY_MAP;
     }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package batch_band_extraction
+
+import io.jmix.reports.libintegration.JpqlDataLoader
+import io.jmix.reports.yarg.loaders.impl.AbstractDbDataLoader
+import io.jmix.reports.yarg.loaders.impl.SqlDataLoader
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.ReportQuery
+import org.apache.commons.dbcp2.BasicDataSource
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.sql.DataSource
+
+class BatchBandExtractionTest extends Specification {
+
+    @Shared
+    BasicDataSource dataSource
+
+    List<BandData> customerBands
+
+    def setupSpec() {
+        dataSource = new BasicDataSource()
+        dataSource.driverClassName = 'org.hsqldb.jdbc.JDBCDriver'
+        dataSource.url = 'jdbc:hsqldb:mem:batchBandExtraction'
+        dataSource.username = 'sa'
+        dataSource.password = ''
+
+        dataSource.connection.withCloseable { connection ->
+            connection.createStatement().withCloseable { statement ->
+                statement.execute('create table CUSTOMER (ID integer, NAME varchar(50))')
+                statement.execute('create table ORDERS (ID integer, CUSTOMER_ID integer, AMOUNT integer)')
+                statement.execute("insert into CUSTOMER values (1, 'Alice'), (2, 'Bob'), (3, 'Carol')")
+                statement.execute('insert into ORDERS values (1, 1, 10), (2, 1, 20), (3, 2, 30), (4, null, 40), (5, 2, 0)')
+            }
+        }
+    }
+
+    def cleanupSpec() {
+        dataSource.close()
+    }
+
+    def setup() {
+        BandData root = new BandData(BandData.ROOT_BAND_NAME)
+        customerBands = [1, 2, 3, 2].collect { id ->
+            BandData band = new BandData('Customer', root)
+            band.setData([id: id])
+            band
+        }
+    }
+
+    def "SQL band loaded in batch equals the band loaded per parent"() {
+        def loader = new SqlDataLoader(dataSource)
+        def query = new TestReportQuery('Orders',
+                'select o.id as "id", o.amount as "amount" from ORDERS o ' +
+                        'where o.amount > 0 and o.customer_id = ${Customer.id} order by o.id')
+
+        expect:
+        loader.supportsBatch(query, 'Customer')
+        loader.loadBatchData(query, customerBands, [:]) == loadPerParent(loader, query)
+        loader.loadBatchData(query, customerBands, [:])*.size() == [2, 1, 0, 1]
+    }
+
+    def "JPQL band loaded in batch equals the band loaded per parent"() {
+        def loader = new JdbcJpqlDataLoader(dataSource)
+        def query = new TestReportQuery('Orders',
+                'select o.id as id, o.amount as amount from ORDERS o ' +
+                        'where o.customer_id = ${Customer.id} and o.amount > 0 order by o.id')
+
+        expect:
+        loader.supportsBatch(query, 'Customer')
+        loader.loadBatchData(query, customerBands, [:]) == loadPerParent(loader, query)
+        loader.loadBatchData(query, customerBands, [:])*.size() == [2, 1, 0, 1]
+    }
+
+    def "query is not loaded in batch if the parent condition is not a top-level conjunct: #script"() {
+        def loader = new SqlDataLoader(dataSource)
+
+        expect:
+        !loader.supportsBatch(new TestReportQuery('Orders', script), 'Customer')
+
+        where:
+        script << [
+                'select o.id from ORDERS o where o.customer_id = ${Customer.id} or o.amount > 10',
+                'select o.id from ORDERS o where o.amount > 10 or o.customer_id = ${Customer.id}',
+                'select c.name, o.id from CUSTOMER c left join ORDERS o on o.customer_id = ${Customer.id} where c.id > 0',
+                'select * from ORDERS o where o.customer_id = ${Customer.id}',
+                'select o.* from ORDERS o where o.customer_id = ${Customer.id}',
+                'select o.id from ORDERS o where o.id in (select p.id from ORDERS p where p.customer_id = ${Customer.id})',
+                'select o.id from ORDERS o where not o.customer_id = ${Customer.id}',
+                'select o.id from ORDERS o where o.amount + o.customer_id = ${Customer.id}',
+                'select o.id from ORDERS o'
+        ]
+    }
+
+    protected List<List<Map<String, Object>>> loadPerParent(AbstractDbDataLoader loader, ReportQuery query) {
+        customerBands.collect { band -> loader.loadData(query, band, [:]) }
+    }
+
+    /**
+     * Executes JPQL loader queries with JDBC, so the loader logic is tested without an entity manager.
+     * Scalar queries used in the tests are valid SQL.
+     */
+    static class JdbcJpqlDataLoader extends JpqlDataLoader {
+
+        DataSource dataSource
+
+        JdbcJpqlDataLoader(DataSource dataSource) {
+            this.dataSource = dataSource
+        }
+
+        @Override
+        protected List executeQuery(BandData parentBand, Map<String, Object> params, String storeName, String query) {
+            AbstractDbDataLoader.QueryPack pack = prepareQuery(trimQuery(query), parentBand, params)
+
+            String sql = pack.query
+            List<Object> values = []
+            // replace named parameters from the last one, so :param_1 doesn't match :param_10
+            pack.params.reverse().each { AbstractDbDataLoader.QueryParameter parameter ->
+                def value = parameter.value
+                if (value instanceof Collection) {
+                    sql = sql.replace(':param_' + parameter.position, '(' + value.collect { '?' }.join(',') + ')')
+                    values.addAll(0, value)
+                } else {
+                    sql = sql.replace(':param_' + parameter.position, '?')
+                    values.add(0, value)
+                }
+            }
+
+            List result = []
+            dataSource.connection.withCloseable { connection ->
+                connection.prepareStatement(sql).withCloseable { statement ->
+                    values.eachWithIndex { value, i -> statement.setObject(i + 1, value) }
+                    def resultSet = statement.executeQuery()
+                    int columnCount = resultSet.metaData.columnCount
+                    while (resultSet.next()) {
+                        Object[] row = (1..columnCount).collect { resultSet.getObject(it) } as Object[]
+                        // JPA returns scalars for queries with a single selected value
+                        result.add(columnCount == 1 ? row[0] : row)
+                    }
+                }
+            }
+            return result
+        }
+    }
+
+    static class TestReportQuery implements ReportQuery {
+
+        String name
+        String script
+
+        TestReportQuery(String name, String script) {
+            this.name = name
+            this.script = script
+        }
+
+        @Override
+        String getName() {
+            return name
+        }
+
+        @Override
+        String getScript() {
+            return script
+        }
+
+        @Override
+        String getLinkParameterName() {
+            return null
+        }
+
+        @Override
+        String getLoaderType() {
+            return null
+        }
+
+        @Override
+        Boolean getProcessTemplate() {
+            return false
+        }
+
+        @Override
+        Map<String, Object> getAdditionalParams() {
+            return [:]
+        }
+    }
+}
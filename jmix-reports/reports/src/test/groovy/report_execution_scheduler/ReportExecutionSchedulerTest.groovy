@@ -0,0 +1,200 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package report_execution_scheduler
+
+import io.jmix.core.security.CurrentAuthentication
+import io.jmix.reports.ReportsProperties
+import io.jmix.reports.entity.Report
+import io.jmix.reports.exception.ReportCanceledException
+import io.jmix.reports.exception.ReportingException
+import io.jmix.reports.runner.ReportRunContext
+import io.jmix.reports.runner.ReportRunPriority
+import io.jmix.reports.runner.ReportRunState
+import io.jmix.reports.runner.impl.ReportExecutionScheduler
+import io.jmix.reports.yarg.reporting.ReportOutputDocument
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import org.springframework.security.core.userdetails.User
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.function.Function
+
+class ReportExecutionSchedulerTest extends Specification {
+
+    ReportExecutionScheduler scheduler
+    String currentUsername = 'admin'
+
+    def cleanup() {
+        scheduler?.shutdown()
+    }
+
+    ReportExecutionScheduler createScheduler(Map<String, String> properties) {
+        def reportsProperties = new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate('jmix.reports', ReportsProperties)
+        def currentAuthentication = Stub(CurrentAuthentication) {
+            getUser() >> { User.withUsername(currentUsername).password('').build() }
+        }
+        return new ReportExecutionScheduler(reportsProperties, currentAuthentication, new SimpleMeterRegistry())
+    }
+
+    def "queued runs are started by priority and submission order"() {
+        scheduler = createScheduler(['jmix.reports.execution-pool-size': '1'])
+        def blocker = new CountDownLatch(1)
+        List<String> startedRuns = new CopyOnWriteArrayList<>()
+
+        when:
+        def blockingRun = scheduler.schedule(createContext(new Report()), blockingTask(blocker))
+        waitUntil { blockingRun.state == ReportRunState.RUNNING }
+
+        def runs = [
+                scheduler.schedule(createContext(new Report(), ReportRunPriority.LOW), recordingTask(startedRuns, 'low')),
+                scheduler.schedule(createContext(new Report()), recordingTask(startedRuns, 'normal-1')),
+                scheduler.schedule(createContext(new Report(), ReportRunPriority.HIGH), recordingTask(startedRuns, 'high')),
+                scheduler.schedule(createContext(new Report()), recordingTask(startedRuns, 'normal-2'))
+        ]
+        blocker.countDown()
+        runs.each { it.result.get(10, TimeUnit.SECONDS) }
+
+        then:
+        startedRuns == ['high', 'normal-1', 'normal-2', 'low']
+        runs.every { it.state == ReportRunState.COMPLETED }
+    }
+
+    def "runs of the same report above the limit wait in the queue"() {
+        scheduler = createScheduler(['jmix.reports.execution-pool-size'        : '3',
+                                     'jmix.reports.execution-max-runs-per-report': '1',
+                                     'jmix.reports.execution-max-runs-per-user'  : '0'])
+        def report = new Report(id: UUID.randomUUID())
+        def blocker1 = new CountDownLatch(1)
+        def blocker2 = new CountDownLatch(1)
+        def otherBlocker = new CountDownLatch(1)
+
+        when:
+        def run1 = scheduler.schedule(createContext(report), blockingTask(blocker1))
+        def run2 = scheduler.schedule(createContext(report), blockingTask(blocker2))
+        def otherRun = scheduler.schedule(createContext(new Report(id: UUID.randomUUID())), blockingTask(otherBlocker))
+        waitUntil { run1.state == ReportRunState.RUNNING && otherRun.state == ReportRunState.RUNNING }
+
+        then:
+        run2.state == ReportRunState.QUEUED
+
+        when:
+        blocker1.countDown()
+        waitUntil { run2.state == ReportRunState.RUNNING }
+
+        then:
+        run1.state == ReportRunState.COMPLETED
+        run2.state == ReportRunState.RUNNING
+
+        cleanup:
+        blocker2.countDown()
+        otherBlocker.countDown()
+    }
+
+    def "runs of the same user above the limit wait in the queue"() {
+        scheduler = createScheduler(['jmix.reports.execution-pool-size'       : '3',
+                                     'jmix.reports.execution-max-runs-per-user': '1'])
+        def blocker = new CountDownLatch(1)
+        def otherUserBlocker = new CountDownLatch(1)
+
+        when:
+        def run1 = scheduler.schedule(createContext(new Report(id: UUID.randomUUID())), blockingTask(blocker))
+        def run2 = scheduler.schedule(createContext(new Report(id: UUID.randomUUID())), blockingTask(blocker))
+        currentUsername = 'other'
+        def otherUserRun = scheduler.schedule(createContext(new Report(id: UUID.randomUUID())),
+                blockingTask(otherUserBlocker))
+        waitUntil { run1.state == ReportRunState.RUNNING && otherUserRun.state == ReportRunState.RUNNING }
+
+        then:
+        run2.state == ReportRunState.QUEUED
+
+        cleanup:
+        blocker.countDown()
+        otherUserBlocker.countDown()
+    }
+
+    def "full queue rejects new runs"() {
+        scheduler = createScheduler(['jmix.reports.execution-pool-size'     : '1',
+                                     'jmix.reports.execution-queue-capacity': '1'])
+        def blocker = new CountDownLatch(1)
+        def blockingRun = scheduler.schedule(createContext(new Report()), blockingTask(blocker))
+        waitUntil { blockingRun.state == ReportRunState.RUNNING }
+        scheduler.schedule(createContext(new Report()), blockingTask(blocker))
+
+        when:
+        scheduler.schedule(createContext(new Report()), blockingTask(blocker))
+
+        then:
+        thrown(ReportingException)
+
+        cleanup:
+        blocker.countDown()
+    }
+
+    def "queued run can be cancelled"() {
+        scheduler = createScheduler(['jmix.reports.execution-pool-size': '1'])
+        def blocker = new CountDownLatch(1)
+        List<String> startedRuns = new CopyOnWriteArrayList<>()
+
+        def blockingRun = scheduler.schedule(createContext(new Report()), blockingTask(blocker))
+        waitUntil { blockingRun.state == ReportRunState.RUNNING }
+        def queuedRun = scheduler.schedule(createContext(new Report()), recordingTask(startedRuns, 'queued'))
+
+        when:
+        def cancelled = queuedRun.cancel()
+        blocker.countDown()
+        blockingRun.result.get(10, TimeUnit.SECONDS)
+        queuedRun.result.get(10, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof ReportCanceledException
+        cancelled
+        queuedRun.state == ReportRunState.CANCELLED
+        startedRuns.isEmpty()
+        !queuedRun.cancel()
+    }
+
+    protected ReportRunContext createContext(Report report, ReportRunPriority priority = null) {
+        return new ReportRunContext(report).setPriority(priority)
+    }
+
+    protected Function<Long, ReportOutputDocument> blockingTask(CountDownLatch blocker) {
+        return { Long queueWaitTime ->
+            blocker.await(10, TimeUnit.SECONDS)
+            return null
+        } as Function<Long, ReportOutputDocument>
+    }
+
+    protected Function<Long, ReportOutputDocument> recordingTask(List<String> startedRuns, String name) {
+        return { Long queueWaitTime ->
+            startedRuns << name
+            return null
+        } as Function<Long, ReportOutputDocument>
+    }
+
+    protected static void waitUntil(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 10_000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package report_output_cache
+
+import io.jmix.core.*
+import io.jmix.core.security.CurrentAuthentication
+import io.jmix.reports.ReportsProperties
+import io.jmix.reports.entity.Report
+import io.jmix.reports.entity.ReportOutputCacheEntry
+import io.jmix.reports.entity.ReportTemplate
+import io.jmix.reports.impl.ReportOutputCacheImpl
+import io.jmix.reports.runner.ReportRunContext
+import io.jmix.reports.yarg.reporting.ReportOutputDocument
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl
+import io.jmix.reports.yarg.structure.ReportOutputType
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import org.springframework.security.core.userdetails.User
+import spock.lang.Specification
+
+import java.time.LocalDate
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ReportOutputCacheTest extends Specification {
+
+    InMemoryFileStorage fileStorage = new InMemoryFileStorage()
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    ReportTemplate template = new ReportTemplate(id: UUID.randomUUID(), version: 1)
+    long currentTimeMillis = 1_000_000
+
+    TestReportOutputCache createCache(Map<String, String> properties = [:]) {
+        def reportsProperties = new Binder(new MapConfigurationPropertySource(
+                ['jmix.reports.output-cache-enabled': 'true'] + properties))
+                .bindOrCreate('jmix.reports', ReportsProperties)
+
+        def fileStorageLocator = Stub(FileStorageLocator) {
+            getDefault() >> fileStorage
+        }
+        def currentAuthentication = Stub(CurrentAuthentication) {
+            getUser() >> User.withUsername('admin').password('admin').build()
+            getLocale() >> Locale.ENGLISH
+        }
+        def dataManager = Stub(UnconstrainedDataManager) {
+            create(ReportOutputCacheEntry) >> { new ReportOutputCacheEntry(id: UUID.randomUUID()) }
+        }
+        def timeSource = Stub(TimeSource) {
+            currentTimeMillis() >> { currentTimeMillis }
+            currentTimestamp() >> { new Date(currentTimeMillis) }
+        }
+
+        return new TestReportOutputCache(reportsProperties, fileStorageLocator, currentAuthentication,
+                Stub(Metadata), dataManager, timeSource, meterRegistry)
+    }
+
+    def "parameters are normalized in the cache key"() {
+        def cache = createCache()
+        def report = createReport()
+
+        expect:
+        cache.createKey(createContext(report, [date: LocalDate.of(2024, 1, 1), names: ['a', 'b']])) ==
+                cache.createKey(createContext(report, [names: ['a', 'b'], date: LocalDate.of(2024, 1, 1)]))
+        cache.createKey(createContext(report, [date: new Date(0)])) ==
+                cache.createKey(createContext(report, [date: new Date(0)]))
+
+        cache.createKey(createContext(report, [amount: 1])) != cache.createKey(createContext(report, [amount: '1']))
+        cache.createKey(createContext(report, [names: ['a', 'b']])) !=
+                cache.createKey(createContext(report, [names: ['b', 'a']]))
+
+        cache.createKey(createContext(report, [prototype: new Object()])) == null
+        cache.createKey(createContext(report, [names: ['a', new Object()]])) == null
+    }
+
+    def "cached document is reused"() {
+        def cache = createCache()
+        def report = createReport()
+        def renderCount = new AtomicInteger()
+        def renderer = { renderCount.incrementAndGet(); createDocument(report, 'content') }
+
+        when:
+        def first = cache.getOrRender(createContext(report, [amount: 1]), renderer)
+        def second = cache.getOrRender(createContext(report, [amount: 1]), renderer)
+
+        then:
+        renderCount.get() == 1
+        new String(second.content) == 'content'
+        second.documentName == first.documentName
+        second.reportOutputType == ReportOutputType.xlsx
+        requestCount('miss') == 1
+        requestCount('hit') == 1
+    }
+
+    def "concurrent runs with the same key are rendered once"() {
+        def cache = createCache()
+        def report = createReport()
+        def renderCount = new AtomicInteger()
+        def renderingStarted = new CountDownLatch(1)
+        def renderingAllowed = new CountDownLatch(1)
+        def renderer = {
+            renderCount.incrementAndGet()
+            renderingStarted.countDown()
+            renderingAllowed.await(10, TimeUnit.SECONDS)
+            createDocument(report, 'content')
+        }
+        def executor = Executors.newFixedThreadPool(2)
+
+        when:
+        def first = executor.submit({ cache.getOrRender(createContext(report, [amount: 1]), renderer) })
+        renderingStarted.await(10, TimeUnit.SECONDS)
+        def second = executor.submit({ cache.getOrRender(createContext(report, [amount: 1]), renderer) })
+        waitUntil { requestCount('coalesced') == 1 }
+        renderingAllowed.countDown()
+
+        then:
+        new String(first.get(10, TimeUnit.SECONDS).content) == 'content'
+        new String(second.get(10, TimeUnit.SECONDS).content) == 'content'
+        renderCount.get() == 1
+        cache.entries.size() == 1
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "evicted documents are removed from the file storage"() {
+        def cache = createCache(['jmix.reports.output-cache-max-size': '2'])
+        def report = createReport()
+
+        when:
+        (1..3).each { amount ->
+            currentTimeMillis += 1000
+            cache.getOrRender(createContext(report, [amount: amount]), { createDocument(report, "content-") })
+        }
+
+        then:
+        cache.entries.size() == 2
+        fileStorage.files.values().collect { new String(it) } as Set == ['content-2', 'content-3'] as Set
+    }
+
+    def "expired documents are removed from the file storage"() {
+        def cache = createCache(['jmix.reports.output-cache-time-to-live-sec': '60'])
+        def report = createReport()
+        def renderCount = new AtomicInteger()
+        def renderer = { renderCount.incrementAndGet(); createDocument(report, 'content') }
+
+        when:
+        cache.getOrRender(createContext(report, [amount: 1]), renderer)
+        currentTimeMillis += 61_000
+        cache.getOrRender(createContext(report, [amount: 1]), renderer)
+
+        then:
+        renderCount.get() == 2
+        cache.entries.size() == 1
+        fileStorage.files.size() == 1
+    }
+
+    def "stale documents are removed on startup"() {
+        def cache = createCache(['jmix.reports.output-cache-time-to-live-sec': '60'])
+        def report = createReport()
+        cache.getOrRender(createContext(report, [amount: 1]), { createDocument(report, 'content') })
+
+        when:
+        currentTimeMillis += 61_000
+        cache.onApplicationStarted(null)
+
+        then:
+        cache.entries.isEmpty()
+        fileStorage.files.isEmpty()
+    }
+
+    def "invalidation removes the files of the report documents"() {
+        def cache = createCache()
+        def report = createReport()
+        def otherReport = createReport()
+        cache.getOrRender(createContext(report, [amount: 1]), { createDocument(report, 'report') })
+        cache.getOrRender(createContext(otherReport, [amount: 1]), { createDocument(otherReport, 'other') })
+
+        when:
+        cache.invalidate(report)
+
+        then:
+        cache.entries*.reportId == [otherReport.id]
+        fileStorage.files.values().collect { new String(it) } == ['other']
+    }
+
+    protected Report createReport() {
+        return new Report(id: UUID.randomUUID(), version: 1)
+    }
+
+    protected ReportRunContext createContext(Report report, Map<String, Object> params) {
+        return new ReportRunContext(report)
+                .setReportTemplate(template)
+                .setParams(params)
+    }
+
+    protected ReportOutputDocument createDocument(Report report, String content) {
+        return new ReportOutputDocumentImpl(report, content.bytes, 'report.xlsx', ReportOutputType.xlsx)
+    }
+
+    protected double requestCount(String result) {
+        return meterRegistry.counter(ReportOutputCacheImpl.REQUESTS_METRIC, 'result', result).count()
+    }
+
+    protected static void waitUntil(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 10_000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+
+    /**
+     * Keeps the cache entries in memory instead of the database.
+     */
+    static class TestReportOutputCache extends ReportOutputCacheImpl {
+
+        List<ReportOutputCacheEntry> entries = Collections.synchronizedList([])
+
+        TestReportOutputCache(ReportsProperties reportsProperties, FileStorageLocator fileStorageLocator,
+                              CurrentAuthentication currentAuthentication, Metadata metadata,
+                              UnconstrainedDataManager dataManager, TimeSource timeSource,
+                              SimpleMeterRegistry meterRegistry) {
+            super(reportsProperties, fileStorageLocator, currentAuthentication, metadata, dataManager, timeSource,
+                    meterRegistry)
+        }
+
+        @Override
+        protected List<ReportOutputCacheEntry> loadEntries() {
+            return new ArrayList<>(entries).sort { -it.createTs.time }
+        }
+
+        @Override
+        protected List<ReportOutputCacheEntry> loadEntries(String key) {
+            return loadEntries().findAll { it.cacheKey == key }
+        }
+
+        @Override
+        protected ReportOutputCacheEntry saveEntry(ReportOutputCacheEntry entry) {
+            entries.add(entry)
+            return entry
+        }
+
+        @Override
+        protected void deleteEntries(List<ReportOutputCacheEntry> deletedEntries) {
+            entries.removeAll(deletedEntries)
+        }
+    }
+
+    static class InMemoryFileStorage implements FileStorage {
+
+        Map<FileRef, byte[]> files = Collections.synchronizedMap([:])
+
+        @Override
+        String getStorageName() {
+            return 'memory'
+        }
+
+        @Override
+        FileRef saveStream(String fileName, InputStream inputStream, Map<String, Object> parameters) {
+            def fileRef = new FileRef(storageName, UUID.randomUUID().toString(), fileName)
+            files.put(fileRef, inputStream.bytes)
+            return fileRef
+        }
+
+        @Override
+        InputStream openStream(FileRef reference) {
+            byte[] content = files.get(reference)
+            if (content == null) {
+                throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString())
+            }
+            return new ByteArrayInputStream(content)
+        }
+
+        @Override
+        void removeFile(FileRef reference) {
+            files.remove(reference)
+        }
+
+        @Override
+        boolean fileExists(FileRef reference) {
+            return files.containsKey(reference)
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package report_runner
+
+import io.jmix.core.DataManager
+import io.jmix.core.FileStorageLocator
+import io.jmix.core.TimeSource
+import io.jmix.core.security.CurrentAuthentication
+import io.jmix.reports.ReportExecutionHistoryRecorder
+import io.jmix.reports.ReportsProperties
+import io.jmix.reports.entity.Report
+import io.jmix.reports.entity.ReportExecution
+import io.jmix.reports.entity.ReportOutputType as TemplateOutputType
+import io.jmix.reports.entity.ReportTemplate
+import io.jmix.reports.impl.ReportExecutionHistoryRecorderImpl
+import io.jmix.reports.runner.ReportRunContext
+import io.jmix.reports.runner.ReportRunner
+import io.jmix.reports.runner.impl.ReportRunnerImpl
+import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput
+import io.jmix.reports.yarg.formatters.factory.ReportFormatterFactory
+import io.jmix.reports.yarg.formatters.impl.CsvFormatter
+import io.jmix.reports.yarg.formatters.impl.XlsxFormatter
+import io.jmix.reports.yarg.reporting.DataExtractor
+import io.jmix.reports.yarg.reporting.ReportOutputDocument
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl
+import io.jmix.reports.yarg.reporting.Reporting
+import io.jmix.reports.yarg.reporting.RunParams
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.ReportOutputType
+import org.apache.poi.ss.usermodel.DataFormatter
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import report_output_cache.ReportOutputCacheTest
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Paths
+
+class StreamedReportOutputTest extends Specification {
+
+    @Unroll
+    def "streamed #outputType output is equal to the byte array output"() {
+        def reporting = createReporting()
+        def runParams = new RunParams(Stub(io.jmix.reports.yarg.structure.Report))
+                .template(createTemplate(outputType))
+                .output(outputType)
+
+        when:
+        def document = reporting.runReport(runParams)
+        def outputStream = new ByteArrayOutputStream()
+        def streamedDocument = reporting.runReport(runParams, outputStream)
+
+        then:
+        streamedDocument.content == null
+        streamedDocument.documentName == document.documentName
+        readContent(outputType, outputStream.toByteArray()) == readContent(outputType, document.content)
+        !readContent(outputType, document.content).isEmpty()
+
+        where:
+        outputType << [ReportOutputType.csv, ReportOutputType.xlsx]
+    }
+
+    def "default streaming run copies the document content to the stream"() {
+        def document = new ReportOutputDocumentImpl(null, 'content'.bytes, 'report.csv', ReportOutputType.csv)
+        def reportRunner = Spy(ReportRunner) {
+            run(_ as ReportRunContext) >> document
+        }
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        def result = reportRunner.run(new ReportRunContext(), outputStream)
+
+        then:
+        result.is(document)
+        outputStream.toString() == 'content'
+    }
+
+    def "streamed document is saved to the execution history"() {
+        def reportsProperties = createReportsProperties()
+        ReportOutputDocument recordedDocument = null
+        byte[] recordedContent = null
+        def historyRecorder = Mock(ReportExecutionHistoryRecorder) {
+            startExecution(_, _) >> new ReportExecution()
+            markAsSuccess(_, _) >> { ReportExecution execution, ReportOutputDocument document ->
+                recordedDocument = document
+                recordedContent = Files.readAllBytes(((ReportOutputDocumentImpl) document).contentFile.toPath())
+            }
+        }
+        def reportRunner = new StreamingReportRunner(content: 'a;b\n1;2\n'.bytes)
+        reportRunner.reportsProperties = reportsProperties
+        reportRunner.executionHistoryRecorder = historyRecorder
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        def document = reportRunner.run(new ReportRunContext(new Report()), outputStream)
+
+        then:
+        outputStream.toString() == 'a;b\n1;2\n'
+        recordedDocument.is(document)
+        new String(recordedContent) == 'a;b\n1;2\n'
+        reportRunner.contentFiles.every { !it.exists() }
+        ((ReportOutputDocumentImpl) document).contentFile == null
+    }
+
+    def "history recorder saves the content file of a streamed document"() {
+        def fileStorage = new ReportOutputCacheTest.InMemoryFileStorage()
+        def historyRecorder = new ReportExecutionHistoryRecorderImpl()
+        historyRecorder.reportsProperties = createReportsProperties()
+        historyRecorder.fileStorageLocator = Stub(FileStorageLocator) {
+            getDefault() >> fileStorage
+        }
+        historyRecorder.currentAuthentication = Stub(CurrentAuthentication) {
+            isSet() >> true
+        }
+        historyRecorder.timeSource = Stub(TimeSource) {
+            currentTimestamp() >> new Date()
+        }
+        historyRecorder.dataManager = Stub(DataManager)
+
+        def contentFile = File.createTempFile('report', null)
+        contentFile.bytes = 'content'.bytes
+        def document = new ReportOutputDocumentImpl(null, null, 'report.csv', ReportOutputType.csv)
+        document.contentFile = contentFile
+        def execution = new ReportExecution()
+
+        when:
+        historyRecorder.markAsSuccess(execution, document)
+
+        then:
+        execution.success
+        execution.outputDocument != null
+        fileStorage.openStream(execution.outputDocument).text == 'content'
+
+        cleanup:
+        contentFile.delete()
+    }
+
+    protected static ReportsProperties createReportsProperties() {
+        return new Binder(new MapConfigurationPropertySource([
+                'jmix.reports.history-recording-enabled'       : 'true',
+                'jmix.reports.save-output-documents-to-history': 'true']))
+                .bindOrCreate('jmix.reports', ReportsProperties)
+    }
+
+    protected static Reporting createReporting() {
+        def reporting = new Reporting()
+        reporting.formatterFactory = { FormatterFactoryInput input ->
+            input.outputType == ReportOutputType.csv ? new CsvFormatter(input) : new XlsxFormatter(input)
+        } as ReportFormatterFactory
+        reporting.dataExtractor = { report, params, BandData rootBand ->
+            rootBand.setFirstLevelBandDefinitionNames(['Users', 'Users2'].toSet())
+            (1..3).each { addBand(rootBand, 'Users', it) }
+            (4..5).each { addBand(rootBand, 'Users2', it) }
+        } as DataExtractor
+        return reporting
+    }
+
+    protected static void addBand(BandData rootBand, String name, int id) {
+        def band = new BandData(name, rootBand)
+        band.setData([id: String.valueOf(id), email: "mail${id}@example.com".toString()])
+        rootBand.addChild(band)
+    }
+
+    protected static ReportTemplate createTemplate(ReportOutputType outputType) {
+        def template = new ReportTemplate()
+        if (outputType == ReportOutputType.csv) {
+            template.name = 'template.csv'
+            template.reportOutputType = TemplateOutputType.CSV
+            template.content = 'ID;EMAIL\n${id};${email}'.bytes
+        } else {
+            template.name = 'template.xlsx'
+            template.reportOutputType = TemplateOutputType.XLSX
+            template.content = Files.readAllBytes(Paths.get(StreamedReportOutputTest.getResource('/xlsx/template.xlsx').toURI()))
+        }
+        return template
+    }
+
+    protected static List<String> readContent(ReportOutputType outputType, byte[] content) {
+        if (outputType == ReportOutputType.csv) {
+            return new String(content).readLines()
+        }
+        // xlsx archives contain timestamps, so cell values are compared
+        def cells = []
+        def dataFormatter = new DataFormatter()
+        new XSSFWorkbook(new ByteArrayInputStream(content)).withCloseable { workbook ->
+            workbook.each { sheet ->
+                sheet.each { row ->
+                    row.each { cell -> cells << "${sheet.sheetName}!${cell.address}=${dataFormatter.formatCellValue(cell)}".toString() }
+                }
+            }
+        }
+        return cells
+    }
+
+    static class StreamingReportRunner extends ReportRunnerImpl {
+
+        byte[] content
+        List<File> contentFiles = []
+
+        @Override
+        protected void prepareContext(ReportRunContext context) {
+        }
+
+        @Override
+        protected File createContentFile() {
+            File file = super.createContentFile()
+            contentFiles << file
+            return file
+        }
+
+        @Override
+        protected ReportOutputDocument createReportDocument(ReportRunContext context, OutputStream outputStream) {
+            outputStream.write(content)
+            return new ReportOutputDocumentImpl(null, null, 'report.csv', ReportOutputType.csv)
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.jmix.rest;
 
 import io.jmix.core.CoreConfiguration;
 import io.jmix.core.annotation.JmixModule;
+import io.jmix.rest.impl.RestRateLimitInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.ComponentScan;
@@ -25,6 +26,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.MediaType;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -37,9 +39,19 @@ public class RestConfiguration implements WebMvcConfigurer {
     @Autowired
     protected RestProperties restProperties;
 
+    @Autowired
+    protected RestRateLimitInterceptor rateLimitInterceptor;
+
     @Override
     public void configureContentNegotiation(ContentNegotiationConfigurer customizer) {
         customizer.defaultContentType(MediaType.APPLICATION_JSON);
     }
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (restProperties.getRateLimitPerMinute() > 0) {
+            registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/rest/**");
+        }
+    }
+
 }
@@ -16,11 +16,13 @@
 
 package io.jmix.rest;
 
+import io.jmix.core.ratelimit.RateLimitKeyType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.lang.Nullable;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,17 +46,32 @@ public class RestProperties {
      */
     protected Set<String> inlineEnabledFileExtensions;
 
+    /**
+     * Number of REST API requests allowed per minute for one rate limit key, see {@link #rateLimitKeyTypes}.
+     * Default value 0 means the client has no limit.
+     */
+    protected int rateLimitPerMinute;
+
+    /**
+     * Request parts the rate limit key is composed of. By default, the limit is applied per client IP address.
+     */
+    protected List<RateLimitKeyType> rateLimitKeyTypes;
+
     public RestProperties(
             @DefaultValue("false") boolean optimisticLockingEnabled,
             @DefaultValue("true") boolean responseFetchPlanEnabled,
             @DefaultValue("10000") int defaultMaxFetchSize,
             @DefaultValue({"jpg", "png", "jpeg", "pdf"}) Set<String> inlineEnabledFileExtensions,
-            @Nullable Map<String, Integer> entityMaxFetchSize) {
+            @Nullable Map<String, Integer> entityMaxFetchSize,
+            @DefaultValue("0") int rateLimitPerMinute,
+            @DefaultValue("IP") List<RateLimitKeyType> rateLimitKeyTypes) {
         this.optimisticLockingEnabled = optimisticLockingEnabled;
         this.responseFetchPlanEnabled = responseFetchPlanEnabled;
         this.defaultMaxFetchSize = defaultMaxFetchSize;
         this.entityMaxFetchSize = entityMaxFetchSize == null ? Collections.emptyMap() : entityMaxFetchSize;
         this.inlineEnabledFileExtensions = inlineEnabledFileExtensions;
+        this.rateLimitPerMinute = rateLimitPerMinute;
+        this.rateLimitKeyTypes = rateLimitKeyTypes;
     }
 
     /**
@@ -78,6 +95,20 @@ public class RestProperties {
         return inlineEnabledFileExtensions;
     }
 
+    /**
+     * @see #rateLimitPerMinute
+     */
+    public int getRateLimitPerMinute() {
+        return rateLimitPerMinute;
+    }
+
+    /**
+     * @see #rateLimitKeyTypes
+     */
+    public List<RateLimitKeyType> getRateLimitKeyTypes() {
+        return rateLimitKeyTypes;
+    }
+
     public int getEntityMaxFetchSize(String entityName) {
         return entityMaxFetchSize.getOrDefault(entityName, defaultMaxFetchSize);
     }
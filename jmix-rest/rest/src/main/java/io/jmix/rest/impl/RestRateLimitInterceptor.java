@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl;
+
+import io.jmix.core.ratelimit.RateLimit;
+import io.jmix.core.ratelimit.RateLimiter;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.rest.RestProperties;
+import io.jmix.rest.exception.RestAPIException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Limits the number of REST API requests per minute using {@link RateLimiter}. Enabled by the
+ * {@code jmix.rest.rate-limit-per-minute} property.
+ */
+@Component("rest_RateLimitInterceptor")
+public class RestRateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String RATE_LIMIT_SCOPE = "rest";
+
+    @Autowired
+    protected RestProperties restProperties;
+
+    @Autowired
+    protected RateLimiter rateLimiter;
+
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        int limit = restProperties.getRateLimitPerMinute();
+        if (limit <= 0) {
+            return true;
+        }
+
+        String key = rateLimiter.createKey(restProperties.getRateLimitKeyTypes(), keyType -> switch (keyType) {
+            case IP -> request.getRemoteAddr();
+            case USER -> currentAuthentication.isSet() ? currentAuthentication.getUser().getUsername() : null;
+            case OPERATION -> getOperationName(request, handler);
+        });
+
+        if (!rateLimiter.tryAcquire(RATE_LIMIT_SCOPE, key, RateLimit.perMinute(limit))) {
+            throw new RestAPIException("Too many requests",
+                    "Exceeded the number of allowed requests per minute", HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return true;
+    }
+
+    protected String getOperationName(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return request.getRequestURI();
+    }
+}
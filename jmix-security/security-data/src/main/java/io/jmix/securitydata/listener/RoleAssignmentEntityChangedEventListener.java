@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.securitydata.listener;
+
+import io.jmix.core.UnconstrainedDataManager;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.security.impl.role.event.RoleAssignmentModifiedEvent;
+import io.jmix.security.role.assignment.RoleAssignmentRepository;
+import io.jmix.securitydata.entity.RoleAssignmentEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Invalidates cached role assignments of users whose {@link RoleAssignmentEntity} instances are changed. The cache
+ * of the current application instance is invalidated right after commit, other instances of a cluster are notified
+ * by {@link RoleAssignmentModifiedEvent}.
+ */
+@Component("sec_RoleAssignmentEntityChangedEventListener")
+public class RoleAssignmentEntityChangedEventListener {
+
+    private UnconstrainedDataManager dataManager;
+    private RoleAssignmentRepository roleAssignmentRepository;
+    private ClusterApplicationEventPublisher clusterEventPublisher;
+
+    public RoleAssignmentEntityChangedEventListener(UnconstrainedDataManager dataManager,
+                                                    RoleAssignmentRepository roleAssignmentRepository,
+                                                    ClusterApplicationEventPublisher clusterEventPublisher) {
+        this.dataManager = dataManager;
+        this.roleAssignmentRepository = roleAssignmentRepository;
+        this.clusterEventPublisher = clusterEventPublisher;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onRoleAssignmentEntityChanged(EntityChangedEvent<RoleAssignmentEntity> event) {
+        Set<String> usernames = new LinkedHashSet<>(2);
+        if (event.getChanges().isChanged("username")) {
+            String oldUsername = event.getChanges().getOldValue("username");
+            if (oldUsername != null) {
+                usernames.add(oldUsername);
+            }
+        }
+        if (event.getType() != EntityChangedEvent.Type.DELETED) {
+            dataManager.load(event.getEntityId())
+                    .optional()
+                    .ifPresentOrElse(roleAssignment -> usernames.add(roleAssignment.getUsername()),
+                            // removed by a later transaction, so the user is unknown
+                            () -> usernames.add(null));
+        }
+
+        for (String username : usernames) {
+            roleAssignmentRepository.invalidateCache(username);
+            clusterEventPublisher.publish(new RoleAssignmentModifiedEvent(this, username));
+        }
+    }
+}
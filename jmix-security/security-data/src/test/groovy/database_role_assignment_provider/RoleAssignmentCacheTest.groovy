@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package database_role_assignment_provider
+
+import io.jmix.core.Metadata
+import io.jmix.core.UnconstrainedDataManager
+import io.jmix.security.role.assignment.RoleAssignmentRoleType
+import io.jmix.securitydata.entity.RoleAssignmentEntity
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.SecurityDataSpecification
+
+class RoleAssignmentCacheTest extends SecurityDataSpecification {
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    UnconstrainedDataManager dataManager
+
+    def "cached assignments are invalidated when assignment entities change"() {
+        expect: "unknown user has no assignments"
+        roleAssignmentRepository.getAssignmentsByUsername('user1').isEmpty()
+
+        when:
+        def roleAssignment = dataManager.save(createRoleAssignmentEntity('role1', 'user1'))
+
+        then:
+        roleAssignmentRepository.getAssignmentsByUsername('user1')*.roleCode == ['role1']
+
+        when:
+        roleAssignment.roleCode = 'role2'
+        roleAssignment = dataManager.save(roleAssignment)
+
+        then:
+        roleAssignmentRepository.getAssignmentsByUsername('user1')*.roleCode == ['role2']
+
+        when:
+        roleAssignment.username = 'user2'
+        dataManager.save(roleAssignment)
+
+        then:
+        roleAssignmentRepository.getAssignmentsByUsername('user1').isEmpty()
+        roleAssignmentRepository.getAssignmentsByUsername('user2')*.roleCode == ['role2']
+    }
+
+    def "removed assignments are invalidated"() {
+        given:
+        def roleAssignment = dataManager.save(createRoleAssignmentEntity('role1', 'user1'))
+        roleAssignmentRepository.getAssignmentsByUsername('user1')
+
+        when:
+        dataManager.remove(roleAssignment)
+
+        then:
+        roleAssignmentRepository.getAssignmentsByUsername('user1').isEmpty()
+    }
+
+    protected RoleAssignmentEntity createRoleAssignmentEntity(String roleCode, String username) {
+        def roleAssignment = metadata.create(RoleAssignmentEntity)
+        roleAssignment.roleCode = roleCode
+        roleAssignment.username = username
+        roleAssignment.roleType = RoleAssignmentRoleType.RESOURCE
+        return roleAssignment
+    }
+}
@@ -20,6 +20,7 @@ import io.jmix.core.CoreConfiguration
 import io.jmix.data.DataConfiguration
 import io.jmix.eclipselink.EclipselinkConfiguration
 import io.jmix.security.SecurityConfiguration
+import io.jmix.security.role.assignment.RoleAssignmentRepository
 import io.jmix.securitydata.SecurityDataConfiguration
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.jdbc.core.JdbcTemplate
@@ -36,11 +37,15 @@ class SecurityDataSpecification extends Specification {
     @Autowired
     JdbcTemplate jdbcTemplate
 
+    @Autowired
+    RoleAssignmentRepository roleAssignmentRepository
+
     def cleanup() {
         jdbcTemplate.update("delete from SEC_ROW_LEVEL_POLICY")
         jdbcTemplate.update("delete from SEC_RESOURCE_POLICY")
         jdbcTemplate.update("delete from SEC_RESOURCE_ROLE")
         jdbcTemplate.update("delete from SEC_ROW_LEVEL_ROLE")
         jdbcTemplate.update("delete from SEC_ROLE_ASSIGNMENT")
+        roleAssignmentRepository.invalidateCache(null)
     }
 }
@@ -18,6 +18,10 @@ package io.jmix.security;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 
 @ConfigurationProperties(prefix = "jmix.security")
 public class SecurityProperties {
@@ -32,11 +36,35 @@ public class SecurityProperties {
      */
     String defaultRowLevelRolePrefix;
 
+    /**
+     * Whether role assignments of users are cached between authentications. Users without role assignments are
+     * cached too.
+     */
+    boolean roleAssignmentCacheEnabled;
+
+    /**
+     * Maximum number of users whose role assignments are cached.
+     */
+    long roleAssignmentCacheMaxSize;
+
+    /**
+     * Time after which cached role assignments of a user are reloaded even if no modification is reported, e.g.
+     * for role assignment providers that don't publish {@code RoleAssignmentModifiedEvent}. In seconds by default.
+     */
+    Duration roleAssignmentCacheExpiration;
+
     public SecurityProperties(
             @DefaultValue("true") boolean annotatedRolesHotDeployEnabled,
-            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix) {
+            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix,
+            @DefaultValue("true") boolean roleAssignmentCacheEnabled,
+            @DefaultValue("10000") long roleAssignmentCacheMaxSize,
+            @DurationUnit(ChronoUnit.SECONDS)
+            @DefaultValue("600") Duration roleAssignmentCacheExpiration) {
         this.annotatedRolesHotDeployEnabled = annotatedRolesHotDeployEnabled;
         this.defaultRowLevelRolePrefix = defaultRowLevelRolePrefix;
+        this.roleAssignmentCacheEnabled = roleAssignmentCacheEnabled;
+        this.roleAssignmentCacheMaxSize = roleAssignmentCacheMaxSize;
+        this.roleAssignmentCacheExpiration = roleAssignmentCacheExpiration;
     }
 
     /**
@@ -52,4 +80,25 @@ public class SecurityProperties {
     public String getDefaultRowLevelRolePrefix() {
         return defaultRowLevelRolePrefix;
     }
+
+    /**
+     * @see #roleAssignmentCacheEnabled
+     */
+    public boolean isRoleAssignmentCacheEnabled() {
+        return roleAssignmentCacheEnabled;
+    }
+
+    /**
+     * @see #roleAssignmentCacheMaxSize
+     */
+    public long getRoleAssignmentCacheMaxSize() {
+        return roleAssignmentCacheMaxSize;
+    }
+
+    /**
+     * @see #roleAssignmentCacheExpiration
+     */
+    public Duration getRoleAssignmentCacheExpiration() {
+        return roleAssignmentCacheExpiration;
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.role;
+
+import io.jmix.security.impl.role.event.RoleAssignmentModifiedEvent;
+import io.jmix.security.role.assignment.RoleAssignmentRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component("sec_RoleAssignmentModifiedEventListener")
+public class RoleAssignmentModifiedEventListener {
+
+    private final RoleAssignmentRepository roleAssignmentRepository;
+
+    public RoleAssignmentModifiedEventListener(RoleAssignmentRepository roleAssignmentRepository) {
+        this.roleAssignmentRepository = roleAssignmentRepository;
+    }
+
+    @EventListener
+    public void onRoleAssignmentModifiedEvent(RoleAssignmentModifiedEvent event) {
+        roleAssignmentRepository.invalidateCache(event.getUsername());
+    }
+}
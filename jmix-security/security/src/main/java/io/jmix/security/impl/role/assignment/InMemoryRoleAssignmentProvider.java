@@ -21,6 +21,9 @@ import com.google.common.collect.Multimap;
 import io.jmix.core.security.event.UserRemovedEvent;
 import io.jmix.security.role.assignment.RoleAssignment;
 import io.jmix.security.role.assignment.RoleAssignmentProvider;
+import io.jmix.security.role.assignment.RoleAssignmentRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -37,6 +40,10 @@ public class InMemoryRoleAssignmentProvider implements RoleAssignmentProvider {
     //the key of the map is User.username
     protected Multimap<String, RoleAssignment> assignments = HashMultimap.create();
 
+    // lazy, as the repository depends on all providers
+    @Autowired
+    protected ObjectProvider<RoleAssignmentRepository> roleAssignmentRepositoryProvider;
+
     @Override
     public Collection<RoleAssignment> getAllAssignments() {
         return assignments.values();
@@ -49,10 +56,19 @@ public class InMemoryRoleAssignmentProvider implements RoleAssignmentProvider {
 
     public void addAssignment(RoleAssignment roleAssignment) {
         assignments.put(roleAssignment.getUsername(), roleAssignment);
+        invalidateCache(roleAssignment.getUsername());
     }
 
     public void removeAssignments(String username) {
         assignments.removeAll(username);
+        invalidateCache(username);
+    }
+
+    protected void invalidateCache(String username) {
+        RoleAssignmentRepository roleAssignmentRepository = roleAssignmentRepositoryProvider.getIfAvailable();
+        if (roleAssignmentRepository != null) {
+            roleAssignmentRepository.invalidateCache(username);
+        }
     }
 
     @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
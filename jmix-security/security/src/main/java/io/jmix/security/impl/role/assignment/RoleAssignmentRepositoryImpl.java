@@ -16,22 +16,55 @@
 
 package io.jmix.security.impl.role.assignment;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.security.SecurityProperties;
 import io.jmix.security.role.assignment.RoleAssignment;
 import io.jmix.security.role.assignment.RoleAssignmentProvider;
 import io.jmix.security.role.assignment.RoleAssignmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Collects role assignments from all {@link RoleAssignmentProvider}s. Assignments of a user are cached, including
+ * the empty result for users without assignments, until {@link #invalidateCache(String)} is called for the user
+ * or the cache entry expires.
+ *
+ * @see SecurityProperties#isRoleAssignmentCacheEnabled()
+ */
 @Component("sec_RoleAssignmentRepository")
 public class RoleAssignmentRepositoryImpl implements RoleAssignmentRepository {
 
+    public static final String CACHE_REQUESTS_METRIC = "jmix.security.roleAssignmentCache.requests";
+    public static final String CACHE_INVALIDATIONS_METRIC = "jmix.security.roleAssignmentCache.invalidations";
+
     protected Collection<RoleAssignmentProvider> assignmentProviders = new ArrayList<>();
 
+    protected final SecurityProperties securityProperties;
+    protected final MeterRegistry meterRegistry;
+
+    protected final Cache<String, Collection<RoleAssignment>> assignmentsByUsername;
+
+    // incremented by each invalidation, so assignments loaded concurrently with an invalidation are not kept
+    protected final AtomicLong invalidationCount = new AtomicLong();
+
+    public RoleAssignmentRepositoryImpl(SecurityProperties securityProperties, MeterRegistry meterRegistry) {
+        this.securityProperties = securityProperties;
+        this.meterRegistry = meterRegistry;
+        this.assignmentsByUsername = CacheBuilder.newBuilder()
+                .maximumSize(securityProperties.getRoleAssignmentCacheMaxSize())
+                .expireAfterWrite(securityProperties.getRoleAssignmentCacheExpiration())
+                .build();
+    }
+
     @Autowired(required = false)
     public void setAssignmentProviders(@SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection") List<RoleAssignmentProvider> assignmentProviders) {
         this.assignmentProviders = assignmentProviders;
@@ -46,8 +79,42 @@ public class RoleAssignmentRepositoryImpl implements RoleAssignmentRepository {
 
     @Override
     public Collection<RoleAssignment> getAssignmentsByUsername(String username) {
+        if (!securityProperties.isRoleAssignmentCacheEnabled()) {
+            return loadAssignmentsByUsername(username);
+        }
+        Collection<RoleAssignment> assignments = assignmentsByUsername.getIfPresent(username);
+        if (assignments != null) {
+            meterRegistry.counter(CACHE_REQUESTS_METRIC, "result", "hit").increment();
+            return new ArrayList<>(assignments);
+        }
+        meterRegistry.counter(CACHE_REQUESTS_METRIC, "result", "miss").increment();
+
+        long invalidationCountBeforeLoad = invalidationCount.get();
+        assignments = loadAssignmentsByUsername(username);
+        if (invalidationCount.get() == invalidationCountBeforeLoad) {
+            assignmentsByUsername.put(username, List.copyOf(assignments));
+            if (invalidationCount.get() != invalidationCountBeforeLoad) {
+                // invalidated between the check and the put
+                assignmentsByUsername.invalidate(username);
+            }
+        }
+        return assignments;
+    }
+
+    protected Collection<RoleAssignment> loadAssignmentsByUsername(String username) {
         return assignmentProviders.stream()
                 .flatMap(roleAssignmentProvider -> roleAssignmentProvider.getAssignmentsByUsername(username).stream())
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public void invalidateCache(@Nullable String username) {
+        invalidationCount.incrementAndGet();
+        if (username != null) {
+            assignmentsByUsername.invalidate(username);
+        } else {
+            assignmentsByUsername.invalidateAll();
+        }
+        meterRegistry.counter(CACHE_INVALIDATIONS_METRIC, "scope", username != null ? "user" : "all").increment();
+    }
 }
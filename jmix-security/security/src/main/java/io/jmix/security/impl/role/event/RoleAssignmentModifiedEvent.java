@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.role.event;
+
+import io.jmix.core.cluster.ClusterApplicationEvent;
+import org.springframework.lang.Nullable;
+
+/**
+ * Event published to all application instances of a cluster when role assignments are modified.
+ */
+public class RoleAssignmentModifiedEvent extends ClusterApplicationEvent {
+
+    protected String username;
+
+    public RoleAssignmentModifiedEvent(Object source, @Nullable String username) {
+        super(source);
+        this.username = username;
+    }
+
+    /**
+     * @return username whose role assignments are modified or null if assignments of any user may be modified
+     */
+    @Nullable
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "RoleAssignmentModifiedEvent{" +
+                "username=" + username +
+                '}';
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.jmix.security.role.assignment;
 
+import org.springframework.lang.Nullable;
+
 import java.util.Collection;
 
 /**
@@ -26,4 +28,13 @@ public interface RoleAssignmentRepository {
     Collection<RoleAssignment> getAllAssignments();
 
     Collection<RoleAssignment> getAssignmentsByUsername(String username);
+
+    /**
+     * Invalidates cached role assignments. The method must be invoked after role assignments are modified in
+     * a source of a {@link RoleAssignmentProvider}.
+     *
+     * @param username user whose role assignments are modified or null to invalidate assignments of all users
+     */
+    default void invalidateCache(@Nullable String username) {
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package role_assignment
+
+import io.jmix.security.SecurityProperties
+import io.jmix.security.impl.role.assignment.InMemoryRoleAssignmentProvider
+import io.jmix.security.impl.role.assignment.RoleAssignmentRepositoryImpl
+import io.jmix.security.role.assignment.RoleAssignment
+import io.jmix.security.role.assignment.RoleAssignmentProvider
+import io.jmix.security.role.assignment.RoleAssignmentRepository
+import io.jmix.security.role.assignment.RoleAssignmentRoleType
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.SecuritySpecification
+
+class RoleAssignmentCacheTest extends SecuritySpecification {
+
+    @Autowired
+    RoleAssignmentRepository roleAssignmentRepository
+
+    @Autowired
+    InMemoryRoleAssignmentProvider inMemoryRoleAssignmentProvider
+
+    @Autowired
+    SecurityProperties securityProperties
+
+    def cleanup() {
+        inMemoryRoleAssignmentProvider.removeAssignments('user1')
+    }
+
+    def "cached assignments are invalidated when in-memory assignments change"() {
+        expect:
+        roleAssignmentRepository.getAssignmentsByUsername('user1').isEmpty()
+
+        when:
+        inMemoryRoleAssignmentProvider.addAssignment(new RoleAssignment('user1', 'role1', RoleAssignmentRoleType.RESOURCE))
+
+        then:
+        roleAssignmentRepository.getAssignmentsByUsername('user1')*.roleCode == ['role1']
+
+        when:
+        inMemoryRoleAssignmentProvider.removeAssignments('user1')
+
+        then:
+        roleAssignmentRepository.getAssignmentsByUsername('user1').isEmpty()
+    }
+
+    def "assignments loaded concurrently with an invalidation are not cached"() {
+        given:
+        def repository = new RoleAssignmentRepositoryImpl(securityProperties, new SimpleMeterRegistry())
+        def provider = new InvalidatingRoleAssignmentProvider(repository: repository)
+        repository.setAssignmentProviders([provider])
+
+        when: "assignments are revoked and invalidated while the first load is in progress"
+        def loaded = repository.getAssignmentsByUsername('user1')
+
+        then:
+        loaded*.roleCode == ['role1']
+        repository.getAssignmentsByUsername('user1').isEmpty()
+        provider.loadCount == 2
+
+        when:
+        repository.getAssignmentsByUsername('user1')
+
+        then: "the result of a load without concurrent invalidations is cached"
+        provider.loadCount == 2
+    }
+
+    static class InvalidatingRoleAssignmentProvider implements RoleAssignmentProvider {
+
+        RoleAssignmentRepository repository
+        int loadCount
+
+        @Override
+        Collection<RoleAssignment> getAllAssignments() {
+            return []
+        }
+
+        @Override
+        Collection<RoleAssignment> getAssignmentsByUsername(String username) {
+            loadCount++
+            if (loadCount == 1) {
+                // the revocation is committed after the assignments are read
+                repository.invalidateCache(username)
+                return [new RoleAssignment(username, 'role1', RoleAssignmentRoleType.RESOURCE)]
+            }
+            return []
+        }
+    }
+}
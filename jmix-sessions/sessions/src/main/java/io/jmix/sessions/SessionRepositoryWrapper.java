@@ -16,30 +16,80 @@
 
 package io.jmix.sessions;
 
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.CountingOutputStream;
 import io.jmix.core.annotation.Internal;
 import io.jmix.core.security.SecurityContextHelper;
 import io.jmix.sessions.events.JmixSessionCreatedEvent;
 import io.jmix.sessions.events.JmixSessionDestroyedEvent;
 import io.jmix.sessions.events.JmixSessionRestoredEvent;
 import io.jmix.sessions.validators.SessionAttributePersistenceValidator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.FlushMode;
 import org.springframework.session.Session;
 import org.springframework.session.SessionRepository;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Wraps the session repository to keep non-persistent attributes in memory of the current application instance and
+ * to write only changed persistent attributes to the underlying repository.
+ * <p>
+ * Persistent attributes set during a request are passed to the underlying session on save. An attribute is passed
+ * only if the digest of its serialized form differs from the digest stored in the session by a previous save, so
+ * setting an unchanged value doesn't rewrite it in the session store. The digest of an attribute is stored in a
+ * separate session attribute written together with the attribute, so concurrent requests changing different
+ * attributes of the session don't overwrite digests of each other. If the underlying repository uses
+ * {@link FlushMode#IMMEDIATE}, persistent attributes are passed to the underlying session at once.
+ *
+ * @see SessionsProperties#isAttributeChangeTrackingEnabled()
+ */
 @Internal
 public class SessionRepositoryWrapper<S extends Session> implements FindByIndexNameSessionRepository<SessionRepositoryWrapper<S>.SessionWrapper> {
 
+    private static final Logger log = LoggerFactory.getLogger(SessionRepositoryWrapper.class);
+
+    /**
+     * Suffix of the name of the session attribute containing the digest of a persistent attribute.
+     */
+    public static final String ATTRIBUTE_DIGEST_SUFFIX = ".jmix.digest";
+
+    public static final String ATTRIBUTE_SIZE_METRIC = "jmix.sessions.attribute.size";
+    public static final String ATTRIBUTE_WRITES_METRIC = "jmix.sessions.attribute.writes";
+
+    protected static final long NON_PERSISTENT_ATTRIBUTES_CLEANUP_INTERVAL_MS = 60_000;
+
+    /**
+     * Max number of attribute names used as the tag of the attribute size metric, sizes of other attributes are
+     * recorded with the {@link #OTHER_ATTRIBUTES_TAG} tag.
+     */
+    protected static final int MAX_TAGGED_ATTRIBUTES = 100;
+    protected static final String OTHER_ATTRIBUTES_TAG = "other";
+
     private List<SessionAttributePersistenceValidator> attributePersistenceValidators = new ArrayList<>();
 
-    protected Map<String, Map<String, Object>> nonPersistentSessionAttributesMap = new ConcurrentHashMap<>();
+    protected Map<String, NonPersistentAttributes> nonPersistentSessionAttributesMap = new ConcurrentHashMap<>();
+
+    protected AtomicLong lastNonPersistentAttributesCleanupTime = new AtomicLong(System.currentTimeMillis());
+
+    protected Set<String> taggedAttributeNames = ConcurrentHashMap.newKeySet();
 
     protected SessionRepository<S> delegate;
 
@@ -47,6 +97,12 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
 
     protected ApplicationEventPublisher applicationEventPublisher;
 
+    protected SessionsProperties sessionsProperties;
+
+    protected MeterRegistry meterRegistry;
+
+    protected FlushMode flushMode = FlushMode.ON_SAVE;
+
     public List<SessionAttributePersistenceValidator> getAttributePersistenceValidators() {
         return attributePersistenceValidators;
     }
@@ -59,10 +115,26 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         this.attributePersistenceValidators = attributePersistenceValidators;
     }
 
-    public SessionRepositoryWrapper(SessionRegistry sessionRegistry, ApplicationEventPublisher applicationEventPublisher, SessionRepository<S> delegate) {
+    public SessionRepositoryWrapper(SessionRegistry sessionRegistry, ApplicationEventPublisher applicationEventPublisher,
+                                    SessionRepository<S> delegate, SessionsProperties sessionsProperties,
+                                    MeterRegistry meterRegistry) {
         this.delegate = delegate;
         this.sessionRegistry = sessionRegistry;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.sessionsProperties = sessionsProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public FlushMode getFlushMode() {
+        return flushMode;
+    }
+
+    /**
+     * Sets the flush mode of the underlying repository. With {@link FlushMode#IMMEDIATE}, persistent attributes
+     * are written to the underlying session when they are set, without change tracking.
+     */
+    public void setFlushMode(FlushMode flushMode) {
+        this.flushMode = flushMode;
     }
 
     @Override
@@ -75,13 +147,14 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
     @Override
     public void save(SessionWrapper session) {
         saveNonPersistenceAttributes(session);
+        flushPersistentAttributes(session);
         delegate.save(session.getSession());
     }
 
     private void restoreNonPersistentAttributes(SessionWrapper session) {
-        Map<String, Object> nonPersistentAttributes = nonPersistentSessionAttributesMap.get(session.getId());
+        NonPersistentAttributes nonPersistentAttributes = nonPersistentSessionAttributesMap.get(session.getId());
         if (nonPersistentAttributes != null) {
-            for (Map.Entry<String, Object> entry : nonPersistentAttributes.entrySet()) {
+            for (Map.Entry<String, Object> entry : nonPersistentAttributes.attributes.entrySet()) {
                 session.setAttribute(entry.getKey(), entry.getValue());
             }
         }
@@ -90,8 +163,119 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
     private void saveNonPersistenceAttributes(SessionWrapper session) {
         Map<String, Object> nonPersistentAttributes = session.getNonPersistentAttributes();
         if (!nonPersistentAttributes.isEmpty()) {
-            nonPersistentSessionAttributesMap.put(session.getId(), nonPersistentAttributes);
+            nonPersistentSessionAttributesMap.put(session.getId(), new NonPersistentAttributes(nonPersistentAttributes,
+                    session.getLastAccessedTime(), session.getMaxInactiveInterval()));
+        } else {
+            nonPersistentSessionAttributesMap.remove(session.getId());
+        }
+        cleanupNonPersistentAttributes();
+    }
+
+    /**
+     * Removes non-persistent attributes of expired sessions once in a while. If
+     * {@link SessionsProperties#getNonPersistentAttributesMaxSessions()} is set and exceeded, attributes of the least
+     * recently accessed sessions are removed too, with a margin of 10% so the sessions are not sorted on each save.
+     * Attributes of sessions destroyed by the session store are removed by {@link #onSessionDestroyed(String)}.
+     */
+    protected void cleanupNonPersistentAttributes() {
+        long now = System.currentTimeMillis();
+        long lastCleanupTime = lastNonPersistentAttributesCleanupTime.get();
+        int maxSessions = sessionsProperties.getNonPersistentAttributesMaxSessions();
+        boolean overflow = maxSessions > 0 && nonPersistentSessionAttributesMap.size() > maxSessions;
+        if (!overflow && now - lastCleanupTime < NON_PERSISTENT_ATTRIBUTES_CLEANUP_INTERVAL_MS
+                || !lastNonPersistentAttributesCleanupTime.compareAndSet(lastCleanupTime, now)) {
+            return;
+        }
+
+        Instant currentTime = Instant.ofEpochMilli(now);
+        nonPersistentSessionAttributesMap.values().removeIf(attributes -> attributes.isExpired(currentTime));
+
+        int excess = maxSessions > 0 ? nonPersistentSessionAttributesMap.size() - maxSessions : 0;
+        if (excess > 0) {
+            excess += maxSessions / 10;
+            log.warn("Number of sessions with non-persistent attributes exceeds {}, removing attributes of {} " +
+                    "least recently accessed sessions", maxSessions, excess);
+            nonPersistentSessionAttributesMap.entrySet().stream()
+                    .sorted(Comparator.comparing(entry -> entry.getValue().lastAccessedTime))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(nonPersistentSessionAttributesMap::remove);
+        }
+    }
+
+    /**
+     * Passes persistent attributes set during the request to the underlying session, skipping the attributes
+     * which serialized form is not changed since the last save.
+     */
+    protected void flushPersistentAttributes(SessionWrapper session) {
+        Map<String, Object> pendingAttributes = session.getPendingAttributes();
+        if (pendingAttributes.isEmpty()) {
+            return;
+        }
+
+        S delegateSession = session.getSession();
+        for (Map.Entry<String, Object> entry : pendingAttributes.entrySet()) {
+            String name = entry.getKey();
+            Object value = entry.getValue();
+            String digestName = name + ATTRIBUTE_DIGEST_SUFFIX;
+
+            String digest = digest(name, value);
+            if (digest != null && digest.equals(delegateSession.getAttribute(digestName))) {
+                meterRegistry.counter(ATTRIBUTE_WRITES_METRIC, "result", "skipped").increment();
+                continue;
+            }
+
+            delegateSession.setAttribute(name, value);
+            meterRegistry.counter(ATTRIBUTE_WRITES_METRIC, "result", "written").increment();
+            if (digest != null) {
+                delegateSession.setAttribute(digestName, digest);
+            } else if (delegateSession.getAttribute(digestName) != null) {
+                delegateSession.removeAttribute(digestName);
+            }
         }
+        pendingAttributes.clear();
+    }
+
+    /**
+     * Serializes the attribute value to compute its digest and records the serialized size.
+     *
+     * @return digest of the serialized value or null if the value cannot be serialized
+     */
+    @Nullable
+    protected String digest(String name, Object value) {
+        if (!(value instanceof Serializable)) {
+            return null;
+        }
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        CountingOutputStream countingStream = new CountingOutputStream(Funnels.asOutputStream(hasher));
+        try (ObjectOutputStream objectStream = new ObjectOutputStream(countingStream)) {
+            objectStream.writeObject(value);
+        } catch (IOException e) {
+            log.debug("Unable to serialize session attribute {}, it will be written as is", name, e);
+            return null;
+        }
+        DistributionSummary.builder(ATTRIBUTE_SIZE_METRIC)
+                .baseUnit("bytes")
+                .tag("attribute", getAttributeTag(name))
+                .register(meterRegistry)
+                .record(countingStream.getCount());
+        return hasher.hash().toString();
+    }
+
+    /**
+     * @return attribute name if the number of tagged attribute names doesn't exceed {@link #MAX_TAGGED_ATTRIBUTES},
+     * otherwise {@link #OTHER_ATTRIBUTES_TAG}, so arbitrary attribute names don't create unbounded number of meters
+     */
+    protected String getAttributeTag(String name) {
+        if (taggedAttributeNames.contains(name)) {
+            return name;
+        }
+        if (taggedAttributeNames.size() < MAX_TAGGED_ATTRIBUTES) {
+            taggedAttributeNames.add(name);
+            return name;
+        }
+        return OTHER_ATTRIBUTES_TAG;
     }
 
     @Override
@@ -122,6 +306,15 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         nonPersistentSessionAttributesMap.remove(id);
     }
 
+    /**
+     * Removes non-persistent attributes of the session deleted or expired in the session store.
+     *
+     * @param id session id
+     */
+    public void onSessionDestroyed(String id) {
+        nonPersistentSessionAttributesMap.remove(id);
+    }
+
     @Override
     public Map<String, SessionWrapper> findByIndexNameAndIndexValue(String indexName, String indexValue) {
         if (delegate instanceof FindByIndexNameSessionRepository) {
@@ -139,6 +332,7 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
     public final class SessionWrapper implements Session {
         private final S session;
         private final Map<String, Object> nonPersistentAttributes = new HashMap<>();
+        private final Map<String, Object> pendingAttributes = new LinkedHashMap<>();
 
         public SessionWrapper(S session) {
             this.session = session;
@@ -148,6 +342,13 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
             return nonPersistentAttributes;
         }
 
+        /**
+         * @return persistent attributes set during the request and not passed to the underlying session yet
+         */
+        public Map<String, Object> getPendingAttributes() {
+            return pendingAttributes;
+        }
+
         private boolean isNotPersistent(String attributeName, Object attributeValue) {
             for (SessionAttributePersistenceValidator validator : attributePersistenceValidators) {
                 if (!validator.isPersistent(attributeName, attributeValue)) {
@@ -174,20 +375,32 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         @Override
         @SuppressWarnings("unchecked")
         public <T> T getAttribute(String attributeName) {
-            return (T) nonPersistentAttributes.getOrDefault(attributeName, session.getAttribute(attributeName));
+            if (nonPersistentAttributes.containsKey(attributeName)) {
+                return (T) nonPersistentAttributes.get(attributeName);
+            }
+            if (pendingAttributes.containsKey(attributeName)) {
+                return (T) pendingAttributes.get(attributeName);
+            }
+            return session.getAttribute(attributeName);
         }
 
         @Override
         public Set<String> getAttributeNames() {
             Set<String> sessionAttributes = new HashSet<>(session.getAttributeNames());
+            sessionAttributes.removeIf(name -> name.endsWith(ATTRIBUTE_DIGEST_SUFFIX));
+            sessionAttributes.addAll(pendingAttributes.keySet());
             sessionAttributes.addAll(nonPersistentAttributes.keySet());
             return sessionAttributes;
         }
 
         @Override
         public void setAttribute(String attributeName, Object attributeValue) {
-            if (isNotPersistent(attributeName, attributeValue)) {
+            if (attributeValue == null) {
+                removeAttribute(attributeName);
+            } else if (isNotPersistent(attributeName, attributeValue)) {
                 nonPersistentAttributes.put(attributeName, attributeValue);
+            } else if (sessionsProperties.isAttributeChangeTrackingEnabled() && flushMode != FlushMode.IMMEDIATE) {
+                pendingAttributes.put(attributeName, attributeValue);
             } else {
                 session.setAttribute(attributeName, attributeValue);
             }
@@ -196,7 +409,9 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         @Override
         public void removeAttribute(String attributeName) {
             nonPersistentAttributes.remove(attributeName);
+            pendingAttributes.remove(attributeName);
             session.removeAttribute(attributeName);
+            session.removeAttribute(attributeName + ATTRIBUTE_DIGEST_SUFFIX);
         }
 
         @Override
@@ -229,4 +444,23 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
             return session.isExpired();
         }
     }
+
+    protected static class NonPersistentAttributes {
+
+        protected final Map<String, Object> attributes;
+        protected final Instant lastAccessedTime;
+        protected final Duration maxInactiveInterval;
+
+        public NonPersistentAttributes(Map<String, Object> attributes, Instant lastAccessedTime,
+                                       Duration maxInactiveInterval) {
+            this.attributes = attributes;
+            this.lastAccessedTime = lastAccessedTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+        }
+
+        public boolean isExpired(Instant now) {
+            return !maxInactiveInterval.isNegative()
+                    && now.isAfter(lastAccessedTime.plus(maxInactiveInterval));
+        }
+    }
 }
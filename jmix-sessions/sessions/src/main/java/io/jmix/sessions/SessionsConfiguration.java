@@ -19,21 +19,28 @@ package io.jmix.sessions;
 import io.jmix.core.CoreConfiguration;
 import io.jmix.core.annotation.JmixModule;
 import io.jmix.sessions.validators.VaadinSessionAttributesValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.session.SessionRegistryImpl;
+import org.springframework.session.FlushMode;
 import org.springframework.session.Session;
 import org.springframework.session.SessionRepository;
+import org.springframework.session.events.SessionDestroyedEvent;
 import org.springframework.session.web.http.HttpSessionIdResolver;
 import org.springframework.session.web.http.SessionRepositoryFilter;
 
 @Configuration
 @ComponentScan
+@ConfigurationPropertiesScan
 @JmixModule(dependsOn = CoreConfiguration.class)
 public class SessionsConfiguration<S extends Session> {
 
@@ -43,13 +50,35 @@ public class SessionsConfiguration<S extends Session> {
     @Autowired
     protected ApplicationEventPublisher applicationEventPublisher;
 
+    @Autowired
+    protected SessionsProperties sessionsProperties;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    protected SessionRepositoryWrapper<S> sessionRepositoryWrapper;
+
     public SessionRepositoryWrapper<S> sessionRepositoryWrapper(SessionRepository<S> sessionRepository) {
         SessionRepositoryWrapper<S> sessionRepositoryWrapper = new SessionRepositoryWrapper<>(
-                sessionRegistry(), applicationEventPublisher, sessionRepository);
+                sessionRegistry(), applicationEventPublisher, sessionRepository, sessionsProperties, meterRegistry);
         sessionRepositoryWrapper.addAttributePersistenceValidators(new VaadinSessionAttributesValidator());
+        sessionRepositoryWrapper.setFlushMode(getFlushMode(sessionRepository));
         return sessionRepositoryWrapper;
     }
 
+    /**
+     * @return flush mode of the session repository, e.g. Redis or Hazelcast one, or {@link FlushMode#ON_SAVE}
+     * if the repository doesn't have it
+     */
+    protected FlushMode getFlushMode(SessionRepository<S> sessionRepository) {
+        DirectFieldAccessor accessor = new DirectFieldAccessor(sessionRepository);
+        if (accessor.isReadableProperty("flushMode")
+                && accessor.getPropertyValue("flushMode") instanceof FlushMode flushMode) {
+            return flushMode;
+        }
+        return FlushMode.ON_SAVE;
+    }
+
     @Bean
     @Primary
     protected SessionRegistry sessionRegistry() {
@@ -60,9 +89,17 @@ public class SessionsConfiguration<S extends Session> {
     @Primary
     public SessionRepositoryFilter<SessionRepositoryWrapper<S>.SessionWrapper> jmixSessionRepositoryFilter(
             @Autowired SessionRepository<S> sessionRepository) {
+        sessionRepositoryWrapper = sessionRepositoryWrapper(sessionRepository);
         SessionRepositoryFilter<SessionRepositoryWrapper<S>.SessionWrapper> sessionRepositoryFilter
-                = new SessionRepositoryFilter<>(sessionRepositoryWrapper(sessionRepository));
+                = new SessionRepositoryFilter<>(sessionRepositoryWrapper);
         sessionRepositoryFilter.setHttpSessionIdResolver(sessionIdResolver);
         return sessionRepositoryFilter;
     }
+
+    @EventListener
+    public void onSessionDestroyed(SessionDestroyedEvent event) {
+        if (sessionRepositoryWrapper != null) {
+            sessionRepositoryWrapper.onSessionDestroyed(event.getSessionId());
+        }
+    }
 }
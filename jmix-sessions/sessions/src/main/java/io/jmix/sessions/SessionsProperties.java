@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.sessions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "jmix.sessions")
+public class SessionsProperties {
+
+    /**
+     * Whether persistent attributes set during a request are written to the session repository on save only if
+     * their serialized form differs from the stored one.
+     */
+    boolean attributeChangeTrackingEnabled;
+
+    /**
+     * Maximum number of sessions whose non-persistent attributes are kept in memory. When exceeded, attributes of
+     * expired sessions are removed first, then of the least recently accessed ones. Non-persistent attributes
+     * include the UI state (e.g. {@code VaadinSession}), so live sessions whose attributes are removed lose it.
+     * Value 0 (default) disables the limit, and attributes are removed only when sessions expire or are destroyed.
+     */
+    int nonPersistentAttributesMaxSessions;
+
+    public SessionsProperties(@DefaultValue("true") boolean attributeChangeTrackingEnabled,
+                              @DefaultValue("0") int nonPersistentAttributesMaxSessions) {
+        this.attributeChangeTrackingEnabled = attributeChangeTrackingEnabled;
+        this.nonPersistentAttributesMaxSessions = nonPersistentAttributesMaxSessions;
+    }
+
+    /**
+     * @see #attributeChangeTrackingEnabled
+     */
+    public boolean isAttributeChangeTrackingEnabled() {
+        return attributeChangeTrackingEnabled;
+    }
+
+    /**
+     * @see #nonPersistentAttributesMaxSessions
+     */
+    public int getNonPersistentAttributesMaxSessions() {
+        return nonPersistentAttributesMaxSessions;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package session_repository
+
+import io.jmix.sessions.SessionRepositoryWrapper
+import io.jmix.sessions.SessionsProperties
+import io.jmix.sessions.validators.SessionAttributePersistenceValidator
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.security.core.session.SessionRegistryImpl
+import org.springframework.session.FlushMode
+import org.springframework.session.MapSession
+import org.springframework.session.MapSessionRepository
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.ConcurrentHashMap
+
+class SessionRepositoryWrapperTest extends Specification {
+
+    Map<String, org.springframework.session.Session> sessions
+    SimpleMeterRegistry meterRegistry
+    SessionRepositoryWrapper<MapSession> wrapper
+
+    void setup() {
+        sessions = new ConcurrentHashMap<>()
+        meterRegistry = new SimpleMeterRegistry()
+        wrapper = createWrapper(new SessionsProperties(true, 0))
+    }
+
+    protected SessionRepositoryWrapper<MapSession> createWrapper(SessionsProperties properties) {
+        def wrapper = new SessionRepositoryWrapper<MapSession>(new SessionRegistryImpl(),
+                Mock(ApplicationEventPublisher), new MapSessionRepository(sessions), properties, meterRegistry)
+        wrapper.addAttributePersistenceValidators({ name, value -> !name.startsWith('ui.') }
+                as SessionAttributePersistenceValidator)
+        return wrapper
+    }
+
+    def "unchanged attribute is not written again"() {
+        def session = wrapper.createSession()
+        session.setAttribute('attr', 'value')
+        wrapper.save(session)
+
+        when:
+        session = wrapper.findById(session.id)
+        session.setAttribute('attr', 'value')
+        wrapper.save(session)
+
+        then:
+        writes('written') == 1
+        writes('skipped') == 1
+        wrapper.findById(session.id).getAttribute('attr') == 'value'
+    }
+
+    def "changed attribute is written with its digest"() {
+        def session = wrapper.createSession()
+        session.setAttribute('attr', 'value1')
+        wrapper.save(session)
+
+        when:
+        session = wrapper.findById(session.id)
+        session.setAttribute('attr', 'value2')
+        wrapper.save(session)
+
+        then:
+        writes('written') == 2
+        def stored = sessions[session.id]
+        stored.getAttribute('attr') == 'value2'
+        stored.getAttribute('attr' + SessionRepositoryWrapper.ATTRIBUTE_DIGEST_SUFFIX) != null
+
+        and: "digests are not exposed as attributes"
+        wrapper.findById(session.id).attributeNames == ['attr'] as Set
+    }
+
+    def "removed attribute is removed with its digest"() {
+        def session = wrapper.createSession()
+        session.setAttribute('attr', 'value')
+        wrapper.save(session)
+
+        when:
+        session = wrapper.findById(session.id)
+        session.removeAttribute('attr')
+        wrapper.save(session)
+
+        then:
+        def stored = sessions[session.id]
+        stored.attributeNames.isEmpty()
+
+        when: "the same value is set again"
+        session = wrapper.findById(session.id)
+        session.setAttribute('attr', 'value')
+        wrapper.save(session)
+
+        then:
+        writes('written') == 2
+        sessions[session.id].getAttribute('attr') == 'value'
+    }
+
+    def "attributes are written at once with immediate flush mode"() {
+        wrapper.flushMode = FlushMode.IMMEDIATE
+        def session = wrapper.createSession()
+
+        when:
+        session.setAttribute('attr', 'value')
+
+        then:
+        session.pendingAttributes.isEmpty()
+        session.session.getAttribute('attr') == 'value'
+    }
+
+    def "non-persistent attributes of expired sessions are swept"() {
+        def expiredSession = wrapper.createSession()
+        expiredSession.setAttribute('ui.state', new Object())
+        expiredSession.maxInactiveInterval = Duration.ofMinutes(1)
+        expiredSession.lastAccessedTime = Instant.now().minus(Duration.ofMinutes(2))
+        wrapper.save(expiredSession)
+
+        def liveSession = wrapper.createSession()
+        def uiState = new Object()
+        liveSession.setAttribute('ui.state', uiState)
+
+        when:
+        wrapper.lastNonPersistentAttributesCleanupTime.set(0)
+        wrapper.save(liveSession)
+
+        then:
+        wrapper.nonPersistentSessionAttributesMap.keySet() == [liveSession.id] as Set
+        wrapper.findById(liveSession.id).getAttribute('ui.state').is(uiState)
+        !sessions[liveSession.id].attributeNames.contains('ui.state')
+    }
+
+    def "non-persistent attributes of live sessions are kept if the limit is not set"() {
+        when:
+        def ids = (1..5).collect {
+            def session = wrapper.createSession()
+            session.setAttribute('ui.state', new Object())
+            wrapper.save(session)
+            session.id
+        }
+
+        then:
+        wrapper.nonPersistentSessionAttributesMap.keySet() == ids as Set
+    }
+
+    protected double writes(String result) {
+        return meterRegistry.counter(SessionRepositoryWrapper.ATTRIBUTE_WRITES_METRIC, 'result', result).count()
+    }
+}